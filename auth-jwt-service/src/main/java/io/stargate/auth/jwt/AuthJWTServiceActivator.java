@@ -21,16 +21,21 @@ import com.nimbusds.jose.jwk.source.RemoteJWKSet;
 import com.nimbusds.jose.proc.JWSKeySelector;
 import com.nimbusds.jose.proc.JWSVerificationKeySelector;
 import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.DefaultResourceRetriever;
 import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
 import com.nimbusds.jwt.proc.DefaultJWTProcessor;
 import io.stargate.auth.AuthenticationService;
 import io.stargate.auth.AuthorizationService;
+import io.stargate.core.BundleUtils;
+import io.stargate.core.metrics.api.Metrics;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Hashtable;
 import net.jcip.annotations.GuardedBy;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +44,7 @@ public class AuthJWTServiceActivator implements BundleActivator {
   private static final Logger log = LoggerFactory.getLogger(AuthJWTServiceActivator.class);
 
   public static final String AUTH_JWT_IDENTIFIER = "AuthJwtService";
+  public static final String MODULE_NAME = "auth-jwt-service";
 
   @SuppressWarnings("JdkObsolete")
   private static final Hashtable<String, String> props = new Hashtable<>();
@@ -64,11 +70,21 @@ public class AuthJWTServiceActivator implements BundleActivator {
       }
 
       ConfigurableJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+      authnJwtService = new AuthnJwtService(jwtProcessor);
+
       // Pull the public RSA keys from the provided well-known URL to validate the JWT signature.
       JWKSource<SecurityContext> keySource;
       try {
-        // by default this will cache the JWK for 15 minutes
-        keySource = new RemoteJWKSet<>(new URL(urlProvider));
+        // by default this will cache the JWK for 15 minutes. If the keys have changed when they get
+        // refreshed, tokens that were verified with the previous keys must be checked again.
+        keySource =
+            new RemoteJWKSet<>(
+                new URL(urlProvider),
+                new DefaultResourceRetriever(
+                    RemoteJWKSet.resolveDefaultHTTPConnectTimeout(),
+                    RemoteJWKSet.resolveDefaultHTTPReadTimeout(),
+                    RemoteJWKSet.resolveDefaultHTTPSizeLimit()),
+                new RotationAwareJWKSetCache(authnJwtService::invalidateCache));
       } catch (MalformedURLException e) {
         log.error("Failed to create JwtValidator", e);
         throw new RuntimeException("Failed to create JwtValidator: " + e.getMessage(), e);
@@ -81,14 +97,39 @@ public class AuthJWTServiceActivator implements BundleActivator {
           new JWSVerificationKeySelector<>(expectedJWSAlg, keySource);
       jwtProcessor.setJWSKeySelector(keySelector);
 
-      authnJwtService = new AuthnJwtService(jwtProcessor);
       context.registerService(AuthenticationService.class.getName(), authnJwtService, props);
+      registerMetricsWhenAvailable(context, authnJwtService);
 
       authzJwtService = new AuthzJwtService();
       context.registerService(AuthorizationService.class.getName(), authzJwtService, props);
     }
   }
 
+  /**
+   * The metrics service is provided by the core bundle, which might get started after this one, so
+   * we either use it right away or wait for it to show up.
+   */
+  private static void registerMetricsWhenAvailable(
+      BundleContext context, AuthnJwtService authnJwtService) {
+    ServiceReference<Metrics> reference = context.getServiceReference(Metrics.class);
+    if (reference != null) {
+      authnJwtService.registerMetrics(context.getService(reference).getRegistry(MODULE_NAME));
+      return;
+    }
+    try {
+      context.addServiceListener(
+          event -> {
+            Metrics metrics = BundleUtils.getRegisteredService(context, event, Metrics.class);
+            if (metrics != null) {
+              authnJwtService.registerMetrics(metrics.getRegistry(MODULE_NAME));
+            }
+          },
+          String.format("(objectClass=%s)", Metrics.class.getName()));
+    } catch (InvalidSyntaxException e) {
+      throw new AssertionError("Unexpected invalid filter", e);
+    }
+  }
+
   @Override
   public void stop(BundleContext context) {}
 }
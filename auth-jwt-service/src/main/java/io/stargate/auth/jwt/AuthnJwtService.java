@@ -15,6 +15,15 @@
  */
 package io.stargate.auth.jwt;
 
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.proc.BadJOSEException;
 import com.nimbusds.jose.proc.SecurityContext;
@@ -25,8 +34,15 @@ import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.UnauthorizedException;
 import io.stargate.db.Authenticator.SaslNegotiator;
 import io.stargate.db.ClientInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.ParseException;
+import java.time.Duration;
+import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,10 +54,50 @@ public class AuthnJwtService implements AuthenticationService {
   protected static final String ROLE_FIELD = STARGATE_PREFIX + "role";
   protected static final String CLAIMS_FIELD = "stargate_claims";
 
+  public static final String CACHE_TTL_PROPERTY = "stargate.auth.jwt_cache_ttl_seconds";
+  public static final String CACHE_MAX_SIZE_PROPERTY = "stargate.auth.jwt_cache_max_size";
+
+  public static final String CACHE_METRICS_PREFIX = "token-cache";
+  public static final String HIT_COUNT = "hitCount";
+  public static final String MISS_COUNT = "missCount";
+  public static final String EVICTION_COUNT = "evictionCount";
+  public static final String INVALIDATION_COUNT = "invalidationCount";
+  public static final String SIZE = "size";
+
   private final ConfigurableJWTProcessor<? extends SecurityContext> jwtProcessor;
 
+  /**
+   * The roles of the tokens that were successfully verified, so that we don't re-check the
+   * signature on every request. Keyed by the SHA-256 digest of the token, so that the live
+   * credentials are not retained in memory. {@code null} if caching is disabled.
+   */
+  private final Cache<ByteBuffer, VerifiedToken> tokenCache;
+
+  private final Counter invalidations = new Counter();
+
   public AuthnJwtService(ConfigurableJWTProcessor<? extends SecurityContext> jwtProcessor) {
+    this(
+        jwtProcessor,
+        Duration.ofSeconds(Long.getLong(CACHE_TTL_PROPERTY, 60)),
+        Long.getLong(CACHE_MAX_SIZE_PROPERTY, 10_000),
+        Ticker.systemTicker());
+  }
+
+  AuthnJwtService(
+      ConfigurableJWTProcessor<? extends SecurityContext> jwtProcessor,
+      Duration cacheTtl,
+      long cacheMaxSize,
+      Ticker ticker) {
     this.jwtProcessor = jwtProcessor;
+    this.tokenCache =
+        (cacheTtl.isZero() || cacheTtl.isNegative() || cacheMaxSize <= 0)
+            ? null
+            : Caffeine.newBuilder()
+                .ticker(ticker)
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry(cacheTtl))
+                .recordStats()
+                .build();
   }
 
   @Override
@@ -72,6 +128,30 @@ public class AuthnJwtService implements AuthenticationService {
       throw new UnauthorizedException("authorization failed - missing token");
     }
 
+    if (tokenCache == null) {
+      return AuthenticationSubject.of(token, verify(token).roleName);
+    }
+    ByteBuffer key = digest(token);
+    VerifiedToken verifiedToken = tokenCache.getIfPresent(key);
+    if (verifiedToken == null) {
+      // Failures are not cached: an invalid token gets re-checked (and rejected) every time.
+      verifiedToken = verify(token);
+      tokenCache.put(key, verifiedToken);
+    }
+    return AuthenticationSubject.of(token, verifiedToken.roleName);
+  }
+
+  private static ByteBuffer digest(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      // every Java platform is required to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private VerifiedToken verify(String token) throws UnauthorizedException {
     JWTClaimsSet claimsSet = validate(token);
     String roleName;
     try {
@@ -86,7 +166,36 @@ public class AuthnJwtService implements AuthenticationService {
       throw new UnauthorizedException("JWT must have a value for " + ROLE_FIELD);
     }
 
-    return AuthenticationSubject.of(token, roleName);
+    return new VerifiedToken(roleName, claimsSet.getExpirationTime());
+  }
+
+  /**
+   * Discards all the verified tokens, so that the next requests check their signature again. This
+   * is invoked when the JWT provider rotates its signing keys.
+   */
+  public void invalidateCache() {
+    if (tokenCache != null) {
+      logger.debug("Invalidating verified JWT cache");
+      tokenCache.invalidateAll();
+      invalidations.inc();
+    }
+  }
+
+  /** Registers metrics about the verified token cache in the given registry. */
+  public void registerMetrics(MetricRegistry metricRegistry) {
+    if (tokenCache == null) {
+      return;
+    }
+    metricRegistry.register(
+        name(CACHE_METRICS_PREFIX, HIT_COUNT), (Gauge<Long>) () -> tokenCache.stats().hitCount());
+    metricRegistry.register(
+        name(CACHE_METRICS_PREFIX, MISS_COUNT), (Gauge<Long>) () -> tokenCache.stats().missCount());
+    metricRegistry.register(
+        name(CACHE_METRICS_PREFIX, EVICTION_COUNT),
+        (Gauge<Long>) () -> tokenCache.stats().evictionCount());
+    metricRegistry.register(name(CACHE_METRICS_PREFIX, INVALIDATION_COUNT), invalidations);
+    metricRegistry.register(
+        name(CACHE_METRICS_PREFIX, SIZE), (Gauge<Long>) tokenCache::estimatedSize);
   }
 
   @Override
@@ -146,4 +255,44 @@ public class AuthnJwtService implements AuthenticationService {
 
     return (String) stargate_claims.get(ROLE_FIELD);
   }
+
+  private static class VerifiedToken {
+    private final String roleName;
+    private final Date expirationTime;
+
+    private VerifiedToken(String roleName, Date expirationTime) {
+      this.roleName = roleName;
+      this.expirationTime = expirationTime;
+    }
+  }
+
+  /** Evicts each token at its own expiration time, or after the TTL, whichever comes first. */
+  private static class TokenExpiry implements Expiry<ByteBuffer, VerifiedToken> {
+    private final long ttlNanos;
+
+    private TokenExpiry(Duration ttl) {
+      this.ttlNanos = ttl.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(ByteBuffer token, VerifiedToken verifiedToken, long currentTime) {
+      if (verifiedToken.expirationTime == null) {
+        return ttlNanos;
+      }
+      long remainingMillis = verifiedToken.expirationTime.getTime() - System.currentTimeMillis();
+      return Math.max(0, Math.min(ttlNanos, TimeUnit.MILLISECONDS.toNanos(remainingMillis)));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        ByteBuffer token, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+      return expireAfterCreate(token, verifiedToken, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        ByteBuffer token, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
 }
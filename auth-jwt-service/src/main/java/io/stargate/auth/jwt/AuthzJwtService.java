@@ -33,6 +33,9 @@ import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -74,6 +77,39 @@ public class AuthzJwtService implements AuthorizationService {
     return result.withRowInspector(row -> hasCorrectClaims(stargateClaims, row));
   }
 
+  /**
+   * Asynchronous version of {@link #authorizedDataRead(Callable, AuthenticationSubject, String,
+   * String, List, SourceAPI)}, the pre-authorization happens before the action gets executed.
+   *
+   * <p>{@inheritdoc}
+   */
+  @Override
+  public CompletionStage<ResultSet> authorizedDataReadAsync(
+      Supplier<CompletionStage<ResultSet>> action,
+      AuthenticationSubject authenticationSubject,
+      String keyspace,
+      String table,
+      List<TypedKeyValue> typedKeyValues,
+      SourceAPI sourceAPI) {
+    JSONObject stargateClaims;
+    try {
+      stargateClaims = extractClaimsFromJWT(authenticationSubject.token());
+      preCheckDataReadWrite(stargateClaims, typedKeyValues);
+    } catch (JSONException | UnauthorizedException e) {
+      CompletableFuture<ResultSet> failed = new CompletableFuture<>();
+      failed.completeExceptionally(e);
+      return failed;
+    }
+
+    return action
+        .get()
+        .thenApply(
+            result ->
+                (result == null)
+                    ? null
+                    : result.withRowInspector(row -> hasCorrectClaims(stargateClaims, row)));
+  }
+
   static boolean hasCorrectClaims(JSONObject stargateClaims, io.stargate.db.datastore.Row row) {
     if (row == null) {
       return true;
@@ -0,0 +1,75 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.auth.jwt;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.DefaultJWKSetCache;
+import com.nimbusds.jose.jwk.source.JWKSetCache;
+import com.nimbusds.jose.jwk.source.RemoteJWKSet;
+import java.util.Map;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link JWKSetCache} for {@link RemoteJWKSet} that runs a callback when a refresh returns
+ * different keys than the previous fetch.
+ */
+public class RotationAwareJWKSetCache implements JWKSetCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(RotationAwareJWKSetCache.class);
+
+  private final JWKSetCache delegate;
+  private final Runnable onRotation;
+
+  public RotationAwareJWKSetCache(Runnable onRotation) {
+    this(new DefaultJWKSetCache(), onRotation);
+  }
+
+  public RotationAwareJWKSetCache(JWKSetCache delegate, Runnable onRotation) {
+    this.delegate = delegate;
+    this.onRotation = onRotation;
+  }
+
+  @Override
+  public void put(JWKSet jwkSet) {
+    JWKSet previous;
+    synchronized (this) {
+      previous = delegate.get();
+      delegate.put(jwkSet);
+    }
+    // Note that get() returns null on the first fetch, or if the previous set has expired. We can't
+    // tell if the keys changed in that case, so we err on the side of caution.
+    if (previous != jwkSet && !Objects.equals(publicKeys(previous), publicKeys(jwkSet))) {
+      logger.info("Detected a change in the JWT provider's signing keys");
+      onRotation.run();
+    }
+  }
+
+  @Override
+  public JWKSet get() {
+    return delegate.get();
+  }
+
+  @Override
+  public boolean requiresRefresh() {
+    return delegate.requiresRefresh();
+  }
+
+  private static Map<String, Object> publicKeys(JWKSet jwkSet) {
+    return jwkSet == null ? null : jwkSet.toJSONObject(true);
+  }
+}
@@ -18,6 +18,8 @@ package io.stargate.auth.jwt;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.nimbusds.jose.JOSEException;
@@ -35,10 +37,13 @@ import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.UnauthorizedException;
 import java.security.SecureRandom;
 import java.text.ParseException;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import org.junit.jupiter.api.BeforeEach;
@@ -205,4 +210,115 @@ public class AuthnJwtServiceTest {
             () -> liveAuthnJwtService.validateToken(jwt.serialize(), EMPTY_HEADERS));
     assertThat(ex).hasMessage("Invalid JWT: Expired JWT");
   }
+
+  @Test
+  public void validateTokenCached() throws Exception {
+    when(jwtProcessorMocked.process("token", null)).thenReturn(claimsWithRole("user", null));
+
+    AuthenticationSubject first = mockAuthnJwtService.validateToken("token", EMPTY_HEADERS);
+    AuthenticationSubject second = mockAuthnJwtService.validateToken("token", EMPTY_HEADERS);
+
+    assertThat(second).isEqualTo(first);
+    assertThat(second.token()).isEqualTo("token");
+    assertThat(second.roleName()).isEqualTo("user");
+    verify(jwtProcessorMocked, times(1)).process("token", null);
+  }
+
+  @Test
+  public void validateTokenCachedPerToken() throws Exception {
+    when(jwtProcessorMocked.process("token1", null)).thenReturn(claimsWithRole("user1", null));
+    when(jwtProcessorMocked.process("token2", null)).thenReturn(claimsWithRole("user2", null));
+
+    mockAuthnJwtService.validateToken("token1", EMPTY_HEADERS);
+    AuthenticationSubject second = mockAuthnJwtService.validateToken("token2", EMPTY_HEADERS);
+    AuthenticationSubject first = mockAuthnJwtService.validateToken("token1", EMPTY_HEADERS);
+
+    assertThat(first.token()).isEqualTo("token1");
+    assertThat(first.roleName()).isEqualTo("user1");
+    assertThat(second.token()).isEqualTo("token2");
+    assertThat(second.roleName()).isEqualTo("user2");
+    verify(jwtProcessorMocked, times(1)).process("token1", null);
+    verify(jwtProcessorMocked, times(1)).process("token2", null);
+  }
+
+  @Test
+  public void validateTokenCacheDisabled() throws Exception {
+    AuthnJwtService authnJwtService =
+        new AuthnJwtService(jwtProcessorMocked, Duration.ZERO, 10, () -> 0);
+    when(jwtProcessorMocked.process("token", null)).thenReturn(claimsWithRole("user", null));
+
+    authnJwtService.validateToken("token", EMPTY_HEADERS);
+    authnJwtService.validateToken("token", EMPTY_HEADERS);
+
+    verify(jwtProcessorMocked, times(2)).process("token", null);
+  }
+
+  @Test
+  public void validateTokenCacheExpiresAfterTtl() throws Exception {
+    AtomicLong nanos = new AtomicLong();
+    AuthnJwtService authnJwtService =
+        new AuthnJwtService(jwtProcessorMocked, Duration.ofSeconds(60), 10, nanos::get);
+    Date inOneHour = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+    when(jwtProcessorMocked.process("token", null)).thenReturn(claimsWithRole("user", inOneHour));
+
+    authnJwtService.validateToken("token", EMPTY_HEADERS);
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(59));
+    authnJwtService.validateToken("token", EMPTY_HEADERS);
+    verify(jwtProcessorMocked, times(1)).process("token", null);
+
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+    authnJwtService.validateToken("token", EMPTY_HEADERS);
+    verify(jwtProcessorMocked, times(2)).process("token", null);
+  }
+
+  @Test
+  public void validateTokenCacheExpiresWithToken() throws Exception {
+    AtomicLong nanos = new AtomicLong();
+    AuthnJwtService authnJwtService =
+        new AuthnJwtService(jwtProcessorMocked, Duration.ofSeconds(60), 10, nanos::get);
+    Date inTenSeconds = new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10));
+    when(jwtProcessorMocked.process("token", null))
+        .thenReturn(claimsWithRole("user", inTenSeconds));
+
+    authnJwtService.validateToken("token", EMPTY_HEADERS);
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(11));
+    authnJwtService.validateToken("token", EMPTY_HEADERS);
+
+    verify(jwtProcessorMocked, times(2)).process("token", null);
+  }
+
+  @Test
+  public void validateTokenFailureNotCached() throws Exception {
+    when(jwtProcessorMocked.process("token", null))
+        .thenThrow(new BadJOSEException("The provided JWT is bad"));
+
+    assertThrows(
+        UnauthorizedException.class,
+        () -> mockAuthnJwtService.validateToken("token", EMPTY_HEADERS));
+    assertThrows(
+        UnauthorizedException.class,
+        () -> mockAuthnJwtService.validateToken("token", EMPTY_HEADERS));
+
+    verify(jwtProcessorMocked, times(2)).process("token", null);
+  }
+
+  @Test
+  public void invalidateCache() throws Exception {
+    when(jwtProcessorMocked.process("token", null)).thenReturn(claimsWithRole("user", null));
+
+    mockAuthnJwtService.validateToken("token", EMPTY_HEADERS);
+    mockAuthnJwtService.invalidateCache();
+    mockAuthnJwtService.validateToken("token", EMPTY_HEADERS);
+
+    verify(jwtProcessorMocked, times(2)).process("token", null);
+  }
+
+  private static JWTClaimsSet claimsWithRole(String role, Date expirationTime) {
+    Map<String, Object> stargate_claims = new HashMap<>();
+    stargate_claims.put("x-stargate-role", role);
+    return new JWTClaimsSet.Builder()
+        .claim("stargate_claims", stargate_claims)
+        .expirationTime(expirationTime)
+        .build();
+  }
 }
@@ -49,6 +49,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import org.json.JSONException;
@@ -186,6 +189,68 @@ public class AuthzJwtServiceTest {
     assertThat(ex).hasMessage("Not allowed to access this resource");
   }
 
+  @Test
+  public void executeDataReadAsyncWithAuthorization() throws Exception {
+    ResultSet resultSet = mock(ResultSet.class);
+    ResultSet inspectedResultSet = mock(ResultSet.class);
+    when(resultSet.withRowInspector(any())).thenReturn(inspectedResultSet);
+
+    Map<String, Object> stargate_claims = new HashMap<>();
+    stargate_claims.put("x-stargate-role", "web-user");
+    stargate_claims.put("x-stargate-userid", "123");
+
+    List<TypedKeyValue> typedKeyValues =
+        Collections.singletonList(new TypedKeyValue("userid", Type.Text, "123"));
+
+    CompletableFuture<ResultSet> execution = new CompletableFuture<>();
+    CompletableFuture<ResultSet> result =
+        mockAuthzJwtService
+            .authorizedDataReadAsync(
+                () -> execution,
+                AuthenticationSubject.of(signJWT(stargate_claims), "web-user"),
+                "keyspace",
+                "table",
+                typedKeyValues,
+                SourceAPI.REST)
+            .toCompletableFuture();
+    assertThat(result).isNotDone();
+
+    execution.complete(resultSet);
+    assertThat(result).isCompletedWithValue(inspectedResultSet);
+  }
+
+  @Test
+  public void executeDataReadAsyncWithAuthorizationNotAuthorized() throws Exception {
+    AtomicBoolean executed = new AtomicBoolean();
+
+    Map<String, Object> stargate_claims = new HashMap<>();
+    stargate_claims.put("x-stargate-role", "web-user");
+    stargate_claims.put("x-stargate-userid", "456");
+
+    List<TypedKeyValue> typedKeyValues =
+        Collections.singletonList(new TypedKeyValue("userid", Type.Text, "123"));
+
+    CompletableFuture<ResultSet> result =
+        mockAuthzJwtService
+            .authorizedDataReadAsync(
+                () -> {
+                  executed.set(true);
+                  return CompletableFuture.completedFuture(mock(ResultSet.class));
+                },
+                AuthenticationSubject.of(signJWT(stargate_claims), "web-user"),
+                "keyspace",
+                "table",
+                typedKeyValues,
+                SourceAPI.REST)
+            .toCompletableFuture();
+
+    assertThat(executed).isFalse();
+    ExecutionException ex = assertThrows(ExecutionException.class, result::get);
+    assertThat(ex.getCause())
+        .isInstanceOf(UnauthorizedException.class)
+        .hasMessage("Not allowed to access this resource");
+  }
+
   @Test
   public void executeDataReadWithAuthorizationNotAuthorizedResult() throws Exception {
     ResultSet resultSet = mock(ResultSet.class);
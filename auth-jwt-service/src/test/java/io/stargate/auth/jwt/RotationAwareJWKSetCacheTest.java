@@ -0,0 +1,55 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.auth.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class RotationAwareJWKSetCacheTest {
+
+  private final AtomicInteger rotations = new AtomicInteger();
+  private final RotationAwareJWKSetCache cache =
+      new RotationAwareJWKSetCache(rotations::incrementAndGet);
+
+  @Test
+  public void shouldNotifyWhenKeysChange() throws JOSEException {
+    cache.put(new JWKSet(newKey("key1")));
+    assertThat(rotations).hasValue(1);
+
+    cache.put(new JWKSet(newKey("key2")));
+    assertThat(rotations).hasValue(2);
+    assertThat(cache.get().getKeyByKeyId("key2")).isNotNull();
+  }
+
+  @Test
+  public void shouldNotNotifyWhenSameKeysAreFetchedAgain() throws JOSEException {
+    RSAKey key = newKey("key1");
+    cache.put(new JWKSet(key));
+    cache.put(new JWKSet(key));
+
+    assertThat(rotations).hasValue(1);
+  }
+
+  private static RSAKey newKey(String keyId) throws JOSEException {
+    return new RSAKeyGenerator(2048).keyID(keyId).generate();
+  }
+}
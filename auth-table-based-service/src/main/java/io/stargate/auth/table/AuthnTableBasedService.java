@@ -15,8 +15,11 @@
  */
 package io.stargate.auth.table;
 
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
 import io.stargate.auth.AuthenticationService;
 import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.UnauthorizedException;
@@ -34,7 +37,11 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import org.apache.cassandra.stargate.db.ConsistencyLevel;
 import org.mindrot.jbcrypt.BCrypt;
 import org.slf4j.Logger;
@@ -57,14 +64,43 @@ public class AuthnTableBasedService implements AuthenticationService {
   private static final boolean shouldInitializeAuthKeyspace =
       Boolean.parseBoolean(System.getProperty("stargate.auth_tablebased_init", "true"));
 
-  private final Cache<String, AuthenticationSubject> tokenCache =
-      Caffeine.newBuilder()
-          .expireAfterWrite(Duration.ofSeconds(CACHE_TTL_SECONDS))
-          .maximumSize(CACHE_MAX_SIZE)
-          .build();
+  private static final int CACHE_REFRESH_SECONDS =
+      Integer.getInteger(
+          "stargate.auth_tablebased.token_cache_refresh_seconds",
+          Math.max(1, CACHE_TTL_SECONDS / 2));
+  private static final int NEGATIVE_CACHE_TTL_SECONDS =
+      Integer.getInteger("stargate.auth_tablebased.token_negative_cache_ttl_seconds", 5);
+
+  // hot tokens are reloaded in the background after the refresh period, so they never expire while
+  // in use, concurrent misses for the same token share a single load
+  private final AsyncLoadingCache<String, AuthenticationSubject> tokenCache;
+
+  // unknown or expired tokens, mapped to the failure message
+  private final Cache<String, String> rejectedTokens;
 
   private DataStore dataStore;
 
+  public AuthnTableBasedService() {
+    this(Ticker.systemTicker(), ForkJoinPool.commonPool());
+  }
+
+  AuthnTableBasedService(Ticker ticker, Executor executor) {
+    this.tokenCache =
+        Caffeine.newBuilder()
+            .refreshAfterWrite(Duration.ofSeconds(CACHE_REFRESH_SECONDS))
+            .expireAfterWrite(Duration.ofSeconds(CACHE_TTL_SECONDS))
+            .maximumSize(CACHE_MAX_SIZE)
+            .ticker(ticker)
+            .executor(executor)
+            .buildAsync(new TokenLoader());
+    this.rejectedTokens =
+        Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(NEGATIVE_CACHE_TTL_SECONDS))
+            .maximumSize(CACHE_MAX_SIZE)
+            .ticker(ticker)
+            .build();
+  }
+
   public void setDataStoreFactory(DataStoreFactory dataStoreFactory) {
     this.dataStore = dataStoreFactory.createInternal();
 
@@ -245,81 +281,124 @@ public class AuthnTableBasedService implements AuthenticationService {
       throw new UnauthorizedException("authorization failed - missing token");
     }
 
-    // otherwise, look in the cache and optionally fetch if missing
+    // fail fast as well if the token was recently rejected
+    String rejected = rejectedTokens.getIfPresent(token);
+    if (null != rejected) {
+      throw new UnauthorizedException(rejected);
+    }
+
+    // otherwise, look in the cache and wait for the fetch if missing
     try {
-      return tokenCache.get(
-          token,
-          v -> {
-            try {
-              return getAuthenticationSubject(v);
-            } catch (UnauthorizedException e) {
-              throw new RuntimeException(e);
-            }
-          });
-    } catch (RuntimeException e) {
+      return tokenCache.get(token).get();
+    } catch (ExecutionException e) {
       // properly inspect the cause of the execution exception
       // and re-throw if UnauthorizedException or RuntimeException
       // otherwise wrap in the RuntimeException
       Throwable cause = e.getCause();
       if (cause instanceof UnauthorizedException) {
+        rejectedTokens.put(token, cause.getMessage());
         throw (UnauthorizedException) cause;
-      } else if (cause instanceof RuntimeException) {
+      }
+
+      logger.error("Failed to validate token", cause);
+      if (cause instanceof RuntimeException) {
         throw (RuntimeException) cause;
       } else {
-        throw e;
+        throw new RuntimeException(cause);
       }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
     }
   }
 
-  // fetches the authentication subject from the data store
-  private AuthenticationSubject getAuthenticationSubject(String token)
-      throws UnauthorizedException {
+  /**
+   * Fetches the authentication subject of the token from the data store, and renews the TTL of the
+   * token in the background.
+   *
+   * @param token Token to fetch the subject for.
+   * @return Future completing with the subject, or failing with the {@link UnauthorizedException}
+   *     if the token is unknown or expired.
+   */
+  protected CompletableFuture<AuthenticationSubject> fetchAuthenticationSubject(String token) {
     UUID uuid;
     try {
       uuid = UUID.fromString(token);
     } catch (IllegalArgumentException exception) {
-      throw new UnauthorizedException("authorization failed - bad token");
+      CompletableFuture<AuthenticationSubject> result = new CompletableFuture<>();
+      result.completeExceptionally(new UnauthorizedException("authorization failed - bad token"));
+      return result;
     }
 
-    try {
-      ResultSet resultSet =
-          dataStore
-              .queryBuilder()
-              .select()
-              .star()
-              .from(AUTH_KEYSPACE, AUTH_TABLE)
-              .where("auth_token", Predicate.EQ, uuid)
-              .build()
-              .execute(ConsistencyLevel.LOCAL_QUORUM)
-              .get();
-
-      if (resultSet.hasNoMoreFetchedRows()) {
-        throw new UnauthorizedException("authorization failed");
-      }
+    return dataStore
+        .queryBuilder()
+        .select()
+        .star()
+        .from(AUTH_KEYSPACE, AUTH_TABLE)
+        .where("auth_token", Predicate.EQ, uuid)
+        .build()
+        .execute(ConsistencyLevel.LOCAL_QUORUM)
+        .thenApply(
+            resultSet -> {
+              if (resultSet.hasNoMoreFetchedRows()) {
+                throw new CompletionException(new UnauthorizedException("authorization failed"));
+              }
+
+              Row row = resultSet.one();
+              if (row.isNull("username")) {
+                throw new IllegalStateException("unable to get username from token table");
+              }
+
+              int timestamp = row.getInt("created_timestamp");
+              String username = row.getString("username");
+              renewToken(uuid, username, timestamp);
+
+              return AuthenticationSubject.of(token, username);
+            });
+  }
 
-      Row row = resultSet.one();
-      if (row.isNull("username")) {
-        throw new RuntimeException("unable to get username from token table");
-      }
+  // sliding expiration of the token, no need to wait for the update
+  private void renewToken(UUID uuid, String username, int timestamp) {
+    dataStore
+        .queryBuilder()
+        .update(AUTH_KEYSPACE, AUTH_TABLE)
+        .ttl(tokenTTL)
+        .value("username", username)
+        .value("created_timestamp", timestamp)
+        .where("auth_token", Predicate.EQ, uuid)
+        .build()
+        .execute(ConsistencyLevel.LOCAL_QUORUM)
+        .whenComplete(
+            (resultSet, throwable) -> {
+              if (null != throwable) {
+                logger.warn("Failed to renew the TTL of the token", throwable);
+              }
+            });
+  }
 
-      int timestamp = row.getInt("created_timestamp");
-      String username = row.getString("username");
+  private class TokenLoader implements AsyncCacheLoader<String, AuthenticationSubject> {
 
-      // update of the TTL can be done in the async way
-      dataStore
-          .queryBuilder()
-          .update(AUTH_KEYSPACE, AUTH_TABLE)
-          .ttl(tokenTTL)
-          .value("username", username)
-          .value("created_timestamp", timestamp)
-          .where("auth_token", Predicate.EQ, uuid)
-          .build()
-          .execute(ConsistencyLevel.LOCAL_QUORUM);
+    @Override
+    public CompletableFuture<AuthenticationSubject> asyncLoad(String token, Executor executor) {
+      return fetchAuthenticationSubject(token);
+    }
 
-      return AuthenticationSubject.of(token, username);
-    } catch (InterruptedException | ExecutionException e) {
-      logger.error("Failed to validate token", e);
-      throw new RuntimeException(e);
+    @Override
+    public CompletableFuture<AuthenticationSubject> asyncReload(
+        String token, AuthenticationSubject oldValue, Executor executor) {
+      // tokens that expired in the meantime are removed from the cache, on other failures the
+      // cache keeps the old value until the next refresh or the expiration
+      return fetchAuthenticationSubject(token)
+          .exceptionally(
+              throwable -> {
+                Throwable cause =
+                    throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                if (cause instanceof UnauthorizedException) {
+                  rejectedTokens.put(token, cause.getMessage());
+                  return null;
+                }
+                throw new CompletionException(cause);
+              });
     }
   }
 
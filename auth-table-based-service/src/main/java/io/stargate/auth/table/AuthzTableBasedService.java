@@ -25,6 +25,8 @@ import io.stargate.auth.entity.ResourceKind;
 import io.stargate.db.datastore.ResultSet;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 
 public class AuthzTableBasedService implements AuthorizationService {
 
@@ -47,6 +49,24 @@ public class AuthzTableBasedService implements AuthorizationService {
     return action.call();
   }
 
+  /**
+   * Authorization for data access is not provided by table based tokens so all authorization will
+   * be deferred to the underlying permissions assigned to the role the token maps to.
+   *
+   * <p>{@inheritdoc}
+   */
+  @Override
+  public CompletionStage<ResultSet> authorizedDataReadAsync(
+      Supplier<CompletionStage<ResultSet>> action,
+      AuthenticationSubject authenticationSubject,
+      String keyspace,
+      String table,
+      List<TypedKeyValue> typedKeyValues,
+      SourceAPI sourceAPI) {
+    // Cannot perform authorization with a table based token so just return
+    return action.get();
+  }
+
   /**
    * Authorization for data access is not provided by table based tokens so all authorization will
    * be deferred to the underlying permissions assigned to the role the token maps to.
@@ -0,0 +1,190 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.auth.table;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.stargate.auth.AuthenticationSubject;
+import io.stargate.auth.UnauthorizedException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AuthnTableBasedServiceTest {
+
+  private static final String TOKEN = "a24b121a-a385-44a6-8ae1-fe7542dbc490";
+  private static final String ROLE = "someRole";
+
+  private final AtomicLong nanos = new AtomicLong();
+
+  private final AtomicInteger fetches = new AtomicInteger();
+
+  private final Deque<CompletableFuture<AuthenticationSubject>> results = new ArrayDeque<>();
+
+  private AuthnTableBasedService service;
+
+  @BeforeEach
+  public void init() {
+    service =
+        new AuthnTableBasedService(nanos::get, Runnable::run) {
+          @Override
+          protected CompletableFuture<AuthenticationSubject> fetchAuthenticationSubject(
+              String token) {
+            fetches.incrementAndGet();
+            return results.isEmpty() ? subject(token) : results.poll();
+          }
+        };
+  }
+
+  @Test
+  public void missingToken() {
+    assertThatThrownBy(() -> service.validateToken(""))
+        .isInstanceOf(UnauthorizedException.class)
+        .hasMessage("authorization failed - missing token");
+
+    assertThat(fetches).hasValue(0);
+  }
+
+  @Test
+  public void cached() throws Exception {
+    AuthenticationSubject first = service.validateToken(TOKEN);
+    AuthenticationSubject second = service.validateToken(TOKEN);
+
+    assertThat(first.roleName()).isEqualTo(ROLE);
+    assertThat(second).isSameAs(first);
+    assertThat(fetches).hasValue(1);
+  }
+
+  @Test
+  public void concurrentMissesShareLoad() throws Exception {
+    CompletableFuture<AuthenticationSubject> pending = new CompletableFuture<>();
+    results.add(pending);
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<AuthenticationSubject> first = executor.submit(() -> service.validateToken(TOKEN));
+      Future<AuthenticationSubject> second = executor.submit(() -> service.validateToken(TOKEN));
+      pending.complete(AuthenticationSubject.of(TOKEN, ROLE));
+
+      assertThat(first.get(5, TimeUnit.SECONDS).roleName()).isEqualTo(ROLE);
+      assertThat(second.get(5, TimeUnit.SECONDS).roleName()).isEqualTo(ROLE);
+      assertThat(fetches).hasValue(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void refreshedInBackground() throws Exception {
+    service.validateToken(TOKEN);
+
+    // after the refresh period the old subject is returned and reloaded
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(45));
+    results.add(subject(TOKEN, "otherRole"));
+    AuthenticationSubject stale = service.validateToken(TOKEN);
+    AuthenticationSubject refreshed = service.validateToken(TOKEN);
+
+    assertThat(stale.roleName()).isEqualTo(ROLE);
+    assertThat(refreshed.roleName()).isEqualTo("otherRole");
+    assertThat(fetches).hasValue(2);
+
+    // refresh resets the write time, so the token does not expire while in use
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(20));
+    assertThat(service.validateToken(TOKEN).roleName()).isEqualTo("otherRole");
+    assertThat(fetches).hasValue(2);
+  }
+
+  @Test
+  public void expiredOnRefresh() throws Exception {
+    service.validateToken(TOKEN);
+
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(45));
+    results.add(unauthorized("authorization failed"));
+    service.validateToken(TOKEN);
+
+    assertThatThrownBy(() -> service.validateToken(TOKEN))
+        .isInstanceOf(UnauthorizedException.class)
+        .hasMessage("authorization failed");
+    assertThat(fetches).hasValue(2);
+  }
+
+  @Test
+  public void keptOnRefreshFailure() throws Exception {
+    service.validateToken(TOKEN);
+
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(45));
+    CompletableFuture<AuthenticationSubject> failure = new CompletableFuture<>();
+    failure.completeExceptionally(new IllegalStateException("unavailable"));
+    results.add(failure);
+    service.validateToken(TOKEN);
+
+    assertThat(service.validateToken(TOKEN).roleName()).isEqualTo(ROLE);
+  }
+
+  @Test
+  public void rejectedCached() throws Exception {
+    results.add(unauthorized("authorization failed"));
+
+    assertThatThrownBy(() -> service.validateToken(TOKEN))
+        .isInstanceOf(UnauthorizedException.class)
+        .hasMessage("authorization failed");
+    assertThatThrownBy(() -> service.validateToken(TOKEN))
+        .isInstanceOf(UnauthorizedException.class)
+        .hasMessage("authorization failed");
+    assertThat(fetches).hasValue(1);
+
+    // fetched again once the rejection expires
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+    assertThat(service.validateToken(TOKEN).roleName()).isEqualTo(ROLE);
+    assertThat(fetches).hasValue(2);
+  }
+
+  @Test
+  public void failureNotCached() throws Exception {
+    CompletableFuture<AuthenticationSubject> failure = new CompletableFuture<>();
+    failure.completeExceptionally(new IllegalStateException("unavailable"));
+    results.add(failure);
+
+    assertThatThrownBy(() -> service.validateToken(TOKEN))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("unavailable");
+    assertThat(service.validateToken(TOKEN).roleName()).isEqualTo(ROLE);
+    assertThat(fetches).hasValue(2);
+  }
+
+  private static CompletableFuture<AuthenticationSubject> subject(String token) {
+    return subject(token, ROLE);
+  }
+
+  private static CompletableFuture<AuthenticationSubject> subject(String token, String role) {
+    return CompletableFuture.completedFuture(AuthenticationSubject.of(token, role));
+  }
+
+  private static CompletableFuture<AuthenticationSubject> unauthorized(String message) {
+    CompletableFuture<AuthenticationSubject> result = new CompletableFuture<>();
+    result.completeExceptionally(new UnauthorizedException(message));
+    return result;
+  }
+}
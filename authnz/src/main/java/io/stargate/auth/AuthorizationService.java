@@ -19,6 +19,9 @@ import io.stargate.auth.entity.ResourceKind;
 import io.stargate.db.datastore.ResultSet;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 
 public interface AuthorizationService {
 
@@ -46,6 +49,40 @@ public interface AuthorizationService {
       SourceAPI sourceAPI)
       throws Exception;
 
+  /**
+   * Asynchronous version of {@link #authorizedDataRead(Callable, AuthenticationSubject, String,
+   * String, List, SourceAPI)}: the action starts the query, and the returned stage completes with
+   * the authorized result, or fails with the authorization error.
+   *
+   * <p>The default implementation waits for the query to complete before authorizing its result
+   * with the synchronous method. Implementations that pre-authorize the request should override it
+   * to do so before the query gets executed.
+   */
+  default CompletionStage<ResultSet> authorizedDataReadAsync(
+      Supplier<CompletionStage<ResultSet>> action,
+      AuthenticationSubject authenticationSubject,
+      String keyspace,
+      String table,
+      List<TypedKeyValue> typedKeyValues,
+      SourceAPI sourceAPI) {
+    return action
+        .get()
+        .thenApply(
+            resultSet -> {
+              try {
+                return authorizedDataRead(
+                    () -> resultSet,
+                    authenticationSubject,
+                    keyspace,
+                    table,
+                    typedKeyValues,
+                    sourceAPI);
+              } catch (Exception e) {
+                throw new CompletionException(e);
+              }
+            });
+  }
+
   /**
    * Using the provided token will perform pre-authorization and if not successful throws an
    * exception. Intended to be used when the keys for the query are not readily accessible or when a
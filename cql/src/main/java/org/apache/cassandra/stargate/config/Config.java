@@ -41,11 +41,13 @@ public class Config {
   public volatile long native_transport_max_concurrent_connections = -1L;
   public volatile long native_transport_max_concurrent_connections_per_ip = -1L;
   public boolean native_transport_flush_in_batches_legacy = false;
+  public boolean native_transport_flush_adaptive = false;
   public volatile boolean native_transport_allow_older_protocols = true;
   public volatile long native_transport_max_concurrent_requests_in_bytes_per_ip = -1L;
   public volatile long native_transport_max_concurrent_requests_in_bytes = -1L;
 
   public long native_transport_idle_timeout_in_ms = 0L;
+  public int native_transport_zstd_compression_level = 1;
 
   @JsonSetter(nulls = Nulls.FAIL)
   public EncryptionOptions client_encryption_options = new EncryptionOptions();
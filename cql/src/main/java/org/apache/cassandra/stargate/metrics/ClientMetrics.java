@@ -24,15 +24,19 @@ import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.MultiGauge;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.netty.buffer.ByteBufAllocatorMetricProvider;
 import io.stargate.db.ClientInfo;
 import io.stargate.db.metrics.api.ClientInfoMetricsTagProvider;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -88,8 +92,12 @@ public final class ClientMetrics {
   private Counter totalBytesWritten;
   private DistributionSummary bytesReceivedPerFrame;
   private DistributionSummary bytesTransmittedPerFrame;
+  private DistributionSummary flushBatchSize;
+  private Timer flushLatency;
   private MultiGauge connectedNativeClients;
   private MultiGauge connectedNativeClientsByUser;
+  private final ConcurrentMap<String, CompressionMetrics> compressionMetrics =
+      new ConcurrentHashMap<>();
 
   private ClientMetrics() {}
 
@@ -117,6 +125,40 @@ public final class ClientMetrics {
     bytesTransmittedPerFrame.record(value);
   }
 
+  /**
+   * Records the compression of an outbound frame body.
+   *
+   * @param algorithm Name of the compression algorithm, as negotiated in the STARTUP message
+   * @param uncompressedBytes Size of the body before compression
+   * @param compressedBytes Size of the body after compression
+   * @param elapsedNanos Time spent compressing the body
+   */
+  public void recordFrameCompression(
+      String algorithm, int uncompressedBytes, int compressedBytes, long elapsedNanos) {
+    CompressionMetrics metrics = compressionMetrics.get(algorithm);
+    if (null == metrics) {
+      CompressionMetrics created = new CompressionMetrics(algorithm);
+      metrics = compressionMetrics.putIfAbsent(algorithm, created);
+      if (null == metrics) metrics = created;
+    }
+
+    if (compressedBytes > 0) {
+      metrics.ratio.record((double) uncompressedBytes / compressedBytes);
+    }
+    metrics.time.record(Duration.ofNanos(elapsedNanos));
+  }
+
+  /**
+   * Records a flush of the responses written to the channels of an event loop.
+   *
+   * @param batchSize Number of responses flushed together
+   * @param latencyNanos Time between the write of the first response and the end of the flush
+   */
+  public void recordFlush(int batchSize, long latencyNanos) {
+    flushBatchSize.record(batchSize);
+    flushLatency.record(Duration.ofNanos(latencyNanos));
+  }
+
   public ConnectionMetrics connectionMetrics(ClientInfo clientInfo) {
     if (!initialized) {
       throw new IllegalStateException("Client metrics not initialized yet.");
@@ -167,6 +209,13 @@ public final class ClientMetrics {
     bytesReceivedPerFrame = meterRegistry.summary(metric("BytesReceivedPerFrame"));
     bytesTransmittedPerFrame = meterRegistry.summary(metric("BytesTransmittedPerFrame"));
 
+    flushBatchSize =
+        DistributionSummary.builder(metric("FlushBatchSize"))
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    flushLatency =
+        Timer.builder(metric("FlushLatency")).publishPercentileHistogram().register(meterRegistry);
+
     initialized = true;
 
     // if we have the positive period, init the executor service and submit the update task
@@ -210,6 +259,7 @@ public final class ClientMetrics {
       }
     }
 
+    compressionMetrics.clear();
     initialized = false;
   }
 
@@ -327,4 +377,16 @@ public final class ClientMetrics {
       return tags;
     }
   }
+
+  private class CompressionMetrics {
+
+    private final DistributionSummary ratio;
+    private final Timer time;
+
+    CompressionMetrics(String algorithm) {
+      Tags tags = Tags.of("algorithm", algorithm);
+      ratio = meterRegistry.summary(metric("FrameCompressionRatio"), tags);
+      time = meterRegistry.timer(metric("FrameCompressionTime"), tags);
+    }
+  }
 }
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.stargate.transport.internal;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tunes the batching of the adaptive flusher of an event loop, see {@link
+ * Message.Dispatcher.FlusherType#ADAPTIVE}.
+ *
+ * <p>The batch size is the number of responses expected to arrive while the flusher is allowed to
+ * wait, based on the arrival rate of the responses measured over the runs of the flusher. The time
+ * spent waiting is bounded by the observed latency of a flush, so batching never adds more latency
+ * than the flush it saves. Under low load less than two responses are expected in that time, and
+ * each response is flushed right away. Under high load the responses written by several runs are
+ * flushed together.
+ *
+ * <p>Note: only accessed from the event loop of the flusher.
+ */
+class AdaptiveFlushPolicy {
+  static final int MAX_BATCH_SIZE = 64;
+  static final long MAX_DELAY_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  // longer intervals between runs are all idle periods, capping them makes the flusher adapt
+  // quickly to a new burst of responses
+  static final long MAX_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  // weight of the latest observation in the moving averages
+  private static final double ALPHA = 0.25;
+
+  private boolean started;
+  private long lastRunNanos;
+
+  private double drainedPerRun;
+  private double runIntervalNanos;
+  private double flushNanos;
+
+  private int batchSize = 1;
+  private long delayNanos;
+
+  /**
+   * Records a run of the flusher.
+   *
+   * @param drained the number of responses drained by the run
+   * @param nowNanos the time of the run
+   */
+  void onRun(int drained, long nowNanos) {
+    if (started) {
+      long intervalNanos = Math.min(MAX_INTERVAL_NANOS, nowNanos - lastRunNanos);
+      drainedPerRun += ALPHA * (drained - drainedPerRun);
+      runIntervalNanos += ALPHA * (intervalNanos - runIntervalNanos);
+    }
+    started = true;
+    lastRunNanos = nowNanos;
+    update();
+  }
+
+  /** Records the time spent flushing the channels of a batch. */
+  void onFlush(long elapsedNanos) {
+    flushNanos += ALPHA * (elapsedNanos - flushNanos);
+    update();
+  }
+
+  /**
+   * Returns whether the written responses should be flushed now.
+   *
+   * @param pending the number of written responses that are not flushed yet
+   * @param waitedNanos the time since the first of these responses was written
+   */
+  boolean shouldFlush(int pending, long waitedNanos) {
+    return pending >= batchSize || waitedNanos >= delayNanos;
+  }
+
+  int batchSize() {
+    return batchSize;
+  }
+
+  long delayNanos() {
+    return delayNanos;
+  }
+
+  private void update() {
+    long maxDelayNanos = Math.min(MAX_DELAY_NANOS, (long) flushNanos);
+    double expected = runIntervalNanos > 0 ? drainedPerRun * maxDelayNanos / runIntervalNanos : 0;
+    batchSize = (int) Math.max(1, Math.min(MAX_BATCH_SIZE, Math.floor(expected)));
+    delayNanos = batchSize == 1 ? 0 : maxDelayNanos;
+  }
+}
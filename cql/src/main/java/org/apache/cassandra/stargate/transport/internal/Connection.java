@@ -18,10 +18,14 @@
 package org.apache.cassandra.stargate.transport.internal;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelPipeline;
 import io.netty.util.AttributeKey;
 import org.apache.cassandra.stargate.metrics.ConnectionMetrics;
 import org.apache.cassandra.stargate.transport.ProtocolVersion;
 import org.apache.cassandra.stargate.transport.internal.frame.FrameBodyTransformer;
+import org.apache.cassandra.stargate.transport.internal.frame.segment.SegmentCodec;
+import org.apache.cassandra.stargate.transport.internal.frame.segment.SegmentDecoder;
+import org.apache.cassandra.stargate.transport.internal.frame.segment.SegmentEncoder;
 
 public class Connection {
   static final AttributeKey<Connection> attributeKey = AttributeKey.valueOf("CONN");
@@ -32,6 +36,7 @@ public class Connection {
   private final ConnectionMetrics connectionMetrics;
 
   private volatile FrameBodyTransformer transformer;
+  private volatile SegmentCodec pendingSegmentCodec;
   private boolean throwOnOverload;
 
   public Connection(
@@ -55,6 +60,29 @@ public class Connection {
     return transformer;
   }
 
+  /**
+   * Switches the connection to the protocol v5 segments once the response to the STARTUP message is
+   * written, see {@link #applyPendingSegmentCodec()}.
+   */
+  public void setPendingSegmentCodec(SegmentCodec codec) {
+    this.pendingSegmentCodec = codec;
+  }
+
+  /**
+   * Installs the segment handlers, if the STARTUP message negotiated them. This must be called on
+   * the event loop, right after the STARTUP response is written, so that the response itself is not
+   * wrapped in a segment.
+   */
+  void applyPendingSegmentCodec() {
+    SegmentCodec codec = pendingSegmentCodec;
+    if (codec == null) return;
+    pendingSegmentCodec = null;
+
+    ChannelPipeline pipeline = channel.pipeline();
+    pipeline.addBefore("frameDecoder", "segmentDecoder", new SegmentDecoder(codec));
+    pipeline.addBefore("frameEncoder", "segmentEncoder", new SegmentEncoder(codec));
+  }
+
   public void setThrowOnOverload(boolean throwOnOverload) {
     this.throwOnOverload = throwOnOverload;
   }
@@ -71,6 +99,14 @@ public class Connection {
     return connectionMetrics;
   }
 
+  /**
+   * @return true if the version is in beta on this connection, in which case frames must have the
+   *     USE_BETA flag.
+   */
+  public boolean isBeta(ProtocolVersion version) {
+    return version.isBeta();
+  }
+
   public ProtocolVersion getVersion() {
     return version;
   }
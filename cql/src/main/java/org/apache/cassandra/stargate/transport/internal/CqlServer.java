@@ -496,7 +496,10 @@ public class CqlServer {
 
       // pipeline.addLast("debug", new LoggingHandler());
 
-      pipeline.addLast("frameDecoder", new Frame.Decoder(server::newConnection));
+      pipeline.addLast(
+          "frameDecoder",
+          new Frame.Decoder(
+              server::newConnection, server.persistence.releasedBetaProtocolVersions()));
       pipeline.addLast("frameEncoder", frameEncoder);
 
       pipeline.addLast("inboundFrameTransformer", inboundFrameTransformer);
@@ -508,7 +511,7 @@ public class CqlServer {
       pipeline.addLast(
           "executor",
           new Message.Dispatcher(
-              TransportDescriptor.useNativeTransportLegacyFlusher(),
+              TransportDescriptor.getNativeTransportFlusherType(),
               EndpointPayloadTracker.get(
                   ((InetSocketAddress) channel.remoteAddress()).getAddress())));
 
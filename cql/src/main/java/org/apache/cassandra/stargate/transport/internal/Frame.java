@@ -18,6 +18,7 @@
 package org.apache.cassandra.stargate.transport.internal;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
@@ -27,6 +28,7 @@ import io.netty.util.Attribute;
 import java.io.IOException;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import org.apache.cassandra.stargate.exceptions.InvalidRequestException;
 import org.apache.cassandra.stargate.metrics.ClientMetrics;
 import org.apache.cassandra.stargate.transport.ProtocolException;
@@ -138,9 +140,16 @@ public class Frame {
     private int tooLongStreamId;
 
     private final Connection.Factory factory;
-
-    public Decoder(Connection.Factory factory) {
+    private final Set<ProtocolVersion> releasedVersions;
+
+    /**
+     * @param factory creates the connection when the first frame is received.
+     * @param releasedVersions the beta protocol versions released by the persistence backend, that
+     *     do not require the USE_BETA flag.
+     */
+    public Decoder(Connection.Factory factory, Set<ProtocolVersion> releasedVersions) {
       this.factory = factory;
+      this.releasedVersions = releasedVersions;
     }
 
     Frame decodeFrame(ByteBuf buffer) throws Exception {
@@ -172,7 +181,7 @@ public class Frame {
       int flags = buffer.getByte(idx++);
       EnumSet<Header.Flag> decodedFlags = Header.Flag.deserialize(flags);
 
-      if (version.isBeta() && !decodedFlags.contains(Header.Flag.USE_BETA))
+      if (version.isBeta(releasedVersions) && !decodedFlags.contains(Header.Flag.USE_BETA))
         throw new ProtocolException(
             String.format(
                 "Beta version of the protocol used (%s), but USE_BETA flag is unset", version),
@@ -288,8 +297,8 @@ public class Frame {
       ClientMetrics.instance.incrementTotalBytesWritten(messageSize);
       ClientMetrics.instance.recordBytesTransmittedPerFrame(messageSize);
 
-      results.add(header);
-      results.add(frame.body);
+      // one buffer per frame, so that v5 connections can pack whole frames in their segments
+      results.add(Unpooled.wrappedBuffer(header, frame.body));
     }
   }
 
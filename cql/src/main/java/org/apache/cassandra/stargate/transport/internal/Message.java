@@ -17,6 +17,7 @@
  */
 package org.apache.cassandra.stargate.transport.internal;
 
+import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
 import com.datastax.oss.driver.shaded.guava.common.base.Predicate;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
 import io.netty.buffer.ByteBuf;
@@ -57,6 +58,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
 import org.apache.cassandra.net.ResourceLimits;
 import org.apache.cassandra.stargate.exceptions.OverloadedException;
 import org.apache.cassandra.stargate.exceptions.UnhandledClientException;
@@ -448,7 +450,9 @@ public abstract class Message {
         ProtocolVersion responseVersion =
             message.forcedProtocolVersion == null ? version : message.forcedProtocolVersion;
 
-        if (responseVersion.isBeta()) flags.add(Frame.Header.Flag.USE_BETA);
+        boolean beta =
+            connection == null ? responseVersion.isBeta() : connection.isBeta(responseVersion);
+        if (beta) flags.add(Frame.Header.Flag.USE_BETA);
 
         results.add(
             Frame.create(message.type, message.getStreamId(), responseVersion, flags, body));
@@ -470,13 +474,13 @@ public abstract class Message {
 
     private boolean paused;
 
-    private static class FlushItem {
+    static class FlushItem {
       final ChannelHandlerContext ctx;
       final Object response;
       final long bodySizeInBytes;
       final Dispatcher dispatcher;
 
-      private FlushItem(
+      FlushItem(
           ChannelHandlerContext ctx, Object response, long bodySizeInBytes, Dispatcher dispatcher) {
         this.ctx = ctx;
         this.bodySizeInBytes = bodySizeInBytes;
@@ -484,17 +488,27 @@ public abstract class Message {
         this.dispatcher = dispatcher;
       }
 
+      void write() {
+        ctx.write(response, ctx.voidPromise());
+        // v5 connections switch to segments right after the STARTUP response
+        if (response instanceof Message) {
+          Connection connection = ((Message) response).connection();
+          if (connection != null) connection.applyPendingSegmentCodec();
+        }
+      }
+
       public void release() {
         dispatcher.releaseItem(this);
       }
     }
 
-    private abstract static class Flusher implements Runnable {
+    abstract static class Flusher implements Runnable {
       final EventLoop eventLoop;
       final ConcurrentLinkedQueue<FlushItem> queued = new ConcurrentLinkedQueue<>();
       final AtomicBoolean scheduled = new AtomicBoolean(false);
       final HashSet<ChannelHandlerContext> channels = new HashSet<>();
       final List<FlushItem> flushed = new ArrayList<>();
+      long firstWriteNanos;
 
       void start() {
         if (!scheduled.get() && scheduled.compareAndSet(false, true)) {
@@ -505,6 +519,31 @@ public abstract class Message {
       public Flusher(EventLoop eventLoop) {
         this.eventLoop = eventLoop;
       }
+
+      long nanoTime() {
+        return System.nanoTime();
+      }
+
+      void write(FlushItem item) {
+        if (flushed.isEmpty()) firstWriteNanos = nanoTime();
+        channels.add(item.ctx);
+        item.write();
+        flushed.add(item);
+      }
+
+      /** Flushes the written items, and returns the time spent flushing the channels. */
+      long flushWritten() {
+        long start = nanoTime();
+        for (ChannelHandlerContext channel : channels) channel.flush();
+        long end = nanoTime();
+        for (FlushItem item : flushed) item.release();
+
+        ClientMetrics.instance.recordFlush(flushed.size(), end - firstWriteNanos);
+
+        channels.clear();
+        flushed.clear();
+        return end - start;
+      }
     }
 
     private static final class LegacyFlusher extends Flusher {
@@ -521,20 +560,14 @@ public abstract class Message {
         boolean doneWork = false;
         FlushItem flush;
         while (null != (flush = queued.poll())) {
-          channels.add(flush.ctx);
-          flush.ctx.write(flush.response, flush.ctx.voidPromise());
-          flushed.add(flush);
+          write(flush);
           doneWork = true;
         }
 
         runsSinceFlush++;
 
         if (!doneWork || runsSinceFlush > 2 || flushed.size() > 50) {
-          for (ChannelHandlerContext channel : channels) channel.flush();
-          for (FlushItem item : flushed) item.release();
-
-          channels.clear();
-          flushed.clear();
+          if (!flushed.isEmpty()) flushWritten();
           runsSinceFlush = 0;
         }
 
@@ -564,18 +597,59 @@ public abstract class Message {
         scheduled.set(false);
 
         while (null != (flush = queued.poll())) {
-          channels.add(flush.ctx);
-          flush.ctx.write(flush.response, flush.ctx.voidPromise());
-          flushed.add(flush);
+          write(flush);
           doneWork = true;
         }
 
-        if (doneWork) {
-          for (ChannelHandlerContext channel : channels) channel.flush();
-          for (FlushItem item : flushed) item.release();
+        if (doneWork) flushWritten();
+      }
+    }
+
+    /**
+     * Flushes right away under low load, and batches the responses under high load, see {@link
+     * AdaptiveFlushPolicy}.
+     */
+    static final class AdaptiveFlusher extends Flusher {
+      private final AdaptiveFlushPolicy policy;
+      private final LongSupplier clock;
+
+      private AdaptiveFlusher(EventLoop eventLoop) {
+        this(eventLoop, new AdaptiveFlushPolicy(), System::nanoTime);
+      }
 
-          channels.clear();
-          flushed.clear();
+      @VisibleForTesting
+      AdaptiveFlusher(EventLoop eventLoop, AdaptiveFlushPolicy policy, LongSupplier clock) {
+        super(eventLoop);
+        this.policy = policy;
+        this.clock = clock;
+      }
+
+      @Override
+      long nanoTime() {
+        return clock.getAsLong();
+      }
+
+      @Override
+      public void run() {
+        int drained = 0;
+        FlushItem flush;
+        scheduled.set(false);
+
+        while (null != (flush = queued.poll())) {
+          write(flush);
+          drained++;
+        }
+
+        long nowNanos = nanoTime();
+        policy.onRun(drained, nowNanos);
+        if (flushed.isEmpty()) return;
+
+        long waitedNanos = nowNanos - firstWriteNanos;
+        if (policy.shouldFlush(flushed.size(), waitedNanos)) {
+          policy.onFlush(flushWritten());
+        } else if (scheduled.compareAndSet(false, true)) {
+          // wait for more responses, unless a run was already started by a new response
+          eventLoop.schedule(this, policy.delayNanos() - waitedNanos, TimeUnit.NANOSECONDS);
         }
       }
     }
@@ -583,12 +657,22 @@ public abstract class Message {
     private static final ConcurrentMap<EventLoop, Flusher> flusherLookup =
         new ConcurrentHashMap<>();
 
-    private final boolean useLegacyFlusher;
+    /** How the responses are flushed to the channels of an event loop. */
+    public enum FlusherType {
+      /** Flushes the responses as soon as they are written. */
+      IMMEDIATE,
+      /** Flushes the responses after 3 runs of the flusher or 50 responses. */
+      LEGACY,
+      /** Adapts the batching of the responses to the load of the event loop. */
+      ADAPTIVE
+    }
+
+    private final FlusherType flusherType;
 
     public Dispatcher(
-        boolean useLegacyFlusher, CqlServer.EndpointPayloadTracker endpointPayloadTracker) {
+        FlusherType flusherType, CqlServer.EndpointPayloadTracker endpointPayloadTracker) {
       super(false);
-      this.useLegacyFlusher = useLegacyFlusher;
+      this.flusherType = flusherType;
       this.endpointPayloadTracker = endpointPayloadTracker;
     }
 
@@ -774,7 +858,7 @@ public abstract class Message {
       EventLoop loop = item.ctx.channel().eventLoop();
       Flusher flusher = flusherLookup.get(loop);
       if (flusher == null) {
-        Flusher created = useLegacyFlusher ? new LegacyFlusher(loop) : new ImmediateFlusher(loop);
+        Flusher created = newFlusher(loop);
         Flusher alt = flusherLookup.putIfAbsent(loop, flusher = created);
         if (alt != null) flusher = alt;
       }
@@ -783,6 +867,17 @@ public abstract class Message {
       flusher.start();
     }
 
+    private Flusher newFlusher(EventLoop loop) {
+      switch (flusherType) {
+        case LEGACY:
+          return new LegacyFlusher(loop);
+        case ADAPTIVE:
+          return new AdaptiveFlusher(loop);
+        default:
+          return new ImmediateFlusher(loop);
+      }
+    }
+
     public static void shutdown() {}
   }
 
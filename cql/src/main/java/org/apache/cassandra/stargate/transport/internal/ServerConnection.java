@@ -94,6 +94,11 @@ public class ServerConnection extends Connection {
     return persistenceConnection;
   }
 
+  @Override
+  public boolean isBeta(ProtocolVersion version) {
+    return version.isBeta(persistenceConnection.persistence().releasedBetaProtocolVersions());
+  }
+
   ConnectionStage stage() {
     return stage;
   }
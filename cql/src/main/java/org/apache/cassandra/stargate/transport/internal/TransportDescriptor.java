@@ -195,6 +195,13 @@ public class TransportDescriptor {
     return conf.native_transport_flush_in_batches_legacy;
   }
 
+  public static Message.Dispatcher.FlusherType getNativeTransportFlusherType() {
+    if (conf.native_transport_flush_adaptive) return Message.Dispatcher.FlusherType.ADAPTIVE;
+    return useNativeTransportLegacyFlusher()
+        ? Message.Dispatcher.FlusherType.LEGACY
+        : Message.Dispatcher.FlusherType.IMMEDIATE;
+  }
+
   public static int getNativeTransportFrameBlockSize() {
     // TODO: Will need updated for protocol v5. The default of 32 was removed as part of this change
     // https://github.com/apache/cassandra/commit/a7c4ba9eeecb365e7c4753d8eaab747edd9a632a#diff-e966f41bc2a418becfe687134ec8cf542eb051eead7fb4917e65a3a2e7c9bce3L191
@@ -205,6 +212,13 @@ public class TransportDescriptor {
     return (int) ByteUnit.MEBI_BYTES.toBytes(conf.native_transport_max_frame_size_in_mb);
   }
 
+  public static int getNativeTransportZstdCompressionLevel() {
+    return Integer.parseInt(
+        System.getProperty(
+            Config.PROPERTY_PREFIX + "native_transport_zstd_compression_level",
+            Integer.toString(conf.native_transport_zstd_compression_level)));
+  }
+
   public static boolean getNativeTransportAllowOlderProtocols() {
     return conf.native_transport_allow_older_protocols;
   }
@@ -21,14 +21,17 @@ package org.apache.cassandra.stargate.transport.internal.frame.compress;
 import io.netty.buffer.ByteBuf;
 import java.io.IOException;
 import java.util.EnumSet;
+import org.apache.cassandra.stargate.metrics.ClientMetrics;
 import org.apache.cassandra.stargate.transport.ProtocolException;
 import org.apache.cassandra.stargate.transport.internal.CBUtil;
 import org.apache.cassandra.stargate.transport.internal.Frame;
+import org.apache.cassandra.stargate.transport.internal.TransportDescriptor;
 import org.apache.cassandra.stargate.transport.internal.frame.FrameBodyTransformer;
 
 public abstract class CompressingTransformer implements FrameBodyTransformer {
   private static final CompressingTransformer LZ4 = new LZ4();
   private static final CompressingTransformer SNAPPY = new Snappy();
+  private static final CompressingTransformer ZSTD = new Zstd();
 
   private static final EnumSet<Frame.Header.Flag> headerFlags =
       EnumSet.of(Frame.Header.Flag.COMPRESSED);
@@ -43,6 +46,13 @@ public abstract class CompressingTransformer implements FrameBodyTransformer {
       return SNAPPY;
     }
 
+    if (compressor instanceof ZstdCompressor) {
+      if (ZstdCompressor.INSTANCE == null)
+        throw new ProtocolException("This instance does not support Zstd compression");
+
+      return ZSTD;
+    }
+
     throw new ProtocolException(
         "Unsupported compression implementation: " + compressor.getClass().getCanonicalName());
   }
@@ -79,9 +89,12 @@ public abstract class CompressingTransformer implements FrameBodyTransformer {
       output[outputOffset + 2] = (byte) (input.length >>> 8);
       output[outputOffset + 3] = (byte) input.length;
       try {
+        long start = System.nanoTime();
         int written =
             LZ4Compressor.INSTANCE.compress(
                 input, 0, input.length, output, Integer.BYTES + outputOffset);
+        ClientMetrics.instance.recordFrameCompression(
+            "lz4", input.length, Integer.BYTES + written, System.nanoTime() - start);
         outputBuf.writerIndex(Integer.BYTES + written);
         return outputBuf;
       } catch (IOException e) {
@@ -120,9 +133,12 @@ public abstract class CompressingTransformer implements FrameBodyTransformer {
       int maxCompressedLength = SnappyCompressor.INSTANCE.maxCompressedLength(uncompressedLength);
       ByteBuf outputBuf = CBUtil.allocator.heapBuffer(maxCompressedLength);
       try {
+        long start = System.nanoTime();
         int written =
             SnappyCompressor.INSTANCE.compress(
                 input, 0, uncompressedLength, outputBuf.array(), outputBuf.arrayOffset());
+        ClientMetrics.instance.recordFrameCompression(
+            "snappy", uncompressedLength, written, System.nanoTime() - start);
         outputBuf.writerIndex(written);
         return outputBuf;
       } catch (IOException e) {
@@ -146,4 +162,54 @@ public abstract class CompressingTransformer implements FrameBodyTransformer {
       }
     }
   }
+
+  // Zstd encoding writes a single Zstd frame, which records the uncompressed length
+  private static class Zstd extends CompressingTransformer {
+    // the decompressed length is set by the client, so never allocate more than a frame can hold
+    private static final int MAX_DECOMPRESSED_LENGTH =
+        TransportDescriptor.getNativeTransportMaxFrameSize();
+
+    @Override
+    public ByteBuf transformOutbound(ByteBuf inputBuf) throws IOException {
+      byte[] input = CBUtil.readRawBytes(inputBuf);
+      int maxCompressedLength = ZstdCompressor.INSTANCE.maxCompressedLength(input.length);
+      ByteBuf outputBuf = CBUtil.allocator.heapBuffer(maxCompressedLength);
+      try {
+        long start = System.nanoTime();
+        int written =
+            ZstdCompressor.INSTANCE.compress(
+                input, 0, input.length, outputBuf.array(), outputBuf.arrayOffset());
+        ClientMetrics.instance.recordFrameCompression(
+            "zstd", input.length, written, System.nanoTime() - start);
+        outputBuf.writerIndex(written);
+        return outputBuf;
+      } catch (IOException e) {
+        outputBuf.release();
+        throw e;
+      }
+    }
+
+    @Override
+    ByteBuf transformInbound(ByteBuf inputBuf) throws IOException {
+      byte[] input = CBUtil.readRawBytes(inputBuf);
+      int uncompressedLength =
+          ZstdCompressor.decompressedLength(input, 0, input.length, MAX_DECOMPRESSED_LENGTH);
+      ByteBuf outputBuf = CBUtil.allocator.heapBuffer(uncompressedLength);
+      try {
+        int read =
+            ZstdCompressor.INSTANCE.decompress(
+                input,
+                0,
+                input.length,
+                outputBuf.array(),
+                outputBuf.arrayOffset(),
+                uncompressedLength);
+        outputBuf.writerIndex(read);
+        return outputBuf;
+      } catch (IOException e) {
+        outputBuf.release();
+        throw e;
+      }
+    }
+  }
 }
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.stargate.transport.internal.frame.segment;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.concurrent.FastThreadLocal;
+import java.util.zip.CRC32;
+
+/** Checksums of the protocol v5 segments. */
+final class Crc {
+  private static final FastThreadLocal<CRC32> crc32 =
+      new FastThreadLocal<CRC32>() {
+        @Override
+        protected CRC32 initialValue() {
+          return new CRC32();
+        }
+      };
+
+  // the CRC32 is seeded with these bytes, so that a payload of zeroes does not have a zero CRC
+  private static final byte[] initialBytes =
+      new byte[] {(byte) 0xFA, (byte) 0x2D, (byte) 0x55, (byte) 0xCA};
+
+  private static final int CRC24_INIT = 0x875060;
+
+  // Polynomial chosen from https://users.ece.cmu.edu/~koopman/crc/index.html, by Philip Koopman.
+  // It has hamming distance of 8 for messages of up to 105 bits, which covers the segment headers.
+  private static final int CRC24_POLY = 0x1974F0B;
+
+  private Crc() {}
+
+  /** Returns the CRC32 of the given bytes of the buffer, the buffer indexes are not modified. */
+  static int crc32(ByteBuf buffer, int index, int length) {
+    CRC32 crc = crc32.get();
+    crc.reset();
+    crc.update(initialBytes);
+    crc.update(buffer.nioBuffer(index, length));
+    return (int) crc.getValue();
+  }
+
+  /**
+   * Returns the CRC24 of the first bytes of the given register. The bytes are read from the least
+   * significant to the most significant, which is the order of the little-endian segment headers.
+   *
+   * @param bytes up to 8 bytes to compute the CRC of
+   * @param length the number of bytes to read from #bytes, between 1 and 8
+   */
+  static int crc24(long bytes, int length) {
+    int crc = CRC24_INIT;
+    while (length-- > 0) {
+      crc ^= (int) ((bytes & 0xff) << 16);
+      bytes >>= 8;
+
+      for (int i = 0; i < 8; i++) {
+        crc <<= 1;
+        if ((crc & 0x1000000) != 0) crc ^= CRC24_POLY;
+      }
+    }
+    return crc;
+  }
+}
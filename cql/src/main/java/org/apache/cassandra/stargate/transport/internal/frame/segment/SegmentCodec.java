@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.stargate.transport.internal.frame.segment;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import org.apache.cassandra.stargate.transport.ProtocolException;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.Compressor;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.LZ4Compressor;
+
+/**
+ * Encodes and decodes the segments of the native protocol v5 framing.
+ *
+ * <p>After the STARTUP exchange, v5 connections wrap the frames (also called envelopes) in
+ * segments. A self-contained segment packs one or more complete frames, while frames that are too
+ * big for a single segment are split over several segments that are not self-contained. The segment
+ * headers are protected by a CRC24 and the payloads by a CRC32, and when compression is negotiated
+ * the payload of each segment is compressed as a whole, instead of each frame body.
+ *
+ * <p>Without compression, a segment is a 6 bytes header followed by the payload and its CRC32:
+ *
+ * <pre>
+ *  0                   1                   2                   3
+ *  0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * |          Payload Length         |S|   Padding |  Header CRC24 |
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * |               |                Payload...                     |
+ * </pre>
+ *
+ * With compression, the header is 8 bytes long and also holds the uncompressed length of the
+ * payload, which is 0 if the payload is stored uncompressed:
+ *
+ * <pre>
+ *  0                   1                   2                   3
+ *  0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * |        Compressed Length        |     Uncompressed Length
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *     |S|  Padding|            Header CRC24          |  Payload...
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * </pre>
+ *
+ * Headers and CRCs are little-endian, unlike the rest of the protocol.
+ */
+public abstract class SegmentCodec {
+  /** The maximum (uncompressed) payload of a segment. */
+  public static final int MAX_PAYLOAD_LENGTH = (1 << 17) - 1;
+
+  private static final int TRAILER_LENGTH = 4;
+
+  private static final SegmentCodec CRC = new Crc24();
+  private static final SegmentCodec LZ4 = new Compressing(LZ4Compressor.INSTANCE);
+
+  /** Returns the codec of the segments that are only checksummed. */
+  public static SegmentCodec crc() {
+    return CRC;
+  }
+
+  /**
+   * Returns the codec of the segments compressed with the given compressor.
+   *
+   * @throws ProtocolException if the compressor can not be used for segments
+   */
+  public static SegmentCodec compressing(Compressor compressor) {
+    if (compressor instanceof LZ4Compressor) return LZ4;
+
+    throw new ProtocolException(
+        "Unsupported compression implementation for protocol v5 segments: "
+            + compressor.getClass().getCanonicalName());
+  }
+
+  SegmentCodec() {}
+
+  /**
+   * Returns the segment of the given payload, the payload is not modified nor released.
+   *
+   * @param payload the payload, at most {@link #MAX_PAYLOAD_LENGTH} bytes
+   * @param selfContained if the payload holds only complete frames
+   */
+  public abstract ByteBuf encode(ByteBuf payload, boolean selfContained, ByteBufAllocator allocator)
+      throws IOException;
+
+  /**
+   * Reads the next segment from the buffer.
+   *
+   * @return the payload of the segment, or null if the buffer does not hold a complete segment yet
+   * @throws ProtocolException if the segment is corrupted
+   */
+  public abstract ByteBuf decode(ByteBuf buffer) throws IOException;
+
+  private static void checkPayloadLength(int length) {
+    if (length > MAX_PAYLOAD_LENGTH)
+      throw new IllegalArgumentException(
+          String.format(
+              "Segment payload of %d bytes exceeds the maximum of %d bytes",
+              length, MAX_PAYLOAD_LENGTH));
+  }
+
+  private static void checkPayloadCrc(ByteBuf buffer, int index, int length) {
+    int expected = buffer.getIntLE(index + length);
+    int actual = Crc.crc32(buffer, index, length);
+    if (expected != actual)
+      throw new ProtocolException(
+          String.format(
+              "Corrupted segment payload, CRC32 is %08x but expected %08x", actual, expected));
+  }
+
+  private static ProtocolException corruptedHeader(int actual, int expected) {
+    return new ProtocolException(
+        String.format(
+            "Corrupted segment header, CRC24 is %06x but expected %06x", actual, expected));
+  }
+
+  private static class Crc24 extends SegmentCodec {
+    private static final int HEADER_LENGTH = 6;
+
+    @Override
+    public ByteBuf encode(ByteBuf payload, boolean selfContained, ByteBufAllocator allocator) {
+      int length = payload.readableBytes();
+      checkPayloadLength(length);
+
+      int header = length;
+      if (selfContained) header |= 1 << 17;
+
+      ByteBuf segment = allocator.buffer(HEADER_LENGTH + length + TRAILER_LENGTH);
+      segment.writeMediumLE(header);
+      segment.writeMediumLE(Crc.crc24(header, 3));
+      segment.writeBytes(payload, payload.readerIndex(), length);
+      segment.writeIntLE(Crc.crc32(segment, HEADER_LENGTH, length));
+      return segment;
+    }
+
+    @Override
+    public ByteBuf decode(ByteBuf buffer) {
+      if (buffer.readableBytes() < HEADER_LENGTH) return null;
+
+      int idx = buffer.readerIndex();
+      int header = buffer.getUnsignedMediumLE(idx);
+      int headerCrc = buffer.getUnsignedMediumLE(idx + 3);
+      int actualCrc = Crc.crc24(header, 3);
+      if (headerCrc != actualCrc) throw corruptedHeader(actualCrc, headerCrc);
+
+      int length = header & MAX_PAYLOAD_LENGTH;
+      if (buffer.readableBytes() < HEADER_LENGTH + length + TRAILER_LENGTH) return null;
+
+      checkPayloadCrc(buffer, idx + HEADER_LENGTH, length);
+      ByteBuf payload = buffer.retainedSlice(idx + HEADER_LENGTH, length);
+      buffer.readerIndex(idx + HEADER_LENGTH + length + TRAILER_LENGTH);
+      return payload;
+    }
+  }
+
+  private static class Compressing extends SegmentCodec {
+    private static final int HEADER_LENGTH = 8;
+
+    private final Compressor compressor;
+
+    private Compressing(Compressor compressor) {
+      this.compressor = compressor;
+    }
+
+    @Override
+    public ByteBuf encode(ByteBuf payload, boolean selfContained, ByteBufAllocator allocator)
+        throws IOException {
+      int uncompressedLength = payload.readableBytes();
+      checkPayloadLength(uncompressedLength);
+
+      byte[] input;
+      int inputOffset;
+      if (payload.hasArray()) {
+        input = payload.array();
+        inputOffset = payload.arrayOffset() + payload.readerIndex();
+      } else {
+        input = ByteBufUtil.getBytes(payload);
+        inputOffset = 0;
+      }
+
+      int maxCompressedLength = compressor.maxCompressedLength(uncompressedLength);
+      ByteBuf segment = allocator.heapBuffer(HEADER_LENGTH + maxCompressedLength + TRAILER_LENGTH);
+      try {
+        int compressedLength =
+            compressor.compress(
+                input,
+                inputOffset,
+                uncompressedLength,
+                segment.array(),
+                segment.arrayOffset() + HEADER_LENGTH);
+
+        // incompressible payloads are sent as is, flagged by an uncompressed length of 0
+        if (compressedLength >= uncompressedLength) {
+          segment.setBytes(HEADER_LENGTH, payload, payload.readerIndex(), uncompressedLength);
+          compressedLength = uncompressedLength;
+          uncompressedLength = 0;
+        }
+
+        long header = compressedLength | ((long) uncompressedLength << 17);
+        if (selfContained) header |= 1L << 34;
+        header |= (long) Crc.crc24(header, 5) << 40;
+
+        segment.writeLongLE(header);
+        segment.writerIndex(HEADER_LENGTH + compressedLength);
+        segment.writeIntLE(Crc.crc32(segment, HEADER_LENGTH, compressedLength));
+        return segment;
+      } catch (Throwable t) {
+        segment.release();
+        throw t;
+      }
+    }
+
+    @Override
+    public ByteBuf decode(ByteBuf buffer) throws IOException {
+      if (buffer.readableBytes() < HEADER_LENGTH) return null;
+
+      int idx = buffer.readerIndex();
+      long header = buffer.getLongLE(idx);
+      int headerCrc = (int) (header >>> 40) & 0xFFFFFF;
+      int actualCrc = Crc.crc24(header, 5);
+      if (headerCrc != actualCrc) throw corruptedHeader(actualCrc, headerCrc);
+
+      int compressedLength = (int) header & MAX_PAYLOAD_LENGTH;
+      int uncompressedLength = (int) (header >>> 17) & MAX_PAYLOAD_LENGTH;
+      int segmentLength = HEADER_LENGTH + compressedLength + TRAILER_LENGTH;
+      if (buffer.readableBytes() < segmentLength) return null;
+
+      checkPayloadCrc(buffer, idx + HEADER_LENGTH, compressedLength);
+      ByteBuf payload;
+      if (uncompressedLength == 0) {
+        payload = buffer.retainedSlice(idx + HEADER_LENGTH, compressedLength);
+      } else {
+        byte[] input = ByteBufUtil.getBytes(buffer, idx + HEADER_LENGTH, compressedLength, false);
+        payload =
+            Unpooled.wrappedBuffer(
+                compressor.decompress(input, 0, compressedLength, uncompressedLength));
+      }
+      buffer.readerIndex(idx + segmentLength);
+      return payload;
+    }
+  }
+}
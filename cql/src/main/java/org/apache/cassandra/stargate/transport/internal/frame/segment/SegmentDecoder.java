@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.stargate.transport.internal.frame.segment;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import java.io.IOException;
+import java.util.List;
+import org.apache.cassandra.stargate.transport.ProtocolException;
+
+/**
+ * Unwraps the inbound segments of a protocol v5 connection, and passes their payloads on to the
+ * {@link org.apache.cassandra.stargate.transport.internal.Frame.Decoder}, which reassembles the
+ * frames split over several segments.
+ *
+ * <p>A corrupted segment can not be skipped reliably, so the rest of the stream is discarded and
+ * the {@link ProtocolException} closes the connection once the error is sent.
+ */
+public class SegmentDecoder extends ByteToMessageDecoder {
+  private final SegmentCodec codec;
+
+  private boolean corrupted;
+
+  public SegmentDecoder(SegmentCodec codec) {
+    this.codec = codec;
+  }
+
+  @Override
+  protected void decode(ChannelHandlerContext ctx, ByteBuf buffer, List<Object> results) {
+    if (corrupted) {
+      buffer.skipBytes(buffer.readableBytes());
+      return;
+    }
+
+    try {
+      ByteBuf payload = codec.decode(buffer);
+      if (payload != null) results.add(payload);
+    } catch (ProtocolException | IOException e) {
+      corrupted = true;
+      buffer.skipBytes(buffer.readableBytes());
+      ctx.fireExceptionCaught(
+          e instanceof ProtocolException
+              ? e
+              : new ProtocolException("Corrupted segment payload: " + e.getMessage()));
+    }
+  }
+}
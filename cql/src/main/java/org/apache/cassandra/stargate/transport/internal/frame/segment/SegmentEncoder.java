@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.stargate.transport.internal.frame.segment;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wraps the outbound frames of a protocol v5 connection in segments.
+ *
+ * <p>Frames are packed in the current self-contained segment until it is full or the channel is
+ * flushed, so that the many small responses written by a flush share a single segment, CRC and
+ * compression pass. Frames bigger than a segment are split over several segments that are not
+ * self-contained.
+ *
+ * <p>This handler must be placed after the {@link
+ * org.apache.cassandra.stargate.transport.internal.Frame.Encoder}, towards the head of the
+ * pipeline, it expects a single buffer per encoded frame.
+ */
+public class SegmentEncoder extends ChannelOutboundHandlerAdapter {
+  private final SegmentCodec codec;
+
+  private ByteBuf pending;
+  private final List<ChannelPromise> pendingPromises = new ArrayList<>();
+
+  public SegmentEncoder(SegmentCodec codec) {
+    this.codec = codec;
+  }
+
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
+      throws Exception {
+    if (!(msg instanceof ByteBuf)) {
+      writePending(ctx);
+      ctx.write(msg, promise);
+      return;
+    }
+
+    ByteBuf frame = (ByteBuf) msg;
+    try {
+      int length = frame.readableBytes();
+      if (length > SegmentCodec.MAX_PAYLOAD_LENGTH) {
+        writePending(ctx);
+        writeLarge(ctx, frame, promise);
+        return;
+      }
+
+      if (pending != null && pending.readableBytes() + length > SegmentCodec.MAX_PAYLOAD_LENGTH)
+        writePending(ctx);
+
+      if (pending == null)
+        pending = ctx.alloc().buffer(Math.max(length, 4096), SegmentCodec.MAX_PAYLOAD_LENGTH);
+      pending.writeBytes(frame);
+      if (!promise.isVoid()) pendingPromises.add(promise);
+    } finally {
+      frame.release();
+    }
+  }
+
+  @Override
+  public void flush(ChannelHandlerContext ctx) throws Exception {
+    writePending(ctx);
+    ctx.flush();
+  }
+
+  @Override
+  public void handlerRemoved(ChannelHandlerContext ctx) {
+    releasePending();
+  }
+
+  private void writeLarge(ChannelHandlerContext ctx, ByteBuf frame, ChannelPromise promise)
+      throws Exception {
+    while (frame.isReadable()) {
+      int length = Math.min(frame.readableBytes(), SegmentCodec.MAX_PAYLOAD_LENGTH);
+      ByteBuf segment = codec.encode(frame.readSlice(length), false, ctx.alloc());
+      ctx.write(segment, frame.isReadable() ? ctx.voidPromise() : promise);
+    }
+  }
+
+  private void writePending(ChannelHandlerContext ctx) throws Exception {
+    if (pending == null) return;
+
+    ByteBuf segment;
+    try {
+      segment = codec.encode(pending, true, ctx.alloc());
+    } finally {
+      pending.release();
+      pending = null;
+    }
+
+    if (pendingPromises.isEmpty()) {
+      ctx.write(segment, ctx.voidPromise());
+      return;
+    }
+
+    ChannelPromise[] promises = pendingPromises.toArray(new ChannelPromise[0]);
+    pendingPromises.clear();
+    ctx.write(segment)
+        .addListener(
+            future -> {
+              for (ChannelPromise promise : promises) {
+                if (future.isSuccess()) promise.trySuccess();
+                else promise.tryFailure(future.cause());
+              }
+            });
+  }
+
+  private void releasePending() {
+    if (pending != null) {
+      pending.release();
+      pending = null;
+    }
+    pendingPromises.clear();
+  }
+}
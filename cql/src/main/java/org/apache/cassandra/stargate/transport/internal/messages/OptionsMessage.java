@@ -26,6 +26,7 @@ import java.util.concurrent.CompletableFuture;
 import org.apache.cassandra.stargate.transport.ProtocolVersion;
 import org.apache.cassandra.stargate.transport.internal.Message;
 import org.apache.cassandra.stargate.transport.internal.frame.compress.SnappyCompressor;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.ZstdCompressor;
 import org.apache.cassandra.utils.ChecksumType;
 
 /** Message to indicate that the server is ready to receive requests. */
@@ -57,12 +58,15 @@ public class OptionsMessage extends Message.Request {
     if (SnappyCompressor.INSTANCE != null) compressions.add("snappy");
     // LZ4 is always available since worst case scenario it default to a pure JAVA implem.
     compressions.add("lz4");
+    if (ZstdCompressor.INSTANCE != null) compressions.add("zstd");
 
     Map<String, List<String>> supported = new HashMap<>(persistence().cqlSupportedOptions());
     assert supported.containsKey(StartupMessage.CQL_VERSION);
 
     supported.put(StartupMessage.COMPRESSION, compressions);
-    supported.put(StartupMessage.PROTOCOL_VERSIONS, ProtocolVersion.supportedVersions());
+    supported.put(
+        StartupMessage.PROTOCOL_VERSIONS,
+        ProtocolVersion.supportedVersions(persistence().releasedBetaProtocolVersions()));
 
     if (connection.getVersion().supportsChecksums()) {
       ChecksumType[] types = ChecksumType.values();
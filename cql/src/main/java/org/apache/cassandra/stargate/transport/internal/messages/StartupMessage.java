@@ -32,6 +32,8 @@ import org.apache.cassandra.stargate.transport.internal.frame.compress.Compressi
 import org.apache.cassandra.stargate.transport.internal.frame.compress.Compressor;
 import org.apache.cassandra.stargate.transport.internal.frame.compress.LZ4Compressor;
 import org.apache.cassandra.stargate.transport.internal.frame.compress.SnappyCompressor;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.ZstdCompressor;
+import org.apache.cassandra.stargate.transport.internal.frame.segment.SegmentCodec;
 import org.apache.cassandra.utils.CassandraVersion;
 import org.apache.cassandra.utils.ChecksumType;
 
@@ -89,7 +91,11 @@ public class StartupMessage extends Message.Request {
     ChecksumType checksumType = getChecksumType();
     Compressor compressor = getCompressor();
 
-    if (null != checksumType) {
+    SegmentCodec segmentCodec = null;
+    if (connection.getVersion().isGreaterOrEqualTo(ProtocolVersion.V5)) {
+      // v5 checksums, and optionally compresses, whole segments instead of the frame bodies
+      segmentCodec = null == compressor ? SegmentCodec.crc() : SegmentCodec.compressing(compressor);
+    } else if (null != checksumType) {
       if (!connection.getVersion().supportsChecksums())
         throw new ProtocolException(
             String.format(
@@ -108,6 +114,8 @@ public class StartupMessage extends Message.Request {
     }
 
     Authenticator authenticator = persistence().getAuthenticator();
+    if (null != segmentCodec) connection.setPendingSegmentCodec(segmentCodec);
+
     if (authenticator.requireAuthentication())
       return CompletableFuture.completedFuture(
           new AuthenticateMessage(authenticator.getInternalClassName()));
@@ -148,6 +156,13 @@ public class StartupMessage extends Message.Request {
         }
       case "lz4":
         return LZ4Compressor.INSTANCE;
+      case "zstd":
+        {
+          if (ZstdCompressor.INSTANCE == null)
+            throw new ProtocolException("This instance does not support Zstd compression");
+
+          return ZstdCompressor.INSTANCE;
+        }
       default:
         throw new ProtocolException(String.format("Unknown compression algorithm: %s", name));
     }
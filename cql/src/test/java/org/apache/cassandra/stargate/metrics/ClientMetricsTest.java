@@ -27,6 +27,7 @@ import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.search.MeterNotFoundException;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.stargate.db.ClientInfo;
@@ -36,6 +37,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.apache.cassandra.stargate.transport.internal.CqlServer;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Nested;
@@ -294,6 +296,60 @@ class ClientMetricsTest {
     }
   }
 
+  @Nested
+  class RecordFrameCompression {
+
+    @Test
+    public void happyPath() {
+      clientMetrics.recordFrameCompression("lz4", 100, 50, 2000);
+      clientMetrics.recordFrameCompression("lz4", 100, 25, 4000);
+      clientMetrics.recordFrameCompression("zstd", 100, 20, 1000);
+
+      DistributionSummary lz4Ratio =
+          meterRegistry
+              .get("cql.org.apache.cassandra.metrics.Client.FrameCompressionRatio")
+              .tag("algorithm", "lz4")
+              .summary();
+      Timer lz4Time =
+          meterRegistry
+              .get("cql.org.apache.cassandra.metrics.Client.FrameCompressionTime")
+              .tag("algorithm", "lz4")
+              .timer();
+      DistributionSummary zstdRatio =
+          meterRegistry
+              .get("cql.org.apache.cassandra.metrics.Client.FrameCompressionRatio")
+              .tag("algorithm", "zstd")
+              .summary();
+
+      assertThat(lz4Ratio.count()).isEqualTo(2);
+      assertThat(lz4Ratio.totalAmount()).isEqualTo(6d);
+      assertThat(lz4Time.count()).isEqualTo(2);
+      assertThat(lz4Time.totalTime(TimeUnit.NANOSECONDS)).isEqualTo(6000d);
+      assertThat(zstdRatio.count()).isEqualTo(1);
+      assertThat(zstdRatio.max()).isEqualTo(5d);
+    }
+  }
+
+  @Nested
+  class RecordFlush {
+
+    @Test
+    public void happyPath() {
+      clientMetrics.recordFlush(1, 1000);
+      clientMetrics.recordFlush(10, 5000);
+
+      DistributionSummary batchSize =
+          meterRegistry.get("cql.org.apache.cassandra.metrics.Client.FlushBatchSize").summary();
+      Timer latency =
+          meterRegistry.get("cql.org.apache.cassandra.metrics.Client.FlushLatency").timer();
+
+      assertThat(batchSize.count()).isEqualTo(2);
+      assertThat(batchSize.totalAmount()).isEqualTo(11d);
+      assertThat(latency.count()).isEqualTo(2);
+      assertThat(latency.totalTime(TimeUnit.NANOSECONDS)).isEqualTo(6000d);
+    }
+  }
+
   @Nested
   class UpdateConnectedClients {
 
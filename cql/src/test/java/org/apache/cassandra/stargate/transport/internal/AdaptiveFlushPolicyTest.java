@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.stargate.transport.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveFlushPolicyTest {
+
+  private final AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy();
+
+  private long nowNanos;
+
+  @Test
+  public void lowLoadFlushesImmediately() {
+    for (int i = 0; i < 100; i++) {
+      run(1, TimeUnit.MILLISECONDS.toNanos(1));
+      policy.onFlush(TimeUnit.MICROSECONDS.toNanos(20));
+    }
+
+    assertThat(policy.batchSize()).isEqualTo(1);
+    assertThat(policy.delayNanos()).isZero();
+    assertThat(policy.shouldFlush(1, 0)).isTrue();
+  }
+
+  @Test
+  public void highLoadBatchesAcrossRuns() {
+    // a single response per run, but a new run every microsecond
+    for (int i = 0; i < 100; i++) {
+      run(1, TimeUnit.MICROSECONDS.toNanos(1));
+      policy.onFlush(TimeUnit.MICROSECONDS.toNanos(10));
+    }
+
+    assertThat(policy.batchSize()).isBetween(9, 10);
+    assertThat(policy.delayNanos()).isBetween(1L, TimeUnit.MICROSECONDS.toNanos(10));
+    assertThat(policy.shouldFlush(1, 0)).isFalse();
+    assertThat(policy.shouldFlush(5, 0)).isFalse();
+    assertThat(policy.shouldFlush(5, policy.delayNanos())).isTrue();
+    assertThat(policy.shouldFlush(policy.batchSize(), 0)).isTrue();
+  }
+
+  @Test
+  public void batchSizeAndDelayBounded() {
+    for (int i = 0; i < 100; i++) {
+      run(1000, TimeUnit.MICROSECONDS.toNanos(1));
+      policy.onFlush(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    assertThat(policy.batchSize()).isEqualTo(AdaptiveFlushPolicy.MAX_BATCH_SIZE);
+    assertThat(policy.delayNanos()).isEqualTo(AdaptiveFlushPolicy.MAX_DELAY_NANOS);
+  }
+
+  @Test
+  public void adaptsBackToLowLoad() {
+    for (int i = 0; i < 100; i++) {
+      run(1, TimeUnit.MICROSECONDS.toNanos(1));
+      policy.onFlush(TimeUnit.MICROSECONDS.toNanos(10));
+    }
+    for (int i = 0; i < 20; i++) {
+      run(1, TimeUnit.SECONDS.toNanos(1));
+    }
+
+    assertThat(policy.batchSize()).isEqualTo(1);
+    assertThat(policy.delayNanos()).isZero();
+  }
+
+  private void run(int drained, long intervalNanos) {
+    nowNanos += intervalNanos;
+    policy.onRun(drained, nowNanos);
+  }
+}
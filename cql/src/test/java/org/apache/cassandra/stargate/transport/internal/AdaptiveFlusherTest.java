@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.stargate.transport.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.stargate.db.metrics.api.ClientInfoMetricsTagProvider;
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.cassandra.stargate.metrics.ClientMetrics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveFlusherTest {
+
+  private final AtomicInteger flushes = new AtomicInteger();
+
+  private final EmbeddedChannel channel =
+      new EmbeddedChannel(
+          new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void flush(ChannelHandlerContext ctx) throws Exception {
+              flushes.incrementAndGet();
+              super.flush(ctx);
+            }
+          },
+          new ChannelOutboundHandlerAdapter());
+
+  private final AtomicLong clock = new AtomicLong();
+
+  private final AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy();
+
+  private Message.Dispatcher dispatcher;
+
+  private Message.Dispatcher.AdaptiveFlusher flusher;
+
+  @BeforeAll
+  public static void initMetrics() {
+    ClientMetrics.instance.init(
+        Collections.emptyList(),
+        new SimpleMeterRegistry(),
+        mock(ClientInfoMetricsTagProvider.class),
+        0d);
+  }
+
+  @BeforeEach
+  public void init() {
+    dispatcher =
+        new Message.Dispatcher(
+            Message.Dispatcher.FlusherType.ADAPTIVE,
+            CqlServer.EndpointPayloadTracker.get(InetAddress.getLoopbackAddress()));
+    flusher = new Message.Dispatcher.AdaptiveFlusher(channel.eventLoop(), policy, clock::get);
+  }
+
+  @Test
+  public void lowLoadFlushesRightAway() {
+    enqueue("r1");
+    channel.runPendingTasks();
+
+    assertThat(channel.outboundMessages()).containsExactly("r1");
+    assertThat(flushes.get()).isEqualTo(1);
+    assertThat(flusher.scheduled.get()).isFalse();
+  }
+
+  @Test
+  public void highLoadCoalescesRuns() throws Exception {
+    highLoad();
+
+    enqueue("r1");
+    channel.runPendingTasks();
+
+    // waiting for more responses
+    assertThat(channel.outboundMessages()).isEmpty();
+    assertThat(flusher.scheduled.get()).isTrue();
+
+    // does not start a new run, the scheduled one drains the response
+    clock.addAndGet(TimeUnit.MICROSECONDS.toNanos(1));
+    enqueue("r2");
+    assertThat(flusher.scheduled.get()).isTrue();
+
+    clock.addAndGet(policy.delayNanos());
+    runScheduledRun();
+
+    assertThat(channel.outboundMessages()).containsExactly("r1", "r2");
+    assertThat(flushes.get()).isEqualTo(1);
+    assertThat(flusher.scheduled.get()).isFalse();
+  }
+
+  @Test
+  public void highLoadFlushesAfterDelay() throws Exception {
+    highLoad();
+
+    enqueue("r1");
+    channel.runPendingTasks();
+
+    assertThat(channel.outboundMessages()).isEmpty();
+    assertThat(flusher.scheduled.get()).isTrue();
+
+    // no other response arrived, the batch is flushed once the delay elapsed
+    clock.addAndGet(policy.delayNanos());
+    runScheduledRun();
+
+    assertThat(channel.outboundMessages()).containsExactly("r1");
+    assertThat(flushes.get()).isEqualTo(1);
+    assertThat(flusher.scheduled.get()).isFalse();
+  }
+
+  // single responses drained by runs a microsecond apart
+  private void highLoad() {
+    for (int i = 0; i < 100; i++) {
+      policy.onRun(1, clock.addAndGet(TimeUnit.MICROSECONDS.toNanos(1)));
+      policy.onFlush(TimeUnit.MICROSECONDS.toNanos(10));
+    }
+    clock.addAndGet(TimeUnit.MICROSECONDS.toNanos(1));
+
+    assertThat(policy.batchSize()).isGreaterThan(2);
+  }
+
+  private void runScheduledRun() throws InterruptedException {
+    // the event loop schedules with the system clock
+    Thread.sleep(1);
+    channel.runPendingTasks();
+  }
+
+  // same as Dispatcher#flush()
+  private void enqueue(String response) {
+    // the responses go through the flush counting handler
+    ChannelHandlerContext ctx = channel.pipeline().lastContext();
+    flusher.queued.add(new Message.Dispatcher.FlushItem(ctx, response, 0, dispatcher));
+    flusher.start();
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.stargate.transport.internal.frame.compress;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.stargate.db.Result;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.cassandra.stargate.transport.ProtocolVersion;
+import org.apache.cassandra.stargate.transport.internal.messages.ResultMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the frame compressors over the body of a {@code RESULT} message with a page of rows.
+ *
+ * <p>Run from the cql module after {@code mvn test-compile}, with the test classpath:
+ *
+ * <pre>
+ * java -cp target/test-classes:target/classes:... org.openjdk.jmh.Main CompressorBenchmark
+ * </pre>
+ *
+ * The compression ratio of each compressor is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressorBenchmark {
+
+  @Param({"lz4", "snappy", "zstd-1", "zstd-3"})
+  public String compressor;
+
+  @Param({"100", "5000"})
+  public int rowCount;
+
+  private Compressor impl;
+  private byte[] body;
+  private byte[] compressed;
+  private int compressedLength;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    impl = compressor(compressor);
+    body = rowsBody(rowCount);
+    compressed = new byte[impl.maxCompressedLength(body.length)];
+    compressedLength = impl.compress(body, 0, body.length, compressed, 0);
+
+    System.out.printf(
+        "%n%s: %d rows, %d bytes compressed to %d bytes, ratio %.2f%n",
+        compressor,
+        rowCount,
+        body.length,
+        compressedLength,
+        (double) body.length / compressedLength);
+  }
+
+  @Benchmark
+  public int compress() throws Exception {
+    return impl.compress(body, 0, body.length, compressed, 0);
+  }
+
+  @Benchmark
+  public void decompress(Blackhole blackhole) throws Exception {
+    blackhole.consume(impl.decompress(compressed, 0, compressedLength, body.length));
+  }
+
+  private static Compressor compressor(String name) {
+    switch (name) {
+      case "lz4":
+        return LZ4Compressor.INSTANCE;
+      case "snappy":
+        return SnappyCompressor.INSTANCE;
+      case "zstd-1":
+        return new ZstdCompressor(1);
+      case "zstd-3":
+        return new ZstdCompressor(3);
+      default:
+        throw new IllegalArgumentException("Unknown compressor " + name);
+    }
+  }
+
+  // a page of a typical (id, name, category, count, score, updated_at) table
+  private static byte[] rowsBody(int rowCount) {
+    Random random = new Random(42);
+    String[] categories = {"books", "electronics", "garden", "grocery", "toys"};
+
+    List<List<ByteBuffer>> rows = new ArrayList<>(rowCount);
+    long timestamp = 1_650_000_000_000L;
+    for (int i = 0; i < rowCount; i++) {
+      UUID id = new UUID(random.nextLong(), random.nextLong());
+      ByteBuffer uuid = ByteBuffer.allocate(16);
+      uuid.putLong(0, id.getMostSignificantBits());
+      uuid.putLong(8, id.getLeastSignificantBits());
+
+      rows.add(
+          Arrays.asList(
+              uuid,
+              text("product name " + random.nextInt(10_000)),
+              text(categories[random.nextInt(categories.length)]),
+              (ByteBuffer) ByteBuffer.allocate(4).putInt(0, random.nextInt(1000)),
+              (ByteBuffer) ByteBuffer.allocate(8).putDouble(0, random.nextDouble() * 5),
+              (ByteBuffer) ByteBuffer.allocate(8).putLong(0, timestamp + random.nextInt(1000))));
+    }
+
+    Result.ResultMetadata metadata =
+        new Result.ResultMetadata(EnumSet.of(Result.Flag.NO_METADATA), 6, null, null, null);
+    Result rowsResult = new Result.Rows(rows, metadata);
+
+    ByteBuf buffer = Unpooled.buffer();
+    buffer.writeInt(Result.Kind.Rows.id);
+    ResultMessage.SUBCODECS.get(Result.Kind.Rows).encode(rowsResult, buffer, ProtocolVersion.V4);
+    return ByteBufUtil.getBytes(buffer);
+  }
+
+  private static ByteBuffer text(String value) {
+    return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
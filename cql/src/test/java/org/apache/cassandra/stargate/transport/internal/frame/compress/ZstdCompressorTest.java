@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.stargate.transport.internal.frame.compress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class ZstdCompressorTest {
+
+  private final ZstdCompressor compressor = new ZstdCompressor(1);
+
+  @Test
+  public void roundTrip() throws Exception {
+    byte[] input = repeated("some result row, ", 1000);
+    byte[] output = new byte[10 + compressor.maxCompressedLength(input.length)];
+
+    int written = compressor.compress(input, 0, input.length, output, 10);
+
+    assertThat(written).isLessThan(input.length / 10);
+    assertThat(ZstdCompressor.decompressedLength(output, 10, written)).isEqualTo(input.length);
+    assertThat(compressor.decompress(output, 10, written, input.length)).isEqualTo(input);
+  }
+
+  @Test
+  public void roundTripWithOffset() throws Exception {
+    byte[] input = repeated("abc", 100);
+    byte[] output = new byte[compressor.maxCompressedLength(input.length - 3)];
+
+    int written = compressor.compress(input, 3, input.length - 3, output, 0);
+
+    assertThat(compressor.decompress(output, 0, written, input.length - 3))
+        .isEqualTo(Arrays.copyOfRange(input, 3, input.length));
+  }
+
+  @Test
+  public void empty() throws Exception {
+    byte[] output = new byte[compressor.maxCompressedLength(0)];
+
+    int written = compressor.compress(new byte[0], 0, 0, output, 0);
+
+    assertThat(ZstdCompressor.decompressedLength(output, 0, written)).isZero();
+    assertThat(compressor.decompress(output, 0, written, 0)).isEmpty();
+  }
+
+  @Test
+  public void unexpectedLength() throws Exception {
+    byte[] input = repeated("abc", 100);
+    byte[] output = new byte[compressor.maxCompressedLength(input.length)];
+    int written = compressor.compress(input, 0, input.length, output, 0);
+
+    assertThatThrownBy(() -> compressor.decompress(output, 0, written, input.length - 1))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void notCompressed() {
+    byte[] input = repeated("abc", 100);
+
+    assertThatThrownBy(() -> compressor.decompress(input, 0, input.length, 300))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void decompressIntoArray() throws Exception {
+    byte[] input = repeated("some result row, ", 100);
+    byte[] compressed = new byte[compressor.maxCompressedLength(input.length)];
+    int written = compressor.compress(input, 0, input.length, compressed, 0);
+    byte[] output = new byte[5 + input.length];
+
+    int read = compressor.decompress(compressed, 0, written, output, 5, input.length);
+
+    assertThat(read).isEqualTo(input.length);
+    assertThat(Arrays.copyOfRange(output, 5, output.length)).isEqualTo(input);
+  }
+
+  @Test
+  public void decompressedLengthOverMaximum() throws Exception {
+    byte[] input = repeated("abc", 100);
+    byte[] output = new byte[compressor.maxCompressedLength(input.length)];
+    int written = compressor.compress(input, 0, input.length, output, 0);
+
+    assertThat(ZstdCompressor.decompressedLength(output, 0, written, input.length))
+        .isEqualTo(input.length);
+    assertThatThrownBy(() -> ZstdCompressor.decompressedLength(output, 0, written, 299))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("more than the maximum of 299 bytes");
+  }
+
+  @Test
+  public void invalidLevel() {
+    assertThatThrownBy(() -> new ZstdCompressor(100))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageStartingWith("Invalid Zstd compression level 100");
+  }
+
+  private static byte[] repeated(String value, int times) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < times; i++) {
+      builder.append(value);
+    }
+    return builder.toString().getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.stargate.transport.internal.frame.segment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.apache.cassandra.stargate.transport.ProtocolException;
+import org.apache.cassandra.stargate.transport.internal.frame.compress.LZ4Compressor;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class SegmentCodecTest {
+
+  private final Random random = new Random(42);
+
+  @Nested
+  class Crc {
+
+    private final SegmentCodec codec = SegmentCodec.crc();
+
+    @Test
+    public void packFramesInSegment() {
+      byte[] first = randomBytes(100);
+      byte[] second = randomBytes(200);
+
+      List<ByteBuf> segments = encode(codec, first, second);
+
+      assertThat(segments).hasSize(1);
+      int header = segments.get(0).getUnsignedMediumLE(0);
+      assertThat(header & SegmentCodec.MAX_PAYLOAD_LENGTH).isEqualTo(300);
+      assertThat(isSelfContained(header)).isTrue();
+      assertThat(segments.get(0).readableBytes()).isEqualTo(6 + 300 + 4);
+      assertThat(decode(codec, segments)).isEqualTo(concat(first, second));
+    }
+
+    @Test
+    public void splitLargeFrame() {
+      byte[] frame = randomBytes(300_000);
+
+      List<ByteBuf> segments = encode(codec, frame);
+
+      assertThat(segments).hasSize(3);
+      for (ByteBuf segment : segments) {
+        assertThat(isSelfContained(segment.getUnsignedMediumLE(0))).isFalse();
+      }
+      assertThat(decode(codec, segments)).isEqualTo(frame);
+    }
+
+    @Test
+    public void startNewSegmentWhenFull() {
+      byte[] first = randomBytes(100_000);
+      byte[] second = randomBytes(100_000);
+
+      List<ByteBuf> segments = encode(codec, first, second);
+
+      assertThat(segments).hasSize(2);
+      assertThat(decode(codec, segments)).isEqualTo(concat(first, second));
+    }
+
+    @Test
+    public void partialSegment() {
+      byte[] frame = randomBytes(1000);
+      ByteBuf segment = encode(codec, frame).get(0);
+
+      EmbeddedChannel channel = new EmbeddedChannel(new SegmentDecoder(codec));
+      channel.writeInbound(segment.readRetainedSlice(500));
+      assertThat((Object) channel.readInbound()).isNull();
+
+      channel.writeInbound(segment);
+      ByteBuf payload = channel.readInbound();
+      assertThat(ByteBufUtil.getBytes(payload)).isEqualTo(frame);
+      payload.release();
+    }
+
+    @Test
+    public void corruptedHeader() {
+      ByteBuf segment = encode(codec, randomBytes(100)).get(0);
+      segment.setByte(1, segment.getByte(1) ^ 1);
+
+      EmbeddedChannel channel = new EmbeddedChannel(new SegmentDecoder(codec));
+
+      assertThatThrownBy(() -> channel.writeInbound(segment))
+          .isInstanceOf(ProtocolException.class)
+          .hasMessageContaining("CRC24");
+    }
+
+    @Test
+    public void corruptedPayload() {
+      ByteBuf segment = encode(codec, randomBytes(100)).get(0);
+      segment.setByte(10, segment.getByte(10) ^ 1);
+
+      EmbeddedChannel channel = new EmbeddedChannel(new SegmentDecoder(codec));
+
+      assertThatThrownBy(() -> channel.writeInbound(segment))
+          .isInstanceOf(ProtocolException.class)
+          .hasMessageContaining("CRC32");
+
+      // the rest of the stream is discarded
+      channel.writeInbound(encode(codec, randomBytes(100)).get(0));
+      assertThat((Object) channel.readInbound()).isNull();
+    }
+
+    @Test
+    public void completeWritePromises() {
+      EmbeddedChannel channel = new EmbeddedChannel(new SegmentEncoder(codec));
+
+      ChannelFuture first = channel.write(Unpooled.wrappedBuffer(randomBytes(10)));
+      ChannelFuture second = channel.write(Unpooled.wrappedBuffer(randomBytes(10)));
+      assertThat(first.isDone()).isFalse();
+
+      channel.flush();
+
+      assertThat(first.isSuccess()).isTrue();
+      assertThat(second.isSuccess()).isTrue();
+      channel.finishAndReleaseAll();
+    }
+  }
+
+  @Nested
+  class Compressing {
+
+    private final SegmentCodec codec = SegmentCodec.compressing(LZ4Compressor.INSTANCE);
+
+    @Test
+    public void compressed() {
+      byte[] first = new byte[5000];
+      byte[] second = new byte[5000];
+      Arrays.fill(first, (byte) 'a');
+      Arrays.fill(second, (byte) 'b');
+
+      List<ByteBuf> segments = encode(codec, first, second);
+
+      assertThat(segments).hasSize(1);
+      long header = segments.get(0).getLongLE(0);
+      assertThat((header >>> 17) & SegmentCodec.MAX_PAYLOAD_LENGTH).isEqualTo(10_000);
+      assertThat(header & (1L << 34)).isNotZero();
+      assertThat(segments.get(0).readableBytes()).isLessThan(1000);
+      assertThat(decode(codec, segments)).isEqualTo(concat(first, second));
+    }
+
+    @Test
+    public void incompressible() {
+      byte[] frame = randomBytes(1000);
+
+      List<ByteBuf> segments = encode(codec, frame);
+
+      long header = segments.get(0).getLongLE(0);
+      assertThat(header & SegmentCodec.MAX_PAYLOAD_LENGTH).isEqualTo(1000);
+      assertThat((header >>> 17) & SegmentCodec.MAX_PAYLOAD_LENGTH).isZero();
+      assertThat(decode(codec, segments)).isEqualTo(frame);
+    }
+
+    @Test
+    public void splitLargeFrame() {
+      byte[] frame = randomBytes(200_000);
+
+      List<ByteBuf> segments = encode(codec, frame);
+
+      assertThat(segments).hasSize(2);
+      assertThat(decode(codec, segments)).isEqualTo(frame);
+    }
+
+    @Test
+    public void corruptedHeader() {
+      ByteBuf segment = encode(codec, randomBytes(100)).get(0);
+      segment.setByte(4, segment.getByte(4) ^ 1);
+
+      EmbeddedChannel channel = new EmbeddedChannel(new SegmentDecoder(codec));
+
+      assertThatThrownBy(() -> channel.writeInbound(segment))
+          .isInstanceOf(ProtocolException.class)
+          .hasMessageContaining("CRC24");
+    }
+  }
+
+  private static boolean isSelfContained(int header) {
+    return (header & (1 << 17)) != 0;
+  }
+
+  private byte[] randomBytes(int length) {
+    byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+
+  private static byte[] concat(byte[] first, byte[] second) {
+    byte[] result = Arrays.copyOf(first, first.length + second.length);
+    System.arraycopy(second, 0, result, first.length, second.length);
+    return result;
+  }
+
+  private static List<ByteBuf> encode(SegmentCodec codec, byte[]... frames) {
+    EmbeddedChannel channel = new EmbeddedChannel(new SegmentEncoder(codec));
+    for (byte[] frame : frames) {
+      channel.write(Unpooled.wrappedBuffer(frame));
+    }
+    channel.flush();
+
+    List<ByteBuf> segments = new ArrayList<>();
+    ByteBuf segment;
+    while (null != (segment = channel.readOutbound())) {
+      segments.add(segment);
+    }
+    return segments;
+  }
+
+  private static byte[] decode(SegmentCodec codec, List<ByteBuf> segments) {
+    EmbeddedChannel channel = new EmbeddedChannel(new SegmentDecoder(codec));
+    channel.writeInbound(Unpooled.wrappedBuffer(segments.toArray(new ByteBuf[0])));
+
+    ByteBuf result = Unpooled.buffer();
+    ByteBuf payload;
+    while (null != (payload = channel.readInbound())) {
+      result.writeBytes(payload);
+      payload.release();
+    }
+    return ByteBufUtil.getBytes(result);
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.graphql.persistence.graphqlfirst;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of the latest {@link SchemaSource} deployed for each keyspace, so that GraphQL-first
+ * requests don't have to query the {@code schema_source} table every time.
+ *
+ * <p>Entries are keyed by decorated keyspace name. They are updated directly when a schema is
+ * deployed or undeployed through this node; deployments made through other Stargate nodes are
+ * picked up when the entry expires (see {@link #REFRESH_PERIOD_PROPERTY}), or earlier if we get a
+ * CQL schema event for the keyspace.
+ */
+public class SchemaSourceRegistry {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SchemaSourceRegistry.class);
+
+  public static final String REFRESH_PERIOD_PROPERTY =
+      "stargate.graphql_first.schema_source_refresh_period_seconds";
+  public static final Duration DEFAULT_REFRESH_PERIOD = Duration.ofSeconds(10);
+  private static final int MAX_KEYSPACES = 10_000;
+
+  public static final String METRICS_PREFIX = "schema-source-cache";
+  public static final String HIT_COUNT = "hitCount";
+  public static final String MISS_COUNT = "missCount";
+  public static final String REFRESH_COUNT = "refreshCount";
+  public static final String INVALIDATION_COUNT = "invalidationCount";
+  public static final String SIZE = "size";
+
+  // We can't cache nulls, so an empty optional stands for "no schema deployed".
+  private final Cache<String, Optional<SchemaSource>> latestVersions;
+  private final Counter invalidations;
+
+  public SchemaSourceRegistry(MetricRegistry metricRegistry) {
+    this(getRefreshPeriod(), Ticker.systemTicker(), metricRegistry);
+  }
+
+  public SchemaSourceRegistry(
+      Duration refreshPeriod, Ticker ticker, MetricRegistry metricRegistry) {
+    this.latestVersions =
+        Caffeine.newBuilder()
+            .ticker(ticker)
+            .maximumSize(MAX_KEYSPACES)
+            .expireAfterWrite(refreshPeriod)
+            .recordStats()
+            .build();
+    this.invalidations = metricRegistry.counter(name(METRICS_PREFIX, INVALIDATION_COUNT));
+    metricRegistry.register(
+        name(METRICS_PREFIX, HIT_COUNT), (Gauge<Long>) () -> latestVersions.stats().hitCount());
+    metricRegistry.register(
+        name(METRICS_PREFIX, MISS_COUNT), (Gauge<Long>) () -> latestVersions.stats().missCount());
+    metricRegistry.register(
+        name(METRICS_PREFIX, REFRESH_COUNT),
+        (Gauge<Long>) () -> latestVersions.stats().loadCount());
+    metricRegistry.register(
+        name(METRICS_PREFIX, SIZE), (Gauge<Long>) latestVersions::estimatedSize);
+  }
+
+  /**
+   * Returns the latest version for the given keyspace, loading it with the given function if it is
+   * not cached yet, or if the cached entry has expired.
+   *
+   * <p>Concurrent calls for the same keyspace are coalesced, so that only one of them hits the
+   * storage.
+   *
+   * @return the latest version, or {@code null} if no schema has been deployed.
+   */
+  @Nullable
+  public SchemaSource getLatestVersion(String decoratedKeyspaceName, Callable<SchemaSource> loader)
+      throws Exception {
+    try {
+      return latestVersions
+          .get(
+              decoratedKeyspaceName,
+              __ -> {
+                try {
+                  LOG.trace("Loading latest schema source for {}", decoratedKeyspaceName);
+                  return Optional.ofNullable(loader.call());
+                } catch (RuntimeException e) {
+                  throw e;
+                } catch (Exception e) {
+                  throw new CompletionException(e);
+                }
+              })
+          .orElse(null);
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      throw (cause instanceof Exception) ? (Exception) cause : e;
+    }
+  }
+
+  /** Records a new version that was just deployed by this node. */
+  public void put(String decoratedKeyspaceName, SchemaSource source) {
+    latestVersions.put(decoratedKeyspaceName, Optional.of(source));
+  }
+
+  /**
+   * Discards the cached version for the given keyspace, the next call to {@link
+   * #getLatestVersion(String, Callable)} will reload it.
+   */
+  public void invalidate(String decoratedKeyspaceName) {
+    if (latestVersions.asMap().remove(decoratedKeyspaceName) != null) {
+      invalidations.inc();
+    }
+  }
+
+  private static Duration getRefreshPeriod() {
+    String spec = System.getProperty(REFRESH_PERIOD_PROPERTY);
+    if (spec == null) {
+      return DEFAULT_REFRESH_PERIOD;
+    }
+    try {
+      long seconds = Long.parseLong(spec);
+      if (seconds < 0) {
+        throw new NumberFormatException();
+      }
+      return Duration.ofSeconds(seconds);
+    } catch (NumberFormatException e) {
+      LOG.warn(
+          "Could not parse {} ('{}'), falling back to default {}",
+          REFRESH_PERIOD_PROPERTY,
+          spec,
+          DEFAULT_REFRESH_PERIOD);
+      return DEFAULT_REFRESH_PERIOD;
+    }
+  }
+}
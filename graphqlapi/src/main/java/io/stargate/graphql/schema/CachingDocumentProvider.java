@@ -0,0 +1,156 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.graphql.schema;
+
+import com.datastax.oss.driver.shaded.guava.common.hash.Hashing;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.GraphQL;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A {@link PreparsedDocumentProvider} that caches parsed and validated queries, so that repeated
+ * executions of the same query text skip those steps.
+ *
+ * <p>A new instance must be created for each {@link GraphQL} instance: validation depends on the
+ * schema, so the cached documents are only valid for the schema they were validated against. This
+ * way, the cache goes away when {@code GraphqlCache} replaces a schema.
+ *
+ * <p>This also implements <a
+ * href="https://www.apollographql.com/docs/apollo-server/performance/apq/">automatic persisted
+ * queries</a>: once a query has been sent along with its SHA-256 hash (in the {@code
+ * persistedQuery} extension), clients can send only the hash.
+ */
+public class CachingDocumentProvider extends ApolloPersistedQuerySupport {
+
+  public static final String MAX_SIZE_PROPERTY = "stargate.graphql.document_cache_max_size";
+  private static final int MAX_SIZE = Integer.getInteger(MAX_SIZE_PROPERTY, 1000);
+
+  private final Cache<DocumentKey, PreparsedDocumentEntry> documents;
+
+  public CachingDocumentProvider() {
+    this(MAX_SIZE);
+  }
+
+  public CachingDocumentProvider(int maxSize) {
+    this(Caffeine.newBuilder().maximumSize(maxSize).build(), maxSize);
+  }
+
+  private CachingDocumentProvider(
+      Cache<DocumentKey, PreparsedDocumentEntry> documents, int maxSize) {
+    super(new PersistedQueries(documents, maxSize));
+    this.documents = documents;
+  }
+
+  @Override
+  public PreparsedDocumentEntry getDocument(
+      ExecutionInput executionInput,
+      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+    if (getPersistedQueryId(executionInput).isPresent()) {
+      return super.getDocument(executionInput, parseAndValidateFunction);
+    }
+    return documents.get(
+        new DocumentKey(executionInput.getQuery(), executionInput.getOperationName()),
+        __ -> parseAndValidateFunction.apply(executionInput));
+  }
+
+  /** Maps the hashes of persisted queries to their text. */
+  private static class PersistedQueries implements PersistedQueryCache {
+
+    private final Cache<DocumentKey, PreparsedDocumentEntry> documents;
+    private final Cache<Object, String> queries;
+
+    PersistedQueries(Cache<DocumentKey, PreparsedDocumentEntry> documents, int maxSize) {
+      this.documents = documents;
+      this.queries = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    @Override
+    public PreparsedDocumentEntry getPersistedQueryDocument(
+        Object persistedQueryId,
+        ExecutionInput executionInput,
+        PersistedQueryCacheMiss onCacheMiss) {
+      String query = queries.getIfPresent(persistedQueryId);
+      boolean known = query != null;
+      if (!known) {
+        query = executionInput.getQuery();
+        if (query == null
+            || query.trim().isEmpty()
+            || PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query)) {
+          throw new PersistedQueryNotFound(persistedQueryId);
+        }
+        // The miss function also checks the hash, but it is not invoked if the query text is
+        // already cached, so check here before registering the id
+        if (!isHashOf(persistedQueryId, query)) {
+          throw new PersistedQueryIdInvalid(persistedQueryId);
+        }
+      }
+      String finalQuery = query;
+      PreparsedDocumentEntry entry =
+          documents.get(
+              new DocumentKey(finalQuery, executionInput.getOperationName()),
+              __ -> onCacheMiss.apply(finalQuery));
+      if (!known && !entry.hasErrors()) {
+        queries.put(persistedQueryId, finalQuery);
+      }
+      return entry;
+    }
+
+    private static boolean isHashOf(Object persistedQueryId, String query) {
+      String hash = Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString();
+      return hash.equalsIgnoreCase(persistedQueryId.toString());
+    }
+  }
+
+  private static class DocumentKey {
+    private final String query;
+    private final String operationName;
+
+    DocumentKey(String query, String operationName) {
+      this.query = query;
+      this.operationName = operationName;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (other == this) {
+        return true;
+      } else if (other instanceof DocumentKey) {
+        DocumentKey that = (DocumentKey) other;
+        return this.query.equals(that.query)
+            && Objects.equals(this.operationName, that.operationName);
+      } else {
+        return false;
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(query, operationName);
+    }
+  }
+}
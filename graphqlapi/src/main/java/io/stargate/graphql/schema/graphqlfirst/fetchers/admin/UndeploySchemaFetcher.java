@@ -52,6 +52,7 @@ public class UndeploySchemaFetcher extends CassandraFetcher<Boolean> {
     boolean force = environment.getArgument("force");
 
     new SchemaSourceDao(context.getDataStore()).undeploy(keyspaceName, expectedVersion, force);
+    context.getGraphqlCache().onUndeploy(keyspaceName, context.getSubject());
     return true;
   }
 
@@ -56,6 +56,7 @@ import graphql.util.TraverserContext;
 import graphql.util.TreeTransformerUtil;
 import io.stargate.db.Persistence;
 import io.stargate.db.schema.Keyspace;
+import io.stargate.graphql.schema.CachingDocumentProvider;
 import io.stargate.graphql.schema.CassandraFetcherExceptionHandler;
 import io.stargate.graphql.schema.SchemaConstants;
 import io.stargate.graphql.schema.graphqlfirst.fetchers.deployed.FederatedEntity;
@@ -231,6 +232,8 @@ public class SchemaProcessor {
     }
     return graphqlBuilder
         .defaultDataFetcherExceptionHandler(CassandraFetcherExceptionHandler.INSTANCE)
+        // One provider per instance, the cached documents are only valid for this schema
+        .preparsedDocumentProvider(new CachingDocumentProvider())
         // Use parallel execution strategy for mutations (serial is default)
         .mutationExecutionStrategy(
             new AsyncExecutionStrategy(CassandraFetcherExceptionHandler.INSTANCE))
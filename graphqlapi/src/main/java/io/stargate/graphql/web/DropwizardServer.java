@@ -101,7 +101,12 @@ public class DropwizardServer extends Application<Configuration> {
   @Override
   public void run(final Configuration config, final Environment environment) throws Exception {
 
-    GraphqlCache graphqlCache = new GraphqlCache(persistence, dataStoreFactory, enableGraphqlFirst);
+    GraphqlCache graphqlCache =
+        new GraphqlCache(
+            persistence,
+            dataStoreFactory,
+            enableGraphqlFirst,
+            metrics.getRegistry(GraphqlActivator.MODULE_NAME));
     environment
         .jersey()
         .register(
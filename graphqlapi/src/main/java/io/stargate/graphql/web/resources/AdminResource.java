@@ -40,10 +40,11 @@ public class AdminResource extends GraphqlResourceBase {
       @QueryParam("query") String query,
       @QueryParam("operationName") String operationName,
       @QueryParam("variables") String variables,
+      @QueryParam("extensions") String extensions,
       @Context HttpServletRequest httpRequest,
       @Suspended AsyncResponse asyncResponse) {
 
-    get(query, operationName, variables, graphql, httpRequest, asyncResponse);
+    get(query, operationName, variables, extensions, graphql, httpRequest, asyncResponse);
   }
 
   @POST
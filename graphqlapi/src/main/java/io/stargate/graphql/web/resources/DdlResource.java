@@ -51,10 +51,11 @@ public class DdlResource extends GraphqlResourceBase {
       @QueryParam("query") String query,
       @QueryParam("operationName") String operationName,
       @QueryParam("variables") String variables,
+      @QueryParam("extensions") String extensions,
       @Context HttpServletRequest httpRequest,
       @Suspended AsyncResponse asyncResponse) {
 
-    get(query, operationName, variables, graphql, httpRequest, asyncResponse);
+    get(query, operationName, variables, extensions, graphql, httpRequest, asyncResponse);
   }
 
   @POST
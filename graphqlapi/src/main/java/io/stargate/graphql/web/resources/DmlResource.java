@@ -65,12 +65,13 @@ public class DmlResource extends GraphqlResourceBase {
       @QueryParam("query") String query,
       @QueryParam("operationName") String operationName,
       @QueryParam("variables") String variables,
+      @QueryParam("extensions") String extensions,
       @Context HttpServletRequest httpRequest,
       @Suspended AsyncResponse asyncResponse) {
 
     GraphQL graphql = getDefaultGraphql(httpRequest, asyncResponse);
     if (graphql != null) {
-      get(query, operationName, variables, graphql, httpRequest, asyncResponse);
+      get(query, operationName, variables, extensions, graphql, httpRequest, asyncResponse);
     }
   }
 
@@ -81,12 +82,13 @@ public class DmlResource extends GraphqlResourceBase {
       @QueryParam("query") String query,
       @QueryParam("operationName") String operationName,
       @QueryParam("variables") String variables,
+      @QueryParam("extensions") String extensions,
       @Context HttpServletRequest httpRequest,
       @Suspended AsyncResponse asyncResponse) {
 
     GraphQL graphql = getGraphql(keyspaceName, httpRequest, asyncResponse);
     if (graphql != null) {
-      get(query, operationName, variables, graphql, httpRequest, asyncResponse);
+      get(query, operationName, variables, extensions, graphql, httpRequest, asyncResponse);
     }
   }
 
@@ -15,6 +15,7 @@
  */
 package io.stargate.graphql.web.resources;
 
+import com.codahale.metrics.MetricRegistry;
 import com.datastax.oss.driver.shaded.guava.common.base.Supplier;
 import com.datastax.oss.driver.shaded.guava.common.base.Suppliers;
 import com.google.errorprone.annotations.FormatMethod;
@@ -32,6 +33,8 @@ import io.stargate.db.datastore.Row;
 import io.stargate.db.schema.Keyspace;
 import io.stargate.graphql.persistence.graphqlfirst.SchemaSource;
 import io.stargate.graphql.persistence.graphqlfirst.SchemaSourceDao;
+import io.stargate.graphql.persistence.graphqlfirst.SchemaSourceRegistry;
+import io.stargate.graphql.schema.CachingDocumentProvider;
 import io.stargate.graphql.schema.CassandraFetcherExceptionHandler;
 import io.stargate.graphql.schema.cqlfirst.SchemaFactory;
 import io.stargate.graphql.schema.graphqlfirst.AdminSchemaBuilder;
@@ -67,11 +70,16 @@ public class GraphqlCache implements KeyspaceChangeListener {
   private final GraphQL schemaFirstAdminGraphql;
   private final String defaultKeyspace;
   private final ConcurrentMap<String, GraphqlHolder> dmlGraphqls = new ConcurrentHashMap<>();
+  private final SchemaSourceRegistry schemaSources;
 
   public GraphqlCache(
-      Persistence persistence, DataStoreFactory dataStoreFactory, boolean enableGraphqlFirst) {
+      Persistence persistence,
+      DataStoreFactory dataStoreFactory,
+      boolean enableGraphqlFirst,
+      MetricRegistry metricRegistry) {
     this.persistence = persistence;
     this.enableGraphqlFirst = enableGraphqlFirst;
+    this.schemaSources = new SchemaSourceRegistry(metricRegistry);
 
     this.ddlGraphql = newGraphql(SchemaFactory.newDdlSchema());
     this.schemaFirstAdminGraphql = newGraphql(new AdminSchemaBuilder().build());
@@ -91,10 +99,15 @@ public class GraphqlCache implements KeyspaceChangeListener {
   public GraphQL getDml(String keyspaceName, DataStore dataStore, Map<String, String> headers)
       throws Exception {
 
+    String decoratedKeyspaceName = persistence.decorateKeyspaceName(keyspaceName, headers);
+
     SchemaSource latestSource =
-        enableGraphqlFirst ? new SchemaSourceDao(dataStore).getLatestVersion(keyspaceName) : null;
+        enableGraphqlFirst
+            ? schemaSources.getLatestVersion(
+                decoratedKeyspaceName,
+                () -> new SchemaSourceDao(dataStore).getLatestVersion(keyspaceName))
+            : null;
 
-    String decoratedKeyspaceName = persistence.decorateKeyspaceName(keyspaceName, headers);
     final GraphqlHolder currentHolder = dmlGraphqls.get(decoratedKeyspaceName);
     if (currentHolder != null && currentHolder.matches(latestSource)) {
       LOG.trace("Returning cached schema for {}", decoratedKeyspaceName);
@@ -131,9 +144,21 @@ public class GraphqlCache implements KeyspaceChangeListener {
     LOG.trace(
         "Putting new schema version: {} for {}", newSource.getVersion(), decoratedKeyspaceName);
     GraphqlHolder schemaHolder = new ImmediateSchemaFirstGraphqlHolder(newSource, graphql);
+    schemaSources.put(decoratedKeyspaceName, newSource);
     dmlGraphqls.put(decoratedKeyspaceName, schemaHolder);
   }
 
+  /**
+   * Notifies the cache that the schema of a keyspace was undeployed, so that the next DML request
+   * re-reads the latest version from the {@code schema_source} table.
+   */
+  public void onUndeploy(String keyspaceName, AuthenticationSubject subject) {
+    String decoratedKeyspaceName =
+        persistence.decorateKeyspaceName(keyspaceName, subject.customProperties());
+    LOG.trace("Invalidating schema source for {} after undeployment", decoratedKeyspaceName);
+    schemaSources.invalidate(decoratedKeyspaceName);
+  }
+
   public String getDefaultKeyspaceName() {
     return defaultKeyspace;
   }
@@ -141,6 +166,8 @@ public class GraphqlCache implements KeyspaceChangeListener {
   private static GraphQL newGraphql(GraphQLSchema schema) {
     return GraphQL.newGraphQL(schema)
         .defaultDataFetcherExceptionHandler(CassandraFetcherExceptionHandler.INSTANCE)
+        // One provider per instance, the cached documents are only valid for this schema
+        .preparsedDocumentProvider(new CachingDocumentProvider())
         // Use parallel execution strategy for mutations (serial is default)
         .mutationExecutionStrategy(
             new AsyncExecutionStrategy(CassandraFetcherExceptionHandler.INSTANCE))
@@ -194,6 +221,10 @@ public class GraphqlCache implements KeyspaceChangeListener {
   public void onKeyspaceChanged(
       String decoratedKeyspaceName, @FormatString String reason, Object... reasonArguments) {
 
+    // A deployment made through another Stargate node usually comes with CQL changes: use that as a
+    // hint to re-read the latest schema source, rather than waiting for the entry to expire.
+    schemaSources.invalidate(decoratedKeyspaceName);
+
     // CQL-first schemas react to CQL schema changes: invalidate the cached version so that it gets
     // regenerated.
     GraphqlHolder holder = dmlGraphqls.get(decoratedKeyspaceName);
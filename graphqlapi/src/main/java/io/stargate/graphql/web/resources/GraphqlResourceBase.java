@@ -15,7 +15,6 @@
  */
 package io.stargate.graphql.web.resources;
 
-import com.datastax.oss.driver.shaded.guava.common.base.MoreObjects;
 import com.datastax.oss.driver.shaded.guava.common.base.Splitter;
 import com.datastax.oss.driver.shaded.guava.common.base.Strings;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
@@ -26,12 +25,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import graphql.ExecutionInput;
 import graphql.GraphQL;
 import graphql.GraphqlErrorException;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
 import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.AuthorizationService;
 import io.stargate.auth.SourceAPI;
 import io.stargate.auth.UnauthorizedException;
 import io.stargate.auth.entity.ResourceKind;
 import io.stargate.db.Persistence;
+import io.stargate.graphql.schema.CachingDocumentProvider;
 import io.stargate.graphql.web.StargateGraphqlContext;
 import io.stargate.graphql.web.models.GraphqlJsonBody;
 import java.io.IOException;
@@ -80,11 +81,22 @@ public class GraphqlResourceBase {
       String query,
       String operationName,
       String variables,
+      String extensions,
       GraphQL graphql,
       HttpServletRequest httpRequest,
       AsyncResponse asyncResponse) {
 
-    if (Strings.isNullOrEmpty(query)) {
+    Map<String, Object> parsedExtensions;
+    try {
+      parsedExtensions = parseJsonParameter(extensions);
+    } catch (IOException e) {
+      replyWithGraphqlError(
+          Status.BAD_REQUEST, "Could not parse extensions: " + e.getMessage(), asyncResponse);
+      return;
+    }
+
+    query = resolveQuery(Strings.emptyToNull(query), parsedExtensions);
+    if (query == null) {
       replyWithGraphqlError(
           Status.BAD_REQUEST, "You must provide a GraphQL query as a URL parameter", asyncResponse);
       return;
@@ -98,11 +110,13 @@ public class GraphqlResourceBase {
                   new StargateGraphqlContext(
                       httpRequest, authorizationService, persistence, graphqlCache));
 
-      if (!Strings.isNullOrEmpty(variables)) {
-        @SuppressWarnings("unchecked")
-        Map<String, Object> parsedVariables = OBJECT_MAPPER.readValue(variables, Map.class);
+      Map<String, Object> parsedVariables = parseJsonParameter(variables);
+      if (parsedVariables != null) {
         input = input.variables(parsedVariables);
       }
+      if (parsedExtensions != null) {
+        input = input.extensions(parsedExtensions);
+      }
 
       executeAsync(input.build(), graphql, asyncResponse);
     } catch (IOException e) {
@@ -129,8 +143,9 @@ public class GraphqlResourceBase {
     String operationName =
         (jsonBody == null) ? null : Strings.emptyToNull(jsonBody.getOperationName());
     Map<String, Object> variables = (jsonBody == null) ? null : jsonBody.getVariables();
+    Map<String, Object> extensions = (jsonBody == null) ? null : jsonBody.getExtensions();
 
-    if (queryFromBody == null && queryFromUrl == null) {
+    if (queryFromBody == null && queryFromUrl == null && !isPersistedQuery(extensions)) {
       replyWithGraphqlError(
           Status.BAD_REQUEST,
           "You must provide a GraphQL query, either as a query parameter or in the request body",
@@ -148,7 +163,7 @@ public class GraphqlResourceBase {
       return;
     }
 
-    String query = MoreObjects.firstNonNull(queryFromBody, queryFromUrl);
+    String query = resolveQuery(queryFromBody != null ? queryFromBody : queryFromUrl, extensions);
     ExecutionInput.Builder input =
         ExecutionInput.newExecutionInput(query)
             .operationName(operationName)
@@ -158,9 +173,36 @@ public class GraphqlResourceBase {
     if (variables != null) {
       input = input.variables(variables);
     }
+    if (extensions != null) {
+      input = input.extensions(extensions);
+    }
     executeAsync(input.build(), graphql, asyncResponse);
   }
 
+  /**
+   * If the client sent a persisted query hash without the query text (see {@link
+   * CachingDocumentProvider}), substitutes the marker that tells graphql-java to look up the query
+   * by its hash.
+   */
+  private static String resolveQuery(String query, Map<String, Object> extensions) {
+    return (query == null && isPersistedQuery(extensions))
+        ? PersistedQuerySupport.PERSISTED_QUERY_MARKER
+        : query;
+  }
+
+  private static boolean isPersistedQuery(Map<String, Object> extensions) {
+    return extensions != null && extensions.get("persistedQuery") instanceof Map;
+  }
+
+  private static Map<String, Object> parseJsonParameter(String value) throws IOException {
+    if (Strings.isNullOrEmpty(value)) {
+      return null;
+    }
+    @SuppressWarnings("unchecked")
+    Map<String, Object> parsed = OBJECT_MAPPER.readValue(value, Map.class);
+    return parsed;
+  }
+
   /**
    * Handles a GraphQL POST request that uses the {@link MediaType#MULTIPART_FORM_DATA} content
    * type, allowing file arguments.
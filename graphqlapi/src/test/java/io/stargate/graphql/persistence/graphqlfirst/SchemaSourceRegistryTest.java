@@ -0,0 +1,139 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.graphql.persistence.graphqlfirst;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.codahale.metrics.MetricRegistry;
+import io.stargate.graphql.schema.graphqlfirst.util.Uuids;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SchemaSourceRegistryTest {
+
+  private static final String KEYSPACE = "ks";
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final AtomicInteger loads = new AtomicInteger();
+  private MetricRegistry metricRegistry;
+  private SchemaSourceRegistry registry;
+
+  @BeforeEach
+  public void setup() {
+    metricRegistry = new MetricRegistry();
+    registry = new SchemaSourceRegistry(Duration.ofSeconds(10), nanos::get, metricRegistry);
+  }
+
+  @Test
+  public void shouldLoadOnlyOnceUntilExpired() throws Exception {
+    // given
+    SchemaSource source = newSource();
+
+    // when
+    SchemaSource first = registry.getLatestVersion(KEYSPACE, loader(source));
+    SchemaSource second = registry.getLatestVersion(KEYSPACE, loader(source));
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(11));
+    SchemaSource third = registry.getLatestVersion(KEYSPACE, loader(source));
+
+    // then
+    assertThat(first).isSameAs(source);
+    assertThat(second).isSameAs(source);
+    assertThat(third).isSameAs(source);
+    assertThat(loads).hasValue(2);
+    assertThat(gauge(SchemaSourceRegistry.HIT_COUNT)).isEqualTo(1L);
+    assertThat(gauge(SchemaSourceRegistry.MISS_COUNT)).isEqualTo(2L);
+    assertThat(gauge(SchemaSourceRegistry.REFRESH_COUNT)).isEqualTo(2L);
+  }
+
+  @Test
+  public void shouldCacheAbsentSchema() throws Exception {
+    assertThat(registry.getLatestVersion(KEYSPACE, loader(null))).isNull();
+    assertThat(registry.getLatestVersion(KEYSPACE, loader(null))).isNull();
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  public void shouldReturnDeployedVersionWithoutLoading() throws Exception {
+    // given
+    registry.getLatestVersion(KEYSPACE, loader(null));
+    SchemaSource deployed = newSource();
+
+    // when
+    registry.put(KEYSPACE, deployed);
+
+    // then
+    assertThat(registry.getLatestVersion(KEYSPACE, loader(null))).isSameAs(deployed);
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  public void shouldReloadAfterInvalidation() throws Exception {
+    // given
+    SchemaSource source = newSource();
+    registry.getLatestVersion(KEYSPACE, loader(source));
+
+    // when
+    registry.invalidate(KEYSPACE);
+
+    // then
+    assertThat(registry.getLatestVersion(KEYSPACE, loader(null))).isNull();
+    assertThat(loads).hasValue(2);
+    assertThat(
+            metricRegistry
+                .counter(
+                    name(
+                        SchemaSourceRegistry.METRICS_PREFIX,
+                        SchemaSourceRegistry.INVALIDATION_COUNT))
+                .getCount())
+        .isEqualTo(1L);
+  }
+
+  @Test
+  public void shouldPropagateLoadingErrors() {
+    Callable<SchemaSource> failingLoader =
+        () -> {
+          throw new Exception("mock error");
+        };
+    assertThatThrownBy(() -> registry.getLatestVersion(KEYSPACE, failingLoader))
+        .isExactlyInstanceOf(Exception.class)
+        .hasMessage("mock error");
+  }
+
+  private Callable<SchemaSource> loader(SchemaSource result) {
+    return () -> {
+      loads.incrementAndGet();
+      return result;
+    };
+  }
+
+  private Object gauge(String metric) {
+    return metricRegistry
+        .getGauges()
+        .get(name(SchemaSourceRegistry.METRICS_PREFIX, metric))
+        .getValue();
+  }
+
+  private static SchemaSource newSource() {
+    return new SchemaSource(KEYSPACE, Uuids.timeBased(), "type Query { hello: String }");
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.graphql.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import com.datastax.oss.driver.shaded.guava.common.hash.Hashing;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.parser.Parser;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class CachingDocumentProviderTest {
+
+  private static final String QUERY = "query q1 { a } query q2 { b }";
+  private static final String HASH =
+      Hashing.sha256().hashString(QUERY, StandardCharsets.UTF_8).toString();
+
+  private final CachingDocumentProvider provider = new CachingDocumentProvider(10);
+  private final AtomicInteger parseCount = new AtomicInteger();
+
+  @Test
+  public void shouldParseSameQueryOnlyOnce() {
+    PreparsedDocumentEntry entry1 = getDocument(input(QUERY, "q1"));
+    PreparsedDocumentEntry entry2 = getDocument(input(QUERY, "q1"));
+
+    assertThat(entry1.hasErrors()).isFalse();
+    assertThat(entry2).isSameAs(entry1);
+    assertThat(parseCount).hasValue(1);
+  }
+
+  @Test
+  public void shouldParseAgainIfOperationNameDiffers() {
+    getDocument(input(QUERY, "q1"));
+    getDocument(input(QUERY, "q2"));
+
+    assertThat(parseCount).hasValue(2);
+  }
+
+  @Test
+  public void shouldReportUnknownPersistedQuery() {
+    PreparsedDocumentEntry entry =
+        getDocument(persistedInput(PersistedQuerySupport.PERSISTED_QUERY_MARKER, HASH));
+
+    assertThat(entry.hasErrors()).isTrue();
+    assertThat(entry.getErrors().get(0).getMessage()).isEqualTo("PersistedQueryNotFound");
+    assertThat(parseCount).hasValue(0);
+  }
+
+  @Test
+  public void shouldExecutePersistedQueryByHash() {
+    PreparsedDocumentEntry entry1 = getDocument(persistedInput(QUERY, HASH));
+    PreparsedDocumentEntry entry2 =
+        getDocument(persistedInput(PersistedQuerySupport.PERSISTED_QUERY_MARKER, HASH));
+
+    assertThat(entry1.hasErrors()).isFalse();
+    assertThat(entry2).isSameAs(entry1);
+    assertThat(parseCount).hasValue(1);
+  }
+
+  @Test
+  public void shouldRejectPersistedQueryWithInvalidHash() {
+    PreparsedDocumentEntry entry = getDocument(persistedInput(QUERY, "not the hash"));
+    assertThat(entry.hasErrors()).isTrue();
+    assertThat(entry.getErrors().get(0).getMessage()).isEqualTo("PersistedQueryIdInvalid");
+
+    // The invalid hash was not registered
+    entry = getDocument(persistedInput(PersistedQuerySupport.PERSISTED_QUERY_MARKER, HASH));
+    assertThat(entry.hasErrors()).isTrue();
+  }
+
+  @Test
+  public void shouldNotRegisterInvalidHashOfCachedQuery() {
+    String otherQuery = "query q1 { c }";
+    String otherHash = Hashing.sha256().hashString(otherQuery, StandardCharsets.UTF_8).toString();
+
+    // The query text is in the shared cache, so the miss function does not run
+    getDocument(input(QUERY, "q1"));
+    PreparsedDocumentEntry entry = getDocument(persistedInput(QUERY, otherHash));
+    assertThat(entry.hasErrors()).isTrue();
+    assertThat(entry.getErrors().get(0).getMessage()).isEqualTo("PersistedQueryIdInvalid");
+
+    // The hash of the other query was not mapped to this query
+    entry = getDocument(persistedInput(PersistedQuerySupport.PERSISTED_QUERY_MARKER, otherHash));
+    assertThat(entry.hasErrors()).isTrue();
+    assertThat(entry.getErrors().get(0).getMessage()).isEqualTo("PersistedQueryNotFound");
+  }
+
+  private PreparsedDocumentEntry getDocument(ExecutionInput input) {
+    return provider.getDocument(
+        input,
+        i -> {
+          parseCount.incrementAndGet();
+          return new PreparsedDocumentEntry(Parser.parse(i.getQuery()));
+        });
+  }
+
+  private static ExecutionInput input(String query, String operationName) {
+    return ExecutionInput.newExecutionInput(query).operationName(operationName).build();
+  }
+
+  private static ExecutionInput persistedInput(String query, String hash) {
+    return ExecutionInput.newExecutionInput(query)
+        .operationName("q1")
+        .extensions(
+            ImmutableMap.of("persistedQuery", ImmutableMap.of("version", 1, "sha256Hash", hash)))
+        .build();
+  }
+}
@@ -16,6 +16,7 @@
 package io.stargate.grpc.codec;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.stargate.db.schema.Column;
 import io.stargate.db.schema.Column.ColumnType;
@@ -24,6 +25,20 @@ import io.stargate.proto.QueryOuterClass.Value.InnerCase;
 import java.nio.ByteBuffer;
 
 public class BytesCodec implements ValueCodec {
+  private final boolean zeroCopy;
+
+  public BytesCodec() {
+    this(false);
+  }
+
+  /**
+   * @param zeroCopy whether decoded values should wrap the input buffer instead of copying it. In
+   *     that case, the buffer must not be modified once it has been decoded.
+   */
+  public BytesCodec(boolean zeroCopy) {
+    this.zeroCopy = zeroCopy;
+  }
+
   @Override
   public ByteBuffer encode(@NonNull Value value, @NonNull Column.ColumnType type) {
     if (value.getInnerCase() != InnerCase.BYTES) {
@@ -34,6 +49,10 @@ public class BytesCodec implements ValueCodec {
 
   @Override
   public Value decode(@NonNull ByteBuffer bytes, @NonNull ColumnType type) {
-    return Value.newBuilder().setBytes(ByteString.copyFrom(bytes.duplicate())).build();
+    ByteString value =
+        zeroCopy
+            ? UnsafeByteOperations.unsafeWrap(bytes.duplicate())
+            : ByteString.copyFrom(bytes.duplicate());
+    return Value.newBuilder().setBytes(value).build();
   }
 }
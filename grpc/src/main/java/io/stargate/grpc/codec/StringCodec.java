@@ -16,6 +16,7 @@
 package io.stargate.grpc.codec;
 
 import com.datastax.oss.driver.api.core.type.codec.TypeCodec;
+import com.google.protobuf.UnsafeByteOperations;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.stargate.db.schema.Column;
 import io.stargate.db.schema.Column.ColumnType;
@@ -25,9 +26,20 @@ import java.nio.ByteBuffer;
 
 public class StringCodec implements ValueCodec {
   private final TypeCodec<String> innerCodec;
+  private final boolean zeroCopy;
 
   public StringCodec(@NonNull TypeCodec<String> innerCodec) {
+    this(innerCodec, false);
+  }
+
+  /**
+   * @param zeroCopy whether decoded values should wrap the input buffer instead of decoding it to a
+   *     Java string. In that case, the buffer must not be modified once it has been decoded. Note
+   *     that this is only valid for text and ascii, because their CQL encoding is also valid UTF-8.
+   */
+  public StringCodec(@NonNull TypeCodec<String> innerCodec, boolean zeroCopy) {
     this.innerCodec = innerCodec;
+    this.zeroCopy = zeroCopy;
   }
 
   @Override
@@ -40,6 +52,11 @@ public class StringCodec implements ValueCodec {
 
   @Override
   public Value decode(@NonNull ByteBuffer bytes, @NonNull ColumnType type) {
+    if (zeroCopy) {
+      return Value.newBuilder()
+          .setStringBytes(UnsafeByteOperations.unsafeWrap(bytes.duplicate()))
+          .build();
+    }
     return Value.newBuilder().setString(innerCodec.decode(bytes, PROTOCOL_VERSION)).build();
   }
 }
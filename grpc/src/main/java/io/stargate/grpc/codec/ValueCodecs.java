@@ -21,6 +21,8 @@ import com.datastax.oss.driver.shaded.guava.common.collect.Maps;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.grpc.Status;
 import io.stargate.db.schema.Column.Type;
+import java.util.EnumMap;
+import java.util.Map;
 
 public class ValueCodecs {
 
@@ -53,9 +55,25 @@ public class ValueCodecs {
               .put(Type.UDT, new UdtCodec())
               .build());
 
+  /**
+   * Same as {@link #CODECS}, but variable-length types decode to values that share the input
+   * buffer.
+   */
+  private static final ImmutableMap<Type, ValueCodec> ZERO_COPY_CODECS = zeroCopyCodecs();
+
   @NonNull
   public static ValueCodec get(Type type) {
-    ValueCodec codec = CODECS.get(type);
+    return get(type, false);
+  }
+
+  /**
+   * @param zeroCopy whether to use a codec that avoids copying the input buffer when decoding, if
+   *     there is one for this type. Callers must guarantee that the buffer won't be modified after
+   *     it has been decoded.
+   */
+  @NonNull
+  public static ValueCodec get(Type type, boolean zeroCopy) {
+    ValueCodec codec = (zeroCopy ? ZERO_COPY_CODECS : CODECS).get(type);
     if (codec == null) {
       throw Status.UNIMPLEMENTED
           .withDescription(String.format("Unable to encode/decode type '%s'", type.cqlDefinition()))
@@ -63,4 +81,13 @@ public class ValueCodecs {
     }
     return codec;
   }
+
+  private static ImmutableMap<Type, ValueCodec> zeroCopyCodecs() {
+    Map<Type, ValueCodec> codecs = new EnumMap<>(CODECS);
+    codecs.put(Type.Ascii, new StringCodec(TypeCodecs.ASCII, true));
+    codecs.put(Type.Blob, new BytesCodec(true));
+    codecs.put(Type.Text, new StringCodec(TypeCodecs.TEXT, true));
+    codecs.put(Type.Varint, new VarintCodec(true));
+    return Maps.immutableEnumMap(codecs);
+  }
 }
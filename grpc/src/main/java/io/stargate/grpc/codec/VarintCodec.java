@@ -16,6 +16,7 @@
 package io.stargate.grpc.codec;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.stargate.db.schema.Column.ColumnType;
 import io.stargate.proto.QueryOuterClass.Value;
@@ -24,6 +25,20 @@ import io.stargate.proto.QueryOuterClass.Varint;
 import java.nio.ByteBuffer;
 
 public class VarintCodec implements ValueCodec {
+  private final boolean zeroCopy;
+
+  public VarintCodec() {
+    this(false);
+  }
+
+  /**
+   * @param zeroCopy whether decoded values should wrap the input buffer instead of copying it. In
+   *     that case, the buffer must not be modified once it has been decoded.
+   */
+  public VarintCodec(boolean zeroCopy) {
+    this.zeroCopy = zeroCopy;
+  }
+
   @Override
   public ByteBuffer encode(@NonNull Value value, @NonNull ColumnType type) {
     if (value.getInnerCase() != InnerCase.VARINT) {
@@ -40,8 +55,10 @@ public class VarintCodec implements ValueCodec {
           "Invalid varint value, expecting non-empty Bytes but got 0");
     }
 
-    return Value.newBuilder()
-        .setVarint(Varint.newBuilder().setValue(ByteString.copyFrom(bytes.duplicate())).build())
-        .build();
+    ByteString value =
+        zeroCopy
+            ? UnsafeByteOperations.unsafeWrap(bytes.duplicate())
+            : ByteString.copyFrom(bytes.duplicate());
+    return Value.newBuilder().setVarint(Varint.newBuilder().setValue(value).build()).build();
   }
 }
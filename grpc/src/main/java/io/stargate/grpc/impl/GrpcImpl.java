@@ -77,7 +77,7 @@ public class GrpcImpl {
             .intercept(
                 new TaggingMetricCollectingServerInterceptor(
                     metrics.getMeterRegistry(), grpcMetricsTagProvider))
-            .addService(new GrpcService(persistence, executor))
+            .addService(new GrpcService(persistence, executor, metrics.getMeterRegistry()))
             .build();
   }
 
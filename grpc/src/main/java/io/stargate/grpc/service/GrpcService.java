@@ -16,15 +16,20 @@
 package io.stargate.grpc.service;
 
 import io.grpc.Context;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.stargate.db.Persistence;
 import io.stargate.db.Persistence.Connection;
 import io.stargate.db.Result;
 import io.stargate.grpc.service.streaming.MessageStreamObserver;
 import io.stargate.grpc.service.streaming.StreamingBatchHandlerFactory;
 import io.stargate.grpc.service.streaming.StreamingExceptionHandler;
+import io.stargate.grpc.service.streaming.StreamingMetrics;
 import io.stargate.grpc.service.streaming.StreamingQueryHandlerFactory;
 import io.stargate.proto.QueryOuterClass.Batch;
+import io.stargate.proto.QueryOuterClass.PagedQuery;
 import io.stargate.proto.QueryOuterClass.Query;
 import io.stargate.proto.QueryOuterClass.Response;
 import io.stargate.proto.QueryOuterClass.StreamingResponse;
@@ -46,67 +51,115 @@ public class GrpcService extends io.stargate.proto.StargateGrpc.StargateImplBase
 
   private final ScheduledExecutorService executor;
   private final int schemaAgreementRetries;
-
-  public GrpcService(Persistence persistence, ScheduledExecutorService executor) {
-    this(persistence, executor, Persistence.SCHEMA_AGREEMENT_WAIT_RETRIES);
+  private final StreamingMetrics streamingMetrics;
+
+  public GrpcService(
+      Persistence persistence, ScheduledExecutorService executor, MeterRegistry meterRegistry) {
+    this(
+        persistence,
+        executor,
+        Persistence.SCHEMA_AGREEMENT_WAIT_RETRIES,
+        new StreamingMetrics(meterRegistry));
   }
 
   GrpcService(
       Persistence persistence, ScheduledExecutorService executor, int schemaAgreementRetries) {
+    this(
+        persistence,
+        executor,
+        schemaAgreementRetries,
+        new StreamingMetrics(Metrics.globalRegistry));
+  }
+
+  GrpcService(
+      Persistence persistence,
+      ScheduledExecutorService executor,
+      int schemaAgreementRetries,
+      StreamingMetrics streamingMetrics) {
     this.persistence = persistence;
     this.executor = executor;
     this.schemaAgreementRetries = schemaAgreementRetries;
+    this.streamingMetrics = streamingMetrics;
   }
 
   @Override
   public void executeQuery(Query query, StreamObserver<Response> responseObserver) {
-    SynchronizedStreamObserver<Response> synchronizedStreamObserver =
-        new SynchronizedStreamObserver<>(responseObserver);
+    SerializingStreamObserver<Response> serializingStreamObserver =
+        new SerializingStreamObserver<>(responseObserver);
     new SingleQueryHandler(
             query,
             CONNECTION_KEY.get(),
             persistence,
             executor,
             schemaAgreementRetries,
-            synchronizedStreamObserver,
-            new SingleExceptionHandler(synchronizedStreamObserver))
+            serializingStreamObserver,
+            new SingleExceptionHandler(serializingStreamObserver))
+        .handle();
+  }
+
+  @Override
+  public void executeQueryPaged(PagedQuery pagedQuery, StreamObserver<Response> responseObserver) {
+    SerializingStreamObserver<Response> serializingStreamObserver =
+        new SerializingStreamObserver<>(responseObserver);
+    new PagedQueryHandler(
+            pagedQuery,
+            CONNECTION_KEY.get(),
+            persistence,
+            executor,
+            schemaAgreementRetries,
+            serializingStreamObserver,
+            asServerCall(responseObserver),
+            new SingleExceptionHandler(serializingStreamObserver))
         .handle();
   }
 
   @Override
   public void executeBatch(Batch batch, StreamObserver<Response> responseObserver) {
-    SynchronizedStreamObserver<Response> synchronizedStreamObserver =
-        new SynchronizedStreamObserver<>(responseObserver);
+    SerializingStreamObserver<Response> serializingStreamObserver =
+        new SerializingStreamObserver<>(responseObserver);
     new SingleBatchHandler(
             batch,
             CONNECTION_KEY.get(),
             persistence,
-            synchronizedStreamObserver,
-            new SingleExceptionHandler(synchronizedStreamObserver))
+            serializingStreamObserver,
+            new SingleExceptionHandler(serializingStreamObserver))
         .handle();
   }
 
   @Override
   public StreamObserver<Query> executeQueryStream(
       StreamObserver<StreamingResponse> responseObserver) {
-    SynchronizedStreamObserver<StreamingResponse> synchronizedStreamObserver =
-        new SynchronizedStreamObserver<>(responseObserver);
+    SerializingStreamObserver<StreamingResponse> serializingStreamObserver =
+        new SerializingStreamObserver<>(responseObserver);
     return new MessageStreamObserver<>(
-        synchronizedStreamObserver,
+        serializingStreamObserver,
         StreamingExceptionHandler::new,
         new StreamingQueryHandlerFactory(
-            CONNECTION_KEY.get(), persistence, executor, schemaAgreementRetries));
+            CONNECTION_KEY.get(), persistence, executor, schemaAgreementRetries),
+        asServerCall(responseObserver),
+        MessageStreamObserver.MAX_IN_FLIGHT,
+        streamingMetrics);
   }
 
   @Override
   public StreamObserver<Batch> executeBatchStream(
       StreamObserver<StreamingResponse> responseObserver) {
-    SynchronizedStreamObserver<StreamingResponse> synchronizedStreamObserver =
-        new SynchronizedStreamObserver<>(responseObserver);
+    SerializingStreamObserver<StreamingResponse> serializingStreamObserver =
+        new SerializingStreamObserver<>(responseObserver);
     return new MessageStreamObserver<>(
-        synchronizedStreamObserver,
+        serializingStreamObserver,
         StreamingExceptionHandler::new,
-        new StreamingBatchHandlerFactory(CONNECTION_KEY.get(), persistence));
+        new StreamingBatchHandlerFactory(CONNECTION_KEY.get(), persistence),
+        asServerCall(responseObserver),
+        MessageStreamObserver.MAX_IN_FLIGHT,
+        streamingMetrics);
+  }
+
+  @Nullable
+  private static ServerCallStreamObserver<?> asServerCall(StreamObserver<?> responseObserver) {
+    return (responseObserver instanceof ServerCallStreamObserver)
+        ? (ServerCallStreamObserver<?>) responseObserver
+        : null;
   }
 
   static class ResponseAndTraceId {
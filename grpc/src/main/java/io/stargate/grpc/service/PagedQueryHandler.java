@@ -0,0 +1,171 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.grpc.service;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.stargate.db.BoundStatement;
+import io.stargate.db.Parameters;
+import io.stargate.db.Persistence;
+import io.stargate.db.Result;
+import io.stargate.proto.QueryOuterClass.PagedQuery;
+import io.stargate.proto.QueryOuterClass.Response;
+import io.stargate.proto.QueryOuterClass.ResultSet;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
+
+/**
+ * Executes a query and sends all the pages of its result, one response per page.
+ *
+ * <p>The query is only prepared and bound once: the following pages are fetched by re-executing the
+ * same bound statement with the paging state of the previous page. The next page is only fetched
+ * once the previous one was sent and the client is ready to receive more (as indicated by gRPC flow
+ * control), so a slow client does not cause rows to pile up on the server.
+ */
+public class PagedQueryHandler extends QueryHandler {
+
+  private final StreamObserver<Response> responseObserver;
+  @Nullable private final ServerCallStreamObserver<?> call;
+  private final ExceptionHandler exceptionHandler;
+  private final boolean hasRowLimit;
+  private volatile long remainingRows;
+  private volatile boolean cancelled;
+
+  // The statement and parameters of the first page, reused for the next ones.
+  private volatile BoundStatement statement;
+  private volatile Parameters parameters;
+  // The paging state of the next page, if we're waiting for the client to be ready.
+  private final AtomicReference<ByteBuffer> pendingPage = new AtomicReference<>();
+
+  /**
+   * @param call the raw observer for the call, to control the flow of pages. This must be invoked
+   *     from the service method, before it returns. If null, pages are fetched as fast as possible.
+   */
+  PagedQueryHandler(
+      PagedQuery pagedQuery,
+      Persistence.Connection connection,
+      Persistence persistence,
+      ScheduledExecutorService executor,
+      int schemaAgreementRetries,
+      StreamObserver<Response> responseObserver,
+      @Nullable ServerCallStreamObserver<?> call,
+      ExceptionHandler exceptionHandler) {
+    super(
+        pagedQuery.getQuery(),
+        connection,
+        persistence,
+        executor,
+        schemaAgreementRetries,
+        exceptionHandler);
+    this.responseObserver = responseObserver;
+    this.call = call;
+    this.exceptionHandler = exceptionHandler;
+    this.hasRowLimit = pagedQuery.hasRowLimit();
+    this.remainingRows = hasRowLimit ? pagedQuery.getRowLimit().getValue() : Long.MAX_VALUE;
+    if (call != null) {
+      call.setOnReadyHandler(this::onReady);
+      call.setOnCancelHandler(() -> cancelled = true);
+    }
+  }
+
+  @Override
+  protected void validate() {
+    if (hasRowLimit && remainingRows <= 0) {
+      throw Status.INVALID_ARGUMENT
+          .withDescription("The row limit must be strictly positive")
+          .asRuntimeException();
+    }
+  }
+
+  @Override
+  protected CompletionStage<Result> execute(
+      BoundStatement statement, Parameters parameters, long queryStartNanoTime) {
+    this.statement = statement;
+    this.parameters = parameters;
+    return super.execute(statement, limitPageSize(parameters), queryStartNanoTime);
+  }
+
+  @Override
+  protected void setSuccess(Response response) {
+    responseObserver.onNext(response);
+    if (cancelled) {
+      return;
+    }
+    if (response.hasResultSet()) {
+      ResultSet resultSet = response.getResultSet();
+      // pages are fetched one after the other, so there are no concurrent updates
+      long remainingRows = this.remainingRows - resultSet.getRowsCount();
+      this.remainingRows = remainingRows;
+      if (resultSet.hasPagingState() && remainingRows > 0) {
+        fetchWhenReady(
+            ByteBuffer.wrap(resultSet.getPagingState().getValue().toByteArray())
+                .asReadOnlyBuffer());
+        return;
+      }
+    }
+    responseObserver.onCompleted();
+  }
+
+  private void fetchWhenReady(ByteBuffer pagingState) {
+    if (call == null || call.isReady()) {
+      fetch(pagingState);
+    } else {
+      pendingPage.set(pagingState);
+      // The call might have become ready before we set the page, in which case onReady() has
+      // missed it.
+      if (call.isReady()) {
+        onReady();
+      }
+    }
+  }
+
+  private void onReady() {
+    ByteBuffer pagingState = pendingPage.getAndSet(null);
+    if (pagingState != null && !cancelled) {
+      fetch(pagingState);
+    }
+  }
+
+  private void fetch(ByteBuffer pagingState) {
+    // Note that unlike the first page, this doesn't retry: the client can resume from the paging
+    // state of the last page it received.
+    super.execute(
+            statement, limitPageSize(parameters.withPagingState(pagingState)), System.nanoTime())
+        .thenCompose(this::buildResponse)
+        .thenCompose(this::executeTracingQueryIfNeeded)
+        .whenComplete(
+            (response, error) -> {
+              if (error != null) {
+                exceptionHandler.handleException(error);
+              } else {
+                setSuccess(response);
+              }
+            });
+  }
+
+  /** Makes sure that we don't fetch more rows than the limit. */
+  private Parameters limitPageSize(Parameters parameters) {
+    long remainingRows = this.remainingRows;
+    if (remainingRows < parameters.pageSize().orElse(Integer.MAX_VALUE)) {
+      return parameters.toBuilder().pageSize((int) remainingRows).build();
+    }
+    return parameters;
+  }
+}
@@ -17,6 +17,7 @@ package io.stargate.grpc.service;
 
 import com.google.protobuf.StringValue;
 import io.grpc.Status;
+import io.stargate.db.BoundStatement;
 import io.stargate.db.ClientInfo;
 import io.stargate.db.ImmutableParameters;
 import io.stargate.db.Parameters;
@@ -79,7 +80,7 @@ public abstract class QueryHandler extends MessageHandler<Query, Prepared> {
 
     QueryParameters parameters = message.getParameters();
     try {
-      return connection.execute(
+      return execute(
           bindValues(prepared, message.getValues()),
           makeParameters(parameters, connection.clientInfo()),
           queryStartNanoTime);
@@ -88,6 +89,12 @@ public abstract class QueryHandler extends MessageHandler<Query, Prepared> {
     }
   }
 
+  /** Executes the bound query. Subclasses can override this to adjust the parameters. */
+  protected CompletionStage<Result> execute(
+      BoundStatement statement, Parameters parameters, long queryStartNanoTime) {
+    return connection.execute(statement, parameters, queryStartNanoTime);
+  }
+
   @Override
   protected CompletionStage<ResponseAndTraceId> buildResponse(Result result) {
     Response.Builder responseBuilder = makeResponseBuilder(result);
@@ -0,0 +1,143 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.grpc.service;
+
+import io.grpc.stub.StreamObserver;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wraps the underlying {@link StreamObserver} to make it safe for concurrent use, because, as
+ * stated in the <a
+ * href="https://grpc.github.io/grpc-java/javadoc/io/grpc/stub/StreamObserver.html">StreamObserver
+ * docs</a>:
+ *
+ * <pre>
+ * Since individual StreamObservers are not thread-safe,
+ * if multiple threads will be writing to a StreamObserver concurrently,
+ * the application must synchronize calls.
+ * </pre>
+ *
+ * Instead of locking, signals are added to a queue, and whichever thread finds the observer idle
+ * becomes responsible for draining it: it delivers all the values that are queued (including those
+ * added by other threads in the meantime) before leaving. Other threads never block. Delivering
+ * consecutive values from the same thread also lets the transport coalesce them into fewer flushes.
+ *
+ * <p>Signals are delivered in the order in which they were enqueued. A terminal signal ({@link
+ * #onError(Throwable)} or {@link #onCompleted()}) is delivered after all the values that were
+ * enqueued before it; anything sent after it is ignored. Values sent concurrently with the terminal
+ * signal might be delivered or not.
+ *
+ * @param <V> the type of the values.
+ */
+public class SerializingStreamObserver<V> implements StreamObserver<V> {
+
+  private final StreamObserver<V> streamObserver;
+  private final Queue<V> values = new ConcurrentLinkedQueue<>();
+  // The number of drain requests. The thread that increments it from 0 is the drainer.
+  private final AtomicInteger wip = new AtomicInteger();
+  private volatile boolean done;
+  private volatile Throwable error;
+  // Only accessed by the drainer.
+  private boolean terminated;
+
+  public SerializingStreamObserver(StreamObserver<V> streamObserver) {
+    this.streamObserver = streamObserver;
+  }
+
+  @Override
+  public void onNext(V value) {
+    if (done) {
+      return;
+    }
+    values.offer(value);
+    drain();
+  }
+
+  @Override
+  public void onError(Throwable t) {
+    error = t;
+    done = true;
+    drain();
+  }
+
+  @Override
+  public void onCompleted() {
+    done = true;
+    drain();
+  }
+
+  /**
+   * Delivers the queued signals, unless another thread is already doing so.
+   *
+   * <p>If the underlying observer throws, the exception is propagated to the current thread (as if
+   * it had called the observer directly), and the next signal resumes the delivery. The signals
+   * sent by other threads during the failed pass count as next signals: they are delivered by the
+   * current thread before it propagates the exception.
+   */
+  private void drain() {
+    if (wip.getAndIncrement() != 0) {
+      return;
+    }
+    int missed = 1;
+    Throwable failure = null;
+    do {
+      try {
+        if (terminated) {
+          values.clear();
+        } else {
+          drainValues();
+        }
+      } catch (RuntimeException | Error e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+      missed = wip.addAndGet(-missed);
+    } while (missed != 0);
+    if (failure instanceof Error) {
+      throw (Error) failure;
+    } else if (failure != null) {
+      throw (RuntimeException) failure;
+    }
+  }
+
+  private void drainValues() {
+    while (true) {
+      // Read the flag first: if it's set, every value enqueued before the terminal signal is
+      // guaranteed to be visible to poll().
+      boolean d = done;
+      V value = values.poll();
+      if (value != null) {
+        streamObserver.onNext(value);
+      } else {
+        if (d) {
+          terminated = true;
+          Throwable t = error;
+          if (t == null) {
+            streamObserver.onCompleted();
+          } else {
+            streamObserver.onError(t);
+          }
+        }
+        return;
+      }
+    }
+  }
+}
@@ -45,6 +45,15 @@ import java.util.List;
 import java.util.Objects;
 
 public class ValuesHelper {
+
+  /**
+   * Whether result cells of variable-length types (text, blob, varint...) are wrapped instead of
+   * copied when converting to gRPC values. This assumes that the persistence layer never reuses the
+   * buffers of the rows it returns.
+   */
+  private static final boolean ZERO_COPY_RESULTS =
+      Boolean.getBoolean("stargate.grpc.zero_copy_results");
+
   public static BoundStatement bindValues(Prepared prepared, Values values, ByteBuffer unsetValue)
       throws StatusException {
     final List<Column> columns = prepared.metadata.columns;
@@ -120,15 +129,16 @@ public class ValuesHelper {
 
   public static ResultSet processResult(Rows rows, QueryParameters parameters)
       throws StatusException {
-    return processResult(rows, parameters.getSkipMetadata());
+    return processResult(rows, parameters.getSkipMetadata(), ZERO_COPY_RESULTS);
   }
 
   public static ResultSet processResult(Rows rows, BatchParameters parameters)
       throws StatusException {
-    return processResult(rows, parameters.getSkipMetadata());
+    return processResult(rows, parameters.getSkipMetadata(), ZERO_COPY_RESULTS);
   }
 
-  private static ResultSet processResult(Rows rows, boolean skipMetadata) throws StatusException {
+  static ResultSet processResult(Rows rows, boolean skipMetadata, boolean zeroCopy)
+      throws StatusException {
     final List<Column> columns = rows.resultMetadata.columns;
     final int columnCount = columns.size();
 
@@ -144,14 +154,20 @@ public class ValuesHelper {
       }
     }
 
+    // Resolve types and codecs once for the whole result set, rather than for every cell. This is
+    // done on the first decoded value, so that a column without a codec only fails when it has
+    // values to decode.
+    ColumnType[] columnTypes = new ColumnType[columnCount];
+    ValueCodec[] codecs = new ValueCodec[columnCount];
     for (List<ByteBuffer> row : rows.rows) {
-      Row.Builder rowBuilder = Row.newBuilder();
+      Row.Builder rowBuilder = resultSetBuilder.addRowsBuilder();
       for (int i = 0; i < columnCount; ++i) {
-        ColumnType columnType = columnTypeNotNull(columns.get(i));
-        ValueCodec codec = ValueCodecs.get(columnType.rawType());
-        rowBuilder.addValues(decodeValue(codec, row.get(i), columnType));
+        if (codecs[i] == null) {
+          columnTypes[i] = columnTypeNotNull(columns.get(i));
+          codecs[i] = ValueCodecs.get(columnTypes[i].rawType(), zeroCopy);
+        }
+        rowBuilder.addValues(decodeValue(codecs[i], row.get(i), columnTypes[i]));
       }
-      resultSetBuilder.addRows(rowBuilder);
     }
 
     if (rows.resultMetadata.pagingState != null) {
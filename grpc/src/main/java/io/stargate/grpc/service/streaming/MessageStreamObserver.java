@@ -1,38 +1,80 @@
 package io.stargate.grpc.service.streaming;
 
 import com.google.protobuf.GeneratedMessageV3;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import io.stargate.grpc.service.ExceptionHandler;
 import io.stargate.grpc.service.MessageHandler;
 import io.stargate.grpc.service.StreamingSuccessHandler;
 import io.stargate.proto.QueryOuterClass;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import javax.annotation.Nullable;
 
 /**
  * Implements the {@link StreamObserver} interface. It is able to process Query and Batch (both
  * extends {@link GeneratedMessageV3}).
  *
+ * <p>If it is created with a {@link ServerCallStreamObserver}, it uses manual flow control to bound
+ * the amount of work per stream: it requests at most {@link #MAX_IN_FLIGHT} messages upfront, and
+ * then one more for each response sent. If the client is not reading responses fast enough (the
+ * call is not {@link ServerCallStreamObserver#isReady() ready}), it stops requesting messages until
+ * the call becomes ready again.
+ *
  * @param <MessageT> - type of the Message to process. We support {@link
  *     io.stargate.proto.QueryOuterClass.Query} and {@link io.stargate.proto.QueryOuterClass.Batch}
  */
 public class MessageStreamObserver<MessageT extends GeneratedMessageV3>
     implements StreamObserver<MessageT>, StreamingSuccessHandler {
 
+  public static final int MAX_IN_FLIGHT =
+      Integer.getInteger("stargate.grpc.stream_max_in_flight", 128);
+
   private final AtomicLong inFlight = new AtomicLong(0);
   private final AtomicBoolean clientSignalComplete = new AtomicBoolean(false);
   private final ExceptionHandler exceptionHandler;
   StreamingHandlerFactory<MessageT> streamingHandlerFactory;
   private final StreamObserver<QueryOuterClass.StreamingResponse> responseObserver;
 
+  // Flow control state, only used if call is not null.
+  @Nullable private final ServerCallStreamObserver<?> call;
+  private final StreamingMetrics metrics;
+  // The messages that we owe the client, because we've sent responses while the call was not ready.
+  private final AtomicInteger pendingRequests = new AtomicInteger();
+  private final AtomicBoolean stalled = new AtomicBoolean();
+
   public MessageStreamObserver(
       StreamObserver<QueryOuterClass.StreamingResponse> responseObserver,
       Function<StreamingSuccessHandler, ExceptionHandler> exceptionHandlerProducer,
       StreamingHandlerFactory<MessageT> streamingHandlerFactory) {
+    this(responseObserver, exceptionHandlerProducer, streamingHandlerFactory, null, 0, null);
+  }
+
+  /**
+   * @param call the raw observer for the call, to control the flow of messages. This must be
+   *     invoked from the service method, before it returns. If null, there is no flow control.
+   * @param maxInFlight the maximum number of messages processed concurrently. If it is not
+   *     positive, there is no flow control.
+   */
+  public MessageStreamObserver(
+      StreamObserver<QueryOuterClass.StreamingResponse> responseObserver,
+      Function<StreamingSuccessHandler, ExceptionHandler> exceptionHandlerProducer,
+      StreamingHandlerFactory<MessageT> streamingHandlerFactory,
+      @Nullable ServerCallStreamObserver<?> call,
+      int maxInFlight,
+      StreamingMetrics metrics) {
     this.responseObserver = responseObserver;
     this.streamingHandlerFactory = streamingHandlerFactory;
     this.exceptionHandler = exceptionHandlerProducer.apply(this);
+    this.call = (maxInFlight > 0) ? call : null;
+    this.metrics = metrics;
+    if (this.call != null) {
+      this.call.disableAutoRequest();
+      this.call.setOnReadyHandler(this::onReady);
+      this.call.request(maxInFlight);
+    }
   }
 
   /**
@@ -48,11 +90,47 @@ public class MessageStreamObserver<MessageT extends GeneratedMessageV3>
       responseObserver.onNext(response);
     } finally {
       if (inFlight.decrementAndGet() == 0 && clientSignalComplete.get()) {
+        clearStall();
         responseObserver.onCompleted();
+      } else if (call != null) {
+        requestNext();
       }
     }
   }
 
+  /** Replaces the message that was just processed, unless the client is falling behind. */
+  private void requestNext() {
+    assert call != null;
+    if (call.isReady()) {
+      call.request(1);
+    } else {
+      pendingRequests.incrementAndGet();
+      if (stalled.compareAndSet(false, true)) {
+        metrics.onStall();
+      }
+      // The call might have become ready before we incremented, in which case onReady() has missed
+      // our request.
+      if (call.isReady()) {
+        onReady();
+      }
+    }
+  }
+
+  private void onReady() {
+    assert call != null;
+    int n = pendingRequests.getAndSet(0);
+    if (n > 0) {
+      call.request(n);
+    }
+    clearStall();
+  }
+
+  private void clearStall() {
+    if (stalled.compareAndSet(true, false)) {
+      metrics.onResume();
+    }
+  }
+
   /**
    * It is creating new handler for each request and invokes the {@link MessageHandler#handle()}
    * method.
@@ -67,6 +145,7 @@ public class MessageStreamObserver<MessageT extends GeneratedMessageV3>
 
   @Override
   public void onError(Throwable t) {
+    clearStall();
     exceptionHandler.handleException(t);
   }
 
@@ -91,6 +170,7 @@ public class MessageStreamObserver<MessageT extends GeneratedMessageV3>
     clientSignalComplete.set(true);
 
     if (inFlight.get() == 0) {
+      clearStall();
       responseObserver.onCompleted();
     }
   }
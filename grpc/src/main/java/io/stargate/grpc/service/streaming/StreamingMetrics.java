@@ -0,0 +1,57 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.grpc.service.streaming;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks how often bi-directional streams stop reading requests because the client is not consuming
+ * responses fast enough (see {@link MessageStreamObserver}).
+ */
+public class StreamingMetrics {
+
+  public static final String STALLED_STREAMS = "grpc.server.streams.stalled";
+  public static final String STALLS = "grpc.server.streams.stalls";
+
+  private final AtomicInteger stalledStreams;
+  private final Counter stalls;
+
+  public StreamingMetrics(MeterRegistry registry) {
+    this.stalledStreams = registry.gauge(STALLED_STREAMS, new AtomicInteger());
+    this.stalls = registry.counter(STALLS);
+  }
+
+  void onStall() {
+    stalledStreams.incrementAndGet();
+    stalls.increment();
+  }
+
+  void onResume() {
+    stalledStreams.decrementAndGet();
+  }
+
+  /** The number of streams that are currently stalled. */
+  public int stalledStreams() {
+    return stalledStreams.get();
+  }
+
+  /** The total number of times a stream has stalled. */
+  public long stalls() {
+    return (long) stalls.count();
+  }
+}
@@ -85,6 +85,15 @@ public class ValueCodecTest {
     assertThat(actualValue2).isEqualTo(expectedValue);
   }
 
+  @ParameterizedTest
+  @MethodSource({"byteValues", "stringValues", "bigIntegerValues"})
+  public void validValuesZeroCopy(ColumnType type, Value expectedValue) {
+    ValueCodec codec = ValueCodecs.get(type.rawType(), true);
+    ByteBuffer bytes = codec.encode(expectedValue, type);
+    Value actualValue = codec.decode(bytes, type);
+    assertThat(actualValue).isEqualTo(expectedValue);
+  }
+
   @ParameterizedTest
   @MethodSource({"udtValues"})
   public void validValues(ColumnType type, Value value, Value expectedValue) {
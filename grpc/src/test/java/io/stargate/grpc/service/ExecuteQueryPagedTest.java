@@ -0,0 +1,180 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.grpc.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import com.google.protobuf.Int32Value;
+import com.google.protobuf.Int64Value;
+import io.grpc.StatusRuntimeException;
+import io.stargate.db.Parameters;
+import io.stargate.db.Result;
+import io.stargate.db.Result.Prepared;
+import io.stargate.db.Result.ResultMetadata;
+import io.stargate.db.Statement;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Column.Type;
+import io.stargate.grpc.Utils;
+import io.stargate.proto.QueryOuterClass.PagedQuery;
+import io.stargate.proto.QueryOuterClass.Query;
+import io.stargate.proto.QueryOuterClass.Response;
+import io.stargate.proto.StargateGrpc.StargateBlockingStub;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ExecuteQueryPagedTest extends BaseGrpcServiceTest {
+
+  private static final int TOTAL_ROWS = 5;
+
+  @Test
+  public void shouldStreamAllPages() {
+    // given
+    mockPagedTable();
+    startServer(persistence);
+    StargateBlockingStub stub = makeBlockingStub();
+
+    // when
+    List<Response> responses = collect(stub.executeQueryPaged(pagedQuery(2, null)));
+
+    // then
+    assertThat(responses).hasSize(3);
+    assertThat(rowCounts(responses)).containsExactly(2, 2, 1);
+    assertThat(responses.get(0).getResultSet().hasPagingState()).isTrue();
+    assertThat(responses.get(2).getResultSet().hasPagingState()).isFalse();
+    verify(connection, times(1)).prepare(anyString(), any(Parameters.class));
+    List<Parameters> parameters = executedParameters(3);
+    assertThat(parameters.get(0).pagingState()).isEmpty();
+    assertThat(parameters.get(1).pagingState()).contains(pagingState(2));
+    assertThat(parameters.get(2).pagingState()).contains(pagingState(4));
+  }
+
+  @Test
+  public void shouldStopAtRowLimit() {
+    // given
+    mockPagedTable();
+    startServer(persistence);
+    StargateBlockingStub stub = makeBlockingStub();
+
+    // when
+    List<Response> responses = collect(stub.executeQueryPaged(pagedQuery(2, 3L)));
+
+    // then
+    assertThat(rowCounts(responses)).containsExactly(2, 1);
+    List<Parameters> parameters = executedParameters(2);
+    assertThat(parameters.get(0).pageSize()).hasValue(2);
+    assertThat(parameters.get(1).pageSize()).hasValue(1);
+  }
+
+  @Test
+  public void shouldRejectInvalidRowLimit() {
+    // given
+    startServer(persistence);
+    StargateBlockingStub stub = makeBlockingStub();
+
+    // when
+    Iterator<Response> responses = stub.executeQueryPaged(pagedQuery(2, 0L));
+
+    // then
+    assertThatThrownBy(responses::hasNext)
+        .isInstanceOf(StatusRuntimeException.class)
+        .hasMessageContaining("The row limit must be strictly positive");
+  }
+
+  /** Simulates a table with {@link #TOTAL_ROWS} rows, where paging states are row offsets. */
+  private void mockPagedTable() {
+    Prepared prepared = Utils.makePrepared();
+    when(connection.prepare(anyString(), any(Parameters.class)))
+        .thenReturn(CompletableFuture.completedFuture(prepared));
+    when(connection.execute(any(Statement.class), any(Parameters.class), anyLong()))
+        .then(
+            invocation -> {
+              Parameters parameters = invocation.getArgument(1, Parameters.class);
+              int start = parameters.pagingState().map(b -> b.getInt(b.position())).orElse(0);
+              int end = Math.min(start + parameters.pageSize().getAsInt(), TOTAL_ROWS);
+              List<List<ByteBuffer>> rows =
+                  IntStream.range(start, end)
+                      .mapToObj(
+                          i ->
+                              Collections.singletonList(
+                                  TypeCodecs.INT.encode(i, ProtocolVersion.DEFAULT)))
+                      .collect(Collectors.toList());
+              ResultMetadata resultMetadata =
+                  new ResultMetadata(
+                      Utils.EMPTY_FLAGS,
+                      1,
+                      Collections.singletonList(Column.create("v", Type.Int)),
+                      Utils.RESULT_METADATA_ID,
+                      end < TOTAL_ROWS ? pagingState(end) : null);
+              return CompletableFuture.completedFuture(new Result.Rows(rows, resultMetadata));
+            });
+    when(persistence.newConnection()).thenReturn(connection);
+  }
+
+  private static PagedQuery pagedQuery(int pageSize, Long rowLimit) {
+    PagedQuery.Builder builder =
+        PagedQuery.newBuilder()
+            .setQuery(
+                Query.newBuilder()
+                    .setCql("SELECT v FROM test")
+                    .setParameters(cqlQueryParameters().setPageSize(Int32Value.of(pageSize))));
+    if (rowLimit != null) {
+      builder.setRowLimit(Int64Value.of(rowLimit));
+    }
+    return builder.build();
+  }
+
+  private static ByteBuffer pagingState(int offset) {
+    ByteBuffer pagingState = ByteBuffer.allocate(4);
+    pagingState.putInt(0, offset);
+    return pagingState;
+  }
+
+  private List<Parameters> executedParameters(int expectedExecutions) {
+    ArgumentCaptor<Parameters> captor = ArgumentCaptor.forClass(Parameters.class);
+    verify(connection, times(expectedExecutions))
+        .execute(any(Statement.class), captor.capture(), anyLong());
+    return captor.getAllValues();
+  }
+
+  private static List<Response> collect(Iterator<Response> iterator) {
+    List<Response> responses = new ArrayList<>();
+    iterator.forEachRemaining(responses::add);
+    return responses;
+  }
+
+  private static List<Integer> rowCounts(List<Response> responses) {
+    return responses.stream()
+        .map(r -> r.getResultSet().getRowsCount())
+        .collect(Collectors.toList());
+  }
+}
@@ -33,9 +33,11 @@ import io.stargate.proto.QueryOuterClass.Value;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -49,6 +51,42 @@ public class ProcessResultTest {
     assertThat(actual).isEqualTo(expected);
   }
 
+  @ParameterizedTest
+  @MethodSource("results")
+  public void processResultZeroCopy(Rows rows, QueryParameters queryParameters, ResultSet expected)
+      throws Exception {
+    ResultSet actual = ValuesHelper.processResult(rows, queryParameters.getSkipMetadata(), true);
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  @Test
+  public void processResultZeroCopyShouldShareBuffers() throws Exception {
+    byte[] blob = {1, 2, 3};
+    Rows rows =
+        new Rows(
+            Collections.singletonList(Collections.singletonList(ByteBuffer.wrap(blob))),
+            Utils.makeResultMetadata(Column.create("c1", Column.Type.Blob)));
+
+    ResultSet copied = ValuesHelper.processResult(rows, true, false);
+    ResultSet wrapped = ValuesHelper.processResult(rows, true, true);
+    blob[0] = 4;
+
+    assertThat(copied.getRows(0).getValues(0).getBytes().byteAt(0)).isEqualTo((byte) 1);
+    assertThat(wrapped.getRows(0).getValues(0).getBytes().byteAt(0)).isEqualTo((byte) 4);
+  }
+
+  @Test
+  public void processResultShouldNotNeedCodecWithoutValues() throws Exception {
+    Rows rows =
+        new Rows(
+            Collections.emptyList(),
+            Utils.makeResultMetadata(Column.create("c1", Column.Type.Duration)));
+
+    ResultSet actual = ValuesHelper.processResult(rows, true, false);
+
+    assertThat(actual).isEqualTo(ResultSet.getDefaultInstance());
+  }
+
   public static Stream<Arguments> results() {
     return Stream.of(
         ResultSetBuilder.builder()
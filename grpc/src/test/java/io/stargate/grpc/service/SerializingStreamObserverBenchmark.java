@@ -0,0 +1,166 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.grpc.service;
+
+import io.grpc.stub.StreamObserver;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the {@link SerializingStreamObserver} with a synchronized observer, when several
+ * persistence callback threads complete their responses into the same stream concurrently.
+ *
+ * <p>Each invocation starts the callback threads together, waits until all of their responses and
+ * the completion are delivered, so the score is the number of streams per second.
+ *
+ * <p>Run from the grpc module after {@code mvn test-compile}, with the test classpath:
+ *
+ * <pre>
+ * java -cp target/test-classes:target/classes:... org.openjdk.jmh.Main SerializingStreamObserverBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializingStreamObserverBenchmark {
+
+  private static final int RESPONSES_PER_THREAD = 1000;
+
+  /** Number of callback threads completing into the stream. */
+  @Param({"2", "8"})
+  public int threads;
+
+  /** Simulated cost of writing a response to the transport, in JMH tokens. */
+  @Param({"10", "100"})
+  public long writeTokens;
+
+  private ExecutorService executor;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    executor = Executors.newFixedThreadPool(threads);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  public void serializing() throws Exception {
+    stream(SerializingStreamObserver::new);
+  }
+
+  @Benchmark
+  public void synchronizing() throws Exception {
+    stream(SynchronizedObserver::new);
+  }
+
+  private void stream(Function<StreamObserver<Integer>, StreamObserver<Integer>> wrapper)
+      throws Exception {
+    WritingObserver delegate = new WritingObserver(writeTokens);
+    StreamObserver<Integer> observer = wrapper.apply(delegate);
+
+    CyclicBarrier start = new CyclicBarrier(threads);
+    Future<?>[] callbacks = new Future<?>[threads];
+    for (int t = 0; t < threads; t++) {
+      callbacks[t] =
+          executor.submit(
+              () -> {
+                start.await();
+                for (int i = 0; i < RESPONSES_PER_THREAD; i++) {
+                  observer.onNext(i);
+                }
+                return null;
+              });
+    }
+    for (Future<?> callback : callbacks) {
+      callback.get();
+    }
+    observer.onCompleted();
+    delegate.completed.await();
+  }
+
+  private static class WritingObserver implements StreamObserver<Integer> {
+    private final long writeTokens;
+    private final CountDownLatch completed = new CountDownLatch(1);
+
+    WritingObserver(long writeTokens) {
+      this.writeTokens = writeTokens;
+    }
+
+    @Override
+    public void onNext(Integer value) {
+      Blackhole.consumeCPU(writeTokens);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      completed.countDown();
+    }
+
+    @Override
+    public void onCompleted() {
+      completed.countDown();
+    }
+  }
+
+  /** The observer that was used before, every call locks the same monitor. */
+  private static class SynchronizedObserver implements StreamObserver<Integer> {
+    private final StreamObserver<Integer> streamObserver;
+
+    SynchronizedObserver(StreamObserver<Integer> streamObserver) {
+      this.streamObserver = streamObserver;
+    }
+
+    @Override
+    public synchronized void onNext(Integer value) {
+      streamObserver.onNext(value);
+    }
+
+    @Override
+    public synchronized void onError(Throwable t) {
+      streamObserver.onError(t);
+    }
+
+    @Override
+    public synchronized void onCompleted() {
+      streamObserver.onCompleted();
+    }
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.grpc.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.grpc.stub.StreamObserver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+public class SerializingStreamObserverTest {
+
+  @Test
+  public void shouldDeliverSignalsInOrder() {
+    // given
+    RecordingObserver delegate = new RecordingObserver();
+    SerializingStreamObserver<Integer> observer = new SerializingStreamObserver<>(delegate);
+
+    // when
+    observer.onNext(1);
+    observer.onNext(2);
+    observer.onCompleted();
+    observer.onNext(3);
+    observer.onCompleted();
+
+    // then
+    assertThat(delegate.values).containsExactly(1, 2);
+    assertThat(delegate.completions).isEqualTo(1);
+    assertThat(delegate.error).isNull();
+  }
+
+  @Test
+  public void shouldDeliverError() {
+    // given
+    RecordingObserver delegate = new RecordingObserver();
+    SerializingStreamObserver<Integer> observer = new SerializingStreamObserver<>(delegate);
+    RuntimeException error = new RuntimeException("mock error");
+
+    // when
+    observer.onNext(1);
+    observer.onError(error);
+    observer.onCompleted();
+
+    // then
+    assertThat(delegate.values).containsExactly(1);
+    assertThat(delegate.error).isSameAs(error);
+    assertThat(delegate.completions).isZero();
+  }
+
+  @Test
+  public void shouldNeverCallDelegateConcurrently() throws InterruptedException {
+    // given
+    int threads = 8;
+    int valuesPerThread = 10_000;
+    RecordingObserver delegate = new RecordingObserver();
+    SerializingStreamObserver<Integer> observer = new SerializingStreamObserver<>(delegate);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+
+    // when
+    try {
+      for (int t = 0; t < threads; t++) {
+        executor.submit(
+            () -> {
+              start.await();
+              for (int i = 0; i < valuesPerThread; i++) {
+                observer.onNext(i);
+              }
+              return null;
+            });
+      }
+      start.countDown();
+    } finally {
+      executor.shutdown();
+      assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    }
+    observer.onCompleted();
+
+    // then
+    assertThat(delegate.concurrentCalls.get()).isFalse();
+    assertThat(delegate.values).hasSize(threads * valuesPerThread);
+    assertThat(delegate.completions).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldPropagateDelegateFailureAndRecover() {
+    // given
+    RecordingObserver delegate = new RecordingObserver();
+    delegate.failOn = 1;
+    SerializingStreamObserver<Integer> observer = new SerializingStreamObserver<>(delegate);
+
+    // when
+    assertThatThrownBy(() -> observer.onNext(1)).hasMessage("mock error");
+    observer.onNext(2);
+
+    // then
+    assertThat(delegate.values).containsExactly(2);
+  }
+
+  @Test
+  public void shouldDeliverSignalsSentDuringDelegateFailure() throws Exception {
+    // given
+    CountDownLatch delivering = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingObserver delegate =
+        new RecordingObserver() {
+          @Override
+          public void onNext(Integer value) {
+            if (value == 1) {
+              delivering.countDown();
+              awaitUninterruptibly(release);
+            }
+            super.onNext(value);
+          }
+        };
+    delegate.failOn = 1;
+    SerializingStreamObserver<Integer> observer = new SerializingStreamObserver<>(delegate);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      // when
+      Future<?> failing = executor.submit(() -> observer.onNext(1));
+      assertThat(delivering.await(5, TimeUnit.SECONDS)).isTrue();
+      // the other thread is draining, so these only enqueue
+      observer.onNext(2);
+      observer.onCompleted();
+      release.countDown();
+
+      // then
+      assertThatThrownBy(() -> failing.get(5, TimeUnit.SECONDS))
+          .hasCauseInstanceOf(IllegalStateException.class)
+          .hasRootCauseMessage("mock error");
+      assertThat(delegate.values).containsExactly(2);
+      assertThat(delegate.completions).isEqualTo(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void shouldIgnoreValuesAfterTerminalSignal() {
+    // given
+    RecordingObserver delegate = new RecordingObserver();
+    SerializingStreamObserver<Integer> observer = new SerializingStreamObserver<>(delegate);
+
+    // when
+    observer.onCompleted();
+    observer.onNext(1);
+
+    // then
+    assertThat(delegate.values).isEmpty();
+    assertThat(delegate.completions).isEqualTo(1);
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static class RecordingObserver implements StreamObserver<Integer> {
+    final List<Integer> values = new ArrayList<>();
+    final AtomicBoolean busy = new AtomicBoolean();
+    final AtomicBoolean concurrentCalls = new AtomicBoolean();
+    int completions;
+    Throwable error;
+    Integer failOn;
+
+    @Override
+    public void onNext(Integer value) {
+      enter();
+      try {
+        if (value.equals(failOn)) {
+          throw new IllegalStateException("mock error");
+        }
+        values.add(value);
+      } finally {
+        busy.set(false);
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      enter();
+      error = t;
+      busy.set(false);
+    }
+
+    @Override
+    public void onCompleted() {
+      enter();
+      completions += 1;
+      busy.set(false);
+    }
+
+    private void enter() {
+      if (!busy.compareAndSet(false, true)) {
+        concurrentCalls.set(true);
+      }
+    }
+  }
+}
@@ -1,20 +1,26 @@
 package io.stargate.grpc.service.streaming;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.stargate.grpc.service.ExceptionHandler;
 import io.stargate.grpc.service.MessageHandler;
-import io.stargate.grpc.service.SynchronizedStreamObserver;
+import io.stargate.grpc.service.SerializingStreamObserver;
 import io.stargate.proto.QueryOuterClass;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 class MessageStreamObserverTest {
   private static final ScheduledExecutorService EXECUTOR = Executors.newScheduledThreadPool(1);
@@ -26,7 +32,7 @@ class MessageStreamObserverTest {
     StreamObserver<QueryOuterClass.StreamingResponse> callerStreamObserver =
         mock(StreamObserver.class);
     StreamObserver<QueryOuterClass.StreamingResponse> responseStreamObserver =
-        new SynchronizedStreamObserver<>(callerStreamObserver);
+        new SerializingStreamObserver<>(callerStreamObserver);
     StreamingHandlerFactory<QueryOuterClass.Query> streamingHandlerFactory =
         (query, successHandler, exH) -> {
           successHandler.handleResponse(
@@ -53,7 +59,7 @@ class MessageStreamObserverTest {
     StreamObserver<QueryOuterClass.StreamingResponse> callerStreamObserver =
         mock(StreamObserver.class);
     StreamObserver<QueryOuterClass.StreamingResponse> responseStreamObserver =
-        new SynchronizedStreamObserver<>(callerStreamObserver);
+        new SerializingStreamObserver<>(callerStreamObserver);
     StreamingHandlerFactory<QueryOuterClass.Query> streamingHandlerFactory =
         (query, successHandler, exH) -> {
           // decrement inFlight after a delay 500 MS delay
@@ -87,7 +93,7 @@ class MessageStreamObserverTest {
     StreamObserver<QueryOuterClass.StreamingResponse> callerStreamObserver =
         mock(StreamObserver.class);
     StreamObserver<QueryOuterClass.StreamingResponse> responseStreamObserver =
-        new SynchronizedStreamObserver<>(callerStreamObserver);
+        new SerializingStreamObserver<>(callerStreamObserver);
     StreamingHandlerFactory<QueryOuterClass.Query> streamingHandlerFactory =
         (query, successHandler, exH) -> {
           // do not decrement inFlight
@@ -105,6 +111,80 @@ class MessageStreamObserverTest {
     verify(callerStreamObserver, timeout(1000).times(0)).onCompleted();
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldRequestMessagesAsResponsesAreSent() {
+    // given
+    ServerCallStreamObserver<QueryOuterClass.StreamingResponse> call =
+        mock(ServerCallStreamObserver.class);
+    when(call.isReady()).thenReturn(true);
+    StreamingHandlerFactory<QueryOuterClass.Query> streamingHandlerFactory =
+        (query, successHandler, exH) -> {
+          successHandler.handleResponse(QueryOuterClass.StreamingResponse.newBuilder().build());
+          return mock(MessageHandler.class);
+        };
+
+    MessageStreamObserver<QueryOuterClass.Query> observer =
+        new MessageStreamObserver<>(
+            new SerializingStreamObserver<>(call),
+            (v) -> mock(ExceptionHandler.class),
+            streamingHandlerFactory,
+            call,
+            4,
+            new StreamingMetrics(new SimpleMeterRegistry()));
+    verify(call).disableAutoRequest();
+    verify(call).request(4);
+
+    // when
+    observer.onNext(QueryOuterClass.Query.newBuilder().build());
+
+    // then
+    verify(call).request(1);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldStopRequestingMessagesWhenClientIsNotReady() {
+    // given
+    ServerCallStreamObserver<QueryOuterClass.StreamingResponse> call =
+        mock(ServerCallStreamObserver.class);
+    when(call.isReady()).thenReturn(false);
+    StreamingHandlerFactory<QueryOuterClass.Query> streamingHandlerFactory =
+        (query, successHandler, exH) -> {
+          successHandler.handleResponse(QueryOuterClass.StreamingResponse.newBuilder().build());
+          return mock(MessageHandler.class);
+        };
+    StreamingMetrics metrics = new StreamingMetrics(new SimpleMeterRegistry());
+
+    MessageStreamObserver<QueryOuterClass.Query> observer =
+        new MessageStreamObserver<>(
+            new SerializingStreamObserver<>(call),
+            (v) -> mock(ExceptionHandler.class),
+            streamingHandlerFactory,
+            call,
+            4,
+            metrics);
+    ArgumentCaptor<Runnable> onReadyHandler = ArgumentCaptor.forClass(Runnable.class);
+    verify(call).setOnReadyHandler(onReadyHandler.capture());
+
+    // when
+    observer.onNext(QueryOuterClass.Query.newBuilder().build());
+    observer.onNext(QueryOuterClass.Query.newBuilder().build());
+
+    // then
+    verify(call, never()).request(2);
+    assertThat(metrics.stalledStreams()).isEqualTo(1);
+    assertThat(metrics.stalls()).isEqualTo(1);
+
+    // when
+    when(call.isReady()).thenReturn(true);
+    onReadyHandler.getValue().run();
+
+    // then
+    verify(call).request(2);
+    assertThat(metrics.stalledStreams()).isEqualTo(0);
+  }
+
   @AfterAll
   public static void cleanup() {
     EXECUTOR.shutdown();
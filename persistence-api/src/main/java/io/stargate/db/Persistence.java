@@ -19,11 +19,14 @@ import io.stargate.db.datastore.DataStore;
 import io.stargate.db.schema.Schema;
 import io.stargate.db.schema.TableName;
 import java.nio.ByteBuffer;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import org.apache.cassandra.stargate.exceptions.AuthenticationException;
+import org.apache.cassandra.stargate.transport.ProtocolVersion;
 
 /**
  * A persistence layer that can be queried.
@@ -113,6 +116,16 @@ public interface Persistence extends SchemaAgreementChecker {
    */
   Map<String, List<String>> cqlSupportedOptions();
 
+  /**
+   * The beta native protocol versions that this persistence backend fully supports, and that
+   * clients can therefore use without the USE_BETA flag.
+   *
+   * <p>By default none, beta versions stay in beta.
+   */
+  default Set<ProtocolVersion> releasedBetaProtocolVersions() {
+    return Collections.emptySet();
+  }
+
   /**
    * Execute AUTH_RESPONSE request handling asynchronously on the correct thread pool.
    *
@@ -9,8 +9,10 @@ import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import org.apache.cassandra.stargate.exceptions.AuthenticationException;
+import org.apache.cassandra.stargate.transport.ProtocolVersion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -105,6 +107,11 @@ public class RateLimitingPersistence implements Persistence {
     return persistence.cqlSupportedOptions();
   }
 
+  @Override
+  public Set<ProtocolVersion> releasedBetaProtocolVersions() {
+    return persistence.releasedBetaProtocolVersions();
+  }
+
   @Override
   public void executeAuthResponse(Runnable handler) {
     persistence.executeAuthResponse(handler);
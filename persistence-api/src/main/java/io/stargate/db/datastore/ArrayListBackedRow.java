@@ -5,9 +5,11 @@ import static java.lang.String.format;
 import com.datastax.oss.driver.api.core.ProtocolVersion;
 import com.datastax.oss.driver.api.core.type.DataType;
 import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+import com.datastax.oss.driver.shaded.guava.common.collect.Maps;
 import io.stargate.db.schema.Column;
 import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -15,17 +17,41 @@ import javax.annotation.Nullable;
 public class ArrayListBackedRow implements Row {
 
   private final List<Column> columns;
+  // If present, the result of indexColumns(columns). Otherwise lookups by name scan the columns.
+  @Nullable private final Map<String, Integer> columnIndexes;
   private final List<ByteBuffer> values;
   private final ProtocolVersion protocolVersion;
 
   public ArrayListBackedRow(
       List<Column> columns, List<ByteBuffer> values, ProtocolVersion protocolVersion) {
+    this(columns, null, values, protocolVersion);
+  }
+
+  /**
+   * @param columnIndexes the result of {@link #indexColumns(List)} for {@code columns}. Rows
+   *     created from the same result set should share the same instance.
+   */
+  public ArrayListBackedRow(
+      List<Column> columns,
+      @Nullable Map<String, Integer> columnIndexes,
+      List<ByteBuffer> values,
+      ProtocolVersion protocolVersion) {
     assert columns.size() == values.size();
     this.columns = columns;
+    this.columnIndexes = columnIndexes;
     this.values = values;
     this.protocolVersion = protocolVersion;
   }
 
+  /** Maps each column name to the index of its first occurrence in the given list. */
+  public static Map<String, Integer> indexColumns(List<Column> columns) {
+    Map<String, Integer> indexes = Maps.newHashMapWithExpectedSize(columns.size());
+    for (int i = 0; i < columns.size(); i++) {
+      indexes.putIfAbsent(columns.get(i).name(), i);
+    }
+    return indexes;
+  }
+
   @Override
   public List<Column> columns() {
     return columns;
@@ -40,15 +66,29 @@ public class ArrayListBackedRow implements Row {
 
   @Override
   public int firstIndexOf(@Nonnull String column) {
-    for (int i = 0; i < columns.size(); i++) {
-      if (columns.get(i).name().equals(column)) {
-        return i;
+    if (columnIndexes != null) {
+      Integer index = columnIndexes.get(column);
+      if (index != null) {
+        return index;
+      }
+    } else {
+      for (int i = 0; i < columns.size(); i++) {
+        if (columns.get(i).name().equals(column)) {
+          return i;
+        }
       }
     }
     throw new IllegalArgumentException(
         format("Column '%s' is not defined in the Row's metadata.", column));
   }
 
+  @Override
+  public boolean columnExists(String columnName) {
+    return (columnIndexes != null)
+        ? columnIndexes.containsKey(columnName)
+        : Row.super.columnExists(columnName);
+  }
+
   @Nonnull
   @Override
   public DataType getType(@Nonnull String column) {
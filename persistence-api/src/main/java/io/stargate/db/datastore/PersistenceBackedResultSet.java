@@ -20,13 +20,29 @@ import java.util.ArrayList;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
 
 class PersistenceBackedResultSet implements ResultSet {
 
+  /**
+   * How many pages to fetch ahead of the consumer once it starts iterating past the first page. The
+   * default of 0 disables read-ahead: each page is only fetched when the previous one is exhausted.
+   */
+  static final int PREFETCH_PAGES =
+      Integer.getInteger("stargate.persistence.result_set.prefetch_pages", 0);
+
+  /**
+   * The maximum size, in bytes of row values, of the pages fetched ahead of the consumer.
+   * Read-ahead pauses when this is reached, and resumes as the consumer catches up.
+   */
+  static final long PREFETCH_MAX_BYTES =
+      Long.getLong("stargate.persistence.result_set.prefetch_max_bytes", 8L * 1024 * 1024);
+
   private final Persistence.Connection connection;
   private final Parameters parameters;
   // Can be null when we know there is a single page
@@ -34,26 +50,41 @@ class PersistenceBackedResultSet implements ResultSet {
   private final ProtocolVersion driverProtocolVersion;
   private final Deque<Row> fetchedRows;
   private final List<Column> columns;
+  // Shared by all rows, so that by-name lookups don't scan the columns every time.
+  private final Map<String, Integer> columnIndexes;
   private final Predicate<Row> authzFilter;
   private final Result.Rows initialPage; // Used for calling withRowInspector()
+  private final int prefetchPages;
+  private final long prefetchMaxBytes;
 
   // Paging state to fetch the next page, or null is we've fetched all pages.
   private ByteBuffer nextPagingState;
 
+  // Read-ahead state. The pages above are only touched by the consumer, but these are also updated
+  // when a prefetched page completes, so they are guarded by this.
+  private final Deque<CompletableFuture<Result>> prefetchedPages = new ArrayDeque<>();
+  // Paging state to request the page after the last prefetched one, or null if there are none or if
+  // we can't know yet.
+  private ByteBuffer prefetchPagingState;
+  private boolean prefetchInFlight;
+  private long prefetchedBytes;
+
   PersistenceBackedResultSet(
       Persistence.Connection connection,
       Parameters parameters,
       @Nullable Statement statement,
       Result.Rows initialPage) {
-    this(connection, parameters, statement, initialPage, null);
+    this(connection, parameters, statement, initialPage, null, PREFETCH_PAGES, PREFETCH_MAX_BYTES);
   }
 
-  private PersistenceBackedResultSet(
+  PersistenceBackedResultSet(
       Connection connection,
       Parameters parameters,
       Statement statement,
       Rows initialPage,
-      Predicate<Row> authzFilter) {
+      Predicate<Row> authzFilter,
+      int prefetchPages,
+      long prefetchMaxBytes) {
     this.connection = connection;
     // We get our metadata in our initial page; let's skip it for following pages
     this.parameters = parameters.withoutMetadataInResult();
@@ -61,7 +92,10 @@ class PersistenceBackedResultSet implements ResultSet {
     this.driverProtocolVersion = parameters.protocolVersion().toDriverVersion();
     this.fetchedRows = new ArrayDeque<>(parameters.pageSize().orElse(32));
     this.columns = processColumns(initialPage.resultMetadata.columns);
+    this.columnIndexes = ArrayListBackedRow.indexColumns(columns);
     this.authzFilter = authzFilter;
+    this.prefetchPages = prefetchPages;
+    this.prefetchMaxBytes = prefetchMaxBytes;
     processNewPage(initialPage);
     this.initialPage = initialPage;
     if (nextPagingState != null && this.statement == null) {
@@ -126,7 +160,7 @@ class PersistenceBackedResultSet implements ResultSet {
   private void processNewPage(Result.Rows page) {
     for (List<ByteBuffer> rowValues : page.rows) {
       ArrayListBackedRow arrayListBackedRow =
-          new ArrayListBackedRow(columns, rowValues, driverProtocolVersion);
+          new ArrayListBackedRow(columns, columnIndexes, rowValues, driverProtocolVersion);
       if (authzFilter == null || authzFilter.test(arrayListBackedRow)) {
         fetchedRows.addLast(arrayListBackedRow);
       }
@@ -134,28 +168,107 @@ class PersistenceBackedResultSet implements ResultSet {
     nextPagingState = page.resultMetadata.pagingState;
   }
 
+  private void processNextPage(Result result, boolean prefetched) {
+    switch (result.kind) {
+      case Void:
+        nextPagingState = null;
+        break;
+      case Rows:
+        processNewPage((Result.Rows) result);
+        break;
+      default:
+        throw new IllegalStateException(
+            String.format("Unexpected %s result received for a result set page", result.kind));
+    }
+    synchronized (this) {
+      if (prefetched) {
+        prefetchedBytes -= sizeOf(result);
+      } else {
+        // Nothing was prefetched, so read-ahead (if enabled) picks up after the page we just got
+        prefetchPagingState = nextPagingState;
+      }
+      maybePrefetch();
+    }
+  }
+
+  /**
+   * Returns the (possibly still in-flight) prefetched page at {@link #nextPagingState}, or null if
+   * that page hasn't been requested yet.
+   */
+  private synchronized CompletableFuture<Result> takeNextPage() {
+    assert nextPagingState != null;
+    return prefetchedPages.pollFirst();
+  }
+
+  private CompletableFuture<Result> requestNextPage() {
+    return connection.execute(
+        statement, parameters.withPagingState(nextPagingState), System.nanoTime());
+  }
+
+  // Must be called while holding the lock.
+  private void maybePrefetch() {
+    if (prefetchPages <= 0
+        || prefetchInFlight
+        || prefetchPagingState == null
+        || prefetchedPages.size() >= prefetchPages
+        || prefetchedBytes >= prefetchMaxBytes) {
+      return;
+    }
+    prefetchInFlight = true;
+    CompletableFuture<Result> page = new CompletableFuture<>();
+    prefetchedPages.addLast(page);
+    connection
+        .execute(statement, parameters.withPagingState(prefetchPagingState), System.nanoTime())
+        .whenComplete((result, error) -> onPrefetched(page, result, error));
+  }
+
+  private void onPrefetched(CompletableFuture<Result> page, Result result, Throwable error) {
+    synchronized (this) {
+      prefetchInFlight = false;
+      if (error == null) {
+        prefetchPagingState =
+            (result.kind == Result.Kind.Rows)
+                ? ((Result.Rows) result).resultMetadata.pagingState
+                : null;
+        prefetchedBytes += sizeOf(result);
+        maybePrefetch();
+      } else {
+        // Stop reading ahead, the consumer gets the error when it reaches that page and will
+        // re-request it if it retries.
+        prefetchPagingState = null;
+      }
+    }
+    if (error == null) {
+      page.complete(result);
+    } else {
+      page.completeExceptionally(error);
+    }
+  }
+
+  private static long sizeOf(Result result) {
+    if (result.kind != Result.Kind.Rows) {
+      return 0;
+    }
+    long size = 0;
+    for (List<ByteBuffer> rowValues : ((Result.Rows) result).rows) {
+      for (ByteBuffer value : rowValues) {
+        if (value != null) {
+          size += value.remaining();
+        }
+      }
+    }
+    return size;
+  }
+
   private void fetchNextPage() {
     assert nextPagingState != null;
     try {
+      CompletableFuture<Result> prefetched = takeNextPage();
       // Note: we could have add a timeout on that get() for security. That said, we don't want
       // to pull a random number, and adding a new config for that should probably be discussed.
       // But it's probably good enough to rely on the persistence layer query timeout.
-      Result result =
-          connection
-              .execute(statement, parameters.withPagingState(nextPagingState), System.nanoTime())
-              .get();
-
-      switch (result.kind) {
-        case Void:
-          nextPagingState = null;
-          break;
-        case Rows:
-          processNewPage((Result.Rows) result);
-          break;
-        default:
-          throw new IllegalStateException(
-              String.format("Unexpected %s result received for a result set page", result.kind));
-      }
+      Result result = (prefetched == null) ? requestNextPage().get() : prefetched.get();
+      processNextPage(result, prefetched != null);
     } catch (InterruptedException e) {
       // We don't play with interruptions, so hopefully this never happen
       throw new RuntimeException("Interrupted while waiting on new page results");
@@ -197,7 +310,13 @@ class PersistenceBackedResultSet implements ResultSet {
   @Override
   public ResultSet withRowInspector(Predicate<Row> authzFilter) {
     return new PersistenceBackedResultSet(
-        this.connection, this.parameters, this.statement, this.initialPage, authzFilter);
+        this.connection,
+        this.parameters,
+        this.statement,
+        this.initialPage,
+        authzFilter,
+        this.prefetchPages,
+        this.prefetchMaxBytes);
   }
 
   @Override
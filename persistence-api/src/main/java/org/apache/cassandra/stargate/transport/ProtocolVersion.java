@@ -23,13 +23,15 @@ import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * The native (CQL binary) protocol version.
  *
  * <p>Some versions may be in beta, which means that the client must specify the beta flag in the
  * frame for the version to be considered valid. Beta versions must have the word "beta" in their
- * description, this is mandated by the specs.
+ * description, this is mandated by the specs. A persistence backend that fully supports a beta
+ * version can release it, in which case it is used without the beta flag, see {@link #isBeta(Set)}.
  */
 public enum ProtocolVersion implements Comparable<ProtocolVersion> {
   // The order is important as it defines the chronological history of versions, which is used
@@ -78,9 +80,17 @@ public enum ProtocolVersion implements Comparable<ProtocolVersion> {
   public static final Optional<ProtocolVersion> BETA = Optional.of(V5);
 
   public static List<String> supportedVersions() {
+    return supportedVersions(EnumSet.noneOf(ProtocolVersion.class));
+  }
+
+  /**
+   * @param released the beta versions released by the persistence backend.
+   * @return the supported versions, as advertised in the SUPPORTED message.
+   */
+  public static List<String> supportedVersions(Set<ProtocolVersion> released) {
     List<String> ret = new ArrayList<>(SUPPORTED.size());
     for (ProtocolVersion version : SUPPORTED) {
-      ret.add(version.toString());
+      ret.add(version.toString(released));
     }
     return ret;
   }
@@ -128,6 +138,14 @@ public enum ProtocolVersion implements Comparable<ProtocolVersion> {
     return beta;
   }
 
+  /**
+   * @param released the beta versions released by the persistence backend.
+   * @return true if this version is in beta and was not released by the persistence backend.
+   */
+  public boolean isBeta(Set<ProtocolVersion> released) {
+    return beta && !released.contains(this);
+  }
+
   public static String invalidVersionMessage(int version) {
     return String.format(
         "Invalid or unsupported protocol version (%d); supported versions are (%s)",
@@ -149,6 +167,14 @@ public enum ProtocolVersion implements Comparable<ProtocolVersion> {
     return String.format("%d/%s", num, descr);
   }
 
+  /**
+   * Same as {@link #toString()}, except that released beta versions are described without the
+   * "-beta" suffix.
+   */
+  public String toString(Set<ProtocolVersion> released) {
+    return isBeta(released) || !beta ? toString() : String.format("%d/v%d", num, num);
+  }
+
   public final boolean isGreaterThan(ProtocolVersion other) {
     return num > other.num;
   }
@@ -0,0 +1,111 @@
+package io.stargate.db.datastore;
+
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Column.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the by-name access to the cells of Docs API document table rows, with and without the
+ * column index shared by the rows of a result set.
+ *
+ * <p>Each row is read the way the Docs API reads it: all the path columns, then the leaf and the
+ * value columns.
+ *
+ * <p>Run from the persistence-api module after {@code mvn test-compile}, with the test classpath:
+ *
+ * <pre>
+ * java -cp target/test-classes:target/classes:... org.openjdk.jmh.Main ArrayListBackedRowBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArrayListBackedRowBenchmark {
+
+  private static final int ROW_COUNT = 1000;
+
+  @Param({"16", "64"})
+  public int maxDepth;
+
+  private List<String> columnNames;
+  private List<Row> indexedRows;
+  private List<Row> scannedRows;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    ProtocolVersion version = ProtocolVersion.DEFAULT;
+
+    // same layout as the document tables
+    List<Column> columns = new ArrayList<>();
+    columns.add(Column.create("key", Type.Text));
+    for (int i = 0; i < maxDepth; i++) {
+      columns.add(Column.create("p" + i, Type.Text));
+    }
+    columns.add(Column.create("leaf", Type.Text));
+    columns.add(Column.create("text_value", Type.Text));
+    columns.add(Column.create("dbl_value", Type.Double));
+    columns.add(Column.create("bool_value", Type.Boolean));
+
+    columnNames = new ArrayList<>(columns.size());
+    columns.forEach(column -> columnNames.add(column.name()));
+
+    Map<String, Integer> columnIndexes = ArrayListBackedRow.indexColumns(columns);
+    indexedRows = new ArrayList<>(ROW_COUNT);
+    scannedRows = new ArrayList<>(ROW_COUNT);
+    for (int r = 0; r < ROW_COUNT; r++) {
+      List<ByteBuffer> values = new ArrayList<>(columns.size());
+      values.add(TypeCodecs.TEXT.encode("doc" + (r / 10), version));
+      for (int i = 0; i < maxDepth; i++) {
+        // documents are mostly shallow, the deeper path columns are empty
+        values.add(TypeCodecs.TEXT.encode(i < 3 ? "field" + (r % 10) : "", version));
+      }
+      values.add(TypeCodecs.TEXT.encode("field" + (r % 10), version));
+      values.add(TypeCodecs.TEXT.encode("value" + r, version));
+      values.add(null);
+      values.add(null);
+
+      indexedRows.add(new ArrayListBackedRow(columns, columnIndexes, values, version));
+      scannedRows.add(new ArrayListBackedRow(columns, values, version));
+    }
+  }
+
+  @Benchmark
+  public void indexed(Blackhole blackhole) {
+    read(indexedRows, blackhole);
+  }
+
+  @Benchmark
+  public void scanned(Blackhole blackhole) {
+    read(scannedRows, blackhole);
+  }
+
+  private void read(List<Row> rows, Blackhole blackhole) {
+    for (Row row : rows) {
+      for (String name : columnNames) {
+        blackhole.consume(row.isNull(name));
+      }
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package io.stargate.db.datastore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Column.Type;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class ArrayListBackedRowTest {
+
+  private static final List<Column> COLUMNS =
+      Arrays.asList(
+          Column.create("a", Type.Int),
+          Column.create("b", Type.Text),
+          Column.create("a", Type.Int));
+  private static final List<ByteBuffer> VALUES =
+      Arrays.asList(
+          TypeCodecs.INT.encode(1, ProtocolVersion.DEFAULT),
+          TypeCodecs.TEXT.encode("foo", ProtocolVersion.DEFAULT),
+          TypeCodecs.INT.encode(2, ProtocolVersion.DEFAULT));
+
+  @Test
+  public void shouldIndexFirstOccurrenceOfEachColumn() {
+    Map<String, Integer> indexes = ArrayListBackedRow.indexColumns(COLUMNS);
+
+    assertThat(indexes).hasSize(2).containsEntry("a", 0).containsEntry("b", 1);
+  }
+
+  @Test
+  public void shouldLookUpColumnsByNameWithIndex() {
+    Row row =
+        new ArrayListBackedRow(
+            COLUMNS, ArrayListBackedRow.indexColumns(COLUMNS), VALUES, ProtocolVersion.DEFAULT);
+    assertLookups(row);
+  }
+
+  @Test
+  public void shouldLookUpColumnsByNameWithoutIndex() {
+    Row row = new ArrayListBackedRow(COLUMNS, VALUES, ProtocolVersion.DEFAULT);
+    assertLookups(row);
+  }
+
+  private static void assertLookups(Row row) {
+    assertThat(row.firstIndexOf("b")).isEqualTo(1);
+    assertThat(row.getInt("a")).isEqualTo(1);
+    assertThat(row.getString("b")).isEqualTo("foo");
+    assertThat(row.columnExists("a")).isTrue();
+    assertThat(row.columnExists("c")).isFalse();
+    assertThatThrownBy(() -> row.firstIndexOf("c"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Column 'c' is not defined in the Row's metadata.");
+  }
+}
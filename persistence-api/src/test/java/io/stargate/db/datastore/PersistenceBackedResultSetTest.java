@@ -5,6 +5,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.datastax.oss.driver.api.core.ProtocolVersion;
@@ -727,6 +730,81 @@ class PersistenceBackedResultSetTest {
     }
   }
 
+  @Test
+  public void readAhead() {
+    rowsSameUser.resultMetadata.pagingState = ByteBuffer.allocate(1);
+    Rows secondPage = page(9, ByteBuffer.allocate(2));
+    Rows thirdPage = page(10, null);
+    when(connection.execute(any(), any(), anyLong()))
+        .thenReturn(
+            CompletableFuture.completedFuture(secondPage),
+            CompletableFuture.completedFuture(thirdPage));
+
+    ResultSet resultSet = newResultSetWithReadAhead(2, Long.MAX_VALUE);
+    Iterator<Row> iterator = resultSet.iterator();
+    iterator.next();
+    iterator.next();
+    verify(connection, never()).execute(any(), any(), anyLong());
+
+    // Crossing into the second page also requests the third one
+    assertThat(iterator.hasNext()).isTrue();
+    verify(connection, times(2)).execute(any(), any(), anyLong());
+
+    List<Row> remaining = resultSet.rows();
+    assertThat(remaining).hasSize(2);
+    assertRow(remaining.get(0), secondPage.rows.get(0));
+    assertRow(remaining.get(1), thirdPage.rows.get(0));
+    verify(connection, times(2)).execute(any(), any(), anyLong());
+  }
+
+  @Test
+  public void readAheadShouldPauseWhenMemoryBoundReached() {
+    rowsSameUser.resultMetadata.pagingState = ByteBuffer.allocate(1);
+    Rows secondPage = page(9, ByteBuffer.allocate(2));
+    Rows thirdPage = page(10, ByteBuffer.allocate(3));
+    Rows fourthPage = page(11, null);
+    when(connection.execute(any(), any(), anyLong()))
+        .thenReturn(
+            CompletableFuture.completedFuture(secondPage),
+            CompletableFuture.completedFuture(thirdPage),
+            CompletableFuture.completedFuture(fourthPage));
+
+    ResultSet resultSet = newResultSetWithReadAhead(3, 1);
+    resultSet.currentPageRows();
+
+    // The third page is prefetched, but it exceeds the bound, so the fourth one isn't
+    resultSet.one();
+    verify(connection, times(2)).execute(any(), any(), anyLong());
+
+    // Consuming the third page frees up room for the fourth
+    resultSet.one();
+    verify(connection, times(3)).execute(any(), any(), anyLong());
+    assertRow(resultSet.one(), fourthPage.rows.get(0));
+  }
+
+  private ResultSet newResultSetWithReadAhead(int prefetchPages, long prefetchMaxBytes) {
+    return new PersistenceBackedResultSet(
+        connection,
+        ImmutableParameters.builder()
+            .protocolVersion(org.apache.cassandra.stargate.transport.ProtocolVersion.CURRENT)
+            .build(),
+        new SimpleStatement("select * from system.local;"),
+        rowsSameUser,
+        null,
+        prefetchPages,
+        prefetchMaxBytes);
+  }
+
+  private Rows page(int itemCount, ByteBuffer pagingState) {
+    Map<String, Object> rowVal = new HashMap<>();
+    rowVal.put("userid", "123");
+    rowVal.put("item_count", itemCount);
+    rowVal.put("last_update_timestamp", Instant.now());
+    Rows page = createRows(SHOPPING_CART.columns(), Collections.singletonList(rowVal));
+    page.resultMetadata.pagingState = pagingState;
+    return page;
+  }
+
   private void assertRows(List<Row> rowsResult, List<List<ByteBuffer>> rows) {
     for (int i = 0; i < rowsResult.size(); i++) {
       assertRow(rowsResult.get(i), rows.get(i));
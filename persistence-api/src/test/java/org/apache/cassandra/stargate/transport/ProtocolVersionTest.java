@@ -0,0 +1,51 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.stargate.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.EnumSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ProtocolVersionTest {
+
+  @Test
+  public void v5BetaByDefault() {
+    Set<ProtocolVersion> released = EnumSet.noneOf(ProtocolVersion.class);
+
+    assertThat(ProtocolVersion.V5.isBeta(released)).isTrue();
+    assertThat(ProtocolVersion.V4.isBeta(released)).isFalse();
+    assertThat(ProtocolVersion.supportedVersions(released))
+        .containsExactly("3/v3", "4/v4", "5/v5-beta");
+  }
+
+  @Test
+  public void v5Released() {
+    Set<ProtocolVersion> released = EnumSet.of(ProtocolVersion.V5);
+
+    assertThat(ProtocolVersion.V5.isBeta(released)).isFalse();
+    assertThat(ProtocolVersion.supportedVersions(released)).containsExactly("3/v3", "4/v4", "5/v5");
+  }
+
+  @Test
+  public void releasingNonBetaVersion() {
+    Set<ProtocolVersion> released = EnumSet.of(ProtocolVersion.V4);
+
+    assertThat(ProtocolVersion.V4.isBeta(released)).isFalse();
+    assertThat(ProtocolVersion.V4.toString(released)).isEqualTo("4/v4");
+  }
+}
@@ -175,6 +175,7 @@ public class Cassandra311Persistence
         new SimpleCallbackMigrationListener() {
           @Override
           void onSchemaChange() {
+            Conversion.clearResultColumnsCache();
             runOnSchemaChange.run();
           }
         };
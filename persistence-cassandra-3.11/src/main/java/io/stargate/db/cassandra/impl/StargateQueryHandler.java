@@ -18,6 +18,8 @@
 package io.stargate.db.cassandra.impl;
 
 import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.AuthorizationService;
 import io.stargate.auth.Scope;
@@ -27,12 +29,16 @@ import io.stargate.db.AuthenticatedUser;
 import io.stargate.db.AuthenticatedUser.Serializer;
 import io.stargate.db.cassandra.impl.idempotency.IdempotencyAnalyzer;
 import io.stargate.db.cassandra.impl.interceptors.QueryInterceptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import org.apache.cassandra.auth.IResource;
 import org.apache.cassandra.auth.RoleResource;
@@ -98,9 +104,29 @@ import org.slf4j.LoggerFactory;
 public class StargateQueryHandler implements QueryHandler {
 
   private static final Logger logger = LoggerFactory.getLogger(StargateQueryHandler.class);
+
+  // Authorization decisions of the data statements are cached for a short time, as the same
+  // statements are executed over and over with the same tokens.
+  private static final long AUTHORIZATION_CACHE_TTL_MILLIS =
+      Long.getLong("stargate.authorization_cache_ttl_millis", 2000);
+  private static final long AUTHORIZATION_CACHE_MAX_SIZE =
+      Long.getLong("stargate.authorization_cache_max_size", 10_000);
+
+  private static final FieldGetter ROLE = new FieldGetter("role");
+  private static final FieldGetter GRANTEE = new FieldGetter("grantee");
+  private static final FieldGetter RESOURCE = new FieldGetter("resource");
+  private static final FieldGetter FUNCTION_NAME = new FieldGetter("functionName");
+
   private final List<QueryInterceptor> interceptors = new CopyOnWriteArrayList<>();
   private AtomicReference<AuthorizationService> authorizationService;
 
+  private final Cache<AuthorizationKey, Boolean> authorizationDecisions =
+      CacheBuilder.newBuilder()
+          .expireAfterWrite(AUTHORIZATION_CACHE_TTL_MILLIS, TimeUnit.MILLISECONDS)
+          .maximumSize(AUTHORIZATION_CACHE_MAX_SIZE)
+          .build();
+  private volatile AuthorizationService decisionsAuthorizationService;
+
   void register(QueryInterceptor interceptor) {
     this.interceptors.add(interceptor);
   }
@@ -242,11 +268,20 @@ public class StargateQueryHandler implements QueryHandler {
           castStatement.columnFamily());
 
       try {
-        authorization.authorizeDataRead(
-            authenticationSubject,
-            castStatement.keyspace(),
-            castStatement.columnFamily(),
-            SourceAPI.CQL);
+        authorizeCached(
+            authorization,
+            new AuthorizationKey(
+                authenticationSubject,
+                Scope.SELECT,
+                ResourceKind.TABLE,
+                castStatement.keyspace(),
+                castStatement.columnFamily()),
+            () ->
+                authorization.authorizeDataRead(
+                    authenticationSubject,
+                    castStatement.keyspace(),
+                    castStatement.columnFamily(),
+                    SourceAPI.CQL));
       } catch (io.stargate.auth.UnauthorizedException e) {
         throw new UnauthorizedException(
             String.format(
@@ -270,12 +305,21 @@ public class StargateQueryHandler implements QueryHandler {
           castStatement.columnFamily());
 
       try {
-        authorization.authorizeDataWrite(
-            authenticationSubject,
-            castStatement.keyspace(),
-            castStatement.columnFamily(),
-            Scope.TRUNCATE,
-            SourceAPI.CQL);
+        authorizeCached(
+            authorization,
+            new AuthorizationKey(
+                authenticationSubject,
+                Scope.TRUNCATE,
+                ResourceKind.TABLE,
+                castStatement.keyspace(),
+                castStatement.columnFamily()),
+            () ->
+                authorization.authorizeDataWrite(
+                    authenticationSubject,
+                    castStatement.keyspace(),
+                    castStatement.columnFamily(),
+                    Scope.TRUNCATE,
+                    SourceAPI.CQL));
       } catch (io.stargate.auth.UnauthorizedException e) {
         throw new UnauthorizedException(
             String.format(
@@ -335,12 +379,21 @@ public class StargateQueryHandler implements QueryHandler {
         castStatement.columnFamily());
 
     try {
-      authorization.authorizeDataWrite(
-          authenticationSubject,
-          castStatement.keyspace(),
-          castStatement.columnFamily(),
-          scope,
-          SourceAPI.CQL);
+      authorizeCached(
+          authorization,
+          new AuthorizationKey(
+              authenticationSubject,
+              scope,
+              ResourceKind.TABLE,
+              castStatement.keyspace(),
+              castStatement.columnFamily()),
+          () ->
+              authorization.authorizeDataWrite(
+                  authenticationSubject,
+                  castStatement.keyspace(),
+                  castStatement.columnFamily(),
+                  scope,
+                  SourceAPI.CQL));
     } catch (io.stargate.auth.UnauthorizedException e) {
       throw new UnauthorizedException(
           String.format(
@@ -514,8 +567,8 @@ public class StargateQueryHandler implements QueryHandler {
     if (statement instanceof RoleManagementStatement) {
       RoleManagementStatement stmt = (RoleManagementStatement) castStatement;
       scope = Scope.AUTHORIZE;
-      role = getRoleResourceFromStatement(stmt, "role");
-      String grantee = getRoleResourceFromStatement(stmt, "grantee");
+      role = getRoleResourceFromStatement(stmt, ROLE);
+      String grantee = getRoleResourceFromStatement(stmt, GRANTEE);
       logger.debug(
           "preparing to authorize statement of type {} on {}",
           castStatement.getClass().toString(),
@@ -534,15 +587,15 @@ public class StargateQueryHandler implements QueryHandler {
     } else if (statement instanceof DropRoleStatement) {
       DropRoleStatement stmt = (DropRoleStatement) castStatement;
       scope = Scope.DROP;
-      role = getRoleResourceFromStatement(stmt, "role");
+      role = getRoleResourceFromStatement(stmt, ROLE);
     } else if (statement instanceof CreateRoleStatement) {
       CreateRoleStatement stmt = (CreateRoleStatement) castStatement;
       scope = Scope.CREATE;
-      role = getRoleResourceFromStatement(stmt, "role");
+      role = getRoleResourceFromStatement(stmt, ROLE);
     } else if (statement instanceof AlterRoleStatement) {
       AlterRoleStatement stmt = (AlterRoleStatement) castStatement;
       scope = Scope.ALTER;
-      role = getRoleResourceFromStatement(stmt, "role");
+      role = getRoleResourceFromStatement(stmt, ROLE);
     }
 
     logger.debug(
@@ -570,7 +623,7 @@ public class StargateQueryHandler implements QueryHandler {
       PermissionsManagementStatement stmt = (PermissionsManagementStatement) castStatement;
       Scope scope = Scope.AUTHORIZE;
       String resource = getResourceFromStatement(stmt);
-      String grantee = getRoleResourceFromStatement(stmt, "grantee");
+      String grantee = getRoleResourceFromStatement(stmt, GRANTEE);
 
       logger.debug(
           "preparing to authorize statement of type {} on {}",
@@ -589,7 +642,7 @@ public class StargateQueryHandler implements QueryHandler {
       logger.debug("authorized statement of type {} on {}", castStatement.getClass(), resource);
     } else if (statement instanceof ListRolesStatement) {
       ListRolesStatement stmt = (ListRolesStatement) castStatement;
-      String role = getRoleResourceFromStatement(stmt, "grantee");
+      String role = getRoleResourceFromStatement(stmt, GRANTEE);
       logger.debug(
           "preparing to authorize statement of type {} on {}",
           castStatement.getClass().toString(),
@@ -605,7 +658,7 @@ public class StargateQueryHandler implements QueryHandler {
       logger.debug("authorized statement of type {} on {}", castStatement.getClass(), role);
     } else if (statement instanceof ListPermissionsStatement) {
       ListPermissionsStatement stmt = (ListPermissionsStatement) castStatement;
-      String role = getRoleResourceFromStatement(stmt, "grantee");
+      String role = getRoleResourceFromStatement(stmt, GRANTEE);
       logger.debug(
           "preparing to authorize statement of type {} on {}",
           castStatement.getClass().toString(),
@@ -624,11 +677,7 @@ public class StargateQueryHandler implements QueryHandler {
 
   private String getKeyspaceNameFromFunction(CQLStatement stmt) {
     try {
-      Class<?> aClass = stmt.getClass();
-
-      Field f = aClass.getDeclaredField("functionName");
-      f.setAccessible(true);
-      FunctionName functionName = (FunctionName) f.get(stmt);
+      FunctionName functionName = (FunctionName) FUNCTION_NAME.get(stmt.getClass(), stmt);
 
       return functionName != null ? functionName.keyspace : null;
     } catch (Exception e) {
@@ -637,7 +686,7 @@ public class StargateQueryHandler implements QueryHandler {
     }
   }
 
-  private String getRoleResourceFromStatement(Object stmt, String fieldName) {
+  private String getRoleResourceFromStatement(Object stmt, FieldGetter field) {
     try {
       Class<?> aClass = stmt.getClass();
       if (stmt instanceof ListUsersStatement
@@ -648,22 +697,18 @@ public class StargateQueryHandler implements QueryHandler {
         aClass = aClass.getSuperclass();
       }
 
-      Field f = aClass.getDeclaredField(fieldName);
-      f.setAccessible(true);
-      RoleResource roleResource = (RoleResource) f.get(stmt);
+      RoleResource roleResource = (RoleResource) field.get(aClass, stmt);
 
       return roleResource != null ? roleResource.getName() : null;
     } catch (Exception e) {
-      logger.error("Unable to get " + fieldName, e);
+      logger.error("Unable to get " + field.fieldName, e);
       throw new RuntimeException("Unable to get private field", e);
     }
   }
 
   private String getResourceFromStatement(PermissionsManagementStatement stmt) {
     try {
-      Field f = stmt.getClass().getSuperclass().getDeclaredField("resource");
-      f.setAccessible(true);
-      IResource resource = (IResource) f.get(stmt);
+      IResource resource = (IResource) RESOURCE.get(stmt.getClass().getSuperclass(), stmt);
 
       return resource != null ? resource.getName() : null;
     } catch (Exception e) {
@@ -672,6 +717,34 @@ public class StargateQueryHandler implements QueryHandler {
     }
   }
 
+  private void authorizeCached(
+      AuthorizationService authorization, AuthorizationKey key, AuthorizationCheck check)
+      throws io.stargate.auth.UnauthorizedException {
+    if (AUTHORIZATION_CACHE_TTL_MILLIS <= 0) {
+      check.authorize();
+      return;
+    }
+
+    // decisions of a replaced service are not valid anymore
+    if (authorization != decisionsAuthorizationService) {
+      authorizationDecisions.invalidateAll();
+      decisionsAuthorizationService = authorization;
+    }
+
+    Boolean authorized = authorizationDecisions.getIfPresent(key);
+    if (null == authorized) {
+      try {
+        check.authorize();
+      } catch (io.stargate.auth.UnauthorizedException e) {
+        authorizationDecisions.put(key, false);
+        throw e;
+      }
+      authorizationDecisions.put(key, true);
+    } else if (!authorized) {
+      throw new io.stargate.auth.UnauthorizedException("Not authorized");
+    }
+  }
+
   public void setAuthorizationService(AtomicReference<AuthorizationService> authorizationService) {
     this.authorizationService = authorizationService;
   }
@@ -679,4 +752,84 @@ public class StargateQueryHandler implements QueryHandler {
   public Optional<AuthorizationService> getAuthorizationService() {
     return Optional.ofNullable(authorizationService.get());
   }
+
+  @FunctionalInterface
+  private interface AuthorizationCheck {
+    void authorize() throws io.stargate.auth.UnauthorizedException;
+  }
+
+  private static class AuthorizationKey {
+    private final AuthenticationSubject subject;
+    private final Scope scope;
+    private final ResourceKind resource;
+    private final String keyspace;
+    private final String table;
+
+    AuthorizationKey(
+        AuthenticationSubject subject,
+        Scope scope,
+        ResourceKind resource,
+        String keyspace,
+        String table) {
+      this.subject = subject;
+      this.scope = scope;
+      this.resource = resource;
+      this.keyspace = keyspace;
+      this.table = table;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      AuthorizationKey that = (AuthorizationKey) o;
+      return subject.equals(that.subject)
+          && scope == that.scope
+          && resource == that.resource
+          && Objects.equals(keyspace, that.keyspace)
+          && Objects.equals(table, that.table);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(subject, scope, resource, keyspace, table);
+    }
+  }
+
+  /**
+   * Getter of a private field, resolved once per declaring class and invoked without reflection.
+   */
+  private static class FieldGetter extends ClassValue<MethodHandle> {
+    private final String fieldName;
+
+    FieldGetter(String fieldName) {
+      this.fieldName = fieldName;
+    }
+
+    @Override
+    protected MethodHandle computeValue(Class<?> type) {
+      try {
+        Field f = type.getDeclaredField(fieldName);
+        f.setAccessible(true);
+        return MethodHandles.lookup().unreflectGetter(f);
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException(
+            String.format("Unable to get field %s of %s", fieldName, type.getName()), e);
+      }
+    }
+
+    Object get(Class<?> declaringClass, Object target) {
+      try {
+        return get(declaringClass).invoke(target);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new IllegalStateException(t);
+      }
+    }
+  }
 }
@@ -9,11 +9,13 @@ import io.stargate.db.Parameters;
 import io.stargate.db.schema.Column;
 import java.net.InetAddress;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import org.apache.cassandra.cql3.ColumnIdentifier;
 import org.apache.cassandra.cql3.ColumnSpecification;
 import org.apache.cassandra.cql3.QueryOptions;
+import org.apache.cassandra.cql3.ResultSet;
 import org.apache.cassandra.db.marshal.AsciiType;
 import org.apache.cassandra.db.marshal.BooleanType;
 import org.apache.cassandra.db.marshal.ByteType;
@@ -301,4 +303,48 @@ class ConversionTest {
       assertThat(result.rawType()).isEqualTo(Column.Type.Timeuuid);
     }
   }
+
+  @Nested
+  class ToResultMetadata {
+
+    @Test
+    public void shouldReuseColumnsForSameStatement() {
+      List<ColumnSpecification> names = new ArrayList<>(asList(spec("a"), spec("b")));
+
+      List<Column> first =
+          Conversion.toResultMetadata(new ResultSet.ResultMetadata(names), null).columns;
+      List<Column> second =
+          Conversion.toResultMetadata(new ResultSet.ResultMetadata(names), null).columns;
+
+      assertThat(first).extracting(Column::name).containsExactly("a", "b");
+      assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void shouldReconvertColumnsWhenListGrows() {
+      List<ColumnSpecification> names = new ArrayList<>(asList(spec("a")));
+      List<Column> first =
+          Conversion.toResultMetadata(new ResultSet.ResultMetadata(names), null).columns;
+
+      names.add(spec("b"));
+      List<Column> second =
+          Conversion.toResultMetadata(new ResultSet.ResultMetadata(names), null).columns;
+
+      assertThat(first).extracting(Column::name).containsExactly("a");
+      assertThat(second).extracting(Column::name).containsExactly("a", "b");
+    }
+
+    @Test
+    public void shouldReconvertColumnsAfterClear() {
+      List<ColumnSpecification> names = asList(spec("a"), spec("b"));
+      List<Column> first =
+          Conversion.toResultMetadata(new ResultSet.ResultMetadata(names), null).columns;
+
+      Conversion.clearResultColumnsCache();
+      List<Column> second =
+          Conversion.toResultMetadata(new ResultSet.ResultMetadata(names), null).columns;
+
+      assertThat(second).isNotSameAs(first).isEqualTo(first);
+    }
+  }
 }
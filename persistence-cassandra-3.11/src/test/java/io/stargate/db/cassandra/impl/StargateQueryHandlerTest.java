@@ -934,7 +934,8 @@ class StargateQueryHandlerTest extends BaseCassandraTest {
     CQLStatement statement = prepared.statement;
 
     queryHandler.authorizeByToken(createToken(), statement);
-    verify(authorizationService, times(3))
+    // same table and scope for all statements, so decided once
+    verify(authorizationService, times(1))
         .authorizeDataWrite(
             refEq(authenticationSubject),
             eq("ks1"),
@@ -943,6 +944,64 @@ class StargateQueryHandlerTest extends BaseCassandraTest {
             eq(SourceAPI.CQL));
   }
 
+  @Test
+  void authorizeByTokenCachedDecision() throws UnauthorizedException {
+    SelectStatement.RawStatement rawStatement =
+        (SelectStatement.RawStatement) QueryProcessor.parseStatement("select * from system.local");
+
+    CQLStatement statement = rawStatement.prepare(ClientState.forInternalCalls()).statement;
+
+    queryHandler.authorizeByToken(createToken(), statement);
+    queryHandler.authorizeByToken(createToken(), statement);
+    verify(authorizationService, times(1))
+        .authorizeDataRead(
+            refEq(authenticationSubject), eq("system"), eq("local"), eq(SourceAPI.CQL));
+  }
+
+  @Test
+  void authorizeByTokenCachedDecisionPerSubject() throws UnauthorizedException {
+    SelectStatement.RawStatement rawStatement =
+        (SelectStatement.RawStatement) QueryProcessor.parseStatement("select * from system.local");
+
+    CQLStatement statement = rawStatement.prepare(ClientState.forInternalCalls()).statement;
+
+    queryHandler.authorizeByToken(createToken(), statement);
+    queryHandler.authorizeByToken(
+        AuthenticatedUser.Serializer.serialize(AuthenticatedUser.of("other", "otherToken")),
+        statement);
+    verify(authorizationService, times(1))
+        .authorizeDataRead(
+            refEq(authenticationSubject), eq("system"), eq("local"), eq(SourceAPI.CQL));
+    verify(authorizationService, times(1))
+        .authorizeDataRead(
+            refEq(AuthenticationSubject.of("otherToken", "other")),
+            eq("system"),
+            eq("local"),
+            eq(SourceAPI.CQL));
+  }
+
+  @Test
+  void authorizeByTokenCachedDenial() throws UnauthorizedException {
+    SelectStatement.RawStatement rawStatement =
+        (SelectStatement.RawStatement) QueryProcessor.parseStatement("select * from system.local");
+
+    CQLStatement statement = rawStatement.prepare(ClientState.forInternalCalls()).statement;
+
+    Mockito.doThrow(new io.stargate.auth.UnauthorizedException("test-message"))
+        .when(authorizationService)
+        .authorizeDataRead(any(), any(), any(), any());
+
+    assertThatThrownBy(() -> queryHandler.authorizeByToken(createToken(), statement))
+        .isInstanceOf(org.apache.cassandra.exceptions.UnauthorizedException.class)
+        .hasMessage("No SELECT permission on <table system.local>");
+    assertThatThrownBy(() -> queryHandler.authorizeByToken(createToken(), statement))
+        .isInstanceOf(org.apache.cassandra.exceptions.UnauthorizedException.class)
+        .hasMessage("No SELECT permission on <table system.local>");
+    verify(authorizationService, times(1))
+        .authorizeDataRead(
+            refEq(authenticationSubject), eq("system"), eq("local"), eq(SourceAPI.CQL));
+  }
+
   private Map<String, ByteBuffer> createToken() {
     return AuthenticatedUser.Serializer.serialize(authenticatedUser);
   }
@@ -152,6 +152,7 @@ public class Cassandra40PersistenceActivator extends BaseActivator {
     // TODO copy metrics if this gets invoked more than once?
     CassandraMetricsRegistry.actualRegistry =
         metrics.get().getRegistry("persistence-cassandra-4.0");
+    cassandraDB.setMetricRegistry(CassandraMetricsRegistry.actualRegistry);
 
     try {
       cassandraDB.setAuthorizationService(authorizationService.get());
@@ -31,9 +31,11 @@ import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -155,6 +157,7 @@ public class Cassandra40Persistence
         new SimpleCallbackMigrationListener() {
           @Override
           void onSchemaChange() {
+            Conversion.clearResultColumnsCache();
             runOnSchemaChange.run();
           }
         };
@@ -363,6 +366,12 @@ public class Cassandra40Persistence
         .build();
   }
 
+  @Override
+  public Set<ProtocolVersion> releasedBetaProtocolVersions() {
+    // v5 is final since Cassandra 4.0, including the result metadata id of prepared statements
+    return EnumSet.of(ProtocolVersion.V5);
+  }
+
   @Override
   public void executeAuthResponse(Runnable handler) {
     executor.execute(handler);
@@ -3,6 +3,7 @@ package io.stargate.db.cassandra.impl;
 import com.datastax.oss.driver.shaded.guava.common.base.Preconditions;
 import com.datastax.oss.driver.shaded.guava.common.base.Strings;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import com.datastax.oss.driver.shaded.guava.common.collect.MapMaker;
 import io.stargate.db.BatchType;
 import io.stargate.db.PagingPosition;
 import io.stargate.db.Parameters;
@@ -13,10 +14,12 @@ import io.stargate.db.schema.ImmutableUserDefinedType;
 import io.stargate.db.schema.TableName;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import org.apache.cassandra.cql3.ColumnSpecification;
 import org.apache.cassandra.cql3.QueryOptions;
@@ -101,6 +104,12 @@ public class Conversion {
   // a `PagingState`, but it does not actually go into the `PagingState` object
   private static final LivenessInfo DUMMY_LIVENESS_INFO = LivenessInfo.create(0, 0);
 
+  // The converted result columns, keyed by the internal column list. That list is created when a
+  // statement is prepared and shared by the results of all its executions, so this is effectively
+  // a cache per prepared statement.
+  private static final ConcurrentMap<List<ColumnSpecification>, List<Column>> RESULT_COLUMNS =
+      new MapMaker().weakKeys().makeMap();
+
   private static final Map<Class<? extends AbstractType>, Column.Type> TYPE_MAPPINGS;
 
   static {
@@ -398,18 +407,7 @@ public class Conversion {
   public static Result.ResultMetadata toResultMetadata(
       org.apache.cassandra.cql3.ResultSet.ResultMetadata metadata,
       org.apache.cassandra.transport.ProtocolVersion version) {
-    List<Column> columns = new ArrayList<>();
-    if (metadata.names != null) {
-      metadata.names.forEach(
-          c ->
-              columns.add(
-                  ImmutableColumn.builder()
-                      .keyspace(c.ksName)
-                      .table(c.cfName)
-                      .name(c.name.toString())
-                      .type(getTypeFromInternal(c.type))
-                      .build()));
-    }
+    List<Column> columns = toResultColumns(metadata.names);
 
     EnumSet<Result.Flag> flags = EnumSet.noneOf(Result.Flag.class);
     metadata.getFlags().forEach(f -> flags.add(Result.Flag.fromId(f.ordinal() + 1)));
@@ -427,6 +425,38 @@ public class Conversion {
     return new Result.ResultMetadata(flags, columns, resultMetadataId, pagingState);
   }
 
+  private static List<Column> toResultColumns(List<ColumnSpecification> names) {
+    if (names == null) {
+      return new ArrayList<>();
+    }
+    List<Column> columns = RESULT_COLUMNS.get(names);
+    // Columns used for ordering may be appended to the list after its creation
+    if (columns == null || columns.size() != names.size()) {
+      List<Column> converted = new ArrayList<>(names.size());
+      for (ColumnSpecification c : names) {
+        converted.add(
+            ImmutableColumn.builder()
+                .keyspace(c.ksName)
+                .table(c.cfName)
+                .name(c.name.toString())
+                .type(getTypeFromInternal(c.type))
+                .build());
+      }
+      columns = Collections.unmodifiableList(converted);
+      RESULT_COLUMNS.put(names, columns);
+    }
+    return columns;
+  }
+
+  /**
+   * Discards the result columns cached by {@link #toResultMetadata}. This must be called when the
+   * schema changes, since the definition of the column types (UDTs in particular) might have
+   * changed.
+   */
+  public static void clearResultColumnsCache() {
+    RESULT_COLUMNS.clear();
+  }
+
   public static Result.PreparedMetadata toPreparedMetadata(
       List<ColumnSpecification> names, short[] indexes) {
     List<Column> columns = new ArrayList<>();
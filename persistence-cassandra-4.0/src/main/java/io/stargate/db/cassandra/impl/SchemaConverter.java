@@ -25,6 +25,12 @@ public class SchemaConverter
     extends AbstractCassandraSchemaConverter<
         KeyspaceMetadata, TableMetadata, ColumnMetadata, UserType, IndexMetadata, ViewMetadata> {
 
+  @Override
+  protected boolean supportsIncrementalConversion() {
+    // Schema changes always swap in new KeyspaceMetadata and TableMetadata instances
+    return true;
+  }
+
   @Override
   protected Set<String> getExcludedIndexOptions() {
     return ImmutableSet.of(IndexTarget.CUSTOM_INDEX_OPTION_NAME, IndexTarget.TARGET_OPTION_NAME);
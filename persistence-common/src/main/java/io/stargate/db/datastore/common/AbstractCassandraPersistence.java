@@ -1,5 +1,8 @@
 package io.stargate.db.datastore.common;
 
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.datastax.oss.driver.shaded.guava.common.base.Joiner;
 import io.stargate.db.AuthenticatedUser;
 import io.stargate.db.ClientInfo;
@@ -32,6 +35,8 @@ public abstract class AbstractCassandraPersistence<Config, K, T, C, U, I, V>
 
   private static final Logger logger = LoggerFactory.getLogger(AbstractCassandraPersistence.class);
 
+  public static final String SCHEMA_CONVERSION_METRICS_PREFIX = "schema-conversion";
+
   private final String name;
 
   private final AbstractCassandraSchemaConverter<K, T, C, U, I, V> schemaConverter;
@@ -41,12 +46,32 @@ public abstract class AbstractCassandraPersistence<Config, K, T, C, U, I, V>
   // listener callback.
   private volatile Schema schema;
 
+  private Timer schemaConversionTimer = new Timer();
+
   protected AbstractCassandraPersistence(String name) {
     this.name = name;
     this.schemaConverter = newSchemaConverter();
   }
 
-  /** Creates a new, stateless, converter for the schema of the concrete persistence layer. */
+  /**
+   * Registers the schema conversion metrics in the given registry. This must be called before
+   * {@link #initialize}.
+   */
+  public void setMetricRegistry(MetricRegistry metricRegistry) {
+    schemaConversionTimer =
+        metricRegistry.timer(MetricRegistry.name(SCHEMA_CONVERSION_METRICS_PREFIX, "time"));
+    register(metricRegistry, "convertedKeyspaces", schemaConverter.convertedKeyspaces());
+    register(metricRegistry, "reusedKeyspaces", schemaConverter.reusedKeyspaces());
+  }
+
+  private static void register(MetricRegistry metricRegistry, String name, Metric metric) {
+    String fullName = MetricRegistry.name(SCHEMA_CONVERSION_METRICS_PREFIX, name);
+    // In case the persistence layer gets created more than once
+    metricRegistry.remove(fullName);
+    metricRegistry.register(fullName, metric);
+  }
+
+  /** Creates a new converter for the schema of the concrete persistence layer. */
   protected abstract AbstractCassandraSchemaConverter<K, T, C, U, I, V> newSchemaConverter();
 
   /** The current schema of the concrete persistence layer. */
@@ -110,7 +135,9 @@ public abstract class AbstractCassandraPersistence<Config, K, T, C, U, I, V>
   }
 
   private Schema computeCurrentSchema() {
-    return schemaConverter.convertCassandraSchema(currentInternalSchema());
+    try (Timer.Context ignored = schemaConversionTimer.time()) {
+      return schemaConverter.convertCassandraSchema(currentInternalSchema());
+    }
   }
 
   public final void destroy() {
@@ -1,5 +1,6 @@
 package io.stargate.db.datastore.common;
 
+import com.codahale.metrics.Counter;
 import com.datastax.oss.driver.shaded.guava.common.collect.Iterables;
 import io.stargate.db.schema.CollectionIndexingType;
 import io.stargate.db.schema.Column;
@@ -13,6 +14,9 @@ import io.stargate.db.schema.Schema;
 import io.stargate.db.schema.SecondaryIndex;
 import io.stargate.db.schema.Table;
 import io.stargate.db.schema.UserDefinedType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -44,6 +48,24 @@ public abstract class AbstractCassandraSchemaConverter<K, T, C, U, I, V> {
   private static final Logger logger =
       LoggerFactory.getLogger(AbstractCassandraSchemaConverter.class);
 
+  private final Counter convertedKeyspaces = new Counter();
+  private final Counter reusedKeyspaces = new Counter();
+
+  // The result of the previous conversion for each keyspace name, along with the internal metadata
+  // it was converted from. Only used if supportsIncrementalConversion().
+  private Map<String, Pair<K, Keyspace>> previousKeyspaces = Collections.emptyMap();
+
+  /**
+   * Whether the internal schema metadata is immutable, in other words a change to a keyspace (or
+   * any of its tables, types, etc.) always produces a new keyspace instance.
+   *
+   * <p>If so, {@link #convertCassandraSchema(Iterable)} reuses the previous conversion of every
+   * keyspace instance that hasn't changed since the last call.
+   */
+  protected boolean supportsIncrementalConversion() {
+    return false;
+  }
+
   /** The excluded name of the provided internal keyspace. */
   protected abstract Set<String> getExcludedIndexOptions();
 
@@ -122,11 +144,44 @@ public abstract class AbstractCassandraSchemaConverter<K, T, C, U, I, V> {
   /** Whether the provided table is the base table of the provided view. */
   protected abstract boolean isBaseTableOf(T table, V view);
 
-  public Schema convertCassandraSchema(Iterable<K> cassandraKeyspaces) {
-    return Schema.create(Iterables.transform(cassandraKeyspaces, this::convertKeyspace));
+  public synchronized Schema convertCassandraSchema(Iterable<K> cassandraKeyspaces) {
+    if (!supportsIncrementalConversion()) {
+      return Schema.create(Iterables.transform(cassandraKeyspaces, this::convertKeyspace));
+    }
+    Map<String, Pair<K, Keyspace>> newKeyspaces = new HashMap<>();
+    List<Keyspace> keyspaces = new ArrayList<>();
+    for (K cassandraKeyspace : cassandraKeyspaces) {
+      String name = keyspaceName(cassandraKeyspace);
+      Pair<K, Keyspace> previous = previousKeyspaces.get(name);
+      Keyspace keyspace;
+      if (previous != null && previous.getValue0() == cassandraKeyspace) {
+        keyspace = previous.getValue1();
+        reusedKeyspaces.inc();
+      } else {
+        keyspace = convertKeyspace(cassandraKeyspace);
+      }
+      newKeyspaces.put(name, Pair.with(cassandraKeyspace, keyspace));
+      keyspaces.add(keyspace);
+    }
+    previousKeyspaces = newKeyspaces;
+    return Schema.create(keyspaces);
+  }
+
+  /** The total number of keyspaces that were converted from the internal schema. */
+  public Counter convertedKeyspaces() {
+    return convertedKeyspaces;
+  }
+
+  /**
+   * The total number of keyspaces that were reused from a previous conversion, because they hadn't
+   * changed (see {@link #supportsIncrementalConversion()}).
+   */
+  public Counter reusedKeyspaces() {
+    return reusedKeyspaces;
   }
 
   private Keyspace convertKeyspace(K keyspace) {
+    convertedKeyspaces.inc();
     String name = keyspaceName(keyspace);
     Stream<Table> tables = convertTables(name, tables(keyspace), views(keyspace));
     Stream<UserDefinedType> userDefinedTypes = convertUserTypes(name, userTypes(keyspace));
@@ -0,0 +1,231 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.datastore.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Schema;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class AbstractCassandraSchemaConverterTest {
+
+  @Test
+  public void shouldReuseUnchangedKeyspaces() {
+    TestConverter converter = new TestConverter(true);
+    TestKeyspace ks1 = new TestKeyspace("ks1", "t1");
+    TestKeyspace ks2 = new TestKeyspace("ks2", "t2");
+
+    Schema schema1 = converter.convertCassandraSchema(Arrays.asList(ks1, ks2));
+    assertThat(converter.convertedKeyspaces().getCount()).isEqualTo(2);
+
+    // Simulate a change to ks2: the internal schema now has a new instance
+    TestKeyspace newKs2 = new TestKeyspace("ks2", "t2", "t3");
+    Schema schema2 = converter.convertCassandraSchema(Arrays.asList(ks1, newKs2));
+
+    assertThat(converter.convertedKeyspaces().getCount()).isEqualTo(3);
+    assertThat(converter.reusedKeyspaces().getCount()).isEqualTo(1);
+    assertThat(schema2.keyspace("ks1")).isSameAs(schema1.keyspace("ks1"));
+    assertThat(schema2.keyspace("ks2").tables()).hasSize(2);
+  }
+
+  @Test
+  public void shouldForgetDroppedKeyspaces() {
+    TestConverter converter = new TestConverter(true);
+    TestKeyspace ks1 = new TestKeyspace("ks1", "t1");
+
+    converter.convertCassandraSchema(Collections.singletonList(ks1));
+    Schema schema = converter.convertCassandraSchema(Collections.emptyList());
+
+    assertThat(schema.keyspaces()).isEmpty();
+  }
+
+  @Test
+  public void shouldConvertEverythingIfNotIncremental() {
+    TestConverter converter = new TestConverter(false);
+    List<TestKeyspace> keyspaces =
+        Arrays.asList(new TestKeyspace("ks1", "t1"), new TestKeyspace("ks2", "t2"));
+
+    Schema schema1 = converter.convertCassandraSchema(keyspaces);
+    Schema schema2 = converter.convertCassandraSchema(keyspaces);
+
+    assertThat(converter.convertedKeyspaces().getCount()).isEqualTo(4);
+    assertThat(converter.reusedKeyspaces().getCount()).isEqualTo(0);
+    assertThat(schema2.keyspace("ks1")).isNotSameAs(schema1.keyspace("ks1"));
+    assertThat(schema2).isEqualTo(schema1);
+  }
+
+  private static class TestKeyspace {
+    final String name;
+    final List<String> tables;
+
+    TestKeyspace(String name, String... tables) {
+      this.name = name;
+      this.tables = ImmutableList.copyOf(tables);
+    }
+  }
+
+  /**
+   * A minimal converter where keyspaces are a list of table names, and every table has a single
+   * partition key column.
+   */
+  private static class TestConverter
+      extends AbstractCassandraSchemaConverter<
+          TestKeyspace, String, String, Object, Object, Object> {
+
+    private final boolean incremental;
+
+    TestConverter(boolean incremental) {
+      this.incremental = incremental;
+    }
+
+    @Override
+    protected boolean supportsIncrementalConversion() {
+      return incremental;
+    }
+
+    @Override
+    protected Set<String> getExcludedIndexOptions() {
+      return Collections.emptySet();
+    }
+
+    @Override
+    protected String keyspaceName(TestKeyspace keyspace) {
+      return keyspace.name;
+    }
+
+    @Override
+    protected Map<String, String> replicationOptions(TestKeyspace keyspace) {
+      return Collections.emptyMap();
+    }
+
+    @Override
+    protected boolean usesDurableWrites(TestKeyspace keyspace) {
+      return true;
+    }
+
+    @Override
+    protected Iterable<String> tables(TestKeyspace keyspace) {
+      return keyspace.tables;
+    }
+
+    @Override
+    protected Iterable<Object> userTypes(TestKeyspace keyspace) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    protected Iterable<Object> views(TestKeyspace keyspace) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    protected String tableName(String table) {
+      return table;
+    }
+
+    @Override
+    protected Iterable<String> columns(String table) {
+      return Collections.singletonList("pk");
+    }
+
+    @Override
+    protected String columnName(String column) {
+      return column;
+    }
+
+    @Override
+    protected Column.ColumnType columnType(String column) {
+      return Column.Type.Int;
+    }
+
+    @Override
+    protected Column.Order columnClusteringOrder(String column) {
+      return null;
+    }
+
+    @Override
+    protected Column.Kind columnKind(String column) {
+      return Column.Kind.PartitionKey;
+    }
+
+    @Override
+    protected Iterable<Object> secondaryIndexes(String table) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    protected String comment(String table) {
+      return "";
+    }
+
+    @Override
+    protected int ttl(String table) {
+      return 0;
+    }
+
+    @Override
+    protected String indexName(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected String indexTarget(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected boolean isCustom(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected String indexClass(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected Map<String, String> indexOptions(Object index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected List<Column> userTypeFields(Object userType) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected String userTypeName(Object userType) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected String asTable(Object view) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected boolean isBaseTableOf(String table, Object view) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -172,6 +172,7 @@ public class DsePersistence
         new SimpleCallbackSchemaChangeListener() {
           @Override
           void onSchemaChange() {
+            Conversion.clearResultColumnsCache();
             runOnSchemaChange.run();
           }
         };
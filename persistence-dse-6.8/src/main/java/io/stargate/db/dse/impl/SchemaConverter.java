@@ -32,6 +32,12 @@ public class SchemaConverter
         IndexMetadata,
         ViewTableMetadata> {
 
+  @Override
+  protected boolean supportsIncrementalConversion() {
+    // Schema changes always swap in new KeyspaceMetadata and TableMetadata instances
+    return true;
+  }
+
   @Override
   protected Set<String> getExcludedIndexOptions() {
     return ImmutableSet.of(IndexTarget.CUSTOM_INDEX_OPTION_NAME, IndexTarget.TARGET_OPTION_NAME);
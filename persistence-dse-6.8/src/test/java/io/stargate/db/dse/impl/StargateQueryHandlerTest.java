@@ -910,7 +910,8 @@ class StargateQueryHandlerTest extends BaseDseTest {
     CQLStatement statement = rawStatement.prepare(ClientState.forInternalCalls());
 
     queryHandler.authorizeByToken(createToken(), statement);
-    verify(authorizationService, times(3))
+    // same table and scope for all statements, so decided once
+    verify(authorizationService, times(1))
         .authorizeDataWrite(
             refEq(authenticationSubject),
             eq("ks1"),
@@ -919,6 +920,64 @@ class StargateQueryHandlerTest extends BaseDseTest {
             eq(SourceAPI.CQL));
   }
 
+  @Test
+  void authorizeByTokenCachedDecision() throws UnauthorizedException {
+    SelectStatement.Raw rawStatement =
+        (SelectStatement.Raw) QueryProcessor.parseStatement("select * from system.local");
+
+    CQLStatement statement = rawStatement.prepare(false);
+
+    queryHandler.authorizeByToken(createToken(), statement);
+    queryHandler.authorizeByToken(createToken(), statement);
+    verify(authorizationService, times(1))
+        .authorizeDataRead(
+            refEq(authenticationSubject), eq("system_views"), eq("local_node"), eq(SourceAPI.CQL));
+  }
+
+  @Test
+  void authorizeByTokenCachedDecisionPerSubject() throws UnauthorizedException {
+    SelectStatement.Raw rawStatement =
+        (SelectStatement.Raw) QueryProcessor.parseStatement("select * from system.local");
+
+    CQLStatement statement = rawStatement.prepare(false);
+
+    queryHandler.authorizeByToken(createToken(), statement);
+    queryHandler.authorizeByToken(
+        AuthenticatedUser.Serializer.serialize(AuthenticatedUser.of("other", "otherToken")),
+        statement);
+    verify(authorizationService, times(1))
+        .authorizeDataRead(
+            refEq(authenticationSubject), eq("system_views"), eq("local_node"), eq(SourceAPI.CQL));
+    verify(authorizationService, times(1))
+        .authorizeDataRead(
+            refEq(AuthenticationSubject.of("otherToken", "other")),
+            eq("system_views"),
+            eq("local_node"),
+            eq(SourceAPI.CQL));
+  }
+
+  @Test
+  void authorizeByTokenCachedDenial() throws UnauthorizedException {
+    SelectStatement.Raw rawStatement =
+        (SelectStatement.Raw) QueryProcessor.parseStatement("select * from system.local");
+
+    CQLStatement statement = rawStatement.prepare(false);
+
+    Mockito.doThrow(new io.stargate.auth.UnauthorizedException("test-message"))
+        .when(authorizationService)
+        .authorizeDataRead(any(), any(), any(), any());
+
+    assertThatThrownBy(() -> queryHandler.authorizeByToken(createToken(), statement))
+        .isInstanceOf(org.apache.cassandra.exceptions.UnauthorizedException.class)
+        .hasMessage("No SELECT permission on <table system_views.local_node>");
+    assertThatThrownBy(() -> queryHandler.authorizeByToken(createToken(), statement))
+        .isInstanceOf(org.apache.cassandra.exceptions.UnauthorizedException.class)
+        .hasMessage("No SELECT permission on <table system_views.local_node>");
+    verify(authorizationService, times(1))
+        .authorizeDataRead(
+            refEq(authenticationSubject), eq("system_views"), eq("local_node"), eq(SourceAPI.CQL));
+  }
+
   private Map<String, ByteBuffer> createToken() {
     return AuthenticatedUser.Serializer.serialize(authenticatedUser);
   }
@@ -2,8 +2,10 @@ package io.stargate.web.docsapi.resources;
 
 import static io.stargate.web.docsapi.resources.RequestToHeadersMapper.getAllHeaders;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.functions.Function;
@@ -63,6 +65,7 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.PathSegment;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import org.glassfish.jersey.server.ManagedAsync;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -89,6 +92,7 @@ public class ReactiveDocumentResourceV2 {
   @Inject private ReactiveDocumentService reactiveDocumentService;
   @Inject private DocsSchemaChecker schemaChecker;
   @Inject private ObjectMapper objectMapper;
+  @Inject private DocsApiConfiguration configuration;
 
   @POST
   @ManagedAsync
@@ -715,6 +719,13 @@ public class ReactiveDocumentResourceV2 {
                         context)
                     .map(rawDocumentHandler(raw))
                     .defaultIfEmpty(Response.noContent().build());
+              } else if (configuration.isStreamingResponses()) {
+                // execute get, writing the document from its rows
+                return reactiveDocumentService
+                    .getDocumentStreamed(
+                        db, namespace, collection, id, pathStrings, fields, context)
+                    .map(rawDocumentHandler(raw))
+                    .defaultIfEmpty(Response.status(Response.Status.NOT_FOUND).build());
               } else {
                 // execute get
                 return reactiveDocumentService
@@ -797,10 +808,16 @@ public class ReactiveDocumentResourceV2 {
         .flatMap(
             db -> {
               ExecutionContext context = ExecutionContext.create(profile);
-              return reactiveDocumentService.findDocuments(
-                  db, namespace, collection, where, fields, paginator, context);
+              if (configuration.isStreamingResponses()) {
+                return reactiveDocumentService
+                    .findDocumentsStreamed(
+                        db, namespace, collection, where, fields, paginator, context)
+                    .map(rawDocumentHandler(raw));
+              }
+              return reactiveDocumentService
+                  .findDocuments(db, namespace, collection, where, fields, paginator, context)
+                  .map(rawDocumentHandler(raw));
             })
-        .map(rawDocumentHandler(raw))
         .safeSubscribe(
             AsyncObserver.forResponseWithHandler(
                 asyncResponse, ErrorHandler.EXCEPTION_TO_RESPONSE));
@@ -1003,16 +1020,20 @@ public class ReactiveDocumentResourceV2 {
     return db;
   }
 
-  private Function<DocumentResponseWrapper<? extends JsonNode>, Response> rawDocumentHandler(
-      Boolean raw) {
+  private Function<DocumentResponseWrapper<? extends JsonSerializable>, Response>
+      rawDocumentHandler(Boolean raw) {
     return results -> {
-      String result;
+      Object result;
       if (raw != null && raw) {
-        result = objectMapper.writeValueAsString(results.getData());
+        result = results.getData();
       } else {
-        result = objectMapper.writeValueAsString(results);
+        result = results;
       }
-      return Response.ok(result).build();
+
+      // write directly to the response, the stream is closed by the container
+      ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      StreamingOutput output = outputStream -> writer.writeValue(outputStream, result);
+      return Response.ok(output).build();
     };
   }
 }
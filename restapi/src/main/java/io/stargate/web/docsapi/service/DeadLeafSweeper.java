@@ -0,0 +1,276 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.web.docsapi.service;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.Managed;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.stargate.core.util.TimeSource;
+import io.stargate.db.datastore.DataStore;
+import io.stargate.db.limiter.AsyncRateLimiter;
+import io.stargate.db.query.BoundQuery;
+import io.stargate.db.query.builder.BuiltQuery;
+import io.stargate.db.schema.Keyspace;
+import io.stargate.db.schema.Table;
+import io.stargate.web.docsapi.dao.DocumentDB;
+import io.stargate.web.docsapi.rx.RxUtils;
+import io.stargate.web.docsapi.service.json.DeadLeafCollectorImpl;
+import io.stargate.web.docsapi.service.query.DocsApiConstants;
+import io.stargate.web.docsapi.service.query.search.db.impl.FullSearchQueryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.javatuples.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Background service that periodically scans all the collections and deletes their dead leaves.
+ *
+ * <p>Dead leaves are otherwise only removed when a document is read, so documents that are patched
+ * often but read rarely keep accumulating rows that slow down every search scanning them.
+ *
+ * <p>Each pass sweeps the collections one after another, scanning each of them in token order. The
+ * number of scanned rows per second is capped, as well as the number of documents processed
+ * concurrently, so that the sweeper does not compete with the user requests.
+ */
+public class DeadLeafSweeper implements Managed {
+
+  private static final Logger logger = LoggerFactory.getLogger(DeadLeafSweeper.class);
+
+  private static final String METRICS_PREFIX = "docsapi.dead-leaf-sweeper";
+
+  private final DocumentDB db;
+  private final JsonConverter jsonConverter;
+  private final DocsApiConfiguration config;
+  private final TimeSource timeSource;
+  // runs the passes, blocking for their whole duration
+  private final ScheduledExecutorService executor;
+  // releases the throttled documents, must never be blocked by a running pass
+  private final ScheduledExecutorService limiterExecutor;
+  private final AsyncRateLimiter limiter;
+
+  private final Counter documentsScanned;
+  private final Counter rowsScanned;
+  private final Counter documentsCleaned;
+  private final Counter collectionsSwept;
+  private final Counter errors;
+
+  /**
+   * @param db {@link DocumentDB} backed by an internal data store, so that all the collections can
+   *     be swept regardless of the user permissions
+   * @param jsonConverter converter used to find the dead leaves of a document
+   * @param config {@link DocsApiConfiguration}
+   * @param timeSource source of the deletion timestamps
+   * @param metricRegistry registry to report the sweeper metrics to
+   */
+  public DeadLeafSweeper(
+      DocumentDB db,
+      JsonConverter jsonConverter,
+      DocsApiConfiguration config,
+      TimeSource timeSource,
+      MetricRegistry metricRegistry) {
+    this.db = db;
+    this.jsonConverter = jsonConverter;
+    this.config = config;
+    this.timeSource = timeSource;
+    this.executor = Executors.newSingleThreadScheduledExecutor(daemon("docsapi-dead-leaf-sweeper"));
+    this.limiterExecutor =
+        Executors.newSingleThreadScheduledExecutor(daemon("docsapi-dead-leaf-sweeper-limiter"));
+    this.limiter =
+        new AsyncRateLimiter(
+            limiterExecutor,
+            config.getDeadLeafSweeperMaxRowsPerSecond(),
+            TimeUnit.SECONDS,
+            1,
+            TimeUnit.SECONDS);
+
+    this.documentsScanned = metricRegistry.counter(METRICS_PREFIX + ".documents-scanned");
+    this.rowsScanned = metricRegistry.counter(METRICS_PREFIX + ".rows-scanned");
+    this.documentsCleaned = metricRegistry.counter(METRICS_PREFIX + ".documents-cleaned");
+    this.collectionsSwept = metricRegistry.counter(METRICS_PREFIX + ".collections-swept");
+    this.errors = metricRegistry.counter(METRICS_PREFIX + ".errors");
+  }
+
+  /** Schedules the sweeping passes, the first one starts after a full interval. */
+  @Override
+  public void start() {
+    long interval = config.getDeadLeafSweeperIntervalMinutes();
+    schedule(interval, interval, TimeUnit.MINUTES);
+    logger.info("Dead leaf sweeper started, running every {} minutes", interval);
+  }
+
+  // visible for testing
+  void schedule(long initialDelay, long interval, TimeUnit unit) {
+    executor.scheduleWithFixedDelay(this::run, initialDelay, interval, unit);
+  }
+
+  /**
+   * Stops the sweeper. A running pass is interrupted, which cancels its scan, so that the internal
+   * data store is not queried anymore once this returns.
+   */
+  @Override
+  public void stop() {
+    executor.shutdownNow();
+    limiterExecutor.shutdownNow();
+  }
+
+  private static ThreadFactory daemon(String name) {
+    return r -> {
+      Thread thread = new Thread(r, name);
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private void run() {
+    try {
+      // blocking on the scheduler thread ensures that passes never overlap, the throttled documents
+      // are released by the limiter executor
+      sweep().blockingAwait();
+    } catch (Exception e) {
+      if (executor.isShutdown()) {
+        logger.info("Dead leaf sweeper pass interrupted, the sweeper was stopped");
+      } else {
+        logger.error("Dead leaf sweeper pass failed", e);
+      }
+    }
+  }
+
+  /**
+   * Sweeps all the collections once. Failures are logged and counted, but they don't stop the
+   * sweeping of the remaining collections.
+   *
+   * @return Completable that completes when all the collections were swept.
+   */
+  public Completable sweep() {
+    // anything written before the start of the pass can be deleted, as the dead leaves are older
+    // than the rows we have seen overriding them
+    long timestamp = timeSource.currentTimeMicros();
+
+    return Flowable.defer(() -> Flowable.fromIterable(collections()))
+        .concatMapCompletable(
+            collection -> {
+              String keyspace = collection.getValue0();
+              String table = collection.getValue1();
+              return Completable.defer(() -> sweepCollection(keyspace, table, timestamp))
+                  .doOnError(
+                      t -> {
+                        errors.inc();
+                        logger.warn(
+                            "Failed to sweep dead leaves of collection {}.{}", keyspace, table, t);
+                      })
+                  .onErrorComplete();
+            });
+  }
+
+  private List<Pair<String, String>> collections() {
+    List<Pair<String, String>> collections = new ArrayList<>();
+    for (Keyspace keyspace : db.getKeyspaces()) {
+      for (Table table : keyspace.tables()) {
+        if (db.isDocumentsTable(keyspace.name(), table.name())) {
+          collections.add(Pair.with(keyspace.name(), table.name()));
+        }
+      }
+    }
+    return collections;
+  }
+
+  private Completable sweepCollection(String keyspace, String collection, long timestamp) {
+    QueryExecutor queryExecutor = db.getQueryExecutor();
+    boolean numericBooleans = db.treatBooleansAsNumeric();
+
+    return RxUtils.singleFromFuture(
+            () -> {
+              String[] columns = DocsApiConstants.ALL_COLUMNS_NAMES.apply(config.getMaxDepth());
+              DataStore dataStore = queryExecutor.getDataStore();
+
+              FullSearchQueryBuilder queryBuilder = new FullSearchQueryBuilder();
+              BuiltQuery<? extends BoundQuery> query =
+                  queryBuilder.buildQuery(dataStore::queryBuilder, keyspace, collection, columns);
+
+              return dataStore.prepare(query);
+            })
+        .flatMapPublisher(
+            prepared ->
+                queryExecutor.queryDocs(
+                    prepared.bind(),
+                    config.getMaxStoragePageSize(),
+                    false,
+                    null,
+                    ExecutionContext.NOOP_CONTEXT))
+        .flatMapSingle(
+            document -> {
+              int rows = document.rows().size();
+              return RxUtils.singleFromFuture(
+                  () ->
+                      limiter.acquireAndExecute(
+                          rows,
+                          () ->
+                              sweepDocument(
+                                  keyspace, collection, document, timestamp, numericBooleans)));
+            },
+            false,
+            Math.max(config.getDeadLeafSweeperConcurrency(), 1))
+        .reduce(0L, Long::sum)
+        .doOnSuccess(
+            cleaned -> {
+              collectionsSwept.inc();
+              logger.info(
+                  "Swept dead leaves of collection {}.{}, cleaned {} documents",
+                  keyspace,
+                  collection,
+                  cleaned);
+            })
+        .ignoreElement();
+  }
+
+  // returns the number of cleaned documents, either 0 or 1
+  private CompletableFuture<Long> sweepDocument(
+      String keyspace,
+      String collection,
+      RawDocument document,
+      long timestamp,
+      boolean numericBooleans) {
+    documentsScanned.inc();
+    rowsScanned.inc(document.rows().size());
+
+    DeadLeafCollectorImpl collector = new DeadLeafCollectorImpl();
+    jsonConverter.convertToJsonDoc(document.rows(), collector, false, numericBooleans);
+    if (collector.isEmpty()) {
+      return CompletableFuture.completedFuture(0L);
+    }
+
+    return db.deleteDeadLeaves(
+            keyspace,
+            collection,
+            document.id(),
+            timestamp,
+            collector.getLeaves(),
+            ExecutionContext.NOOP_CONTEXT)
+        .thenApply(
+            __ -> {
+              documentsCleaned.inc();
+              return 1L;
+            });
+  }
+}
@@ -15,6 +15,7 @@ public class DocsApiComponentsBinder extends AbstractBinder {
 
     // services
     bindAsContract(JsonConverter.class).in(Singleton.class);
+    bindAsContract(JsonDocumentWriter.class).in(Singleton.class);
     bindAsContract(JsonDocumentShredder.class).in(Singleton.class);
     bindAsContract(DocsSchemaChecker.class).in(Singleton.class);
     bindAsContract(CollectionService.class).in(Singleton.class);
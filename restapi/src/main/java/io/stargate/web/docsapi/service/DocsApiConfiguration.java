@@ -10,6 +10,23 @@ public interface DocsApiConfiguration {
   int DOCUMENT_MAX_DEPTH = Integer.getInteger("stargate.document_max_depth", 64);
   int DOCUMENT_MAX_ARRAY_LENGTH = checkMaxArrayLength();
   int MAX_PAGE_SIZE = 20;
+  int DOCUMENT_BATCH_WRITE_CONCURRENCY =
+      Integer.getInteger("stargate.document_batch_write_concurrency", 16);
+  int DOCUMENT_POPULATE_BATCH_SIZE =
+      Integer.getInteger("stargate.document_populate_batch_size", MAX_PAGE_SIZE);
+  boolean DOCUMENT_COST_BASED_FILTER_ORDERING =
+      Boolean.parseBoolean(
+          System.getProperty("stargate.document_cost_based_filter_ordering", "true"));
+  boolean DOCUMENT_DEAD_LEAF_SWEEPER_ENABLED =
+      Boolean.getBoolean("stargate.document_dead_leaf_sweeper_enabled");
+  int DOCUMENT_DEAD_LEAF_SWEEPER_INTERVAL_MINUTES =
+      Integer.getInteger("stargate.document_dead_leaf_sweeper_interval_minutes", 60);
+  int DOCUMENT_DEAD_LEAF_SWEEPER_MAX_ROWS_PER_SECOND =
+      Integer.getInteger("stargate.document_dead_leaf_sweeper_max_rows_per_second", 1000);
+  int DOCUMENT_DEAD_LEAF_SWEEPER_CONCURRENCY =
+      Integer.getInteger("stargate.document_dead_leaf_sweeper_concurrency", 4);
+  boolean DOCUMENT_STREAMING_RESPONSES =
+      Boolean.parseBoolean(System.getProperty("stargate.document_streaming_responses", "true"));
 
   static int checkMaxArrayLength() {
     Integer val = Integer.getInteger("stargate.document_max_array_len", 1000000);
@@ -50,4 +67,57 @@ public interface DocsApiConfiguration {
   default int getMaxArrayLength() {
     return DOCUMENT_MAX_ARRAY_LENGTH;
   }
+
+  /** @return The maximum number of documents written concurrently by a single batch write. */
+  default int getBatchWriteConcurrency() {
+    return DOCUMENT_BATCH_WRITE_CONCURRENCY;
+  }
+
+  /**
+   * @return The maximum number of search candidates whose rows are fetched with a single query when
+   *     populating search results. One or less disables batching, each document is then fetched
+   *     with its own query.
+   */
+  default int getPopulateBatchSize() {
+    return DOCUMENT_POPULATE_BATCH_SIZE;
+  }
+
+  /**
+   * @return If search filters should be executed in the order of their estimated selectivity. When
+   *     disabled, filters without explicit selectivity hints are executed in the user order.
+   */
+  default boolean isCostBasedFilterOrdering() {
+    return DOCUMENT_COST_BASED_FILTER_ORDERING;
+  }
+
+  /** @return If the background dead leaf sweeper should run. */
+  default boolean isDeadLeafSweeperEnabled() {
+    return DOCUMENT_DEAD_LEAF_SWEEPER_ENABLED;
+  }
+
+  /** @return The delay in minutes between two passes of the dead leaf sweeper. */
+  default int getDeadLeafSweeperIntervalMinutes() {
+    return DOCUMENT_DEAD_LEAF_SWEEPER_INTERVAL_MINUTES;
+  }
+
+  /** @return The maximum number of rows per second the dead leaf sweeper can scan. */
+  default int getDeadLeafSweeperMaxRowsPerSecond() {
+    return DOCUMENT_DEAD_LEAF_SWEEPER_MAX_ROWS_PER_SECOND;
+  }
+
+  /**
+   * @return The maximum number of documents the dead leaf sweeper processes concurrently, including
+   *     their deletion batches.
+   */
+  default int getDeadLeafSweeperConcurrency() {
+    return DOCUMENT_DEAD_LEAF_SWEEPER_CONCURRENCY;
+  }
+
+  /**
+   * @return If documents returned by get and search requests should be written directly from their
+   *     rows to the response, instead of being converted to JSON trees first.
+   */
+  default boolean isStreamingResponses() {
+    return DOCUMENT_STREAMING_RESPONSES;
+  }
 }
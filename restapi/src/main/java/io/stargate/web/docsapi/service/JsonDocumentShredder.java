@@ -17,15 +17,19 @@
 
 package io.stargate.web.docsapi.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.stargate.web.docsapi.exception.ErrorCode;
 import io.stargate.web.docsapi.exception.ErrorCodeRuntimeException;
 import io.stargate.web.docsapi.service.query.DocsApiConstants;
 import io.stargate.web.docsapi.service.util.DocsApiUtils;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Supplier;
 import javax.inject.Inject;
 
@@ -44,16 +48,22 @@ public class JsonDocumentShredder {
    * Shreds the JSON payload and returns the list of {@link JsonShreddedRow} for each value that
    * should be stored in the data store.
    *
+   * <p>The payload is shredded directly from the parser token stream, without building the {@link
+   * JsonNode} tree first.
+   *
    * @param payload JSON payload as string
    * @param subDocumentPath Prefix path to use. Note that paths are added to each row path as they
    *     are given, without any modifications.
    * @return List of shredded rows
    */
   public List<JsonShreddedRow> shred(String payload, List<String> subDocumentPath) {
-    try {
-      JsonNode node = objectMapper.readTree(payload);
-      return shred(node, subDocumentPath);
-    } catch (JsonProcessingException e) {
+    try (JsonParser parser = objectMapper.createParser(payload)) {
+      if (null == parser.nextToken()) {
+        throw new ErrorCodeRuntimeException(
+            ErrorCode.DOCS_API_INVALID_JSON_VALUE, "No JSON content found during shredding.");
+      }
+      return shred(parser, subDocumentPath);
+    } catch (IOException e) {
       throw new ErrorCodeRuntimeException(
           ErrorCode.DOCS_API_INVALID_JSON_VALUE,
           "Malformed JSON object found during shredding.",
@@ -61,6 +71,35 @@ public class JsonDocumentShredder {
     }
   }
 
+  /**
+   * Shreds the JSON value the parser is currently positioned at and returns the list of {@link
+   * JsonShreddedRow} for each value that should be stored in the data store. The max depth and max
+   * array length are enforced while the tokens are consumed, so that invalid documents fail before
+   * the rest of the value is read.
+   *
+   * <p>When this method returns, the parser is positioned at the last token of the shredded value.
+   * In case of duplicated field names in an object, the last value wins, same as when reading the
+   * {@link JsonNode} tree.
+   *
+   * @param parser {@link JsonParser} positioned at the first token of the value to shred
+   * @param subDocumentPath Prefix path to use. Note that paths are added to each row path as they
+   *     are given, without any modifications.
+   * @return List of shredded rows
+   * @throws IOException If the parser fails to read the payload
+   */
+  public List<JsonShreddedRow> shred(JsonParser parser, List<String> subDocumentPath)
+      throws IOException {
+    // check if this is a valid root value
+    if (subDocumentPath.isEmpty()) {
+      checkRoot(parser);
+    }
+
+    List<String> path = new ArrayList<>(subDocumentPath);
+    List<JsonShreddedRow> result = new ArrayList<>();
+    processToken(parser, path, result);
+    return result;
+  }
+
   /**
    * Shreds the {@link JsonNode} and returns the list of {@link JsonShreddedRow} for each value that
    * should be stored in the data store.
@@ -165,22 +204,7 @@ public class JsonDocumentShredder {
             field -> {
               String fieldName = field.getKey();
 
-              if (fieldName.isEmpty()) {
-                String msg =
-                    "JSON objects containing empty field names are not supported at the moment.";
-                throw new ErrorCodeRuntimeException(
-                    ErrorCode.DOCS_API_GENERAL_INVALID_FIELD_NAME, msg);
-              }
-
-              // check for valid field name
-              if (DocsApiUtils.containsIllegalSequences(fieldName)) {
-                String msg =
-                    String.format(
-                        "Array paths contained in square brackets, periods, single quotes, and backslash are not allowed in field names, invalid field %s",
-                        fieldName);
-                throw new ErrorCodeRuntimeException(
-                    ErrorCode.DOCS_API_GENERAL_INVALID_FIELD_NAME, msg);
-              }
+              checkFieldName(fieldName);
 
               // escape the field path
               // then create new next row builder
@@ -193,6 +217,22 @@ public class JsonDocumentShredder {
             });
   }
 
+  private void checkFieldName(String fieldName) {
+    if (fieldName.isEmpty()) {
+      String msg = "JSON objects containing empty field names are not supported at the moment.";
+      throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_GENERAL_INVALID_FIELD_NAME, msg);
+    }
+
+    // check for valid field name
+    if (DocsApiUtils.containsIllegalSequences(fieldName)) {
+      String msg =
+          String.format(
+              "Array paths contained in square brackets, periods, single quotes, and backslash are not allowed in field names, invalid field %s",
+              fieldName);
+      throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_GENERAL_INVALID_FIELD_NAME, msg);
+    }
+  }
+
   private void processValueNode(
       JsonNode node,
       Supplier<ImmutableJsonShreddedRow.Builder> rowBuilder,
@@ -212,4 +252,135 @@ public class JsonDocumentShredder {
     ImmutableJsonShreddedRow row = builder.build();
     result.add(row);
   }
+
+  private void checkRoot(JsonParser parser) {
+    // scalars not allowed, empty containers are checked when processed
+    if (parser.currentToken().isScalarValue()) {
+      String msg =
+          "Updating a key with just a JSON primitive is not allowed. Hint: update the parent path with a defined object instead.";
+      throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_PUT_PAYLOAD_INVALID, msg);
+    }
+  }
+
+  // empty path means we are at the root, which can not be an empty object or array
+  private void checkEmptyRoot(List<String> path) {
+    if (path.isEmpty()) {
+      String msg =
+          "Updating a key with just an empty object or an empty array is not allowed. Hint: update the parent path with a defined object instead.";
+      throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_PUT_PAYLOAD_INVALID, msg);
+    }
+  }
+
+  private void processToken(JsonParser parser, List<String> path, List<JsonShreddedRow> result)
+      throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.START_ARRAY) {
+      processArrayTokens(parser, path, result);
+    } else if (token == JsonToken.START_OBJECT) {
+      processObjectTokens(parser, path, result);
+    } else {
+      processValueToken(parser, path, result);
+    }
+  }
+
+  private void processArrayTokens(
+      JsonParser parser, List<String> path, List<JsonShreddedRow> result) throws IOException {
+    JsonToken token = parser.nextToken();
+
+    // empty array, simply create a reference to empty node and return
+    if (token == JsonToken.END_ARRAY) {
+      checkEmptyRoot(path);
+      result.add(rowBuilder(path).stringValue(DocsApiConstants.EMPTY_ARRAY_MARKER).build());
+      return;
+    }
+
+    int idx = 0;
+    while (token != JsonToken.END_ARRAY) {
+      // make sure we are not overflowing the array
+      if (idx >= config.getMaxArrayLength()) {
+        throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_GENERAL_ARRAY_LENGTH_EXCEEDED);
+      }
+
+      // convert the array index into path and process the element
+      String arrayPath = "[" + DocsApiUtils.leftPadTo6(String.valueOf(idx)) + "]";
+      enterPath(path, arrayPath);
+      processToken(parser, path, result);
+      exitPath(path);
+
+      token = parser.nextToken();
+      idx++;
+    }
+  }
+
+  private void processObjectTokens(
+      JsonParser parser, List<String> path, List<JsonShreddedRow> result) throws IOException {
+    JsonToken token = parser.nextToken();
+
+    // empty object, simply create a reference to empty node and return
+    if (token == JsonToken.END_OBJECT) {
+      checkEmptyRoot(path);
+      result.add(rowBuilder(path).stringValue(DocsApiConstants.EMPTY_OBJECT_MARKER).build());
+      return;
+    }
+
+    int objectStart = result.size();
+    int fieldDepth = path.size();
+    Set<String> fieldNames = new HashSet<>();
+    while (token != JsonToken.END_OBJECT) {
+      String fieldName = parser.getCurrentName();
+      checkFieldName(fieldName);
+
+      // escape the field path
+      String fieldPath = DocsApiUtils.convertEscapedCharacters(fieldName);
+
+      // last value wins for duplicated fields, drop the rows of the previous one
+      if (!fieldNames.add(fieldName)) {
+        result
+            .subList(objectStart, result.size())
+            .removeIf(row -> fieldPath.equals(row.getPath().get(fieldDepth)));
+      }
+
+      // move to the value and process it
+      enterPath(path, fieldPath);
+      parser.nextToken();
+      processToken(parser, path, result);
+      exitPath(path);
+
+      token = parser.nextToken();
+    }
+  }
+
+  private void processValueToken(JsonParser parser, List<String> path, List<JsonShreddedRow> result)
+      throws IOException {
+    ImmutableJsonShreddedRow.Builder builder = rowBuilder(path);
+
+    // depending on the value type set values
+    JsonToken token = parser.currentToken();
+    if (token.isBoolean()) {
+      builder.booleanValue(parser.getBooleanValue());
+    } else if (token.isNumeric()) {
+      builder.doubleValue(parser.getValueAsDouble());
+    } else if (token != JsonToken.VALUE_NULL) {
+      builder.stringValue(parser.getValueAsString());
+    }
+
+    // build and add to the results
+    result.add(builder.build());
+  }
+
+  // fails fast instead of waiting for the leaf row to validate the depth
+  private void enterPath(List<String> path, String segment) {
+    if (path.size() >= config.getMaxDepth()) {
+      throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_GENERAL_DEPTH_EXCEEDED);
+    }
+    path.add(segment);
+  }
+
+  private void exitPath(List<String> path) {
+    path.remove(path.size() - 1);
+  }
+
+  private ImmutableJsonShreddedRow.Builder rowBuilder(List<String> path) {
+    return ImmutableJsonShreddedRow.builder().maxDepth(config.getMaxDepth()).addAllPath(path);
+  }
 }
@@ -0,0 +1,360 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.web.docsapi.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import io.stargate.db.datastore.Row;
+import io.stargate.web.docsapi.service.query.DocsApiConstants;
+import io.stargate.web.docsapi.service.util.DocsApiUtils;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.inject.Inject;
+
+/**
+ * Writes documents directly from their rows to a {@link JsonGenerator}, without building the {@link
+ * com.fasterxml.jackson.databind.JsonNode} tree first. The returned {@link JsonSerializable}
+ * instances are written when the response is serialized.
+ *
+ * <p>Only rows that are ordered by their path and that have no conflicting paths can be written
+ * this way. Conflicting paths are left over by overwrites without read-before-write, and need the
+ * write time resolution of the {@link JsonConverter}.
+ */
+public class JsonDocumentWriter {
+
+  private final JsonConverter jsonConverter;
+  private final DocsApiConfiguration config;
+
+  @Inject
+  public JsonDocumentWriter(JsonConverter jsonConverter, DocsApiConfiguration config) {
+    this.jsonConverter = jsonConverter;
+    this.config = config;
+  }
+
+  /**
+   * Returns the JSON of the document, or of the sub-document at the given path.
+   *
+   * @param rows Rows of the document, all rows must be on the #subDocumentPath
+   * @param subDocumentPath Path of the sub-document, as stored in the path columns
+   * @param numericBooleans If these rows do not support boolean values and are using tinyint
+   *     instead
+   * @return JSON to write, or empty if the rows can not be written without the {@link
+   *     JsonConverter}
+   */
+  public Optional<JsonSerializable> document(
+      List<Row> rows, List<String> subDocumentPath, boolean numericBooleans) {
+    if (!isWritable(rows, subDocumentPath)) {
+      return Optional.empty();
+    }
+
+    return Optional.of(new DocumentJson(rows, subDocumentPath.size(), numericBooleans));
+  }
+
+  /**
+   * Returns the JSON object of the given documents, keyed by the document id. Documents that can
+   * not be written from their rows are converted with the {@link JsonConverter}.
+   *
+   * @param docs Documents
+   * @param fieldPaths Fields to include in the documents
+   * @param numericBooleans If these rows do not support boolean values and are using tinyint
+   *     instead
+   * @return JSON to write
+   */
+  public JsonSerializable documents(
+      List<RawDocument> docs, Collection<List<String>> fieldPaths, boolean numericBooleans) {
+    Map<String, JsonSerializable> result = new LinkedHashMap<>();
+    for (RawDocument doc : docs) {
+      List<Row> rows = DocsApiUtils.rowsOnPaths(doc.rows(), fieldPaths);
+      JsonSerializable json =
+          document(rows, Collections.emptyList(), numericBooleans)
+              .orElseGet(() -> jsonConverter.convertToJsonDoc(rows, false, numericBooleans));
+      result.put(doc.id(), json);
+    }
+    return new DocumentsJson(result);
+  }
+
+  // rows must be in the path order, so that each container is written in one go
+  private boolean isWritable(List<Row> rows, List<String> prefix) {
+    List<String> previous = null;
+    for (Row row : rows) {
+      List<String> path = rowPath(row);
+      if (null == path) {
+        continue;
+      }
+
+      // all rows must be on the sub-document path
+      if (path.size() < prefix.size() || !path.subList(0, prefix.size()).equals(prefix)) {
+        return false;
+      }
+
+      // a row without any path can not be placed in the document
+      List<String> relative = path.subList(prefix.size(), path.size());
+      if (relative.isEmpty() && prefix.isEmpty()) {
+        return false;
+      }
+
+      if (null != previous && !isBefore(previous, relative)) {
+        return false;
+      }
+      previous = relative;
+    }
+    return true;
+  }
+
+  private boolean isBefore(List<String> previous, List<String> current) {
+    int size = Math.min(previous.size(), current.size());
+    for (int i = 0; i < size; i++) {
+      String previousSegment = previous.get(i);
+      String currentSegment = current.get(i);
+      if (previousSegment.equals(currentSegment)) {
+        continue;
+      }
+
+      // same container can not have both fields and elements
+      boolean array = isArray(previousSegment);
+      if (array != isArray(currentSegment)) {
+        return false;
+      }
+
+      if (array) {
+        return arrayIndex(previousSegment) < arrayIndex(currentSegment);
+      } else {
+        return previousSegment.compareTo(currentSegment) < 0;
+      }
+    }
+
+    // one path is the prefix of the other, a value and a container at the same path
+    return false;
+  }
+
+  private void write(
+      JsonGenerator generator, List<Row> rows, int prefixSize, boolean numericBooleans)
+      throws IOException {
+    // path segments of the opened containers below the root, the root is at level 0
+    List<String> opened = new ArrayList<>();
+    int levels = config.getMaxDepth() + 1;
+    boolean[] arrays = new boolean[levels];
+    int[] nextIndex = new int[levels];
+    boolean rootStarted = false;
+
+    for (Row row : rows) {
+      List<String> path = rowPath(row);
+      if (null == path) {
+        continue;
+      }
+      List<String> relative = path.subList(prefixSize, path.size());
+
+      // value at the sub-document path, it's the only row
+      if (relative.isEmpty()) {
+        writeValue(generator, row, numericBooleans);
+        return;
+      }
+
+      if (!rootStarted) {
+        startContainer(generator, relative.get(0), arrays, nextIndex, 0);
+        rootStarted = true;
+      }
+
+      // close the containers that are not on this path
+      int leafLevel = relative.size() - 1;
+      int common = 0;
+      while (common < opened.size()
+          && common < leafLevel
+          && opened.get(common).equals(relative.get(common))) {
+        common++;
+      }
+      while (opened.size() > common) {
+        endContainer(generator, arrays[opened.size()]);
+        opened.remove(opened.size() - 1);
+      }
+
+      // open the missing containers and write the leaf
+      for (int level = common; level < leafLevel; level++) {
+        String segment = relative.get(level);
+        writeName(generator, segment, arrays, nextIndex, level);
+        startContainer(generator, relative.get(level + 1), arrays, nextIndex, level + 1);
+        opened.add(segment);
+      }
+      writeName(generator, relative.get(leafLevel), arrays, nextIndex, leafLevel);
+      writeValue(generator, row, numericBooleans);
+    }
+
+    // no rows means empty document
+    if (!rootStarted) {
+      generator.writeStartObject();
+      generator.writeEndObject();
+      return;
+    }
+
+    while (!opened.isEmpty()) {
+      endContainer(generator, arrays[opened.size()]);
+      opened.remove(opened.size() - 1);
+    }
+    endContainer(generator, arrays[0]);
+  }
+
+  private void startContainer(
+      JsonGenerator generator, String firstChild, boolean[] arrays, int[] nextIndex, int level)
+      throws IOException {
+    arrays[level] = isArray(firstChild);
+    nextIndex[level] = 0;
+    if (arrays[level]) {
+      generator.writeStartArray();
+    } else {
+      generator.writeStartObject();
+    }
+  }
+
+  private void endContainer(JsonGenerator generator, boolean array) throws IOException {
+    if (array) {
+      generator.writeEndArray();
+    } else {
+      generator.writeEndObject();
+    }
+  }
+
+  private void writeName(
+      JsonGenerator generator, String segment, boolean[] arrays, int[] nextIndex, int level)
+      throws IOException {
+    if (arrays[level]) {
+      // fill the missing elements with nulls
+      int index = arrayIndex(segment);
+      for (int i = nextIndex[level]; i < index; i++) {
+        generator.writeNull();
+      }
+      nextIndex[level] = index + 1;
+    } else {
+      generator.writeFieldName(segment);
+    }
+  }
+
+  private void writeValue(JsonGenerator generator, Row row, boolean numericBooleans)
+      throws IOException {
+    if (!row.isNull(DocsApiConstants.STRING_VALUE_COLUMN_NAME)) {
+      String value = row.getString(DocsApiConstants.STRING_VALUE_COLUMN_NAME);
+      if (value.equals(DocsApiConstants.EMPTY_OBJECT_MARKER)) {
+        generator.writeStartObject();
+        generator.writeEndObject();
+      } else if (value.equals(DocsApiConstants.EMPTY_ARRAY_MARKER)) {
+        generator.writeStartArray();
+        generator.writeEndArray();
+      } else {
+        generator.writeString(value);
+      }
+    } else if (!row.isNull(DocsApiConstants.BOOLEAN_VALUE_COLUMN_NAME)) {
+      generator.writeBoolean(DocsApiUtils.getBooleanFromRow(row, numericBooleans));
+    } else if (!row.isNull(DocsApiConstants.DOUBLE_VALUE_COLUMN_NAME)) {
+      // same as the converter, if not a fraction represent as a long to the user
+      double dv = row.getDouble(DocsApiConstants.DOUBLE_VALUE_COLUMN_NAME);
+      long lv = (long) dv;
+      if ((double) lv == dv) {
+        generator.writeNumber(lv);
+      } else {
+        generator.writeNumber(dv);
+      }
+    } else {
+      generator.writeNull();
+    }
+  }
+
+  // returns null for the rows that are not part of the JSON
+  private List<String> rowPath(Row row) {
+    if (DocsApiConstants.ROOT_DOC_MARKER.equals(row.getString(DocsApiConstants.LEAF_COLUMN_NAME))) {
+      return null;
+    }
+
+    List<String> path = new ArrayList<>();
+    for (int i = 0; i < config.getMaxDepth(); i++) {
+      String p = row.getString(DocsApiConstants.P_COLUMN_NAME.apply(i));
+      if (p.isEmpty()) {
+        break;
+      }
+      path.add(p);
+    }
+    return path;
+  }
+
+  private static boolean isArray(String segment) {
+    return segment.startsWith("[");
+  }
+
+  private static int arrayIndex(String segment) {
+    return Integer.parseInt(segment.substring(1, segment.length() - 1));
+  }
+
+  private class DocumentJson extends JsonSerializable.Base {
+
+    private final List<Row> rows;
+    private final int prefixSize;
+    private final boolean numericBooleans;
+
+    DocumentJson(List<Row> rows, int prefixSize, boolean numericBooleans) {
+      this.rows = rows;
+      this.prefixSize = prefixSize;
+      this.numericBooleans = numericBooleans;
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider serializers)
+        throws IOException {
+      write(generator, rows, prefixSize, numericBooleans);
+    }
+
+    @Override
+    public void serializeWithType(
+        JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSer)
+        throws IOException {
+      serialize(generator, serializers);
+    }
+  }
+
+  private static class DocumentsJson extends JsonSerializable.Base {
+
+    private final Map<String, JsonSerializable> documents;
+
+    DocumentsJson(Map<String, JsonSerializable> documents) {
+      this.documents = documents;
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider serializers)
+        throws IOException {
+      generator.writeStartObject();
+      for (Map.Entry<String, JsonSerializable> document : documents.entrySet()) {
+        generator.writeFieldName(document.getKey());
+        document.getValue().serialize(generator, serializers);
+      }
+      generator.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(
+        JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSer)
+        throws IOException {
+      serialize(generator, serializers);
+    }
+  }
+}
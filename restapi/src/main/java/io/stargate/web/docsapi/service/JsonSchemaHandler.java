@@ -4,10 +4,13 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
 import com.github.fge.jsonschema.main.JsonSchemaFactory;
-import io.stargate.db.schema.Schema;
+import io.stargate.db.schema.Table;
 import io.stargate.web.docsapi.dao.DocumentDB;
 import io.stargate.web.docsapi.exception.ErrorCode;
 import io.stargate.web.docsapi.exception.ErrorCodeRuntimeException;
@@ -22,9 +25,11 @@ import javax.inject.Inject;
 public class JsonSchemaHandler {
   private final ObjectMapper mapper;
   private final JsonSchemaFactory schemaFactory = JsonSchemaFactory.byDefault();
-  private final ConcurrentHashMap<ImmutableKeyspaceAndTable, JsonNode> schemasPerCollection =
+  private final ConcurrentHashMap<ImmutableKeyspaceAndTable, CachedSchema> schemasPerCollection =
       new ConcurrentHashMap<>();
-  private Schema lastCheckedSchema;
+  // The compiled validators of the schemas returned by getCachedJsonSchema(). Keys are compared by
+  // identity, and entries go away with the schemas that are no longer cached.
+  private final Cache<JsonNode, JsonSchema> validators = Caffeine.newBuilder().weakKeys().build();
 
   @Inject
   public JsonSchemaHandler(ObjectMapper mapper) {
@@ -34,13 +39,6 @@ public class JsonSchemaHandler {
     this.mapper = mapper;
   }
 
-  private void clearCacheOnSchemaChange(DocumentDB db) {
-    if (!db.schema().equals(lastCheckedSchema)) {
-      schemasPerCollection.clear();
-      this.lastCheckedSchema = db.schema();
-    }
-  }
-
   private JsonSchemaResponse reportToResponse(JsonNode schema, ProcessingReport report) {
     JsonSchemaResponse resp = new JsonSchemaResponse(schema);
     report.forEach(msg -> resp.addMessage(msg.getLogLevel(), msg.getMessage()));
@@ -95,24 +93,47 @@ public class JsonSchemaHandler {
     db.writeJsonSchemaToCollection(namespace, collection, schemaData);
   }
 
+  /**
+   * Returns the JSON schema attached to a collection, or {@code null} if there is none.
+   *
+   * <p>The parsed schema is cached per collection, and only re-read when that collection's table
+   * metadata changes.
+   */
   public JsonNode getCachedJsonSchema(DocumentDB db, String namespace, String collection) {
     ImmutableKeyspaceAndTable info =
         ImmutableKeyspaceAndTable.builder().keyspace(namespace).table(collection).build();
-    clearCacheOnSchemaChange(db);
-    return schemasPerCollection.computeIfAbsent(
-        info,
-        ksAndTable -> {
-          String schemaStr =
-              getRawJsonSchemaForCollection(db, ksAndTable.getKeyspace(), ksAndTable.getTable());
-          if (schemaStr == null) {
-            return null;
-          }
-          try {
-            return mapper.readTree(schemaStr).requiredAt("/schema");
-          } catch (JsonProcessingException e) {
-            return null;
-          }
-        });
+    Table table = db.getTable(namespace, collection);
+    CachedSchema cached = schemasPerCollection.get(info);
+    if (cached != null && cached.table == table) {
+      return cached.schema;
+    }
+    String comment = table.comment();
+    if (cached != null && cached.comment.equals(comment)) {
+      // Something else changed in the table, the schema can be reused
+      schemasPerCollection.put(info, new CachedSchema(table, comment, cached.schema));
+      return cached.schema;
+    }
+    JsonNode schema = parseSchema(comment);
+    schemasPerCollection.put(info, new CachedSchema(table, comment, schema));
+    return schema;
+  }
+
+  private JsonNode parseSchema(String schemaStr) {
+    if (schemaStr.isEmpty()) {
+      return null;
+    }
+    JsonNode schema;
+    try {
+      schema = mapper.readTree(schemaStr).requiredAt("/schema");
+    } catch (JsonProcessingException e) {
+      return null;
+    }
+    try {
+      validators.put(schema, schemaFactory.getJsonSchema(schema));
+    } catch (ProcessingException e) {
+      // Ignore, the error will be reported if we try to validate against this schema
+    }
+    return schema;
   }
 
   public void validate(JsonNode schema, String value) throws ProcessingException {
@@ -127,7 +148,11 @@ public class JsonSchemaHandler {
   }
 
   public void validate(JsonNode schema, JsonNode jsonValue) throws ProcessingException {
-    ProcessingReport result = schemaFactory.getValidator().validate(schema, jsonValue);
+    JsonSchema validator = validators.getIfPresent(schema);
+    ProcessingReport result =
+        (validator == null)
+            ? schemaFactory.getValidator().validate(schema, jsonValue)
+            : validator.validate(jsonValue);
     if (!result.isSuccess()) {
       List<String> messages = new ArrayList<>();
       result.forEach(msg -> messages.add(msg.getMessage()));
@@ -135,4 +160,16 @@ public class JsonSchemaHandler {
           ErrorCode.DOCS_API_INVALID_JSON_VALUE, "Invalid JSON: " + messages);
     }
   }
+
+  private static class CachedSchema {
+    final Table table;
+    final String comment;
+    final JsonNode schema;
+
+    CachedSchema(Table table, String comment, JsonNode schema) {
+      this.table = table;
+      this.comment = comment;
+      this.schema = schema;
+    }
+  }
 }
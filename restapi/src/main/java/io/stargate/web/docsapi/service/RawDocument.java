@@ -71,6 +71,14 @@ public class RawDocument {
     return replaceRows(doc.rows);
   }
 
+  /**
+   * Returns a copy of this document with the given rows, for instance after fetching the rows of
+   * several documents at once.
+   */
+  public RawDocument populateFrom(List<Row> rows) {
+    return replaceRows(rows);
+  }
+
   public boolean hasPagingState() {
     return makePagingState() != null;
   }
@@ -20,13 +20,17 @@ package io.stargate.web.docsapi.service;
 import com.bpodgursky.jbool_expressions.Expression;
 import com.bpodgursky.jbool_expressions.Literal;
 import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.Disposable;
@@ -58,7 +62,7 @@ import io.stargate.web.docsapi.service.query.FilterExpression;
 import io.stargate.web.docsapi.service.query.FilterPath;
 import io.stargate.web.docsapi.service.util.DocsApiUtils;
 import io.stargate.web.docsapi.service.write.DocumentWriteService;
-import java.util.Arrays;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -83,6 +87,7 @@ public class ReactiveDocumentService {
   @Inject DocumentSearchService searchService;
   @Inject DocumentWriteService writeService;
   @Inject JsonConverter jsonConverter;
+  @Inject JsonDocumentWriter jsonDocumentWriter;
   @Inject JsonSchemaHandler jsonSchemaHandler;
   @Inject JsonDocumentShredder jsonDocumentShredder;
   @Inject ObjectMapper objectMapper;
@@ -96,6 +101,7 @@ public class ReactiveDocumentService {
       DocumentSearchService searchService,
       DocumentWriteService writeService,
       JsonConverter jsonConverter,
+      JsonDocumentWriter jsonDocumentWriter,
       JsonSchemaHandler jsonSchemaHandler,
       JsonDocumentShredder jsonDocumentShredder,
       ObjectMapper objectMapper,
@@ -105,6 +111,7 @@ public class ReactiveDocumentService {
     this.searchService = searchService;
     this.writeService = writeService;
     this.jsonConverter = jsonConverter;
+    this.jsonDocumentWriter = jsonDocumentWriter;
     this.jsonSchemaHandler = jsonSchemaHandler;
     this.jsonDocumentShredder = jsonDocumentShredder;
     this.objectMapper = objectMapper;
@@ -171,15 +178,16 @@ public class ReactiveDocumentService {
               // we don't need the DELETE scope here
               authorizeWrite(db, namespace, collection, Scope.MODIFY);
 
-              // read the root
-              JsonNode root = readPayload(payload);
-
-              // check the schema
-              checkSchemaOnWrite(db, namespace, collection, root);
-
-              // shred rows
-              List<JsonShreddedRow> rows =
-                  jsonDocumentShredder.shred(root, Collections.emptyList());
+              // shred rows, the tree is only needed for the schema validation
+              List<JsonShreddedRow> rows;
+              JsonNode schema = jsonSchemaHandler.getCachedJsonSchema(db, namespace, collection);
+              if (null == schema) {
+                rows = jsonDocumentShredder.shred(payload, Collections.emptyList());
+              } else {
+                JsonNode root = readPayload(payload);
+                validateSchema(schema, root);
+                rows = jsonDocumentShredder.shred(root, Collections.emptyList());
+              }
 
               // call write document
               return writeService.writeDocument(
@@ -229,37 +237,59 @@ public class ReactiveDocumentService {
                 authorizeWrite(db, namespace, collection, Scope.DELETE);
               }
 
-              // read the root
-              JsonNode root = readPayload(payload);
-
-              // if not array, fail immediately
-              if (!root.isArray()) {
-                throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_WRITE_BATCH_NOT_ARRAY);
-              }
-
               // keep order with LinkedHashMap
               LinkedHashMap<String, List<JsonShreddedRow>> documentRowsMap = new LinkedHashMap<>();
               Optional<JsonPointer> idPointer = DocsApiUtils.pathToJsonPointer(idPath);
-              for (JsonNode documentNode : root) {
-                // validate that the document fits the schema
-                checkSchemaOnWrite(db, namespace, collection, documentNode);
-
-                // get document id
-                String documentId = documentIdResolver().apply(idPointer, documentNode);
-
-                // shred rows
-                List<JsonShreddedRow> rows =
-                    jsonDocumentShredder.shred(documentNode, Collections.emptyList());
-
-                // add to map and make sure we did not have already the same ID
-                if (documentRowsMap.put(documentId, rows) != null) {
-                  String msg =
-                      String.format(
-                          "Found duplicate ID %s in more than one document when doing batched document write.",
-                          documentId);
-                  throw new ErrorCodeRuntimeException(
-                      ErrorCode.DOCS_API_WRITE_BATCH_DUPLICATE_ID, msg);
+
+              // go over the array elements one by one, so that the tree of the whole payload is
+              // never built
+              try (JsonParser parser = objectMapper.createParser(payload)) {
+                // if not array, fail immediately
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                  throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_WRITE_BATCH_NOT_ARRAY);
                 }
+
+                JsonNode schema = jsonSchemaHandler.getCachedJsonSchema(db, namespace, collection);
+
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                  String documentId;
+                  List<JsonShreddedRow> rows;
+
+                  if (null == schema && !idPointer.isPresent()) {
+                    // nothing to resolve from the document, shred directly from the tokens
+                    documentId = UUID.randomUUID().toString();
+                    rows = jsonDocumentShredder.shred(parser, Collections.emptyList());
+                  } else {
+                    // otherwise read the tree of this document only
+                    JsonNode documentNode = parser.readValueAsTree();
+
+                    // validate that the document fits the schema
+                    if (null != schema) {
+                      validateSchema(schema, documentNode);
+                    }
+
+                    // get document id
+                    documentId = documentIdResolver().apply(idPointer, documentNode);
+
+                    // shred rows
+                    rows = jsonDocumentShredder.shred(documentNode, Collections.emptyList());
+                  }
+
+                  // add to map and make sure we did not have already the same ID
+                  if (documentRowsMap.put(documentId, rows) != null) {
+                    String msg =
+                        String.format(
+                            "Found duplicate ID %s in more than one document when doing batched document write.",
+                            documentId);
+                    throw new ErrorCodeRuntimeException(
+                        ErrorCode.DOCS_API_WRITE_BATCH_DUPLICATE_ID, msg);
+                  }
+                }
+              } catch (IOException e) {
+                throw new ErrorCodeRuntimeException(
+                    ErrorCode.DOCS_API_INVALID_JSON_VALUE,
+                    "Malformed JSON object found during read: " + e,
+                    e);
               }
 
               // generate the Single for each document write
@@ -311,17 +341,16 @@ public class ReactiveDocumentService {
                           })
                       .collect(Collectors.toList());
 
-              // this runs all the writes in parallel
-              return Single.zip(
-                  writeAll,
-                  results -> {
-                    // return only the documents that were successfully written
-                    return Arrays.stream(results)
-                        .map(Pair.class::cast)
-                        .filter(p -> Boolean.TRUE.equals(p.getValue1()))
-                        .map(p -> (String) p.getValue0())
-                        .collect(Collectors.toList());
-                  });
+              // this runs the writes in parallel, bounded by the configured concurrency
+              // eager concat keeps the results in the order of the documents
+              int concurrency = Math.max(1, configuration.getBatchWriteConcurrency());
+              return Flowable.fromIterable(writeAll)
+                  .concatMapEager(Single::toFlowable, concurrency, 1)
+
+                  // return only the documents that were successfully written
+                  .filter(p -> Boolean.TRUE.equals(p.getValue1()))
+                  .map(Pair::getValue0)
+                  .toList();
             })
         .map(keys -> new MultiDocsResponse(keys, context.toProfile()));
   }
@@ -604,6 +633,53 @@ public class ReactiveDocumentService {
       String fields,
       Paginator paginator,
       ExecutionContext context) {
+    return findDocuments(
+        db,
+        namespace,
+        collection,
+        where,
+        fields,
+        paginator,
+        context,
+        (rawDocuments, fieldPaths) -> createJsonMap(db, rawDocuments, fieldPaths, false));
+  }
+
+  /**
+   * Same as {@link #findDocuments(DocumentDB, String, String, String, String, Paginator,
+   * ExecutionContext)}, but the documents in the returned data are written directly from their rows
+   * when serialized.
+   *
+   * @see JsonDocumentWriter
+   */
+  public Single<DocumentResponseWrapper<? extends JsonSerializable>> findDocumentsStreamed(
+      DocumentDB db,
+      String namespace,
+      String collection,
+      String where,
+      String fields,
+      Paginator paginator,
+      ExecutionContext context) {
+    return findDocuments(
+        db,
+        namespace,
+        collection,
+        where,
+        fields,
+        paginator,
+        context,
+        (rawDocuments, fieldPaths) ->
+            jsonDocumentWriter.documents(rawDocuments, fieldPaths, db.treatBooleansAsNumeric()));
+  }
+
+  private <T> Single<DocumentResponseWrapper<? extends T>> findDocuments(
+      DocumentDB db,
+      String namespace,
+      String collection,
+      String where,
+      String fields,
+      Paginator paginator,
+      ExecutionContext context,
+      BiFunction<List<RawDocument>, Collection<List<String>>, T> dataFunction) {
 
     // everything in the reactive sequence
     return Single.defer(
@@ -630,16 +706,16 @@ public class ReactiveDocumentService {
                   rawDocuments -> {
                     String state = Paginator.makeExternalPagingState(paginator, rawDocuments);
 
-                    ObjectNode docsResult = createJsonMap(db, rawDocuments, fieldPaths, false);
-                    return new DocumentResponseWrapper<JsonNode>(
+                    T docsResult = dataFunction.apply(rawDocuments, fieldPaths);
+                    return new DocumentResponseWrapper<>(
                         null, state, docsResult, context.toProfile());
                   })
               .switchIfEmpty(
                   Single.fromSupplier(
                       () -> {
-                        ObjectNode emptyNode = objectMapper.createObjectNode();
+                        T emptyResult = dataFunction.apply(Collections.emptyList(), fieldPaths);
                         return new DocumentResponseWrapper<>(
-                            null, null, emptyNode, context.toProfile());
+                            null, null, emptyResult, context.toProfile());
                       }));
         });
   }
@@ -696,6 +772,105 @@ public class ReactiveDocumentService {
 
     long now = timeSource.currentTimeMicros();
 
+    return getDocument(
+        db,
+        namespace,
+        collection,
+        documentId,
+        subDocumentPath,
+        fields,
+        context,
+        (document, fieldPaths) ->
+            documentResult(
+                db,
+                namespace,
+                collection,
+                documentId,
+                subDocumentPath,
+                document,
+                fieldPaths,
+                now,
+                context));
+  }
+
+  /**
+   * Same as {@link #getDocument(DocumentDB, String, String, String, List, String,
+   * ExecutionContext)}, but the returned data is written directly from the document rows when
+   * serialized. Documents with dead leaves are still converted to the {@link JsonNode}, so that the
+   * dead leaves are deleted.
+   *
+   * @see JsonDocumentWriter
+   */
+  public Maybe<DocumentResponseWrapper<? extends JsonSerializable>> getDocumentStreamed(
+      DocumentDB db,
+      String namespace,
+      String collection,
+      String documentId,
+      List<String> subDocumentPath,
+      String fields,
+      ExecutionContext context) {
+
+    long now = timeSource.currentTimeMicros();
+
+    return getDocument(
+        db,
+        namespace,
+        collection,
+        documentId,
+        subDocumentPath,
+        fields,
+        context,
+        (document, fieldPaths) -> {
+          List<Row> rows = DocsApiUtils.rowsOnPaths(document.rows(), fieldPaths);
+
+          // nothing found at the sub-document path
+          if (!subDocumentPath.isEmpty() && rows.isEmpty()) {
+            return Maybe.empty();
+          }
+
+          // rows are stored with padded array indexes and without escapes
+          List<String> rowsPath =
+              subDocumentPath.stream()
+                  .map(
+                      p ->
+                          DocsApiUtils.extractArrayPathIndex(p, configuration.getMaxArrayLength())
+                              .map(i -> "[" + DocsApiUtils.leftPadTo6(String.valueOf(i)) + "]")
+                              .orElse(DocsApiUtils.convertEscapedCharacters(p)))
+                  .collect(Collectors.toList());
+
+          Optional<JsonSerializable> streamed =
+              jsonDocumentWriter.document(rows, rowsPath, db.treatBooleansAsNumeric());
+          if (streamed.isPresent()) {
+            return Maybe.just(
+                new DocumentResponseWrapper<>(
+                    documentId, null, streamed.get(), context.toProfile()));
+          }
+
+          // otherwise convert, which also resolves the dead leaves
+          return documentResult(
+                  db,
+                  namespace,
+                  collection,
+                  documentId,
+                  subDocumentPath,
+                  document,
+                  fieldPaths,
+                  now,
+                  context)
+              .map(Pair::getValue0);
+        });
+  }
+
+  private <T> Maybe<T> getDocument(
+      DocumentDB db,
+      String namespace,
+      String collection,
+      String documentId,
+      List<String> subDocumentPath,
+      String fields,
+      ExecutionContext context,
+      BiFunction<RawDocument, Collection<List<String>>, Maybe<T>> resultFunction) {
+
     // everything in the reactive sequence
     return Maybe.defer(
         () -> {
@@ -724,90 +899,93 @@ public class ReactiveDocumentService {
                   collection,
                   documentId,
                   subDocumentPathProcessed,
+                  fieldPathsFinal,
                   context)
 
               // one document only
               .singleElement()
 
-              // map to the json
-              .flatMap(
-                  document -> {
-                    DeadLeafCollectorImpl collector = new DeadLeafCollectorImpl();
-                    JsonNode docsResult =
-                        documentToNode(
-                            document,
-                            fieldPathsFinal,
-                            collector,
-                            false,
-                            db.treatBooleansAsNumeric());
-
-                    Disposable deleteBatch;
-                    // dead leaf deletion init on non-empty collection
-                    if (!collector.isEmpty()) {
-                      int size = collector.getLeaves().size();
-                      // Submit the DELETE batch for async execution (do not block, do not wait)
-                      // Note: authorizeDeleteDeadLeaves is called only if dead leaves are found.
-                      deleteBatch =
-                          Single.fromCallable(
-                                  () -> db.authorizeDeleteDeadLeaves(namespace, collection))
-                              .filter(
-                                  authorized -> {
-                                    // Don't fail this read request if the corrective DELETE
-                                    // statements
-                                    // are not authorized, simply skip DELETE batch in that case.
-                                    if (authorized) {
-                                      logger.info("Deleting {} dead leaves", size);
-                                    } else {
-                                      logger.info("Not authorized to delete {} dead leaves", size);
-                                    }
-
-                                    return authorized;
-                                  })
-                              .flatMap(
-                                  __ ->
-                                      RxUtils.singleFromFuture(
-                                              () ->
-                                                  db.deleteDeadLeaves(
-                                                      namespace,
-                                                      collection,
-                                                      documentId,
-                                                      now,
-                                                      collector.getLeaves(),
-                                                      context))
-                                          .toMaybe())
-                              .subscribeOn(Schedulers.io())
-                              .doOnSuccess(__ -> logger.info("Deleted {} dead leaves", size))
-                              .doOnError(t -> logger.error("Unable to delete dead leaves: " + t, t))
-                              .subscribe();
+              // map to the result
+              .flatMap(document -> resultFunction.apply(document, fieldPathsFinal));
+        });
+  }
+
+  // converts the document to json, deleting the found dead leaves
+  private Maybe<Pair<DocumentResponseWrapper<? extends JsonNode>, Disposable>> documentResult(
+      DocumentDB db,
+      String namespace,
+      String collection,
+      String documentId,
+      List<String> subDocumentPath,
+      RawDocument document,
+      Collection<List<String>> fieldPathsFinal,
+      long now,
+      ExecutionContext context) {
+    DeadLeafCollectorImpl collector = new DeadLeafCollectorImpl();
+    JsonNode docsResult =
+        documentToNode(document, fieldPathsFinal, collector, false, db.treatBooleansAsNumeric());
+
+    Disposable deleteBatch;
+    // dead leaf deletion init on non-empty collection
+    if (!collector.isEmpty()) {
+      int size = collector.getLeaves().size();
+      // Submit the DELETE batch for async execution (do not block, do not wait)
+      // Note: authorizeDeleteDeadLeaves is called only if dead leaves are found.
+      deleteBatch =
+          Single.fromCallable(() -> db.authorizeDeleteDeadLeaves(namespace, collection))
+              .filter(
+                  authorized -> {
+                    // Don't fail this read request if the corrective DELETE statements are
+                    // not authorized, simply skip DELETE batch in that case.
+                    if (authorized) {
+                      logger.info("Deleting {} dead leaves", size);
                     } else {
-                      deleteBatch = Disposable.disposed();
+                      logger.info("Not authorized to delete {} dead leaves", size);
                     }
 
-                    // create json pattern expression if sub path is defined
-                    if (!subDocumentPath.isEmpty()) {
-                      String jsonPtrExpr =
-                          subDocumentPath.stream()
-                              .map(
-                                  p ->
-                                      DocsApiUtils.extractArrayPathIndex(
-                                              p, configuration.getMaxArrayLength())
-                                          .map(Object::toString)
-                                          .orElse(DocsApiUtils.convertEscapedCharacters(p)))
-                              .collect(Collectors.joining("/", "/", ""));
-
-                      // find and return empty if missing
-                      docsResult = docsResult.at(jsonPtrExpr);
-                      if (docsResult.isMissingNode()) {
-                        return Maybe.empty();
-                      }
-                    }
+                    return authorized;
+                  })
+              .flatMap(
+                  __ ->
+                      RxUtils.singleFromFuture(
+                              () ->
+                                  db.deleteDeadLeaves(
+                                      namespace,
+                                      collection,
+                                      documentId,
+                                      now,
+                                      collector.getLeaves(),
+                                      context))
+                          .toMaybe())
+              .subscribeOn(Schedulers.io())
+              .doOnSuccess(__ -> logger.info("Deleted {} dead leaves", size))
+              .doOnError(t -> logger.error("Unable to delete dead leaves: " + t, t))
+              .subscribe();
+    } else {
+      deleteBatch = Disposable.disposed();
+    }
 
-                    DocumentResponseWrapper<JsonNode> wrapper =
-                        new DocumentResponseWrapper<>(
-                            documentId, null, docsResult, context.toProfile());
-                    return Maybe.just(Pair.with(wrapper, deleteBatch));
-                  });
-        });
+    // create json pattern expression if sub path is defined
+    if (!subDocumentPath.isEmpty()) {
+      String jsonPtrExpr =
+          subDocumentPath.stream()
+              .map(
+                  p ->
+                      DocsApiUtils.extractArrayPathIndex(p, configuration.getMaxArrayLength())
+                          .map(Object::toString)
+                          .orElse(DocsApiUtils.convertEscapedCharacters(p)))
+              .collect(Collectors.joining("/", "/", ""));
+
+      // find and return empty if missing
+      docsResult = docsResult.at(jsonPtrExpr);
+      if (docsResult.isMissingNode()) {
+        return Maybe.empty();
+      }
+    }
+
+    DocumentResponseWrapper<JsonNode> wrapper =
+        new DocumentResponseWrapper<>(documentId, null, docsResult, context.toProfile());
+    return Maybe.just(Pair.with(wrapper, deleteBatch));
   }
 
   /**
@@ -1224,16 +1402,7 @@ public class ReactiveDocumentService {
       boolean writeAllPathsAsObjects,
       boolean numericBooleans) {
     // filter needed rows only
-    List<Row> rows = doc.rows();
-    if (!fieldPaths.isEmpty()) {
-      rows =
-          doc.rows().stream()
-              .filter(
-                  row ->
-                      fieldPaths.stream()
-                          .anyMatch(fieldPath -> DocsApiUtils.isRowOnPath(row, fieldPath)))
-              .collect(Collectors.toList());
-    }
+    List<Row> rows = DocsApiUtils.rowsOnPaths(doc.rows(), fieldPaths);
 
     // create document node and set to result
     return jsonConverter.convertToJsonDoc(rows, collector, writeAllPathsAsObjects, numericBooleans);
@@ -1265,15 +1434,6 @@ public class ReactiveDocumentService {
             .orElseGet(() -> UUID.randomUUID().toString());
   }
 
-  // checks that node is in alignment with schema if exists
-  private void checkSchemaOnWrite(
-      DocumentDB db, String namespace, String collection, JsonNode root) {
-    JsonNode schema = jsonSchemaHandler.getCachedJsonSchema(db, namespace, collection);
-    if (schema != null) {
-      validateSchema(schema, root);
-    }
-  }
-
   // update is not allowed if schema exists and targets sub document
   public void checkSchemaOnUpdate(
       DocumentDB db, String namespace, String collection, JsonNode root, boolean subDocument) {
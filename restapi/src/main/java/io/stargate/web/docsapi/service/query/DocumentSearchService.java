@@ -20,8 +20,10 @@ package io.stargate.web.docsapi.service.query;
 import com.bpodgursky.jbool_expressions.Expression;
 import com.bpodgursky.jbool_expressions.Literal;
 import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
 import io.stargate.db.datastore.DataStore;
+import io.stargate.db.datastore.Row;
 import io.stargate.db.query.BoundQuery;
 import io.stargate.db.query.Query;
 import io.stargate.db.query.builder.BuiltQuery;
@@ -31,6 +33,8 @@ import io.stargate.web.docsapi.service.DocsApiConfiguration;
 import io.stargate.web.docsapi.service.ExecutionContext;
 import io.stargate.web.docsapi.service.QueryExecutor;
 import io.stargate.web.docsapi.service.RawDocument;
+import io.stargate.web.docsapi.service.query.search.db.AbstractSearchQueryBuilder;
+import io.stargate.web.docsapi.service.query.search.db.impl.BatchPopulateSearchQueryBuilder;
 import io.stargate.web.docsapi.service.query.search.db.impl.DocumentTtlQueryBuilder;
 import io.stargate.web.docsapi.service.query.search.db.impl.FullSearchQueryBuilder;
 import io.stargate.web.docsapi.service.query.search.db.impl.PopulateSearchQueryBuilder;
@@ -38,8 +42,13 @@ import io.stargate.web.docsapi.service.query.search.db.impl.SubDocumentSearchQue
 import io.stargate.web.docsapi.service.query.search.resolver.BaseResolver;
 import io.stargate.web.docsapi.service.query.search.resolver.DocumentsResolver;
 import io.stargate.web.docsapi.service.query.search.resolver.impl.SubDocumentsResolver;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import org.apache.commons.lang3.tuple.Pair;
@@ -167,6 +176,74 @@ public class DocumentSearchService {
       String documentId,
       List<String> subDocumentPath,
       ExecutionContext context) {
+    return getDocument(
+        queryExecutor,
+        keyspace,
+        collection,
+        documentId,
+        subDocumentPath,
+        Collections.emptyList(),
+        context);
+  }
+
+  /**
+   * Gets a single document optionally limited to the #subDocumentPath, reading only the rows that
+   * are on one of the given #fieldPaths when possible.
+   *
+   * <p>Each field path is translated to the restrictions on the path columns and executed as a
+   * separate query, with results merged by the {@link QueryExecutor}. Field paths containing globs
+   * or exceeding the max depth can not be pushed down, in this case the complete (sub-)document is
+   * read. The complete (sub-)document is also read if none of the field paths exist, so that an
+   * existing document without the fields is still found. Callers must still filter the rows on the
+   * field paths, as the returned document is guaranteed to contain all the matching rows, but not
+   * only them.
+   *
+   * @param queryExecutor Query executor for running queries.
+   * @param keyspace Keyspace to search in.
+   * @param collection Collection to search in.
+   * @param documentId Document ID to search in
+   * @param subDocumentPath Path where to find the document
+   * @param fieldPaths Full field paths (including the #subDocumentPath) to read, empty for all
+   * @param context Context for recording profiling information
+   * @return Flowable of {@link RawDocument}s representing a document or sub-document in the given
+   *     #subDocumentPath.
+   */
+  public Flowable<RawDocument> getDocument(
+      QueryExecutor queryExecutor,
+      String keyspace,
+      String collection,
+      String documentId,
+      List<String> subDocumentPath,
+      Collection<List<String>> fieldPaths,
+      ExecutionContext context) {
+
+    if (canPushDownFields(fieldPaths)) {
+      return fieldsDocument(
+              queryExecutor,
+              configuration,
+              keyspace,
+              collection,
+              documentId,
+              fieldPaths,
+              nestedFieldsDocument(context))
+
+          // none of the fields exist, but the (sub-)document itself might, so it must not be
+          // reported as missing
+          .switchIfEmpty(
+              Flowable.defer(
+                  () ->
+                      fullDocument(
+                          queryExecutor,
+                          configuration,
+                          keyspace,
+                          collection,
+                          documentId,
+                          subDocumentPath,
+                          nestedFullDocument(context))))
+
+          // take one, as there can be only one document
+          .take(1);
+    }
 
     return fullDocument(
             queryExecutor,
@@ -298,6 +375,64 @@ public class DocumentSearchService {
             });
   }
 
+  private Flowable<RawDocument> fieldsDocument(
+      QueryExecutor queryExecutor,
+      DocsApiConfiguration configuration,
+      String keyspace,
+      String collection,
+      String documentId,
+      Collection<List<String>> fieldPaths,
+      ExecutionContext context) {
+
+    // prepare a query per field path
+    return Flowable.fromIterable(fieldPaths)
+        .concatMapEager(
+            fieldPath ->
+                RxUtils.singleFromFuture(
+                        () -> {
+                          int maxDepth = configuration.getMaxDepth();
+                          String[] columns = DocsApiConstants.ALL_COLUMNS_NAMES.apply(maxDepth);
+
+                          DataStore dataStore = queryExecutor.getDataStore();
+
+                          SubDocumentSearchQueryBuilder queryBuilder =
+                              new SubDocumentSearchQueryBuilder(documentId, fieldPath);
+                          BuiltQuery<? extends BoundQuery> query =
+                              queryBuilder.buildQuery(
+                                  dataStore::queryBuilder, keyspace, collection, columns);
+
+                          return dataStore.prepare(query);
+                        })
+                    .map(prepared -> (BoundQuery) prepared.bind())
+                    .toFlowable())
+        .toList()
+        .flatMapPublisher(
+            boundQueries ->
+                // the ordered merge puts the rows back in the document order and removes the
+                // duplicates of overlapping field paths
+                queryExecutor.queryDocs(
+                    boundQueries, configuration.getMaxStoragePageSize(), false, null, context));
+  }
+
+  // field paths can be pushed down to the path columns only if they don't contain any globs, as
+  // the glob restrictions are not equivalent to the row filtering done on the field paths
+  private boolean canPushDownFields(Collection<List<String>> fieldPaths) {
+    if (fieldPaths.isEmpty()) {
+      return false;
+    }
+
+    int maxDepth = configuration.getMaxDepth();
+    return fieldPaths.stream()
+        .allMatch(
+            fieldPath ->
+                fieldPath.size() <= maxDepth
+                    && fieldPath.stream()
+                        .noneMatch(
+                            p ->
+                                DocsApiConstants.GLOB_VALUE.equals(p)
+                                    || DocsApiConstants.GLOB_ARRAY_VALUE.equals(p)));
+  }
+
   // populates the given documents by using a prepared query
   private Flowable<RawDocument> populateCandidates(
       Flowable<RawDocument> candidates,
@@ -306,27 +441,26 @@ public class DocumentSearchService {
       String collection,
       ExecutionContext context) {
 
-    // prepare query
+    // prepare query, then cache so we can reuse for each document
     Single<? extends Query<? extends BoundQuery>> preparedSingle =
-        RxUtils.singleFromFuture(
-                () -> {
-                  // columns from depth
-                  int maxDepth = configuration.getMaxDepth();
-                  String[] columns = DocsApiConstants.ALL_COLUMNS_NAMES.apply(maxDepth);
-
-                  // data store need for build and prepare
-                  DataStore dataStore = queryExecutor.getDataStore();
-
-                  // build and prepare
-                  PopulateSearchQueryBuilder queryBuilder = new PopulateSearchQueryBuilder();
-                  BuiltQuery<? extends BoundQuery> query =
-                      queryBuilder.buildQuery(
-                          dataStore::queryBuilder, keyspace, collection, columns);
-
-                  return dataStore.prepare(query);
-                })
-            // then cache so we can reuse for each document
-            .cache();
+        preparePopulate(queryExecutor, keyspace, collection, new PopulateSearchQueryBuilder());
+
+    int batchSize = configuration.getPopulateBatchSize();
+    if (batchSize > 1) {
+      Single<? extends Query<? extends BoundQuery>> batchPreparedSingle =
+          preparePopulate(
+              queryExecutor, keyspace, collection, new BatchPopulateSearchQueryBuilder());
+
+      // fetch the rows of each batch of candidates with a single query
+      return candidates
+          .buffer(batchSize)
+          .concatMap(
+              batch ->
+                  batchPreparedSingle.flatMapPublisher(
+                      batchPrepared ->
+                          populateBatch(
+                              batch, batchPrepared, preparedSingle, queryExecutor, context)));
+    }
 
     // combine
     return candidates
@@ -341,27 +475,9 @@ public class DocumentSearchService {
               List<Flowable<RawDocument>> flowables =
                   all.stream()
                       .map(
-                          p -> {
-                            // bind for this doc id
-                            RawDocument document = p.getLeft();
-                            BoundQuery query = p.getRight().bind(document.id());
-
-                            // fetch, take one and then populate into the original doc
-                            // since we have the doc id, use the max storage page size to grab all
-                            // the rows
-                            // for
-                            // that doc
-                            return queryExecutor
-                                .queryDocs(
-                                    query,
-                                    configuration.getMaxStoragePageSize(),
-                                    false,
-                                    null,
-                                    context)
-                                .firstElement()
-                                .map(document::populateFrom)
-                                .toFlowable();
-                          })
+                          p ->
+                              populateDocument(p.getLeft(), p.getRight(), queryExecutor, context)
+                                  .toFlowable())
                       .collect(Collectors.toList());
 
               // this is the trick to execute the all 5 in parallel
@@ -373,6 +489,100 @@ public class DocumentSearchService {
             });
   }
 
+  private Single<? extends Query<? extends BoundQuery>> preparePopulate(
+      QueryExecutor queryExecutor,
+      String keyspace,
+      String collection,
+      AbstractSearchQueryBuilder queryBuilder) {
+    return RxUtils.singleFromFuture(
+            () -> {
+              // columns from depth
+              int maxDepth = configuration.getMaxDepth();
+              String[] columns = DocsApiConstants.ALL_COLUMNS_NAMES.apply(maxDepth);
+
+              // data store need for build and prepare
+              DataStore dataStore = queryExecutor.getDataStore();
+
+              // build and prepare
+              BuiltQuery<? extends BoundQuery> query =
+                  queryBuilder.buildQuery(dataStore::queryBuilder, keyspace, collection, columns);
+
+              return dataStore.prepare(query);
+            })
+        .cache();
+  }
+
+  // populates a single document
+  private Maybe<RawDocument> populateDocument(
+      RawDocument document,
+      Query<? extends BoundQuery> prepared,
+      QueryExecutor queryExecutor,
+      ExecutionContext context) {
+    // bind for this doc id
+    BoundQuery query = prepared.bind(document.id());
+
+    // fetch, take one and then populate into the original doc
+    // since we have the doc id, use the max storage page size to grab all the rows for that doc
+    return queryExecutor
+        .queryDocs(query, configuration.getMaxStoragePageSize(), false, null, context)
+        .firstElement()
+        .map(document::populateFrom);
+  }
+
+  // populates several documents with a single query, the documents that do not fit in the first
+  // storage page are populated separately
+  private Flowable<RawDocument> populateBatch(
+      List<RawDocument> batch,
+      Query<? extends BoundQuery> batchPrepared,
+      Single<? extends Query<? extends BoundQuery>> preparedSingle,
+      QueryExecutor queryExecutor,
+      ExecutionContext context) {
+    List<String> ids = batch.stream().map(RawDocument::id).distinct().collect(Collectors.toList());
+    BoundQuery query = batchPrepared.bind(ids);
+
+    return queryExecutor
+        .execute(query, configuration.getMaxStoragePageSize(), false, null)
+        .firstElement()
+        .flatMapPublisher(
+            rs -> {
+              List<Row> rows = rs.currentPageRows();
+              context.traceCqlResult(query, rows.size());
+
+              // rows of the same document are contiguous
+              Map<String, List<Row>> rowsById = new HashMap<>();
+              String lastId = null;
+              for (Row row : rows) {
+                lastId = row.getString(DocsApiConstants.KEY_COLUMN_NAME);
+                rowsById.computeIfAbsent(lastId, __ -> new ArrayList<>()).add(row);
+              }
+
+              // if there are more pages, the last document might be incomplete
+              boolean exhausted = rs.getPagingState() == null;
+              if (!exhausted && lastId != null) {
+                rowsById.remove(lastId);
+              }
+
+              List<Maybe<RawDocument>> documents = new ArrayList<>(batch.size());
+              for (RawDocument document : batch) {
+                List<Row> documentRows = rowsById.get(document.id());
+                if (null != documentRows) {
+                  documents.add(Maybe.just(document.populateFrom(documentRows)));
+                } else if (exhausted) {
+                  // document does not exist anymore
+                  documents.add(Maybe.empty());
+                } else {
+                  documents.add(
+                      preparedSingle.flatMapMaybe(
+                          prepared ->
+                              populateDocument(document, prepared, queryExecutor, context)));
+                }
+              }
+
+              // executes the separate reads in parallel, but keeps the order
+              return Flowable.fromIterable(documents).concatMapEager(Maybe::toFlowable);
+            });
+  }
+
   private ExecutionContext nestedPopulate(ExecutionContext context) {
     return context.nested("LoadProperties");
   }
@@ -384,4 +594,8 @@ public class DocumentSearchService {
   private ExecutionContext nestedFullDocument(ExecutionContext context) {
     return context.nested("GetFullDocument");
   }
+
+  private ExecutionContext nestedFieldsDocument(ExecutionContext context) {
+    return context.nested("GetDocumentFields");
+  }
 }
@@ -173,7 +173,7 @@ public class ExpressionParser {
                     .condition(fieldCondition)
                     .orderIndex(index);
 
-            selectivity.ifPresent(builder::selectivity);
+            selectivity.ifPresent(builder::selectivityHint);
 
             expressions.add(builder.build());
           }
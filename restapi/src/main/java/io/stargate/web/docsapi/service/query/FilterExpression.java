@@ -29,6 +29,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalDouble;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -70,27 +71,42 @@ public abstract class FilterExpression extends Expression<FilterExpression>
   // selectivity hints defined (hints are optional).
   @Value.Auxiliary
   public double getSelectivity() {
-    return 1.0;
+    return getSelectivityHint().orElse(1.0);
   }
 
+  /**
+   * The explicit selectivity {@link FilterHintCode#SELECTIVITY hint} provided by the query, if any.
+   * Unlike {@link #getSelectivity()}, this makes a difference between a filter without a hint and a
+   * filter hinted with the worst selectivity.
+   */
+  @Value.Auxiliary
+  public abstract OptionalDouble getSelectivityHint();
+
   public static FilterExpression of(
       FilterPath filterPath, BaseCondition condition, int orderIndex, double selectivity) {
     return ImmutableFilterExpression.builder()
         .filterPath(filterPath)
         .condition(condition)
         .orderIndex(orderIndex)
-        .selectivity(selectivity)
+        .selectivityHint(selectivity)
         .build();
   }
 
   public FilterExpression negate() {
-    return ImmutableFilterExpression.builder()
-        .filterPath(getFilterPath())
-        .condition(getCondition().negate())
-        .orderIndex(getOrderIndex())
-        // The negated filter will select rows complementing the ones selected by source filter
-        .selectivity(1.0 - getSelectivity())
-        .build();
+    ImmutableFilterExpression.Builder builder =
+        ImmutableFilterExpression.builder()
+            .filterPath(getFilterPath())
+            .condition(getCondition().negate())
+            .orderIndex(getOrderIndex())
+            // The negated filter will select rows complementing the ones selected by source filter
+            .selectivity(1.0 - getSelectivity());
+
+    // without a hint, the selectivity of the negated filter stays unknown
+    OptionalDouble hint = getSelectivityHint();
+    if (hint.isPresent()) {
+      builder.selectivityHint(1.0 - hint.getAsDouble());
+    }
+    return builder.build();
   }
 
   /** @return Returns human-readable description of this expression. */
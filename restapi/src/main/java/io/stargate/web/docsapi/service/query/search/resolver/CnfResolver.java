@@ -44,7 +44,6 @@ import io.stargate.web.docsapi.service.query.search.resolver.impl.InMemoryDocume
 import io.stargate.web.docsapi.service.query.search.resolver.impl.OrExpressionDocumentsResolver;
 import io.stargate.web.docsapi.service.query.search.resolver.impl.PersistenceDocumentsResolver;
 import io.stargate.web.docsapi.service.query.search.weigth.ExpressionWeightResolver;
-import io.stargate.web.docsapi.service.query.search.weigth.impl.UserOrderWeightResolver;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -94,7 +93,7 @@ public final class CnfResolver {
     And<FilterExpression> andExpression = (And<FilterExpression>) expression;
     List<Expression<FilterExpression>> children = andExpression.getChildren();
 
-    UserOrderWeightResolver weightResolver = UserOrderWeightResolver.of();
+    ExpressionWeightResolver<FilterExpression> weightResolver = ExpressionWeightResolver.of(config);
 
     // try to get the next persistence resolver
     return nextPersistenceResolver(expression, children, weightResolver, context, parent, config)
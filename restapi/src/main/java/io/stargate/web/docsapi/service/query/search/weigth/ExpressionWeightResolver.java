@@ -17,8 +17,11 @@
 
 package io.stargate.web.docsapi.service.query.search.weigth;
 
+import io.stargate.web.docsapi.service.DocsApiConfiguration;
 import io.stargate.web.docsapi.service.query.FilterExpression;
 import io.stargate.web.docsapi.service.query.condition.BaseCondition;
+import io.stargate.web.docsapi.service.query.search.weigth.impl.CostBasedWeightResolver;
+import io.stargate.web.docsapi.service.query.search.weigth.impl.UserOrderWeightResolver;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.function.BiFunction;
@@ -35,6 +38,20 @@ public interface ExpressionWeightResolver<T extends FilterExpression> {
           .thenComparing(c -> !c.isEvaluateOnMissingFields())
           .reversed();
 
+  /**
+   * Returns the weight resolver to use for the given configuration.
+   *
+   * @param config {@link DocsApiConfiguration}
+   * @return {@link CostBasedWeightResolver} or {@link UserOrderWeightResolver}
+   */
+  static ExpressionWeightResolver<FilterExpression> of(DocsApiConfiguration config) {
+    if (config.isCostBasedFilterOrdering()) {
+      return CostBasedWeightResolver.of();
+    } else {
+      return UserOrderWeightResolver.of();
+    }
+  }
+
   /**
    * Compares two expressions and resolves which one should be executed first.
    *
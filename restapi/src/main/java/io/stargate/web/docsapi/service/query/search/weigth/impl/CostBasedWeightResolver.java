@@ -0,0 +1,146 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.stargate.web.docsapi.service.query.search.weigth.impl;
+
+import io.stargate.web.docsapi.service.query.FilterExpression;
+import io.stargate.web.docsapi.service.query.condition.BaseCondition;
+import io.stargate.web.docsapi.service.query.filter.operation.FilterOperationCode;
+import io.stargate.web.docsapi.service.query.search.weigth.ExpressionWeightResolver;
+import java.util.Collection;
+import java.util.OptionalDouble;
+
+/**
+ * The {@link ExpressionWeightResolver} that favors the expressions with the best estimated
+ * selectivity.
+ *
+ * <p>The selectivity of an expression is its explicit selectivity hint when provided, otherwise it
+ * is estimated from the {@link FilterOperationCode} of its condition and the shape of its filter
+ * path. The user order of the expressions is only used to resolve ties.
+ */
+public class CostBasedWeightResolver implements ExpressionWeightResolver<FilterExpression> {
+
+  // estimates for the filter operations, based on the typical value distributions
+  static final double EQ_SELECTIVITY = 0.01;
+  static final double RANGE_SELECTIVITY = 0.3;
+  static final double EXISTS_SELECTIVITY = 0.5;
+  static final double NOT_EQ_SELECTIVITY = 0.99;
+
+  // filter paths with globs match multiple fields of a document
+  static final double GLOB_PATH_FACTOR = 2.0;
+
+  private static final CostBasedWeightResolver INSTANCE = new CostBasedWeightResolver();
+
+  public static CostBasedWeightResolver of() {
+    return INSTANCE;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int compare(FilterExpression o1, FilterExpression o2) {
+    int result = ExpressionWeightResolver.super.compare(o1, o2);
+    if (result != 0) {
+      return result;
+    }
+
+    result = Double.compare(estimateSelectivity(o1), estimateSelectivity(o2));
+    if (result != 0) {
+      return result;
+    }
+
+    return Integer.compare(o1.getOrderIndex(), o2.getOrderIndex());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int compare(Collection<FilterExpression> c1, Collection<FilterExpression> c2) {
+    int result = ExpressionWeightResolver.super.compare(c1, c2);
+    if (result != 0) {
+      return result;
+    }
+
+    result = Double.compare(lowestSelectivity(c1), lowestSelectivity(c2));
+    if (result != 0) {
+      return result;
+    }
+
+    return Integer.compare(lowestIndex(c1), lowestIndex(c2));
+  }
+
+  /**
+   * Estimates the selectivity of the expression.
+   *
+   * @param expression Expression
+   * @return Value between 0 and 1 (inclusive), lower is better.
+   */
+  public double estimateSelectivity(FilterExpression expression) {
+    // explicit hints always win, they are the only statistics we can get from the user
+    OptionalDouble hint = expression.getSelectivityHint();
+    if (hint.isPresent()) {
+      return hint.getAsDouble();
+    }
+
+    double estimate = estimateSelectivity(expression.getCondition());
+    if (!expression.getFilterPath().isFixed()) {
+      estimate *= GLOB_PATH_FACTOR;
+    }
+    return Math.min(estimate, 1.0);
+  }
+
+  private double estimateSelectivity(BaseCondition condition) {
+    FilterOperationCode code = condition.getFilterOperationCode();
+    if (null == code) {
+      return 1.0;
+    }
+
+    switch (code) {
+      case EQ:
+        return EQ_SELECTIVITY;
+      case IN:
+        Object value = condition.getQueryValue();
+        int size = value instanceof Collection ? ((Collection<?>) value).size() : 1;
+        return Math.min(EQ_SELECTIVITY * Math.max(size, 1), 1.0);
+      case LT:
+      case LTE:
+      case GT:
+      case GTE:
+        return RANGE_SELECTIVITY;
+      case EXISTS:
+        return Boolean.TRUE.equals(condition.getQueryValue())
+            ? EXISTS_SELECTIVITY
+            : 1.0 - EXISTS_SELECTIVITY;
+      case NE:
+      case NIN:
+        return NOT_EQ_SELECTIVITY;
+      default:
+        return 1.0;
+    }
+  }
+
+  private int lowestIndex(Collection<FilterExpression> collection) {
+    return collection.stream()
+        .mapToInt(FilterExpression::getOrderIndex)
+        .min()
+        .orElse(Integer.MAX_VALUE);
+  }
+
+  private double lowestSelectivity(Collection<FilterExpression> collection) {
+    return collection.stream()
+        .mapToDouble(this::estimateSelectivity)
+        .min()
+        .orElse(Double.MAX_VALUE);
+  }
+}
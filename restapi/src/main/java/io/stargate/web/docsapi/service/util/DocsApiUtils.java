@@ -363,6 +363,23 @@ public final class DocsApiUtils {
     return DocsApiUtils.isRowOnPath(row, path);
   }
 
+  /**
+   * Filters the rows that are on any of the given paths.
+   *
+   * @param rows Rows
+   * @param paths paths as lists of strings, see #isRowOnPath(Row, Iterable)
+   * @return Rows that are fully on any of the given paths, or all rows if paths are empty
+   */
+  public static List<Row> rowsOnPaths(List<Row> rows, Collection<List<String>> paths) {
+    if (paths.isEmpty()) {
+      return rows;
+    }
+
+    return rows.stream()
+        .filter(row -> paths.stream().anyMatch(path -> isRowOnPath(row, path)))
+        .collect(Collectors.toList());
+  }
+
   /**
    * Tests if the given row is on the path, where path is defined by the iterable of strings.
    *
@@ -24,19 +24,26 @@ import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
 import io.dropwizard.util.JarLocation;
 import io.stargate.auth.AuthenticationService;
+import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.AuthorizationService;
 import io.stargate.core.metrics.api.HttpMetricsTagProvider;
 import io.stargate.core.metrics.api.Metrics;
+import io.stargate.core.util.TimeSource;
+import io.stargate.db.datastore.DataStore;
 import io.stargate.db.datastore.DataStoreFactory;
+import io.stargate.db.datastore.DataStoreOptions;
 import io.stargate.metrics.jersey.MetricsBinder;
 import io.stargate.metrics.jersey.dwconfig.StargateV1ConfigurationSourceProvider;
+import io.stargate.web.docsapi.dao.DocumentDB;
 import io.stargate.web.docsapi.dao.DocumentDBFactory;
 import io.stargate.web.docsapi.resources.CollectionsResource;
 import io.stargate.web.docsapi.resources.JsonSchemaResource;
 import io.stargate.web.docsapi.resources.NamespacesResource;
 import io.stargate.web.docsapi.resources.ReactiveDocumentResourceV2;
+import io.stargate.web.docsapi.service.DeadLeafSweeper;
 import io.stargate.web.docsapi.service.DocsApiComponentsBinder;
 import io.stargate.web.docsapi.service.DocsApiConfiguration;
+import io.stargate.web.docsapi.service.JsonConverter;
 import io.stargate.web.resources.HealthResource;
 import io.stargate.web.resources.SwaggerUIResource;
 import io.stargate.web.restapi.dao.RestDBFactory;
@@ -165,6 +172,9 @@ public class RestApiServer extends Application<RestApiServerConfiguration> {
               }
             });
     environment.jersey().register(new DocsApiComponentsBinder());
+    if (docsApiConf.isDeadLeafSweeperEnabled()) {
+      environment.lifecycle().manage(createDeadLeafSweeper(objectMapper, environment));
+    }
     environment.jersey().register(ReactiveDocumentResourceV2.class);
     environment.jersey().register(JsonSchemaResource.class);
     environment.jersey().register(CollectionsResource.class);
@@ -198,6 +208,22 @@ public class RestApiServer extends Application<RestApiServerConfiguration> {
     environment.jersey().property(ServerProperties.RESPONSE_SET_STATUS_OVER_SEND_ERROR, true);
   }
 
+  private DeadLeafSweeper createDeadLeafSweeper(
+      ObjectMapper objectMapper, Environment environment) {
+    DataStore dataStore =
+        dataStoreFactory.createInternal(
+            DataStoreOptions.builder().alwaysPrepareQueries(true).build());
+    // the subject is only used for authorization checks, which the sweeper never does
+    AuthenticationSubject subject = AuthenticationSubject.of(null, "docsapi-dead-leaf-sweeper");
+    DocumentDB documentDB = new DocumentDB(dataStore, subject, authorizationService, docsApiConf);
+    return new DeadLeafSweeper(
+        documentDB,
+        new JsonConverter(objectMapper, docsApiConf),
+        docsApiConf,
+        TimeSource.SYSTEM,
+        environment.metrics());
+  }
+
   public static ObjectMapper configureObjectMapper(ObjectMapper objectMapper) {
     objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
     objectMapper.registerModule(new JavaTimeModule());
@@ -86,9 +86,15 @@ public class Converters {
   private static final String ESCAPED_DOUBLE_QUOTE = Matcher.quoteReplacement("\"\"");
 
   public static Map<String, Object> row2Map(final Row row) {
-    final Map<String, Object> map = new HashMap<>(row.columns().size());
-    for (final Column column : row.columns()) {
-      map.put(column.name(), toJsonValue(row.getObject(column.name())));
+    final List<Column> columns = row.columns();
+    final Map<String, Object> map = new HashMap<>(columns.size());
+    for (int i = 0; i < columns.size(); i++) {
+      final String name = columns.get(i).name();
+      if (map.containsKey(name)) {
+        // Preserve the by-name semantics if there are duplicate names: the first occurrence wins
+        continue;
+      }
+      map.put(name, toJsonValue(row.getObject(i)));
     }
     return map;
   }
@@ -109,9 +115,15 @@ public class Converters {
    * But it was decided to keep v1 as-is for backward compatibility purposes.
    */
   public static Map<String, Object> row2MapV1(final Row row) {
-    final Map<String, Object> map = new HashMap<>(row.columns().size());
-    for (final Column column : row.columns()) {
-      Object value = row.getObject(column.name());
+    final List<Column> columns = row.columns();
+    final Map<String, Object> map = new HashMap<>(columns.size());
+    for (int c = 0; c < columns.size(); c++) {
+      final Column column = columns.get(c);
+      if (map.containsKey(column.name())) {
+        // Preserve the by-name semantics if there are duplicate names: the first occurrence wins
+        continue;
+      }
+      Object value = row.getObject(c);
       if (value instanceof Object[]) {
         value = Arrays.asList((Object[]) value);
       }
@@ -19,8 +19,11 @@ import io.stargate.auth.UnauthorizedException;
 import io.stargate.web.docsapi.exception.ErrorCodeRuntimeException;
 import io.stargate.web.models.ApiError;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import javax.ws.rs.NotFoundException;
+import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.Response;
 import org.apache.cassandra.stargate.exceptions.InvalidRequestException;
 import org.apache.cassandra.stargate.exceptions.OverloadedException;
@@ -114,4 +117,62 @@ public class RequestHandler {
           .build();
     }
   }
+
+  /**
+   * Asynchronous version of {@link #handle(Callable)}: resumes the given response when the stage
+   * returned by the action completes, without blocking the calling thread.
+   *
+   * <p>Failures are mapped to responses exactly like {@link #handle(Callable)} does. Stages
+   * obtained from the data store should go through {@link #wrapFailures(CompletionStage)} so that
+   * their errors are reported as {@link ExecutionException}, like a blocking {@code get()} would.
+   */
+  public static void handleAsync(
+      AsyncResponse asyncResponse, Callable<CompletionStage<Response>> action) {
+    CompletionStage<Response> stage;
+    try {
+      stage = action.call();
+    } catch (Exception e) {
+      asyncResponse.resume(handle(() -> throwing(e)));
+      return;
+    }
+    stage.whenComplete(
+        (response, error) -> {
+          if (error == null) {
+            asyncResponse.resume(response);
+            return;
+          }
+          Throwable cause =
+              (error instanceof CompletionException && error.getCause() != null)
+                  ? error.getCause()
+                  : error;
+          if (cause instanceof Exception) {
+            asyncResponse.resume(handle(() -> throwing((Exception) cause)));
+          } else {
+            logger.error("Internal error when executing request: " + cause, cause);
+            asyncResponse.resume(cause);
+          }
+        });
+  }
+
+  /**
+   * Wraps any failure of the given stage into an {@link ExecutionException}, so that {@link
+   * #handleAsync(AsyncResponse, Callable)} maps it the same way as the blocking code path.
+   */
+  public static <T> CompletionStage<T> wrapFailures(CompletionStage<T> stage) {
+    return stage.handle(
+        (result, error) -> {
+          if (error != null) {
+            Throwable cause =
+                (error instanceof CompletionException && error.getCause() != null)
+                    ? error.getCause()
+                    : error;
+            throw new CompletionException(new ExecutionException(cause));
+          }
+          return result;
+        });
+  }
+
+  private static Response throwing(Exception e) throws Exception {
+    throw e;
+  }
 }
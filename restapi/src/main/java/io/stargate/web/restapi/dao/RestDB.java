@@ -37,6 +37,8 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 import javax.ws.rs.NotFoundException;
 import org.apache.cassandra.stargate.db.ConsistencyLevel;
@@ -195,6 +197,16 @@ public class RestDB {
         action, authenticationSubject, keyspace, table, typedKeyValues, sourceAPI);
   }
 
+  public CompletionStage<ResultSet> authorizedDataReadAsync(
+      Supplier<CompletionStage<ResultSet>> action,
+      String keyspace,
+      String table,
+      List<TypedKeyValue> typedKeyValues,
+      SourceAPI sourceAPI) {
+    return authorizationService.authorizedDataReadAsync(
+        action, authenticationSubject, keyspace, table, typedKeyValues, sourceAPI);
+  }
+
   public void authorizeDataWrite(
       String keyspace,
       String table,
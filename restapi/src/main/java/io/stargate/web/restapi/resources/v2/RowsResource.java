@@ -19,13 +19,13 @@ import static io.stargate.web.docsapi.resources.RequestToHeadersMapper.getAllHea
 
 import com.codahale.metrics.annotation.Timed;
 import com.datastax.oss.driver.shaded.guava.common.base.Strings;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import io.stargate.auth.Scope;
 import io.stargate.auth.SourceAPI;
 import io.stargate.auth.TypedKeyValue;
 import io.stargate.core.util.ByteBufferUtils;
 import io.stargate.db.ImmutableParameters;
 import io.stargate.db.Parameters;
-import io.stargate.db.datastore.ResultSet;
 import io.stargate.db.query.BoundDMLQuery;
 import io.stargate.db.query.BoundQuery;
 import io.stargate.db.query.BoundSelect;
@@ -55,6 +55,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -71,6 +74,8 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.PathSegment;
@@ -104,7 +109,7 @@ public class RowsResource {
         @ApiResponse(code = 401, message = "Unauthorized", response = ApiError.class),
         @ApiResponse(code = 500, message = "Internal server error", response = ApiError.class)
       })
-  public Response getRowWithWhere(
+  public void getRowWithWhere(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -146,15 +151,19 @@ public class RowsResource {
       @ApiParam(value = "Unwrap results", defaultValue = "false") @QueryParam("raw")
           final boolean raw,
       @ApiParam(value = "Keys to sort by") @QueryParam("sort") final String sort,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           if (Strings.isNullOrEmpty(where)) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(
-                    new ApiError(
-                        "where parameter is required", Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(
+                        new ApiError(
+                            "where parameter is required",
+                            Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
 
           ByteBuffer pageState = null;
@@ -170,8 +179,7 @@ public class RowsResource {
           RestDB restDB = dbFactory.getRestDBForToken(token, getAllHeaders(request));
           final AbstractTable tableMetadata = restDB.getTable(keyspaceName, tableName);
 
-          Object response =
-              getRows(
+          return getRows(
                   fields,
                   raw,
                   sort,
@@ -179,10 +187,8 @@ public class RowsResource {
                   tableMetadata,
                   WhereParser.parseWhere(where, tableMetadata),
                   pageState,
-                  pageSize);
-          return Response.status(Response.Status.OK)
-              .entity(Converters.writeResponse(response))
-              .build();
+                  pageSize)
+              .thenApply(response -> jsonResponse(Response.Status.OK, response));
         });
   }
 
@@ -201,7 +207,7 @@ public class RowsResource {
         @ApiResponse(code = 500, message = "Internal server error", response = ApiError.class)
       })
   @Path("/{primaryKey: .*}")
-  public Response getRows(
+  public void getRows(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -230,8 +236,10 @@ public class RowsResource {
       @ApiParam(value = "Unwrap results", defaultValue = "false") @QueryParam("raw")
           final boolean raw,
       @ApiParam(value = "Keys to sort by") @QueryParam("sort") final String sort,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           ByteBuffer pageState = null;
           if (pageStateParam != null) {
@@ -250,19 +258,17 @@ public class RowsResource {
           try {
             where = buildWhereForPath(tableMetadata, path);
           } catch (IllegalArgumentException iae) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(
-                    new ApiError(
-                        "not enough partition keys provided: " + iae.getMessage(),
-                        Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(
+                        new ApiError(
+                            "not enough partition keys provided: " + iae.getMessage(),
+                            Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
 
-          Object response =
-              getRows(fields, raw, sort, restDB, tableMetadata, where, pageState, pageSize);
-          return Response.status(Response.Status.OK)
-              .entity(Converters.writeResponse(response))
-              .build();
+          return getRows(fields, raw, sort, restDB, tableMetadata, where, pageState, pageSize)
+              .thenApply(response -> jsonResponse(Response.Status.OK, response));
         });
   }
 
@@ -283,7 +289,7 @@ public class RowsResource {
         @ApiResponse(code = 500, message = "Internal Server Error", response = ApiError.class)
       })
   @Path("/rows")
-  public Response getAllRows(
+  public void getAllRows(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -304,8 +310,10 @@ public class RowsResource {
       @ApiParam(value = "Unwrap results", defaultValue = "false") @QueryParam("raw")
           final boolean raw,
       @ApiParam(value = "Keys to sort by") @QueryParam("sort") final String sort,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           ByteBuffer pageState = null;
           if (pageStateParam != null) {
@@ -320,8 +328,7 @@ public class RowsResource {
           RestDB restDB = dbFactory.getRestDBForToken(token, getAllHeaders(request));
           final AbstractTable tableMetadata = restDB.getTable(keyspaceName, tableName);
 
-          Object response =
-              getRows(
+          return getRows(
                   fields,
                   raw,
                   sort,
@@ -329,10 +336,8 @@ public class RowsResource {
                   tableMetadata,
                   Collections.emptyList(),
                   pageState,
-                  pageSize);
-          return Response.status(Response.Status.OK)
-              .entity(Converters.writeResponse(response))
-              .build();
+                  pageSize)
+              .thenApply(response -> jsonResponse(Response.Status.OK, response));
         });
   }
 
@@ -357,7 +362,7 @@ public class RowsResource {
         @ApiResponse(code = 409, message = "Conflict", response = ApiError.class),
         @ApiResponse(code = 500, message = "Internal server error", response = ApiError.class)
       })
-  public Response createRow(
+  public void createRow(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -371,8 +376,10 @@ public class RowsResource {
           @PathParam("tableName")
           final String tableName,
       @ApiParam(value = "", required = true) String payload,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           RestDB restDB = dbFactory.getRestDBForToken(token, getAllHeaders(request));
 
@@ -400,16 +407,13 @@ public class RowsResource {
               Scope.MODIFY,
               SourceAPI.REST);
 
-          restDB.execute(query, ConsistencyLevel.LOCAL_QUORUM).get();
-
           Map<String, Object> keys = new HashMap<>();
           for (Column col : table.primaryKeyColumns()) {
             keys.put(col.name(), requestBody.get(col.name()));
           }
 
-          return Response.status(Response.Status.CREATED)
-              .entity(Converters.writeResponse(keys))
-              .build();
+          return RequestHandler.wrapFailures(restDB.execute(query, ConsistencyLevel.LOCAL_QUORUM))
+              .thenApply(rs -> jsonResponse(Response.Status.CREATED, keys));
         });
   }
 
@@ -427,7 +431,7 @@ public class RowsResource {
         @ApiResponse(code = 500, message = "Internal server error", response = ApiError.class)
       })
   @Path("/{primaryKey: .*}")
-  public Response updateRows(
+  public void updateRows(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -449,8 +453,10 @@ public class RowsResource {
       @ApiParam(value = "Unwrap results", defaultValue = "false") @QueryParam("raw")
           final boolean raw,
       @ApiParam(value = "", required = true) String payload,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () ->
             modifyRow(token, keyspaceName, tableName, path, raw, payload, getAllHeaders(request)));
   }
@@ -465,7 +471,7 @@ public class RowsResource {
         @ApiResponse(code = 500, message = "Internal server error", response = ApiError.class)
       })
   @Path("/{primaryKey: .*}")
-  public Response deleteRows(
+  public void deleteRows(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -484,8 +490,10 @@ public class RowsResource {
               required = true)
           @PathParam("primaryKey")
           List<PathSegment> path,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           RestDB restDB = dbFactory.getRestDBForToken(token, getAllHeaders(request));
 
@@ -495,12 +503,13 @@ public class RowsResource {
           try {
             where = buildWhereForPath(tableMetadata, path);
           } catch (IllegalArgumentException iae) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(
-                    new ApiError(
-                        "not enough partition keys provided: " + iae.getMessage(),
-                        Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(
+                        new ApiError(
+                            "not enough partition keys provided: " + iae.getMessage(),
+                            Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
 
           BoundQuery query =
@@ -519,8 +528,8 @@ public class RowsResource {
               Scope.DELETE,
               SourceAPI.REST);
 
-          restDB.execute(query, ConsistencyLevel.LOCAL_QUORUM).get();
-          return Response.status(Response.Status.NO_CONTENT).build();
+          return RequestHandler.wrapFailures(restDB.execute(query, ConsistencyLevel.LOCAL_QUORUM))
+              .thenApply(rs -> Response.status(Response.Status.NO_CONTENT).build());
         });
   }
 
@@ -541,7 +550,7 @@ public class RowsResource {
         @ApiResponse(code = 500, message = "Internal server error", response = ApiError.class)
       })
   @Path("/{primaryKey: .*}")
-  public Response patchRows(
+  public void patchRows(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -562,13 +571,15 @@ public class RowsResource {
           List<PathSegment> path,
       @QueryParam("raw") final boolean raw,
       @ApiParam(value = "document", required = true) String payload,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () ->
             modifyRow(token, keyspaceName, tableName, path, raw, payload, getAllHeaders(request)));
   }
 
-  private Response modifyRow(
+  private CompletionStage<Response> modifyRow(
       String token,
       String keyspaceName,
       String tableName,
@@ -585,12 +596,13 @@ public class RowsResource {
     try {
       where = buildWhereForPath(tableMetadata, path);
     } catch (IllegalArgumentException iae) {
-      return Response.status(Response.Status.BAD_REQUEST)
-          .entity(
-              new ApiError(
-                  "not enough partition keys provided: " + iae.getMessage(),
-                  Response.Status.BAD_REQUEST.getStatusCode()))
-          .build();
+      return CompletableFuture.completedFuture(
+          Response.status(Response.Status.BAD_REQUEST)
+              .entity(
+                  new ApiError(
+                      "not enough partition keys provided: " + iae.getMessage(),
+                      Response.Status.BAD_REQUEST.getStatusCode()))
+              .build());
     }
 
     Map<String, Object> requestBody = ResourceUtils.readJson(payload);
@@ -615,12 +627,12 @@ public class RowsResource {
         Scope.MODIFY,
         SourceAPI.REST);
 
-    restDB.execute(query, ConsistencyLevel.LOCAL_QUORUM).get();
     Object response = raw ? requestBody : new RESTResponseWrapper(requestBody);
-    return Response.status(Response.Status.OK).entity(Converters.writeResponse(response)).build();
+    return RequestHandler.wrapFailures(restDB.execute(query, ConsistencyLevel.LOCAL_QUORUM))
+        .thenApply(rs -> jsonResponse(Response.Status.OK, response));
   }
 
-  private Object getRows(
+  private CompletionStage<Object> getRows(
       String fields,
       boolean raw,
       String sort,
@@ -628,8 +640,7 @@ public class RowsResource {
       AbstractTable tableMetadata,
       List<BuiltCondition> where,
       ByteBuffer pageState,
-      int pageSize)
-      throws Exception {
+      int pageSize) {
     List<Column> columns;
     if (Strings.isNullOrEmpty(fields)) {
       columns = tableMetadata.columns();
@@ -663,19 +674,33 @@ public class RowsResource {
           return parametersBuilder.consistencyLevel(ConsistencyLevel.LOCAL_QUORUM).build();
         };
 
-    final ResultSet r =
-        restDB.authorizedDataRead(
-            () -> restDB.execute(query, parametersModifier).get(),
+    return restDB
+        .authorizedDataReadAsync(
+            () -> RequestHandler.wrapFailures(restDB.execute(query, parametersModifier)),
             tableMetadata.keyspace(),
             tableMetadata.name(),
             TypedKeyValue.forSelect((BoundSelect) query),
-            SourceAPI.REST);
+            SourceAPI.REST)
+        .thenApply(
+            r -> {
+              List<Map<String, Object>> rows =
+                  r.currentPageRows().stream()
+                      .map(Converters::row2Map)
+                      .collect(Collectors.toList());
+              String newPagingState =
+                  r.getPagingState() != null
+                      ? ByteBufferUtils.toBase64ForUrl(r.getPagingState())
+                      : null;
+              return raw ? rows : new GetResponseWrapper(rows.size(), newPagingState, rows);
+            });
+  }
 
-    List<Map<String, Object>> rows =
-        r.currentPageRows().stream().map(Converters::row2Map).collect(Collectors.toList());
-    String newPagingState =
-        r.getPagingState() != null ? ByteBufferUtils.toBase64ForUrl(r.getPagingState()) : null;
-    return raw ? rows : new GetResponseWrapper(rows.size(), newPagingState, rows);
+  private static Response jsonResponse(Response.Status status, Object entity) {
+    try {
+      return Response.status(status).entity(Converters.writeResponse(entity)).build();
+    } catch (JsonProcessingException e) {
+      throw new CompletionException(e);
+    }
   }
 
   private List<ColumnOrder> buildSortOrder(String sort) {
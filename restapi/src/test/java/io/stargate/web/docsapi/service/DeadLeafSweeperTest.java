@@ -0,0 +1,214 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.web.docsapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
+import io.stargate.core.util.TimeSource;
+import io.stargate.db.datastore.AbstractDataStoreTest;
+import io.stargate.db.datastore.ResultSet;
+import io.stargate.db.schema.Schema;
+import io.stargate.db.schema.Table;
+import io.stargate.web.docsapi.DocsApiTestSchemaProvider;
+import io.stargate.web.docsapi.dao.DocumentDB;
+import io.stargate.web.docsapi.service.json.DeadLeafCollector;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLeafSweeperTest extends AbstractDataStoreTest {
+
+  private static final int MAX_DEPTH = 4;
+  private static final DocsApiTestSchemaProvider SCHEMA_PROVIDER =
+      new DocsApiTestSchemaProvider(MAX_DEPTH);
+  private static final Table TABLE = SCHEMA_PROVIDER.getTable();
+  private static final String KEYSPACE_NAME = SCHEMA_PROVIDER.getKeyspace().name();
+  private static final String COLLECTION_NAME = SCHEMA_PROVIDER.getTable().name();
+  private static final String FULL_SCAN_CQL =
+      "SELECT key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value, WRITETIME(leaf) FROM %s";
+
+  @Mock DocumentDB documentDB;
+
+  @Mock JsonConverter jsonConverter;
+
+  @Mock DocsApiConfiguration configuration;
+
+  @Mock TimeSource timeSource;
+
+  MetricRegistry metricRegistry = new MetricRegistry();
+
+  DeadLeafSweeper sweeper;
+
+  @Override
+  protected Schema schema() {
+    return SCHEMA_PROVIDER.getSchema();
+  }
+
+  @BeforeEach
+  public void init() {
+    lenient().when(configuration.getMaxDepth()).thenReturn(MAX_DEPTH);
+    lenient().when(configuration.getMaxStoragePageSize()).thenReturn(100);
+    lenient().when(configuration.getDeadLeafSweeperMaxRowsPerSecond()).thenReturn(1000);
+    lenient().when(configuration.getDeadLeafSweeperConcurrency()).thenReturn(2);
+    lenient().when(timeSource.currentTimeMicros()).thenReturn(42L);
+    when(documentDB.getKeyspaces()).thenReturn(SCHEMA_PROVIDER.getSchema().keyspaces());
+    when(documentDB.isDocumentsTable(KEYSPACE_NAME, COLLECTION_NAME)).thenReturn(true);
+    lenient()
+        .when(documentDB.getQueryExecutor())
+        .thenReturn(new QueryExecutor(datastore(), configuration));
+
+    sweeper =
+        new DeadLeafSweeper(documentDB, jsonConverter, configuration, timeSource, metricRegistry);
+  }
+
+  @AfterEach
+  public void stop() {
+    sweeper.stop();
+  }
+
+  @Test
+  public void deletesDeadLeaves() throws Exception {
+    withQuery(TABLE, FULL_SCAN_CQL)
+        .withPageSize(100)
+        .returning(
+            Arrays.asList(
+                ImmutableMap.of("key", "1", "text_value", "v1", "p0", "a", "p1", ""),
+                ImmutableMap.of("key", "1", "text_value", "v2", "p0", "a", "p1", "b"),
+                ImmutableMap.of("key", "2", "text_value", "v3", "p0", "a")));
+
+    // only the first document has dead leaves
+    doAnswer(
+            invocation -> {
+              DeadLeafCollector collector = invocation.getArgument(1);
+              if (invocation.getArgument(0, List.class).size() > 1) {
+                collector.addAll("$.a");
+              }
+              return null;
+            })
+        .when(jsonConverter)
+        .convertToJsonDoc(any(), any(), eq(false), anyBoolean());
+    when(documentDB.deleteDeadLeaves(
+            eq(KEYSPACE_NAME), eq(COLLECTION_NAME), eq("1"), eq(42L), anyMap(), any()))
+        .thenReturn(CompletableFuture.completedFuture(ResultSet.empty()));
+
+    sweeper.sweep().test().await().assertComplete();
+
+    verify(documentDB)
+        .deleteDeadLeaves(
+            eq(KEYSPACE_NAME), eq(COLLECTION_NAME), eq("1"), eq(42L), anyMap(), any());
+    assertThat(counter("documents-scanned")).isEqualTo(2);
+    assertThat(counter("rows-scanned")).isEqualTo(3);
+    assertThat(counter("documents-cleaned")).isEqualTo(1);
+    assertThat(counter("collections-swept")).isEqualTo(1);
+    assertThat(counter("errors")).isZero();
+  }
+
+  @Test
+  public void deleteFailure() throws Exception {
+    withQuery(TABLE, FULL_SCAN_CQL)
+        .withPageSize(100)
+        .returning(Arrays.asList(ImmutableMap.of("key", "1", "text_value", "v1", "p0", "a")));
+
+    doAnswer(
+            invocation -> {
+              DeadLeafCollector collector = invocation.getArgument(1);
+              collector.addAll("$.a");
+              return null;
+            })
+        .when(jsonConverter)
+        .convertToJsonDoc(any(), any(), eq(false), anyBoolean());
+    CompletableFuture<ResultSet> failure = new CompletableFuture<>();
+    failure.completeExceptionally(new IllegalStateException("Ignore me"));
+    when(documentDB.deleteDeadLeaves(any(), any(), any(), anyLong(), anyMap(), any()))
+        .thenReturn(failure);
+
+    // failures are not propagated, so that other collections can still be swept
+    sweeper.sweep().test().await().assertComplete();
+
+    assertThat(counter("documents-scanned")).isEqualTo(1);
+    assertThat(counter("documents-cleaned")).isZero();
+    assertThat(counter("collections-swept")).isZero();
+    assertThat(counter("errors")).isEqualTo(1);
+  }
+
+  @Test
+  public void scheduledPassThrottled() {
+    // one row per second, so that the documents after the first one have to wait for the limiter
+    when(configuration.getDeadLeafSweeperMaxRowsPerSecond()).thenReturn(1);
+    sweeper.stop();
+    sweeper =
+        new DeadLeafSweeper(documentDB, jsonConverter, configuration, timeSource, metricRegistry);
+
+    withQuery(TABLE, FULL_SCAN_CQL)
+        .withPageSize(100)
+        .returning(
+            Arrays.asList(
+                ImmutableMap.of("key", "1", "text_value", "v1", "p0", "a"),
+                ImmutableMap.of("key", "2", "text_value", "v2", "p0", "a"),
+                ImmutableMap.of("key", "3", "text_value", "v3", "p0", "a")));
+
+    doAnswer(
+            invocation -> {
+              DeadLeafCollector collector = invocation.getArgument(1);
+              collector.addAll("$.a");
+              return null;
+            })
+        .when(jsonConverter)
+        .convertToJsonDoc(any(), any(), eq(false), anyBoolean());
+    when(documentDB.deleteDeadLeaves(
+            eq(KEYSPACE_NAME), eq(COLLECTION_NAME), any(), eq(42L), anyMap(), any()))
+        .thenReturn(CompletableFuture.completedFuture(ResultSet.empty()));
+
+    // runs the pass on the sweeper executor, like start() does
+    sweeper.schedule(0, 1, TimeUnit.HOURS);
+
+    Awaitility.await()
+        .atMost(Duration.ofSeconds(30))
+        .until(() -> counter("collections-swept") == 1);
+
+    verify(documentDB, times(3))
+        .deleteDeadLeaves(eq(KEYSPACE_NAME), eq(COLLECTION_NAME), any(), eq(42L), anyMap(), any());
+    assertThat(counter("documents-scanned")).isEqualTo(3);
+    assertThat(counter("documents-cleaned")).isEqualTo(3);
+    assertThat(counter("errors")).isZero();
+  }
+
+  private long counter(String name) {
+    return metricRegistry.counter("docsapi.dead-leaf-sweeper." + name).getCount();
+  }
+}
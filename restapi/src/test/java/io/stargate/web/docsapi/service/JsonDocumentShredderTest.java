@@ -21,7 +21,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.Mockito.lenient;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -29,6 +31,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.stargate.web.docsapi.exception.ErrorCode;
 import io.stargate.web.docsapi.exception.ErrorCodeRuntimeException;
 import io.stargate.web.docsapi.service.query.DocsApiConstants;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -401,4 +404,134 @@ class JsonDocumentShredderTest {
           .hasFieldOrPropertyWithValue("errorCode", ErrorCode.DOCS_API_GENERAL_DEPTH_EXCEEDED);
     }
   }
+
+  @Nested
+  class ShredPayload {
+
+    @Test
+    public void sameAsTree() throws JsonProcessingException {
+      String payload =
+          "{\"a\": {\"b\": [1, \"x\"]}, \"c\": true, \"d\": null, \"e\": {}, \"f\": [], \"g\": 2.5}";
+
+      List<JsonShreddedRow> result = shredder.shred(payload, Collections.emptyList());
+
+      List<JsonShreddedRow> expected =
+          shredder.shred(objectMapper.readTree(payload), Collections.emptyList());
+      assertThat(result).hasSize(7).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void withPrependPath() throws JsonProcessingException {
+      String payload = "[{\"field\": \"text\"}]";
+
+      List<JsonShreddedRow> result = shredder.shred(payload, Collections.singletonList("first"));
+
+      assertThat(result)
+          .singleElement()
+          .satisfies(
+              row -> {
+                assertThat(row.getPath()).containsExactly("first", "[000000]", "field");
+                assertThat(row.getStringValue()).isEqualTo("text");
+              });
+    }
+
+    @Test
+    public void duplicateFieldLastWins() throws JsonProcessingException {
+      String payload = "{\"a\": {\"b\": 1, \"c\": 2}, \"d\": 3, \"a\": [true]}";
+
+      List<JsonShreddedRow> result = shredder.shred(payload, Collections.emptyList());
+
+      List<JsonShreddedRow> expected =
+          shredder.shred(objectMapper.readTree(payload), Collections.emptyList());
+      assertThat(result).hasSize(2).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    public void primitiveRoot() {
+      Throwable result = catchThrowable(() -> shredder.shred("22", Collections.emptyList()));
+
+      assertThat(result)
+          .isInstanceOf(ErrorCodeRuntimeException.class)
+          .hasFieldOrPropertyWithValue("errorCode", ErrorCode.DOCS_API_PUT_PAYLOAD_INVALID);
+    }
+
+    @Test
+    public void emptyObjectRoot() {
+      Throwable result = catchThrowable(() -> shredder.shred("{}", Collections.emptyList()));
+
+      assertThat(result)
+          .isInstanceOf(ErrorCodeRuntimeException.class)
+          .hasFieldOrPropertyWithValue("errorCode", ErrorCode.DOCS_API_PUT_PAYLOAD_INVALID);
+    }
+
+    @Test
+    public void emptyArrayRoot() {
+      Throwable result = catchThrowable(() -> shredder.shred("[]", Collections.emptyList()));
+
+      assertThat(result)
+          .isInstanceOf(ErrorCodeRuntimeException.class)
+          .hasFieldOrPropertyWithValue("errorCode", ErrorCode.DOCS_API_PUT_PAYLOAD_INVALID);
+    }
+
+    @Test
+    public void withArrayOverflow() {
+      // malformed tail is never reached
+      String payload = "{\"field\": [1, 2, 3, ";
+
+      Throwable result = catchThrowable(() -> shredder.shred(payload, Collections.emptyList()));
+
+      assertThat(result)
+          .isInstanceOf(ErrorCodeRuntimeException.class)
+          .hasFieldOrPropertyWithValue(
+              "errorCode", ErrorCode.DOCS_API_GENERAL_ARRAY_LENGTH_EXCEEDED);
+    }
+
+    @Test
+    public void maxDepthExceeded() {
+      // malformed tail is never reached
+      String payload = "{\"one\": {\"two\": {\"three\": {\"four\": 4, ";
+
+      Throwable result = catchThrowable(() -> shredder.shred(payload, Collections.emptyList()));
+
+      assertThat(result)
+          .isInstanceOf(ErrorCodeRuntimeException.class)
+          .hasFieldOrPropertyWithValue("errorCode", ErrorCode.DOCS_API_GENERAL_DEPTH_EXCEEDED);
+    }
+
+    @Test
+    public void malformed() {
+      Throwable result =
+          catchThrowable(() -> shredder.shred("{\"field\": tru}", Collections.emptyList()));
+
+      assertThat(result)
+          .isInstanceOf(ErrorCodeRuntimeException.class)
+          .hasFieldOrPropertyWithValue("errorCode", ErrorCode.DOCS_API_INVALID_JSON_VALUE);
+    }
+
+    @Test
+    public void parserLeftAtValueEnd() throws IOException {
+      String payload = "[{\"field\": [1]}, {\"other\": {\"inner\": false}}]";
+
+      try (JsonParser parser = objectMapper.createParser(payload)) {
+        assertThat(parser.nextToken()).isEqualTo(JsonToken.START_ARRAY);
+
+        parser.nextToken();
+        List<JsonShreddedRow> first = shredder.shred(parser, Collections.emptyList());
+        parser.nextToken();
+        List<JsonShreddedRow> second = shredder.shred(parser, Collections.emptyList());
+
+        assertThat(parser.nextToken()).isEqualTo(JsonToken.END_ARRAY);
+        assertThat(first)
+            .singleElement()
+            .satisfies(row -> assertThat(row.getPath()).containsExactly("field", "[000000]"));
+        assertThat(second)
+            .singleElement()
+            .satisfies(
+                row -> {
+                  assertThat(row.getPath()).containsExactly("other", "inner");
+                  assertThat(row.getBooleanValue()).isFalse();
+                });
+      }
+    }
+  }
 }
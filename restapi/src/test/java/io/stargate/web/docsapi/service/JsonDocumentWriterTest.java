@@ -0,0 +1,268 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.web.docsapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.stargate.db.datastore.ArrayListBackedRow;
+import io.stargate.db.datastore.Row;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Column.Type;
+import io.stargate.web.docsapi.service.query.DocsApiConstants;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class JsonDocumentWriterTest {
+
+  private static final int MAX_DEPTH = 4;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final DocsApiConfiguration config =
+      new DocsApiConfiguration() {
+        @Override
+        public int getMaxDepth() {
+          return MAX_DEPTH;
+        }
+      };
+
+  private JsonConverter jsonConverter;
+
+  private JsonDocumentWriter writer;
+
+  @BeforeEach
+  public void init() {
+    jsonConverter = new JsonConverter(objectMapper, config);
+    writer = new JsonDocumentWriter(jsonConverter, config);
+  }
+
+  @Nested
+  class Document {
+
+    @Test
+    public void sameAsConverter() throws Exception {
+      List<Row> rows = JsonConverterTest.makeInitialRowData(false);
+
+      Optional<JsonSerializable> result = writer.document(rows, Collections.emptyList(), false);
+
+      assertThat(result).isPresent();
+      assertThat(objectMapper.writeValueAsString(result.get()))
+          .isEqualTo(jsonConverter.convertToJsonDoc(rows, false, false).toString());
+    }
+
+    @Test
+    public void sameAsConverterNumericBooleans() throws Exception {
+      List<Row> rows = JsonConverterTest.makeInitialRowData(true);
+
+      Optional<JsonSerializable> result = writer.document(rows, Collections.emptyList(), true);
+
+      assertThat(result).isPresent();
+      assertThat(objectMapper.writeValueAsString(result.get()))
+          .isEqualTo(jsonConverter.convertToJsonDoc(rows, false, true).toString());
+    }
+
+    @Test
+    public void arraysAndMarkers() throws Exception {
+      List<Row> rows =
+          Arrays.asList(
+              row(1d, "a", "[000000]"),
+              row("x", "a", "[000002]", "b"),
+              row(DocsApiConstants.EMPTY_OBJECT_MARKER, "c"),
+              row(DocsApiConstants.EMPTY_ARRAY_MARKER, "d"),
+              row(null, "e"),
+              row(2.5d, "f", "[000000]", "[000001]"));
+
+      Optional<JsonSerializable> result = writer.document(rows, Collections.emptyList(), false);
+
+      assertThat(result).isPresent();
+      assertThat(objectMapper.writeValueAsString(result.get()))
+          .isEqualTo(
+              "{\"a\":[1,null,{\"b\":\"x\"}],\"c\":{},\"d\":[],\"e\":null,\"f\":[[null,2.5]]}")
+          .isEqualTo(jsonConverter.convertToJsonDoc(rows, false, false).toString());
+    }
+
+    @Test
+    public void rootArray() throws Exception {
+      List<Row> rows = Arrays.asList(row(1d, "[000000]"), row(true, "[000001]", "x"));
+
+      Optional<JsonSerializable> result = writer.document(rows, Collections.emptyList(), false);
+
+      assertThat(result).isPresent();
+      assertThat(objectMapper.writeValueAsString(result.get())).isEqualTo("[1,{\"x\":true}]");
+    }
+
+    @Test
+    public void noRows() throws Exception {
+      Optional<JsonSerializable> result =
+          writer.document(Collections.emptyList(), Collections.emptyList(), false);
+
+      assertThat(result).isPresent();
+      assertThat(objectMapper.writeValueAsString(result.get())).isEqualTo("{}");
+    }
+
+    @Test
+    public void subDocument() throws Exception {
+      List<Row> rows = Arrays.asList(row(1d, "a", "b"), row("x", "a", "c", "[000000]"));
+
+      Optional<JsonSerializable> result =
+          writer.document(rows, Collections.singletonList("a"), false);
+
+      assertThat(result).isPresent();
+      assertThat(objectMapper.writeValueAsString(result.get()))
+          .isEqualTo("{\"b\":1,\"c\":[\"x\"]}");
+    }
+
+    @Test
+    public void subDocumentValue() throws Exception {
+      List<Row> rows = Collections.singletonList(row("x", "a", "b"));
+
+      Optional<JsonSerializable> result = writer.document(rows, Arrays.asList("a", "b"), false);
+
+      assertThat(result).isPresent();
+      assertThat(objectMapper.writeValueAsString(result.get())).isEqualTo("\"x\"");
+    }
+
+    @Test
+    public void valueAndContainerAtSamePath() {
+      List<Row> rows = Arrays.asList(row(1d, "a"), row(2d, "a", "b"));
+
+      Optional<JsonSerializable> result = writer.document(rows, Collections.emptyList(), false);
+
+      assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void fieldsAndElementsAtSamePath() {
+      List<Row> rows = Arrays.asList(row(1d, "a", "[000000]"), row(2d, "a", "b"));
+
+      Optional<JsonSerializable> result = writer.document(rows, Collections.emptyList(), false);
+
+      assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void notOrdered() {
+      List<Row> rows = Arrays.asList(row(1d, "b"), row(2d, "a"));
+
+      Optional<JsonSerializable> result = writer.document(rows, Collections.emptyList(), false);
+
+      assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void notOnSubDocumentPath() {
+      List<Row> rows = Arrays.asList(row(1d, "a", "b"), row(2d, "c", "d"));
+
+      Optional<JsonSerializable> result =
+          writer.document(rows, Collections.singletonList("a"), false);
+
+      assertThat(result).isEmpty();
+    }
+  }
+
+  @Nested
+  class Documents {
+
+    @Test
+    public void withConverterFallback() throws Exception {
+      List<Row> conflicting = Arrays.asList(row(1d, "a"), row(2d, "a", "b"));
+      RawDocument first = new RawDocument("1", Collections.singletonList("1"), null, conflicting);
+      RawDocument second =
+          new RawDocument(
+              "2",
+              Collections.singletonList("2"),
+              null,
+              Arrays.asList(row("x", "a"), row("y", "b")));
+
+      JsonSerializable result =
+          writer.documents(Arrays.asList(first, second), Collections.emptyList(), false);
+
+      assertThat(objectMapper.writeValueAsString(result))
+          .isEqualTo(
+              String.format(
+                  "{\"1\":%s,\"2\":{\"a\":\"x\",\"b\":\"y\"}}",
+                  jsonConverter.convertToJsonDoc(conflicting, false, false)));
+    }
+
+    @Test
+    public void withFields() throws Exception {
+      RawDocument doc =
+          new RawDocument(
+              "1",
+              Collections.singletonList("1"),
+              null,
+              Arrays.asList(row("x", "a"), row("y", "b")));
+
+      JsonSerializable result =
+          writer.documents(
+              Collections.singletonList(doc),
+              Collections.singletonList(Collections.singletonList("b")),
+              false);
+
+      assertThat(objectMapper.writeValueAsString(result)).isEqualTo("{\"1\":{\"b\":\"y\"}}");
+    }
+  }
+
+  private Row row(Object value, String... path) {
+    List<Column> columns = new ArrayList<>();
+    columns.add(Column.create(DocsApiConstants.KEY_COLUMN_NAME, Type.Text));
+    for (int i = 0; i < MAX_DEPTH; i++) {
+      columns.add(Column.create(DocsApiConstants.P_COLUMN_NAME.apply(i), Type.Text));
+    }
+    columns.add(Column.create(DocsApiConstants.LEAF_COLUMN_NAME, Type.Text));
+    columns.add(Column.create(DocsApiConstants.STRING_VALUE_COLUMN_NAME, Type.Text));
+    columns.add(Column.create(DocsApiConstants.DOUBLE_VALUE_COLUMN_NAME, Type.Double));
+    columns.add(Column.create(DocsApiConstants.BOOLEAN_VALUE_COLUMN_NAME, Type.Boolean));
+    columns.add(Column.create("writetime(leaf)", Type.Bigint));
+
+    Map<String, Object> data = new HashMap<>();
+    data.put(DocsApiConstants.KEY_COLUMN_NAME, "1");
+    for (int i = 0; i < MAX_DEPTH; i++) {
+      data.put(DocsApiConstants.P_COLUMN_NAME.apply(i), i < path.length ? path[i] : "");
+    }
+    data.put(DocsApiConstants.LEAF_COLUMN_NAME, path[path.length - 1]);
+    if (value instanceof String) {
+      data.put(DocsApiConstants.STRING_VALUE_COLUMN_NAME, value);
+    } else if (value instanceof Double) {
+      data.put(DocsApiConstants.DOUBLE_VALUE_COLUMN_NAME, value);
+    } else if (value instanceof Boolean) {
+      data.put(DocsApiConstants.BOOLEAN_VALUE_COLUMN_NAME, value);
+    }
+    data.put("writetime(leaf)", 0L);
+
+    ProtocolVersion version = ProtocolVersion.DEFAULT;
+    List<ByteBuffer> values = new ArrayList<>(columns.size());
+    for (Column column : columns) {
+      Object v = data.get(column.name());
+      values.add(v == null ? null : column.type().codec().encode(v, version));
+    }
+    return new ArrayListBackedRow(columns, values, version);
+  }
+}
@@ -1,12 +1,18 @@
 package io.stargate.web.docsapi.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import io.stargate.db.schema.Table;
 import io.stargate.web.docsapi.dao.DocumentDB;
 import org.assertj.core.api.ThrowableAssert;
 import org.junit.jupiter.api.BeforeEach;
@@ -72,4 +78,69 @@ public class JsonSchemaHandlerTest {
         .hasMessage(
             "Invalid JSON: [object has missing required properties ([\"id\",\"name\",\"price\"])]");
   }
+
+  @Test
+  void shouldCacheSchemaPerCollection() throws ProcessingException {
+    Table table = mockTable(wrap(schema));
+    when(dbMock.getTable("ns", "coll")).thenReturn(table);
+
+    JsonNode cached = schemaHandler.getCachedJsonSchema(dbMock, "ns", "coll");
+    assertThat(cached).isEqualTo(schema);
+    assertThat(schemaHandler.getCachedJsonSchema(dbMock, "ns", "coll")).isSameAs(cached);
+    verify(table, times(1)).comment();
+
+    // Validation goes through the compiled schema
+    ThrowableAssert.ThrowingCallable action =
+        () -> schemaHandler.validate(cached, "{\"id\":1,\"price\":1}");
+    assertThatThrownBy(action)
+        .hasMessage("Invalid JSON: [object has missing required properties ([\"name\"])]");
+  }
+
+  @Test
+  void shouldReuseSchemaIfCommentDidNotChange() {
+    Table table = mockTable(wrap(schema));
+    when(dbMock.getTable("ns", "coll")).thenReturn(table);
+    JsonNode cached = schemaHandler.getCachedJsonSchema(dbMock, "ns", "coll");
+
+    // e.g. the table was altered, but its comment is the same
+    Table alteredTable = mockTable(wrap(schema));
+    when(dbMock.getTable("ns", "coll")).thenReturn(alteredTable);
+    assertThat(schemaHandler.getCachedJsonSchema(dbMock, "ns", "coll")).isSameAs(cached);
+  }
+
+  @Test
+  void shouldReloadSchemaIfCommentChanged() {
+    Table table = mockTable(wrap(schema));
+    when(dbMock.getTable("ns", "coll")).thenReturn(table);
+    assertThat(schemaHandler.getCachedJsonSchema(dbMock, "ns", "coll")).isNotNull();
+
+    Table alteredTable = mockTable("");
+    when(dbMock.getTable("ns", "coll")).thenReturn(alteredTable);
+    assertThat(schemaHandler.getCachedJsonSchema(dbMock, "ns", "coll")).isNull();
+  }
+
+  @Test
+  void shouldCacheSchemasIndependentlyPerCollection() {
+    Table table1 = mockTable(wrap(schema));
+    Table table2 = mockTable("");
+    when(dbMock.getTable("ns", "coll1")).thenReturn(table1);
+    when(dbMock.getTable("ns", "coll2")).thenReturn(table2);
+
+    assertThat(schemaHandler.getCachedJsonSchema(dbMock, "ns", "coll1")).isEqualTo(schema);
+    assertThat(schemaHandler.getCachedJsonSchema(dbMock, "ns", "coll2")).isNull();
+    assertThat(schemaHandler.getCachedJsonSchema(dbMock, "ns", "coll1")).isEqualTo(schema);
+
+    verify(table1, times(1)).comment();
+    verify(table2, times(1)).comment();
+  }
+
+  private static Table mockTable(String comment) {
+    Table table = mock(Table.class);
+    when(table.comment()).thenReturn(comment);
+    return table;
+  }
+
+  private static String wrap(JsonNode schema) {
+    return mapper.createObjectNode().set("schema", schema).toString();
+  }
 }
@@ -32,14 +32,15 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.bpodgursky.jbool_expressions.Literal;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -48,6 +49,8 @@ import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.subjects.SingleSubject;
 import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.AuthorizationService;
 import io.stargate.auth.Scope;
@@ -78,6 +81,7 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import org.apache.commons.lang3.RandomStringUtils;
@@ -94,6 +98,7 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 
 @ExtendWith(MockitoExtension.class)
 class ReactiveDocumentServiceTest {
@@ -112,6 +117,8 @@ class ReactiveDocumentServiceTest {
 
   @Mock JsonConverter jsonConverter;
 
+  @Mock JsonDocumentWriter jsonDocumentWriter;
+
   @Mock JsonDocumentShredder jsonDocumentShredder;
 
   @Mock JsonSchemaHandler jsonSchemaHandler;
@@ -150,6 +157,7 @@ class ReactiveDocumentServiceTest {
             searchService,
             writeService,
             jsonConverter,
+            jsonDocumentWriter,
             jsonSchemaHandler,
             jsonDocumentShredder,
             objectMapper,
@@ -190,8 +198,7 @@ class ReactiveDocumentServiceTest {
       String payload = "{}";
 
       when(documentDB.treatBooleansAsNumeric()).thenReturn(true);
-      when(jsonDocumentShredder.shred(objectMapper.readTree(payload), Collections.emptyList()))
-          .thenReturn(rows);
+      when(jsonDocumentShredder.shred(payload, Collections.emptyList())).thenReturn(rows);
       when(writeService.writeDocument(
               eq(dataStore),
               eq(namespace),
@@ -238,8 +245,7 @@ class ReactiveDocumentServiceTest {
       String payload = "{}";
 
       when(documentDB.treatBooleansAsNumeric()).thenReturn(true);
-      when(jsonDocumentShredder.shred(objectMapper.readTree(payload), Collections.emptyList()))
-          .thenReturn(rows);
+      when(jsonDocumentShredder.shred(payload, Collections.emptyList())).thenReturn(rows);
       when(writeService.writeDocument(
               eq(dataStore),
               eq(namespace),
@@ -336,6 +342,9 @@ class ReactiveDocumentServiceTest {
       ExecutionContext context = ExecutionContext.create(true);
       String payload = "{\"key\":}";
 
+      when(jsonDocumentShredder.shred(payload, Collections.emptyList()))
+          .thenThrow(new ErrorCodeRuntimeException(ErrorCode.DOCS_API_INVALID_JSON_VALUE));
+
       Single<DocumentResponseWrapper<Void>> result =
           reactiveDocumentService.writeDocument(
               documentDB, namespace, collection, payload, null, context);
@@ -354,6 +363,7 @@ class ReactiveDocumentServiceTest {
 
       verify(authService)
           .authorizeDataWrite(authSubject, namespace, collection, Scope.MODIFY, SourceAPI.REST);
+      verify(jsonSchemaHandler).getCachedJsonSchema(documentDB, namespace, collection);
       verifyNoMoreInteractions(writeService, authService, searchService, jsonSchemaHandler);
     }
 
@@ -419,6 +429,15 @@ class ReactiveDocumentServiceTest {
 
     @Mock List<JsonShreddedRow> rows2;
 
+    // consumes the document the parser is positioned at, as the real shredder would
+    private Answer<List<JsonShreddedRow>> skipValue(List<JsonShreddedRow> rows) {
+      return invocation -> {
+        JsonParser parser = invocation.getArgument(0);
+        parser.skipChildren();
+        return rows;
+      };
+    }
+
     @Test
     public void happyPath() throws Exception {
       String namespace = RandomStringUtils.randomAlphanumeric(16);
@@ -429,10 +448,9 @@ class ReactiveDocumentServiceTest {
       String payload = String.format("[%s,%s]", doc1Payload, doc2Payload);
 
       when(documentDB.treatBooleansAsNumeric()).thenReturn(true);
-      when(jsonDocumentShredder.shred(objectMapper.readTree(doc1Payload), Collections.emptyList()))
-          .thenReturn(rows1);
-      when(jsonDocumentShredder.shred(objectMapper.readTree(doc2Payload), Collections.emptyList()))
-          .thenReturn(rows2);
+      when(jsonDocumentShredder.shred(any(JsonParser.class), eq(Collections.emptyList())))
+          .then(skipValue(rows1))
+          .then(skipValue(rows2));
       when(writeService.writeDocument(
               eq(dataStore),
               eq(namespace),
@@ -471,7 +489,7 @@ class ReactiveDocumentServiceTest {
               dataStore, namespace, collection, documentId2.getValue(), rows2, null, true, context);
       verify(authService)
           .authorizeDataWrite(authSubject, namespace, collection, Scope.MODIFY, SourceAPI.REST);
-      verify(jsonSchemaHandler, times(2)).getCachedJsonSchema(documentDB, namespace, collection);
+      verify(jsonSchemaHandler).getCachedJsonSchema(documentDB, namespace, collection);
       verifyNoMoreInteractions(writeService, authService, searchService, jsonSchemaHandler);
     }
 
@@ -485,10 +503,9 @@ class ReactiveDocumentServiceTest {
       String payload = String.format("[%s,%s]", doc1Payload, doc2Payload);
 
       when(documentDB.treatBooleansAsNumeric()).thenReturn(true);
-      when(jsonDocumentShredder.shred(objectMapper.readTree(doc1Payload), Collections.emptyList()))
-          .thenReturn(rows1);
-      when(jsonDocumentShredder.shred(objectMapper.readTree(doc2Payload), Collections.emptyList()))
-          .thenReturn(rows2);
+      when(jsonDocumentShredder.shred(any(JsonParser.class), eq(Collections.emptyList())))
+          .then(skipValue(rows1))
+          .then(skipValue(rows2));
       when(writeService.writeDocument(
               eq(dataStore),
               eq(namespace),
@@ -527,7 +544,7 @@ class ReactiveDocumentServiceTest {
               dataStore, namespace, collection, documentId2.getValue(), rows2, 100, true, context);
       verify(authService)
           .authorizeDataWrite(authSubject, namespace, collection, Scope.MODIFY, SourceAPI.REST);
-      verify(jsonSchemaHandler, times(2)).getCachedJsonSchema(documentDB, namespace, collection);
+      verify(jsonSchemaHandler).getCachedJsonSchema(documentDB, namespace, collection);
       verifyNoMoreInteractions(writeService, authService, searchService, jsonSchemaHandler);
     }
 
@@ -579,7 +596,63 @@ class ReactiveDocumentServiceTest {
           .authorizeDataWrite(authSubject, namespace, collection, Scope.MODIFY, SourceAPI.REST);
       verify(authService)
           .authorizeDataWrite(authSubject, namespace, collection, Scope.DELETE, SourceAPI.REST);
-      verify(jsonSchemaHandler, times(2)).getCachedJsonSchema(documentDB, namespace, collection);
+      verify(jsonSchemaHandler).getCachedJsonSchema(documentDB, namespace, collection);
+      verifyNoMoreInteractions(writeService, authService, searchService, jsonSchemaHandler);
+    }
+
+    @Test
+    public void boundedConcurrency() throws Exception {
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+      String doc1Payload = "{\"id\": \"1\"}";
+      String doc2Payload = "{\"id\": \"2\"}";
+      String payload = String.format("[%s,%s]", doc1Payload, doc2Payload);
+      SingleSubject<ResultSet> firstWrite = SingleSubject.create();
+
+      when(config.getBatchWriteConcurrency()).thenReturn(1);
+      when(documentDB.treatBooleansAsNumeric()).thenReturn(true);
+      when(jsonDocumentShredder.shred(objectMapper.readTree(doc1Payload), Collections.emptyList()))
+          .thenReturn(rows1);
+      when(jsonDocumentShredder.shred(objectMapper.readTree(doc2Payload), Collections.emptyList()))
+          .thenReturn(rows2);
+      when(writeService.updateDocument(
+              dataStore, namespace, collection, "1", rows1, null, true, context))
+          .thenReturn(firstWrite);
+      when(writeService.updateDocument(
+              dataStore, namespace, collection, "2", rows2, null, true, context))
+          .thenReturn(Single.just(ResultSet.empty()));
+
+      TestObserver<MultiDocsResponse> result =
+          reactiveDocumentService
+              .writeDocuments(documentDB, namespace, collection, payload, "id", null, context)
+              .test();
+
+      // second document is not written until the first one completes
+      result.assertNotComplete();
+      verify(writeService)
+          .updateDocument(dataStore, namespace, collection, "1", rows1, null, true, context);
+      verify(writeService, never())
+          .updateDocument(dataStore, namespace, collection, "2", rows2, null, true, context);
+
+      firstWrite.onSuccess(ResultSet.empty());
+
+      result
+          .await()
+          .assertValue(
+              v -> {
+                assertThat(v.getDocumentIds()).containsExactly("1", "2");
+                assertThat(v.getProfile()).isEqualTo(context.toProfile());
+                return true;
+              });
+
+      verify(writeService)
+          .updateDocument(dataStore, namespace, collection, "2", rows2, null, true, context);
+      verify(authService)
+          .authorizeDataWrite(authSubject, namespace, collection, Scope.MODIFY, SourceAPI.REST);
+      verify(authService)
+          .authorizeDataWrite(authSubject, namespace, collection, Scope.DELETE, SourceAPI.REST);
+      verify(jsonSchemaHandler).getCachedJsonSchema(documentDB, namespace, collection);
       verifyNoMoreInteractions(writeService, authService, searchService, jsonSchemaHandler);
     }
 
@@ -641,7 +714,7 @@ class ReactiveDocumentServiceTest {
           .authorizeDataWrite(authSubject, namespace, collection, Scope.MODIFY, SourceAPI.REST);
       verify(authService)
           .authorizeDataWrite(authSubject, namespace, collection, Scope.DELETE, SourceAPI.REST);
-      verify(jsonSchemaHandler, times(2)).getCachedJsonSchema(documentDB, namespace, collection);
+      verify(jsonSchemaHandler).getCachedJsonSchema(documentDB, namespace, collection);
       verifyNoMoreInteractions(writeService, authService, searchService, jsonSchemaHandler);
     }
 
@@ -681,7 +754,7 @@ class ReactiveDocumentServiceTest {
           .authorizeDataWrite(authSubject, namespace, collection, Scope.MODIFY, SourceAPI.REST);
       verify(authService)
           .authorizeDataWrite(authSubject, namespace, collection, Scope.DELETE, SourceAPI.REST);
-      verify(jsonSchemaHandler, times(2)).getCachedJsonSchema(documentDB, namespace, collection);
+      verify(jsonSchemaHandler).getCachedJsonSchema(documentDB, namespace, collection);
       verify(jsonSchemaHandler).validate(schema, objectMapper.readTree(doc1Payload));
       verify(jsonSchemaHandler).validate(schema, objectMapper.readTree(doc2Payload));
       verifyNoMoreInteractions(writeService, authService, searchService, jsonSchemaHandler);
@@ -721,7 +794,7 @@ class ReactiveDocumentServiceTest {
           .authorizeDataWrite(authSubject, namespace, collection, Scope.MODIFY, SourceAPI.REST);
       verify(authService)
           .authorizeDataWrite(authSubject, namespace, collection, Scope.DELETE, SourceAPI.REST);
-      verify(jsonSchemaHandler, times(2)).getCachedJsonSchema(documentDB, namespace, collection);
+      verify(jsonSchemaHandler).getCachedJsonSchema(documentDB, namespace, collection);
       verifyNoMoreInteractions(writeService, authService, searchService, jsonSchemaHandler);
     }
 
@@ -1611,6 +1684,53 @@ class ReactiveDocumentServiceTest {
       verify(authService).authorizeDataRead(authSubject, namespace, collection, SourceAPI.REST);
     }
 
+    @Test
+    public void happyPathStreamed() throws Exception {
+      JsonSerializable documentsJson = objectMapper.createObjectNode();
+      ExecutionContext context = ExecutionContext.create(true);
+      Paginator paginator = new Paginator(null, 1);
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      String where = "{}";
+      String fields = "[\"myField\"]";
+      byte[] pageState = RandomUtils.nextBytes(64);
+      Flowable<RawDocument> docs = Flowable.just(rawDocument);
+      when(documentDB.treatBooleansAsNumeric()).thenReturn(true);
+      when(expressionParser.constructFilterExpression(
+              Collections.emptyList(), objectMapper.readTree(where), true))
+          .thenReturn(expression);
+      when(searchService.searchDocuments(
+              queryExecutor, namespace, collection, expression, paginator, context))
+          .thenReturn(docs);
+      when(jsonDocumentWriter.documents(
+              Collections.singletonList(rawDocument),
+              Collections.singletonList(Collections.singletonList("myField")),
+              true))
+          .thenReturn(documentsJson);
+      when(rawDocument.makePagingState()).thenReturn(ByteBuffer.wrap(pageState));
+
+      Single<DocumentResponseWrapper<? extends JsonSerializable>> result =
+          reactiveDocumentService.findDocumentsStreamed(
+              documentDB, namespace, collection, where, fields, paginator, context);
+
+      result
+          .test()
+          .await()
+          .assertValue(
+              wrapper -> {
+                assertThat(wrapper.getDocumentId()).isNull();
+                assertThat(wrapper.getData()).isEqualTo(documentsJson);
+                assertThat(wrapper.getProfile()).isEqualTo(context.toProfile());
+                assertThat(ByteBufferUtils.fromBase64UrlParam(wrapper.getPageState()).array())
+                    .isEqualTo(pageState);
+                return true;
+              })
+          .assertComplete();
+
+      verify(authService).authorizeDataRead(authSubject, namespace, collection, SourceAPI.REST);
+      verifyNoInteractions(jsonConverter);
+    }
+
     @Test
     public void happyPathFieldNotMatched() throws Exception {
       String documentId = RandomStringUtils.randomAlphanumeric(16);
@@ -1886,6 +2006,7 @@ class ReactiveDocumentServiceTest {
               collection,
               documentId,
               Collections.singletonList("prePath"),
+              Collections.singletonList(Arrays.asList("prePath", "myField")),
               context))
           .thenReturn(docs);
       doReturn(documentNode)
@@ -1917,6 +2038,100 @@ class ReactiveDocumentServiceTest {
       verifyNoMoreInteractions(authService);
     }
 
+    @Test
+    public void happyPathStreamed() throws Exception {
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      JsonSerializable documentJson = objectMapper.createObjectNode();
+      ExecutionContext context = ExecutionContext.create(true);
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      String fields = "[\"myField\"]";
+      Flowable<RawDocument> docs = Flowable.just(rawDocument);
+      List<String> prePath = Collections.singletonList("prePath");
+      when(searchService.getDocument(
+              queryExecutor,
+              namespace,
+              collection,
+              documentId,
+              Collections.singletonList("prePath"),
+              Collections.singletonList(Arrays.asList("prePath", "myField")),
+              context))
+          .thenReturn(docs);
+      when(row.getString("p0")).thenReturn("prePath");
+      when(row.getString("p1")).thenReturn("myField");
+      when(rawDocument.rows()).thenReturn(Collections.singletonList(row));
+      when(jsonDocumentWriter.document(Collections.singletonList(row), prePath, false))
+          .thenReturn(Optional.of(documentJson));
+
+      Maybe<DocumentResponseWrapper<? extends JsonSerializable>> result =
+          reactiveDocumentService.getDocumentStreamed(
+              documentDB, namespace, collection, documentId, prePath, fields, context);
+
+      result
+          .test()
+          .await()
+          .assertValue(
+              wrapper -> {
+                assertThat(wrapper.getDocumentId()).isEqualTo(documentId);
+                assertThat(wrapper.getData()).isEqualTo(documentJson);
+                assertThat(wrapper.getProfile()).isEqualTo(context.toProfile());
+                assertThat(wrapper.getPageState()).isNull();
+                return true;
+              })
+          .assertComplete();
+
+      verify(authService).authorizeDataRead(authSubject, namespace, collection, SourceAPI.REST);
+      verifyNoInteractions(jsonConverter);
+      verifyNoMoreInteractions(authService);
+    }
+
+    @Test
+    public void happyPathStreamedFallback() throws Exception {
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ObjectNode subDocumentNode = objectMapper.createObjectNode();
+      ObjectNode documentNode = objectMapper.createObjectNode().set("prePath", subDocumentNode);
+      ExecutionContext context = ExecutionContext.create(true);
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      String fields = "[\"myField\"]";
+      Flowable<RawDocument> docs = Flowable.just(rawDocument);
+      List<String> prePath = Collections.singletonList("prePath");
+      when(searchService.getDocument(
+              queryExecutor,
+              namespace,
+              collection,
+              documentId,
+              Collections.singletonList("prePath"),
+              Collections.singletonList(Arrays.asList("prePath", "myField")),
+              context))
+          .thenReturn(docs);
+      when(row.getString("p0")).thenReturn("prePath");
+      when(row.getString("p1")).thenReturn("myField");
+      when(rawDocument.rows()).thenReturn(Collections.singletonList(row));
+      when(jsonDocumentWriter.document(Collections.singletonList(row), prePath, false))
+          .thenReturn(Optional.empty());
+      doReturn(documentNode)
+          .when(jsonConverter)
+          .convertToJsonDoc(eq(Collections.singletonList(row)), any(), eq(false), anyBoolean());
+
+      Maybe<DocumentResponseWrapper<? extends JsonSerializable>> result =
+          reactiveDocumentService.getDocumentStreamed(
+              documentDB, namespace, collection, documentId, prePath, fields, context);
+
+      result
+          .test()
+          .await()
+          .assertValue(
+              wrapper -> {
+                assertThat(wrapper.getDocumentId()).isEqualTo(documentId);
+                assertThat(wrapper.getData()).isEqualTo(subDocumentNode);
+                return true;
+              })
+          .assertComplete();
+
+      verify(authService).authorizeDataRead(authSubject, namespace, collection, SourceAPI.REST);
+    }
+
     @Test
     public void happyPathWithDeadLeavesCollection() throws Exception {
       String documentId = RandomStringUtils.randomAlphanumeric(16);
@@ -1934,6 +2149,7 @@ class ReactiveDocumentServiceTest {
               collection,
               documentId,
               Collections.singletonList("prePath"),
+              Collections.singletonList(Arrays.asList("prePath", "myField")),
               context))
           .thenReturn(docs);
 
@@ -1992,6 +2208,7 @@ class ReactiveDocumentServiceTest {
               collection,
               documentId,
               Collections.singletonList("prePath"),
+              Collections.singletonList(Arrays.asList("prePath", "myField")),
               context))
           .thenReturn(docs);
 
@@ -2027,6 +2244,10 @@ class ReactiveDocumentServiceTest {
               })
           .assertComplete();
 
+      // authorization of the dead leaves deletion happens in the background
+      Awaitility.await()
+          .atMost(Duration.ofSeconds(60))
+          .untilAsserted(() -> verify(documentDB).authorizeDeleteDeadLeaves(namespace, collection));
       verify(authService).authorizeDataRead(authSubject, namespace, collection, SourceAPI.REST);
       verify(documentDB, never())
           .deleteDeadLeaves(
@@ -2466,7 +2687,8 @@ class ReactiveDocumentServiceTest {
       doReturn(documentNode)
           .when(jsonConverter)
           .convertToJsonDoc(any(), any(), anyBoolean(), anyBoolean());
-      when(searchService.getDocument(queryExecutor, namespace, collection, docId, path, context))
+      when(searchService.getDocument(
+              queryExecutor, namespace, collection, docId, path, Collections.emptyList(), context))
           .thenReturn(Flowable.just(rawDocument));
       when(searchService.getDocumentTtlInfo(queryExecutor, namespace, collection, docId, context))
           .thenReturn(Flowable.just(rawDocument));
@@ -2532,7 +2754,8 @@ class ReactiveDocumentServiceTest {
       doReturn(documentNode)
           .when(jsonConverter)
           .convertToJsonDoc(any(), any(), anyBoolean(), anyBoolean());
-      when(searchService.getDocument(queryExecutor, namespace, collection, docId, path, context))
+      when(searchService.getDocument(
+              queryExecutor, namespace, collection, docId, path, Collections.emptyList(), context))
           .thenReturn(Flowable.just(rawDocument));
 
       Maybe<DocumentResponseWrapper<? extends JsonNode>> result =
@@ -2577,7 +2800,8 @@ class ReactiveDocumentServiceTest {
       doReturn(documentNode)
           .when(jsonConverter)
           .convertToJsonDoc(any(), any(), anyBoolean(), anyBoolean());
-      when(searchService.getDocument(queryExecutor, namespace, collection, docId, path, context))
+      when(searchService.getDocument(
+              queryExecutor, namespace, collection, docId, path, Collections.emptyList(), context))
           .thenReturn(Flowable.just(rawDocument));
 
       Maybe<DocumentResponseWrapper<? extends JsonNode>> result =
@@ -2614,7 +2838,8 @@ class ReactiveDocumentServiceTest {
       doReturn(documentNode)
           .when(jsonConverter)
           .convertToJsonDoc(any(), any(), anyBoolean(), anyBoolean());
-      when(searchService.getDocument(queryExecutor, namespace, collection, docId, path, context))
+      when(searchService.getDocument(
+              queryExecutor, namespace, collection, docId, path, Collections.emptyList(), context))
           .thenReturn(Flowable.just(rawDocument));
       when(searchService.getDocumentTtlInfo(queryExecutor, namespace, collection, docId, context))
           .thenReturn(Flowable.just(rawDocument));
@@ -2666,7 +2891,8 @@ class ReactiveDocumentServiceTest {
       doReturn(documentNode)
           .when(jsonConverter)
           .convertToJsonDoc(any(), any(), anyBoolean(), anyBoolean());
-      when(searchService.getDocument(queryExecutor, namespace, collection, docId, path, context))
+      when(searchService.getDocument(
+              queryExecutor, namespace, collection, docId, path, Collections.emptyList(), context))
           .thenReturn(Flowable.just(rawDocument));
 
       Maybe<DocumentResponseWrapper<? extends JsonNode>> result =
@@ -2710,7 +2936,8 @@ class ReactiveDocumentServiceTest {
       doReturn(documentNode)
           .when(jsonConverter)
           .convertToJsonDoc(any(), any(), anyBoolean(), anyBoolean());
-      when(searchService.getDocument(queryExecutor, namespace, collection, docId, path, context))
+      when(searchService.getDocument(
+              queryExecutor, namespace, collection, docId, path, Collections.emptyList(), context))
           .thenReturn(Flowable.just(rawDocument));
 
       Maybe<DocumentResponseWrapper<? extends JsonNode>> result =
@@ -20,6 +20,7 @@ package io.stargate.web.docsapi.service.query;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
 
 import com.bpodgursky.jbool_expressions.And;
 import com.bpodgursky.jbool_expressions.Expression;
@@ -386,6 +387,169 @@ class DocumentSearchServiceTest extends AbstractDataStoreTest {
       resetExpectations();
     }
 
+    @Test
+    public void batchPopulate() throws Exception {
+      when(configuration.getPopulateBatchSize()).thenReturn(20);
+      Paginator paginator = new Paginator(null, 20);
+      ExecutionContext context = ExecutionContext.create(true);
+      FilterPath filterPath = ImmutableFilterPath.of(Arrays.asList("some", "field"));
+      BaseCondition condition = ImmutableStringCondition.of(EqFilterOperation.of(), "find-me");
+      FilterExpression expression = ImmutableFilterExpression.of(filterPath, condition, 0);
+
+      String candidatesCql =
+          "SELECT key, leaf, WRITETIME(leaf) FROM %s WHERE p0 = ? AND p1 = ? AND leaf = ? AND p2 = ? AND text_value = ? ALLOW FILTERING";
+      ValidatingDataStore.QueryAssert candidatesAssert =
+          withQuery(TABLE, candidatesCql, "some", "field", "field", "", "find-me")
+              .withPageSize(paginator.docPageSize + 1)
+              .returning(
+                  Arrays.asList(
+                      ImmutableMap.of("key", "1"),
+                      ImmutableMap.of("key", "2"),
+                      ImmutableMap.of("key", "3")));
+
+      String populateCql =
+          "SELECT key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value, WRITETIME(leaf) FROM %s WHERE key IN ?";
+      ValidatingDataStore.QueryAssert populateAssert =
+          withQuery(TABLE, populateCql, Arrays.asList("1", "2", "3"))
+              .withPageSize(configuration.getMaxStoragePageSize())
+              .returning(
+                  Arrays.asList(
+                      ImmutableMap.of("key", "2", "text_value", "find-me", "p0", "some"),
+                      ImmutableMap.of("key", "1", "text_value", "find-me", "p0", "some"),
+                      ImmutableMap.of("key", "1", "text_value", "other", "p0", "another")));
+
+      Flowable<RawDocument> results =
+          service.searchDocuments(
+              new QueryExecutor(datastore(), configuration),
+              KEYSPACE_NAME,
+              COLLECTION_NAME,
+              expression,
+              paginator,
+              context);
+
+      // assert results, in the order of the candidates, without the deleted document
+      results
+          .test()
+          .await()
+          .assertValueCount(2)
+          .assertValueAt(
+              0,
+              doc -> {
+                assertThat(doc.id()).isEqualTo("1");
+                assertThat(doc.rows())
+                    .extracting(r -> r.getString("text_value"))
+                    .containsExactly("find-me", "other");
+                return true;
+              })
+          .assertValueAt(
+              1,
+              doc -> {
+                assertThat(doc.id()).isEqualTo("2");
+                assertThat(doc.rows())
+                    .extracting(r -> r.getString("text_value"))
+                    .containsExactly("find-me");
+                return true;
+              })
+          .assertComplete();
+
+      // assert queries execution
+      candidatesAssert.assertExecuteCount().isEqualTo(1);
+      populateAssert.assertExecuteCount().isEqualTo(1);
+
+      // assert execution context
+      ExecutionProfile executionProfile = context.toProfile();
+      assertThat(executionProfile.nested())
+          .anySatisfy(
+              c -> {
+                assertThat(c.description()).isEqualTo("LoadProperties");
+                assertThat(c.queries())
+                    .singleElement()
+                    .satisfies(
+                        queryInfo -> {
+                          assertThat(queryInfo.execCount()).isEqualTo(1);
+                          assertThat(queryInfo.rowCount()).isEqualTo(3);
+                        });
+              });
+    }
+
+    @Test
+    public void batchPopulateLargeDocument() throws Exception {
+      when(configuration.getPopulateBatchSize()).thenReturn(20);
+      when(configuration.getMaxStoragePageSize()).thenReturn(2);
+      Paginator paginator = new Paginator(null, 20);
+      ExecutionContext context = ExecutionContext.create(true);
+      FilterPath filterPath = ImmutableFilterPath.of(Arrays.asList("some", "field"));
+      BaseCondition condition = ImmutableStringCondition.of(EqFilterOperation.of(), "find-me");
+      FilterExpression expression = ImmutableFilterExpression.of(filterPath, condition, 0);
+
+      String candidatesCql =
+          "SELECT key, leaf, WRITETIME(leaf) FROM %s WHERE p0 = ? AND p1 = ? AND leaf = ? AND p2 = ? AND text_value = ? ALLOW FILTERING";
+      ValidatingDataStore.QueryAssert candidatesAssert =
+          withQuery(TABLE, candidatesCql, "some", "field", "field", "", "find-me")
+              .withPageSize(paginator.docPageSize + 1)
+              .returning(Arrays.asList(ImmutableMap.of("key", "1"), ImmutableMap.of("key", "2")));
+
+      String batchPopulateCql =
+          "SELECT key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value, WRITETIME(leaf) FROM %s WHERE key IN ?";
+      ValidatingDataStore.QueryAssert batchPopulateAssert =
+          withQuery(TABLE, batchPopulateCql, Arrays.asList("1", "2"))
+              .withPageSize(2)
+              .returning(
+                  Arrays.asList(
+                      ImmutableMap.of("key", "1", "text_value", "find-me", "p0", "some"),
+                      ImmutableMap.of("key", "2", "text_value", "find-me", "p0", "some"),
+                      ImmutableMap.of("key", "2", "text_value", "other", "p0", "another")));
+
+      // the second document does not fit in the first page
+      String populateCql =
+          "SELECT key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value, WRITETIME(leaf) FROM %s WHERE key = ?";
+      ValidatingDataStore.QueryAssert populateAssert =
+          withQuery(TABLE, populateCql, "2")
+              .withPageSize(2)
+              .returning(
+                  Arrays.asList(
+                      ImmutableMap.of("key", "2", "text_value", "find-me", "p0", "some"),
+                      ImmutableMap.of("key", "2", "text_value", "other", "p0", "another")));
+
+      Flowable<RawDocument> results =
+          service.searchDocuments(
+              new QueryExecutor(datastore(), configuration),
+              KEYSPACE_NAME,
+              COLLECTION_NAME,
+              expression,
+              paginator,
+              context);
+
+      // assert results
+      results
+          .test()
+          .await()
+          .assertValueCount(2)
+          .assertValueAt(
+              0,
+              doc -> {
+                assertThat(doc.id()).isEqualTo("1");
+                assertThat(doc.rows()).hasSize(1);
+                return true;
+              })
+          .assertValueAt(
+              1,
+              doc -> {
+                assertThat(doc.id()).isEqualTo("2");
+                assertThat(doc.rows())
+                    .extracting(r -> r.getString("text_value"))
+                    .containsExactly("find-me", "other");
+                return true;
+              })
+          .assertComplete();
+
+      // assert queries execution
+      candidatesAssert.assertExecuteCount().isEqualTo(1);
+      batchPopulateAssert.assertExecuteCount().isEqualTo(1);
+      // the second page is empty, but the full first page has a paging state
+      populateAssert.assertExecuteCount().isEqualTo(2);
+    }
+
     @Test
     public void fullSearch() throws Exception {
       Paginator paginator = new Paginator(null, 20);
@@ -827,6 +991,207 @@ class DocumentSearchServiceTest extends AbstractDataStoreTest {
                         });
               });
     }
+
+    @Test
+    public void getSubDocFields() throws Exception {
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+      List<String> subPath = Collections.singletonList("field");
+      List<List<String>> fieldPaths =
+          Arrays.asList(Arrays.asList("field", "k3"), Arrays.asList("field", "k1"));
+
+      String cql =
+          "SELECT key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value, WRITETIME(leaf) FROM %s WHERE p0 = ? AND p1 = ? AND key = ? ALLOW FILTERING";
+      ValidatingDataStore.QueryAssert k1Assert =
+          withQuery(TABLE, cql, "field", "k1", documentId)
+              .withPageSize(configuration.getMaxStoragePageSize())
+              .returning(
+                  Collections.singletonList(
+                      ImmutableMap.of(
+                          "key", documentId, "text_value", "v1", "p0", "field", "p1", "k1")));
+      ValidatingDataStore.QueryAssert k3Assert =
+          withQuery(TABLE, cql, "field", "k3", documentId)
+              .withPageSize(configuration.getMaxStoragePageSize())
+              .returning(
+                  Collections.singletonList(
+                      ImmutableMap.of(
+                          "key", documentId, "text_value", "v3", "p0", "field", "p1", "k3")));
+
+      Flowable<RawDocument> results =
+          service.getDocument(
+              new QueryExecutor(datastore(), configuration),
+              KEYSPACE_NAME,
+              COLLECTION_NAME,
+              documentId,
+              subPath,
+              fieldPaths,
+              context);
+
+      // assert results, rows must be in the document order
+      results
+          .test()
+          .await()
+          .assertValue(
+              doc -> {
+                assertThat(doc.id()).isEqualTo(documentId);
+                assertThat(doc.rows())
+                    .extracting(row -> row.getString("p1"))
+                    .containsExactly("k1", "k3");
+                return true;
+              })
+          .assertComplete();
+
+      // assert queries execution
+      k1Assert.assertExecuteCount().isEqualTo(1);
+      k3Assert.assertExecuteCount().isEqualTo(1);
+
+      // assert execution context
+      ExecutionProfile executionProfile = context.toProfile();
+      assertThat(executionProfile.nested())
+          .singleElement()
+          .satisfies(
+              c -> {
+                assertThat(c.description()).isEqualTo("GetDocumentFields");
+                assertThat(c.queries())
+                    .singleElement()
+                    .satisfies(
+                        queryInfo -> {
+                          assertThat(queryInfo.execCount()).isEqualTo(2);
+                          assertThat(queryInfo.rowCount()).isEqualTo(2);
+                        });
+              });
+    }
+
+    @Test
+    public void getSubDocFieldsMissing() throws Exception {
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+      List<String> subPath = Collections.singletonList("field");
+      List<List<String>> fieldPaths = Collections.singletonList(Arrays.asList("field", "k3"));
+
+      String fieldCql =
+          "SELECT key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value, WRITETIME(leaf) FROM %s WHERE p0 = ? AND p1 = ? AND key = ? ALLOW FILTERING";
+      ValidatingDataStore.QueryAssert fieldAssert =
+          withQuery(TABLE, fieldCql, "field", "k3", documentId)
+              .withPageSize(configuration.getMaxStoragePageSize())
+              .returningNothing();
+      String fullCql =
+          "SELECT key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value, WRITETIME(leaf) FROM %s WHERE p0 = ? AND key = ? ALLOW FILTERING";
+      ValidatingDataStore.QueryAssert fullAssert =
+          withQuery(TABLE, fullCql, "field", documentId)
+              .withPageSize(configuration.getMaxStoragePageSize())
+              .returning(
+                  Collections.singletonList(
+                      ImmutableMap.of(
+                          "key", documentId, "text_value", "v1", "p0", "field", "p1", "k1")));
+
+      Flowable<RawDocument> results =
+          service.getDocument(
+              new QueryExecutor(datastore(), configuration),
+              KEYSPACE_NAME,
+              COLLECTION_NAME,
+              documentId,
+              subPath,
+              fieldPaths,
+              context);
+
+      // the document exists without the field, so it's read completely
+      results
+          .test()
+          .await()
+          .assertValue(
+              doc -> {
+                assertThat(doc.id()).isEqualTo(documentId);
+                assertThat(doc.rows()).hasSize(1);
+                return true;
+              })
+          .assertComplete();
+
+      fieldAssert.assertExecuteCount().isEqualTo(1);
+      fullAssert.assertExecuteCount().isEqualTo(1);
+      assertThat(context.toProfile().nested())
+          .extracting(ExecutionProfile::description)
+          .containsExactly("GetDocumentFields", "GetFullDocument");
+    }
+
+    @Test
+    public void getSubDocFieldsDocumentMissing() throws Exception {
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+      List<String> subPath = Collections.singletonList("field");
+      List<List<String>> fieldPaths = Collections.singletonList(Arrays.asList("field", "k3"));
+
+      String fieldCql =
+          "SELECT key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value, WRITETIME(leaf) FROM %s WHERE p0 = ? AND p1 = ? AND key = ? ALLOW FILTERING";
+      withQuery(TABLE, fieldCql, "field", "k3", documentId)
+          .withPageSize(configuration.getMaxStoragePageSize())
+          .returningNothing();
+      String fullCql =
+          "SELECT key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value, WRITETIME(leaf) FROM %s WHERE p0 = ? AND key = ? ALLOW FILTERING";
+      withQuery(TABLE, fullCql, "field", documentId)
+          .withPageSize(configuration.getMaxStoragePageSize())
+          .returningNothing();
+
+      Flowable<RawDocument> results =
+          service.getDocument(
+              new QueryExecutor(datastore(), configuration),
+              KEYSPACE_NAME,
+              COLLECTION_NAME,
+              documentId,
+              subPath,
+              fieldPaths,
+              context);
+
+      results.test().await().assertNoValues().assertComplete();
+    }
+
+    @Test
+    public void getSubDocFieldsWithGlob() throws Exception {
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+      List<String> subPath = Collections.singletonList("field");
+      List<List<String>> fieldPaths =
+          Arrays.asList(Arrays.asList("field", "k1"), Arrays.asList("field", "*"));
+
+      String cql =
+          "SELECT key, p0, p1, p2, p3, leaf, text_value, dbl_value, bool_value, WRITETIME(leaf) FROM %s WHERE p0 = ? AND key = ? ALLOW FILTERING";
+      ValidatingDataStore.QueryAssert cqlAssert =
+          withQuery(TABLE, cql, "field", documentId)
+              .withPageSize(configuration.getMaxStoragePageSize())
+              .returning(
+                  Arrays.asList(
+                      ImmutableMap.of(
+                          "key", documentId, "text_value", "v1", "p0", "field", "p1", "k1"),
+                      ImmutableMap.of(
+                          "key", documentId, "text_value", "v2", "p0", "field", "p1", "k2")));
+
+      Flowable<RawDocument> results =
+          service.getDocument(
+              new QueryExecutor(datastore(), configuration),
+              KEYSPACE_NAME,
+              COLLECTION_NAME,
+              documentId,
+              subPath,
+              fieldPaths,
+              context);
+
+      // globs can not be pushed down, so the complete sub-document is read
+      results
+          .test()
+          .await()
+          .assertValue(
+              doc -> {
+                assertThat(doc.id()).isEqualTo(documentId);
+                assertThat(doc.rows()).hasSize(2);
+                return true;
+              })
+          .assertComplete();
+
+      cqlAssert.assertExecuteCount().isEqualTo(1);
+      assertThat(context.toProfile().nested())
+          .singleElement()
+          .satisfies(c -> assertThat(c.description()).isEqualTo("GetFullDocument"));
+    }
   }
 
   @Nested
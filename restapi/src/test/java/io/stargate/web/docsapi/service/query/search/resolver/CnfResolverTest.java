@@ -18,6 +18,7 @@
 package io.stargate.web.docsapi.service.query.search.resolver;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
 
 import com.bpodgursky.jbool_expressions.And;
 import com.bpodgursky.jbool_expressions.Or;
@@ -30,6 +31,7 @@ import io.stargate.web.docsapi.service.query.ImmutableFilterPath;
 import io.stargate.web.docsapi.service.query.condition.BaseCondition;
 import io.stargate.web.docsapi.service.query.condition.impl.ImmutableGenericCondition;
 import io.stargate.web.docsapi.service.query.condition.impl.ImmutableStringCondition;
+import io.stargate.web.docsapi.service.query.filter.operation.impl.EqFilterOperation;
 import io.stargate.web.docsapi.service.query.filter.operation.impl.GtFilterOperation;
 import io.stargate.web.docsapi.service.query.filter.operation.impl.InFilterOperation;
 import io.stargate.web.docsapi.service.query.filter.operation.impl.LtFilterOperation;
@@ -112,6 +114,38 @@ class CnfResolverTest {
               });
     }
 
+    @Test
+    public void costBasedNegatedExpressionNotMostSelective() {
+      when(configuration.isCostBasedFilterOrdering()).thenReturn(true);
+
+      ExecutionContext context = ExecutionContext.create(true);
+      FilterPath filterPath1 = ImmutableFilterPath.of(Collections.singletonList("b"));
+      FilterPath filterPath2 = ImmutableFilterPath.of(Collections.singletonList("a"));
+      BaseCondition condition1 = ImmutableStringCondition.of(GtFilterOperation.of(), "find-me");
+      BaseCondition condition2 = ImmutableStringCondition.of(EqFilterOperation.of(), "find-me");
+      FilterExpression expression1 =
+          ImmutableFilterExpression.of(filterPath1, condition1, 0).negate();
+      FilterExpression expression2 = ImmutableFilterExpression.of(filterPath2, condition2, 1);
+
+      And<FilterExpression> and = And.of(expression1, expression2);
+      DocumentsResolver result = CnfResolver.resolve(and, context, configuration);
+
+      // negated filter without a hint has no known selectivity, equality goes first
+      assertThat(result)
+          .isInstanceOfSatisfying(
+              AllFiltersResolver.class,
+              allOf ->
+                  assertThat(allOf)
+                      .extracting("candidatesResolver")
+                      .isInstanceOfSatisfying(
+                          PersistenceDocumentsResolver.class,
+                          r ->
+                              assertThat(r)
+                                  .extracting("queryBuilder")
+                                  .extracting("filterPath")
+                                  .isEqualTo(filterPath2)));
+    }
+
     @Test
     public void twoMemoryExpressionDifferentPath() {
       ExecutionContext context = ExecutionContext.create(true);
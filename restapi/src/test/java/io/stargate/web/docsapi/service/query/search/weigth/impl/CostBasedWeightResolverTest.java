@@ -0,0 +1,176 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.stargate.web.docsapi.service.query.search.weigth.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.stargate.web.docsapi.service.query.FilterExpression;
+import io.stargate.web.docsapi.service.query.FilterPath;
+import io.stargate.web.docsapi.service.query.ImmutableFilterExpression;
+import io.stargate.web.docsapi.service.query.ImmutableFilterPath;
+import io.stargate.web.docsapi.service.query.condition.BaseCondition;
+import io.stargate.web.docsapi.service.query.condition.impl.ImmutableExistsCondition;
+import io.stargate.web.docsapi.service.query.condition.impl.ImmutableGenericCondition;
+import io.stargate.web.docsapi.service.query.condition.impl.ImmutableNumberCondition;
+import io.stargate.web.docsapi.service.query.condition.impl.ImmutableStringCondition;
+import io.stargate.web.docsapi.service.query.filter.operation.impl.EqFilterOperation;
+import io.stargate.web.docsapi.service.query.filter.operation.impl.GtFilterOperation;
+import io.stargate.web.docsapi.service.query.filter.operation.impl.InFilterOperation;
+import io.stargate.web.docsapi.service.query.filter.operation.impl.NeFilterOperation;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class CostBasedWeightResolverTest {
+
+  CostBasedWeightResolver resolver = CostBasedWeightResolver.of();
+
+  FilterPath path = ImmutableFilterPath.of(Arrays.asList("some", "field"));
+
+  FilterPath globPath = ImmutableFilterPath.of(Arrays.asList("*", "field"));
+
+  BaseCondition eq = ImmutableStringCondition.of(EqFilterOperation.of(), "value");
+
+  BaseCondition gt = ImmutableNumberCondition.of(GtFilterOperation.of(), 1d);
+
+  @Nested
+  class EstimateSelectivity {
+
+    @Test
+    public void operations() {
+      BaseCondition in =
+          ImmutableGenericCondition.of(InFilterOperation.of(), Arrays.asList("a", "b", "c"), false);
+      BaseCondition ne = ImmutableStringCondition.of(NeFilterOperation.of(), "value");
+      BaseCondition exists = ImmutableExistsCondition.of(true);
+
+      double eqSelectivity =
+          resolver.estimateSelectivity(ImmutableFilterExpression.of(path, eq, 0));
+      double inSelectivity =
+          resolver.estimateSelectivity(ImmutableFilterExpression.of(path, in, 0));
+      double gtSelectivity =
+          resolver.estimateSelectivity(ImmutableFilterExpression.of(path, gt, 0));
+      double existsSelectivity =
+          resolver.estimateSelectivity(ImmutableFilterExpression.of(path, exists, 0));
+      double neSelectivity =
+          resolver.estimateSelectivity(ImmutableFilterExpression.of(path, ne, 0));
+
+      assertThat(eqSelectivity).isLessThan(inSelectivity);
+      assertThat(inSelectivity).isLessThan(gtSelectivity);
+      assertThat(gtSelectivity).isLessThan(neSelectivity);
+      assertThat(existsSelectivity).isLessThan(neSelectivity);
+    }
+
+    @Test
+    public void globPath() {
+      double fixed = resolver.estimateSelectivity(ImmutableFilterExpression.of(path, gt, 0));
+      double glob = resolver.estimateSelectivity(ImmutableFilterExpression.of(globPath, gt, 0));
+
+      assertThat(fixed).isLessThan(glob);
+    }
+
+    @Test
+    public void explicitHint() {
+      FilterExpression expression = FilterExpression.of(path, gt, 0, 0.001);
+
+      assertThat(resolver.estimateSelectivity(expression)).isEqualTo(0.001);
+    }
+
+    @Test
+    public void explicitHintNegated() {
+      FilterExpression expression =
+          ImmutableFilterExpression.builder()
+              .filterPath(path)
+              .condition(gt)
+              .orderIndex(0)
+              .selectivityHint(0.1)
+              .build();
+
+      assertThat(resolver.estimateSelectivity(expression.negate())).isEqualTo(0.9);
+    }
+
+    @Test
+    public void negatedWithoutHint() {
+      FilterExpression expression = ImmutableFilterExpression.of(path, eq, 0).negate();
+
+      assertThat(resolver.estimateSelectivity(expression))
+          .isEqualTo(CostBasedWeightResolver.NOT_EQ_SELECTIVITY);
+    }
+  }
+
+  @Nested
+  class Compare {
+
+    @Test
+    public void singleNegatedWithoutHintNotFirst() {
+      FilterExpression e1 = ImmutableFilterExpression.of(path, gt, 0).negate();
+      FilterExpression e2 = ImmutableFilterExpression.of(path, eq, 1);
+
+      assertThat(resolver.single().apply(e1, e2)).isEqualTo(e2);
+      assertThat(resolver.single().apply(e2, e1)).isEqualTo(e2);
+    }
+
+    @Test
+    public void singleSelectiveLast() {
+      FilterExpression e1 = ImmutableFilterExpression.of(path, gt, 0);
+      FilterExpression e2 = ImmutableFilterExpression.of(path, eq, 1);
+
+      assertThat(resolver.single().apply(e1, e2)).isEqualTo(e2);
+      assertThat(resolver.single().apply(e2, e1)).isEqualTo(e2);
+    }
+
+    @Test
+    public void singleUserOrderOnTie() {
+      FilterExpression e1 = ImmutableFilterExpression.of(path, eq, 0);
+      FilterExpression e2 = ImmutableFilterExpression.of(globPath, eq, 1);
+      FilterExpression e3 = ImmutableFilterExpression.of(path, eq, 2);
+
+      assertThat(resolver.single().apply(e1, e3)).isEqualTo(e1);
+      assertThat(resolver.single().apply(e3, e1)).isEqualTo(e1);
+      assertThat(resolver.single().apply(e2, e3)).isEqualTo(e3);
+    }
+
+    @Test
+    public void singleSuperRespected() {
+      BaseCondition inMemory = ImmutableStringCondition.of(NeFilterOperation.of(), "value");
+      FilterExpression e1 = ImmutableFilterExpression.of(path, inMemory, 0);
+      FilterExpression e2 = ImmutableFilterExpression.of(path, gt, 1);
+
+      // persistence condition is always executed first
+      assertThat(resolver.single().apply(e1, e2)).isEqualTo(e2);
+      assertThat(resolver.single().apply(e2, e1)).isEqualTo(e2);
+    }
+
+    @Test
+    public void collectionSelectiveLast() {
+      FilterPath otherPath = ImmutableFilterPath.of(Arrays.asList("other", "field"));
+      List<FilterExpression> c1 =
+          Arrays.asList(
+              ImmutableFilterExpression.of(path, gt, 0),
+              FilterExpression.of(
+                  path, ImmutableNumberCondition.of(GtFilterOperation.of(), 5d), 1, 1.0));
+      List<FilterExpression> c2 = Arrays.asList(ImmutableFilterExpression.of(otherPath, eq, 2));
+
+      Collection<FilterExpression> result = resolver.collection().apply(c1, c2);
+      Collection<FilterExpression> resultReversed = resolver.collection().apply(c2, c1);
+
+      assertThat(result).isEqualTo(c2);
+      assertThat(resultReversed).isEqualTo(c2);
+    }
+  }
+}
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
+import com.datastax.oss.driver.api.core.ProtocolVersion;
 import com.datastax.oss.driver.api.core.data.CqlDuration;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
@@ -12,6 +13,8 @@ import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableSet;
 import com.datastax.oss.protocol.internal.util.Bytes;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.stargate.db.datastore.ArrayListBackedRow;
+import io.stargate.db.datastore.Row;
 import io.stargate.db.query.Modification.Operation;
 import io.stargate.db.query.builder.Value;
 import io.stargate.db.query.builder.ValueModifier;
@@ -32,7 +35,10 @@ import java.net.InetAddress;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -444,4 +450,31 @@ public class ConvertersTest {
             () -> Converters.colToValue("popularity", "a", COUNTER_TABLE));
     assertThat(ex).hasMessage("Invalid Counter value 'a': cannot parse");
   }
+
+  @Test
+  public void row2MapDuplicateNameFirstWins() {
+    Row row = duplicateNameRow();
+
+    Map<String, Object> map = Converters.row2Map(row);
+
+    assertThat(map).containsOnlyKeys("a").containsEntry("a", null);
+  }
+
+  @Test
+  public void row2MapV1DuplicateNameFirstWins() {
+    Row row = duplicateNameRow();
+
+    Map<String, Object> map = Converters.row2MapV1(row);
+
+    assertThat(map).containsOnlyKeys("a").containsEntry("a", null);
+  }
+
+  // first column with the name is null, the second one has a value
+  private static Row duplicateNameRow() {
+    List<Column> columns =
+        Arrays.asList(Column.create("a", Type.Text), Column.create("a", Type.Text));
+    ProtocolVersion version = ProtocolVersion.DEFAULT;
+    return new ArrayListBackedRow(
+        columns, Arrays.asList(null, Type.Text.codec().encode("value", version)), version);
+  }
 }
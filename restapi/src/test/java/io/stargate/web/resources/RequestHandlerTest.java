@@ -0,0 +1,85 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.web.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.stargate.auth.UnauthorizedException;
+import java.util.concurrent.CompletableFuture;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.Response;
+import org.apache.cassandra.stargate.exceptions.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class RequestHandlerTest {
+
+  private final AsyncResponse asyncResponse = mock(AsyncResponse.class);
+
+  @Test
+  public void shouldResumeOnlyWhenStageCompletes() {
+    CompletableFuture<Response> stage = new CompletableFuture<>();
+
+    RequestHandler.handleAsync(asyncResponse, () -> stage);
+    verify(asyncResponse, never()).resume(any(Object.class));
+
+    stage.complete(Response.ok().build());
+    assertThat(resumedResponse().getStatus()).isEqualTo(200);
+  }
+
+  @Test
+  public void shouldMapSynchronousFailures() {
+    RequestHandler.handleAsync(
+        asyncResponse,
+        () -> {
+          throw new UnauthorizedException("mock error");
+        });
+
+    assertThat(resumedResponse().getStatus()).isEqualTo(401);
+  }
+
+  @Test
+  public void shouldMapDataStoreFailuresLikeBlockingGet() {
+    CompletableFuture<Response> execution = new CompletableFuture<>();
+
+    RequestHandler.handleAsync(
+        asyncResponse, () -> RequestHandler.wrapFailures(execution).thenApply(r -> r));
+    execution.completeExceptionally(new InvalidRequestException("mock error"));
+
+    assertThat(resumedResponse().getStatus()).isEqualTo(400);
+  }
+
+  @Test
+  public void shouldMapUnexpectedFailuresToServerError() {
+    CompletableFuture<Response> execution = new CompletableFuture<>();
+
+    RequestHandler.handleAsync(asyncResponse, () -> RequestHandler.wrapFailures(execution));
+    execution.completeExceptionally(new RuntimeException("mock error"));
+
+    assertThat(resumedResponse().getStatus()).isEqualTo(500);
+  }
+
+  private Response resumedResponse() {
+    ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+    verify(asyncResponse).resume(captor.capture());
+    assertThat(captor.getValue()).isInstanceOf(Response.class);
+    return (Response) captor.getValue();
+  }
+}